@@ -1,6 +1,5 @@
 package de.adito.git.api;
 
-import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.exception.AditoGitException;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -8,7 +7,6 @@ import org.jetbrains.annotations.Nullable;
 import java.awt.Image;
 import java.io.File;
 import java.nio.charset.Charset;
-import java.util.List;
 
 /**
  * Interface for a class that opens a given File in an Editor
@@ -34,13 +32,6 @@ public interface IFileSystemUtil
    */
   void openFile(@NonNull File pFile) throws AditoGitException;
 
-  /**
-   * Pre-loads and stores the icons for the given files in a cache
-   *
-   * @param pFiles List of files for which to pre-load the icons
-   */
-  void preLoadIcons(@NonNull List<IFileChangeType> pFiles);
-
   /**
    * find an icon representing the passed file
    *
@@ -51,6 +42,18 @@ public interface IFileSystemUtil
   @Nullable
   Image getIcon(@NonNull File pFile, boolean pIsOpened);
 
+  /**
+   * find the MIME type of the passed file. Files with the same extension can have different MIME types, and thus different icons, depending on their content
+   *
+   * @param pFile File to find the MIME type for
+   * @return MIME type of the file, or null if the file does not exist or its MIME type cannot be determined
+   */
+  @Nullable
+  default String getMimeType(@NonNull File pFile)
+  {
+    return null;
+  }
+
 
   /**
    * tries to get the correct encoding for the given file
@@ -70,4 +73,18 @@ public interface IFileSystemUtil
   @NonNull
   Charset getEncoding(byte @NonNull [] pContent);
 
+  /**
+   * tries to get the correct encoding for the given byte array, which is the content of the given file in some version. The file does not have to exist, it
+   * is only used to find out which encoding is configured for the project it belongs to
+   *
+   * @param pFile    File whose content the byte array is, null if unknown
+   * @param pContent byte array representing a String with an unknown encoding
+   * @return Encoding that was most likely used to create the byte array
+   */
+  @NonNull
+  default Charset getEncoding(@Nullable File pFile, byte @NonNull [] pContent)
+  {
+    return getEncoding(pContent);
+  }
+
 }
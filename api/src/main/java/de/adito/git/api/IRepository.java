@@ -237,6 +237,16 @@ public interface IRepository extends IDiscardable
    */
   List<IChangeDelta> diff(@NonNull String pFileContents, File pCompareWith) throws IOException;
 
+  /**
+   * Creates a session that diffs the texts of an open document against the HEAD version of a file. The HEAD version is only read again if HEAD changes,
+   * and only the lines around the edits registered with the session are diffed again
+   *
+   * @param pFile File whose HEAD version should be compared to the texts of the document
+   * @return IDocumentDiffSession for the file, has to be discarded once the document is closed
+   */
+  @NonNull
+  IDocumentDiffSession createDiffSession(@NonNull File pFile);
+
   /**
    * compare two commits, returns a list of IFileDiffs. Each IFileDiff contains the changes that occurred to one file between the commits
    *
@@ -363,10 +373,11 @@ public interface IRepository extends IDiscardable
   void deleteBranch(@NonNull String pBranchName, boolean pDeleteRemoteBranch, boolean pIsForceDelete) throws AditoGitException;
 
   /**
-   * get the blame annotations for one file
+   * get the blame annotations for the HEAD version of one file. Local changes are not part of the blame, they can be mapped onto it with a diff against HEAD.
+   * The blame is computed at most once per HEAD for recently used files, so this may take long the first time and is fast afterwards
    *
    * @param pFile the file to get the annotations
-   * @return an IBlame object
+   * @return an IBlame object, empty if the file does not exist in HEAD or the blame could not be computed
    */
   @NonNull
   Optional<IBlame> getBlame(@NonNull File pFile);
@@ -0,0 +1,50 @@
+package de.adito.git.api.data.diff;
+
+import de.adito.git.api.IDiscardable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Diffs the text of an open document against the HEAD version of its file, over and over again while the document is edited.
+ * The lines of the HEAD version are read and hashed once and only read again if HEAD changes. The edits of the document are registered with the session, so
+ * that a new diff only has to compare the lines around the edits made since the last diff
+ *
+ * @author agent, 19.10.2026
+ */
+public interface IDocumentDiffSession extends IDiscardable
+{
+
+  /**
+   * Registers an edit of the document. Has to be called for each edit, in the order that the edits are made to the document
+   *
+   * @param pOffset         offset in the document at which the edit starts
+   * @param pRemovedLength  number of characters removed at pOffset
+   * @param pInsertedLength number of characters inserted at pOffset, after the removal
+   * @return number of edits registered so far. Identifies the text of the document after this edit, see {@link #diff(String, long)}
+   */
+  long documentChanged(int pOffset, int pRemovedLength, int pInsertedLength);
+
+  /**
+   * @return number of edits registered so far, identifies the current text of the document. See {@link #diff(String, long)}
+   */
+  long getEditCount();
+
+  /**
+   * Forgets all edits registered so far, has to be called if the registered edits no longer lead to the text passed to the next diff. This is the case if the
+   * document itself is exchanged
+   */
+  void reset();
+
+  /**
+   * get the changed lines between the HEAD version of the file and the text of the document
+   *
+   * @param pText      text of the document
+   * @param pEditCount number of edits contained in pText, as returned by {@link #documentChanged(int, int, int)} or {@link #getEditCount()}
+   * @return List of IChangeDeltas containing the changed lines between the HEAD version and pText
+   * @throws IOException if an error occurs while reading the HEAD version of the file
+   */
+  @NonNull
+  List<IChangeDelta> diff(@NonNull String pText, long pEditCount) throws IOException;
+}
@@ -85,6 +85,23 @@ public interface IAsyncProgressFacade
    */
   @NonNull <T, Ex extends Throwable> T executeAndBlockWithProgress(@NonNull String pDisplayName, @NonNull IExec<T, Ex> pExecutor);
 
+  /**
+   * Executes an Action. While the action is running, the UI is blocked for the user, but a progress bar and a button to cancel the action are shown.
+   * Cancelling does not stop the action by itself, pOnCancel has to make the action return early
+   *
+   * @param pDisplayName Name of the Process, shown in the progress bar
+   * @param pExecutor    Executing-Function
+   * @param pOnCancel    called if the user cancels the action, from an arbitrary thread
+   * @param <T>          return type
+   * @return the resulting value of the computation. Since this method is blocking there is no need for a future
+   */
+  @NonNull
+  default <T, Ex extends Throwable> T executeAndBlockWithCancellableProgress(@NonNull String pDisplayName, @NonNull IExec<T, Ex> pExecutor,
+                                                                            @NonNull Runnable pOnCancel)
+  {
+    return executeAndBlockWithProgress(pDisplayName, pExecutor);
+  }
+
   /**
    * Executes an Action. While the action is running, the UI is blocked for the user. However, a progress bar is shown.
    * The progress bar can either show indeterminate progress or display the actual progress in work units
@@ -0,0 +1,128 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pair of conflicting deltas that is passed to all ResolveOptions checking the pair. The texts and the file extension are extracted the first time a
+ * ResolveOption asks for them and are shared by all following ResolveOptions.
+ * A ResolveContext belongs to the thread checking the pair and is not thread-safe
+ *
+ * @author agent, 19.10.2026
+ */
+public final class ResolveContext
+{
+
+  private final IChangeDelta changeDelta;
+  private final IChangeDelta otherDelta;
+  private final EConflictSide conflictSide;
+  private final IFileDiffHeader fileDiffHeader;
+  private String text;
+  private String otherText;
+  private String fileExtension;
+  private boolean fileExtensionRead;
+
+  /**
+   * @param pChangeDelta    conflicting delta
+   * @param pOtherDelta     conflicting delta
+   * @param pConflictSide   which side pChangeDelta is from
+   * @param pFileDiffHeader IFileDiffHeader containing information about encoding and which kind of file the conflict originates from (xml, js...)
+   */
+  public ResolveContext(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
+                        @NonNull IFileDiffHeader pFileDiffHeader)
+  {
+    changeDelta = pChangeDelta;
+    otherDelta = pOtherDelta;
+    conflictSide = pConflictSide;
+    fileDiffHeader = pFileDiffHeader;
+  }
+
+  /**
+   * @return conflicting delta
+   */
+  @NonNull
+  public IChangeDelta getChangeDelta()
+  {
+    return changeDelta;
+  }
+
+  /**
+   * @return conflicting delta of the opposite side
+   */
+  @NonNull
+  public IChangeDelta getOtherDelta()
+  {
+    return otherDelta;
+  }
+
+  /**
+   * @return which side the delta returned by getChangeDelta is from
+   */
+  @NonNull
+  public EConflictSide getConflictSide()
+  {
+    return conflictSide;
+  }
+
+  /**
+   * @return IFileDiffHeader of the file the conflict originates from
+   */
+  @NonNull
+  public IFileDiffHeader getFileDiffHeader()
+  {
+    return fileDiffHeader;
+  }
+
+  /**
+   * @return text of the NEW side of the delta returned by getChangeDelta
+   */
+  @NonNull
+  public String getText()
+  {
+    if (text == null)
+      text = changeDelta.getText(EChangeSide.NEW);
+    return text;
+  }
+
+  /**
+   * @return text of the NEW side of the delta returned by getOtherDelta
+   */
+  @NonNull
+  public String getOtherText()
+  {
+    if (otherText == null)
+      otherText = otherDelta.getText(EChangeSide.NEW);
+    return otherText;
+  }
+
+  /**
+   * @return length of the text of the NEW side of the delta returned by getChangeDelta, determined without extracting the text
+   */
+  public int getTextLength()
+  {
+    return changeDelta.getEndTextIndex(EChangeSide.NEW) - changeDelta.getStartTextIndex(EChangeSide.NEW);
+  }
+
+  /**
+   * @return length of the text of the NEW side of the delta returned by getOtherDelta, determined without extracting the text
+   */
+  public int getOtherTextLength()
+  {
+    return otherDelta.getEndTextIndex(EChangeSide.NEW) - otherDelta.getStartTextIndex(EChangeSide.NEW);
+  }
+
+  /**
+   * @return file extension of the NEW side of the file
+   */
+  @Nullable
+  public String getFileExtension()
+  {
+    if (!fileExtensionRead)
+    {
+      fileExtension = fileDiffHeader.getFileExtension(EChangeSide.NEW);
+      fileExtensionRead = true;
+    }
+    return fileExtension;
+  }
+}
@@ -6,11 +6,27 @@ import lombok.NonNull;
 import java.util.List;
 
 /**
+ * Option for resolving a conflict between two deltas automatically. Besides the ResolveOptions bound in the injector, ResolveOptions can be added by
+ * registering them as service in META-INF/services/de.adito.git.impl.data.diff.ResolveOption. Such ResolveOptions need a public no-arg constructor
+ *
  * @author m.kaspera, 13.06.2022
  */
 public interface ResolveOption
 {
 
+  /**
+   * Cost estimate of a ResolveOption that only compares the positions of the deltas or the texts as a whole
+   */
+  int COST_LOW = 10;
+  /**
+   * Cost estimate of a ResolveOption that parses the texts of the deltas
+   */
+  int COST_MEDIUM = 100;
+  /**
+   * Cost estimate of a ResolveOption that diffs the texts of the deltas
+   */
+  int COST_HIGH = 1000;
+
   /**
    * @param acceptedDelta conflicting delta that should be accepted (the other conflicting delta should be accepted or discarded as well)
    * @param pAcceptedDiff IFileDiff, that contains acceptedDelta
@@ -23,20 +39,58 @@ public interface ResolveOption
                                               @NonNull EConflictSide pConflictSide, @NonNull ConflictPair pConflictPair);
 
   /**
+   * Checks the conflict with {@link #canApply(ResolveContext)} and {@link #canResolveConflict(ResolveContext)}, for callers that do not share a
+   * ResolveContext between several ResolveOptions
+   *
    * @param pChangeDelta    conflicting delta
    * @param pOtherDelta     conflicting delta
    * @param pConflictSide   which side pChangeDelta is from
    * @param pFileDiffHeader IFileDiffHeader containing information about encoding and which kind of file the conflict originates from (xml, js...)
    * @return true if the ResolveOption can resolve the conflict
    */
-  boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                             @NonNull IFileDiffHeader pFileDiffHeader);
+  default boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
+                                     @NonNull IFileDiffHeader pFileDiffHeader)
+  {
+    ResolveContext resolveContext = new ResolveContext(pChangeDelta, pOtherDelta, pConflictSide, pFileDiffHeader);
+    return canApply(resolveContext) && canResolveConflict(resolveContext);
+  }
 
   /**
-   * Determines which ResolveOptions are applied first
+   * Cheap check if the ResolveOption could resolve the conflict at all, e.g. by checking the file extension or the size of the deltas.
+   * Should not do any expensive text analysis, that belongs in {@link #canResolveConflict(ResolveContext)}
+   *
+   * @param pResolveContext the conflicting deltas
+   * @return false if the ResolveOption can definitely not resolve the conflict
+   */
+  default boolean canApply(@NonNull ResolveContext pResolveContext)
+  {
+    return true;
+  }
+
+  /**
+   * Only called if {@link #canApply(ResolveContext)} returned true
+   *
+   * @param pResolveContext the conflicting deltas, with the texts shared by all ResolveOptions that check these deltas
+   * @return true if the ResolveOption can resolve the conflict
+   */
+  boolean canResolveConflict(@NonNull ResolveContext pResolveContext);
+
+  /**
+   * Determines which of the ResolveOptions with the same cost estimate is applied first
    *
    * @return position that the ResolveOption should have, a lower number means the ResolveOption is applied first
    */
   int getPosition();
 
+  /**
+   * Estimate of how expensive canResolveConflict is. ResolveOptions are applied in the order of their cost, so that the cheap ResolveOptions get to
+   * resolve a conflict before the expensive ones are checked. The position only orders ResolveOptions with the same cost
+   *
+   * @return estimated cost, a lower number means canResolveConflict is cheaper
+   */
+  default int getCostEstimate()
+  {
+    return COST_MEDIUM;
+  }
+
 }
@@ -83,11 +83,58 @@ public class LineHighlighter extends DefaultHighlighter
     return tag;
   }
 
+  /**
+   * Adds a highlight that is drawn below the highlights added via addHighlight, such as the selection
+   *
+   * @param pP0 start offset of the highlight
+   * @param pP1 end offset of the highlight
+   * @param pP  painter that draws the highlight
+   * @return object that identifies the highlight in changeBackgroundHighlight, removeBackgroundHighlight and moveBackgroundHighlightsToFront. It stays the
+   * same even if the highlight is added again to restore the order of the highlights
+   * @throws BadLocationException if the offsets are not valid for the document
+   */
   Object addBackgroundHighlight(int pP0, int pP1, HighlightPainter pP) throws BadLocationException
   {
-    Object tag = super.addHighlight(pP0, pP1, pP);
-    backgroundHighlights.put(tag, new LineHighlighter._Highlight(pP0, pP1, pP));
-    return tag;
+    LineHighlighter._Highlight highlight = new LineHighlighter._Highlight(pP);
+    _addBackgroundHighlight(highlight, pP0, pP1);
+    return highlight;
+  }
+
+  /**
+   * Moves a highlight added via addBackgroundHighlight to the given offsets, does nothing if the highlight is already at those offsets
+   *
+   * @param pHighlight object returned by addBackgroundHighlight
+   * @param pP0        new start offset of the highlight
+   * @param pP1        new end offset of the highlight
+   * @throws BadLocationException if the offsets are not valid for the document
+   */
+  void changeBackgroundHighlight(Object pHighlight, int pP0, int pP1) throws BadLocationException
+  {
+    Highlighter.Highlight tag = ((LineHighlighter._Highlight) pHighlight).tag;
+    if (tag.getStartOffset() != pP0 || tag.getEndOffset() != pP1)
+      changeHighlight(tag, pP0, pP1);
+  }
+
+  /**
+   * @param pHighlight object returned by addBackgroundHighlight
+   */
+  void removeBackgroundHighlight(Object pHighlight)
+  {
+    removeHighlight(((LineHighlighter._Highlight) pHighlight).tag);
+  }
+
+  /**
+   * Adds the given highlights again, so that they are drawn above all other background highlights
+   *
+   * @param pHighlights objects returned by addBackgroundHighlight
+   * @throws BadLocationException if the offsets of a highlight are no longer valid for the document
+   */
+  void moveBackgroundHighlightsToFront(Collection<Object> pHighlights) throws BadLocationException
+  {
+    for (Object highlight : pHighlights)
+    {
+      _readdBackgroundHighlight((LineHighlighter._Highlight) highlight);
+    }
   }
 
   @Override
@@ -107,24 +154,39 @@ public class LineHighlighter extends DefaultHighlighter
 
   private void _sortHighlights() throws BadLocationException
   {
-    List<LineHighlighter._Highlight> bgHighlights = new ArrayList<>(backgroundHighlights.values());
-    new ArrayList<>(backgroundHighlights.keySet()).forEach(this::removeHighlight);
-    for (LineHighlighter._Highlight highlight : bgHighlights)
+    for (LineHighlighter._Highlight highlight : new ArrayList<>(backgroundHighlights.values()))
     {
-      addBackgroundHighlight(highlight.start, highlight.end, highlight.painter);
+      _readdBackgroundHighlight(highlight);
     }
+    component.repaint();
+  }
+
+  /**
+   * removes the highlight and adds it again at its current offsets, which places it after all other highlights
+   */
+  private void _readdBackgroundHighlight(LineHighlighter._Highlight pHighlight) throws BadLocationException
+  {
+    int start = pHighlight.tag.getStartOffset();
+    int end = pHighlight.tag.getEndOffset();
+    super.removeHighlight(pHighlight.tag);
+    backgroundHighlights.remove(pHighlight.tag);
+    _addBackgroundHighlight(pHighlight, start, end);
+  }
+
+  private void _addBackgroundHighlight(LineHighlighter._Highlight pHighlight, int pP0, int pP1) throws BadLocationException
+  {
+    pHighlight.tag = (Highlighter.Highlight) super.addHighlight(pP0, pP1, pHighlight.painter);
+    backgroundHighlights.put(pHighlight.tag, pHighlight);
   }
 
   private static class _Highlight
   {
-    private final int start;
-    private final int end;
     private final HighlightPainter painter;
+    // tag of the highlight in the DefaultHighlighter, changes each time the highlight is added again
+    private Highlighter.Highlight tag;
 
-    private _Highlight(int start, int end, HighlightPainter painter)
+    private _Highlight(HighlightPainter painter)
     {
-      this.start = start;
-      this.end = end;
       this.painter = painter;
     }
   }
@@ -2,12 +2,16 @@ package de.adito.git.gui;
 
 import de.adito.git.api.data.diff.*;
 
+import org.jetbrains.annotations.Nullable;
+
 import javax.swing.*;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Handles IDeltaTextChangeEvent that describe changes to the contents of a given editorPane. The IDeltaTextChangeEvents also contain IChangeDeltas that determine
@@ -33,11 +37,11 @@ public class TextHighlightUtil
     List<IChangeDelta> changeDeltas = pTextChangeEvent.getFileDiff() == null ? List.of() : pTextChangeEvent.getFileDiff().getChangeDeltas();
     if (pTextChangeEvent.getSide() == pChangeSide)
     {
-      _insertColoredText(pEditorPane, pTextChangeEvent, () -> _getHighlightSpots(changeDeltas, pChangeSide, true));
+      _insertColoredText(pEditorPane, pTextChangeEvent, changeDeltas, pChangeSide, false);
     }
     else
     {
-      _colorHighlights(pEditorPane, _getHighlightSpots(changeDeltas, pChangeSide, true));
+      _colorHighlights(pEditorPane, changeDeltas, pChangeSide, false);
     }
   }
 
@@ -55,8 +59,8 @@ public class TextHighlightUtil
     List<IChangeDelta> changeDeltas = new ArrayList<>();
     changeDeltas.addAll(pYourChangeEvent.getFileDiff() == null ? List.of() : pYourChangeEvent.getFileDiff().getChangeDeltas());
     changeDeltas.addAll(pTheirChangeEvent.getFileDiff() == null ? List.of() : pTheirChangeEvent.getFileDiff().getChangeDeltas());
-    _insertColoredText(pEditorPane, realChangeEvent, () -> _getHighlightSpots(changeDeltas, pChangeSide, true)
-    );
+    // the deltas of the two fileDiffs can overlap, so the highlights of pending changes have to stay on top of all others
+    _insertColoredText(pEditorPane, realChangeEvent, changeDeltas, pChangeSide, true);
   }
 
   private static IDeltaTextChangeEvent _getRealEvent(IDeltaTextChangeEvent pYourChangeEvent, IDeltaTextChangeEvent pTheirChangeEvent)
@@ -68,34 +72,29 @@ public class TextHighlightUtil
   }
 
   /**
-   * @param pFileChangeChunks List of IChangeDelta for which the highlighted areas should be determined
-   * @param pChangeSide       which side of a IChangeDelta should be used
-   * @return List of _Highlight
+   * @param pChangeDelta           IChangeDelta for which the highlighted areas should be determined
+   * @param pChangeSide            which side of a IChangeDelta should be used
+   * @param pHighlightSpots        List of _Highlights to which to add all secondary highlights (drawn first)
+   * @param pPendingHighlightSpots List of _Highlights to which to add all primary highlights (drawn second -> in foreground)
    */
   // TODO: pIsMarkWords is always true, get a real value from some kind of setting
-  private static List<_Highlight> _getHighlightSpots(List<IChangeDelta> pFileChangeChunks, EChangeSide pChangeSide, boolean pIsMarkWords)
+  private static void _getHighlightSpots(IChangeDelta pChangeDelta, EChangeSide pChangeSide, boolean pIsMarkWords, List<_Highlight> pHighlightSpots,
+                                         List<_Highlight> pPendingHighlightSpots)
   {
-    List<_Highlight> highlightSpots = new ArrayList<>();
-    List<_Highlight> pendingHighlightSpots = new ArrayList<>();
-    for (IChangeDelta changeDelta : pFileChangeChunks)
+    if (pChangeDelta.getChangeType() == EChangeType.DELETE && pChangeDelta.getEndTextIndex(EChangeSide.OLD) == pChangeDelta.getText(EChangeSide.OLD).length())
     {
-      if (changeDelta.getChangeType() == EChangeType.DELETE && changeDelta.getEndTextIndex(EChangeSide.OLD) == changeDelta.getText(EChangeSide.OLD).length())
-      {
-        _getLineHighlight(changeDelta, pChangeSide, false, highlightSpots);
-      }
-      else if (pIsMarkWords && changeDelta.getChangeStatus() == EChangeStatus.PENDING && (changeDelta.getChangeType() == EChangeType.MODIFY))
-      {
-        _getWordsHighlight(changeDelta, pChangeSide, highlightSpots, pendingHighlightSpots);
-      }
-      else
-      {
-        if (changeDelta.getChangeStatus() == EChangeStatus.PENDING)
-          _getLineHighlight(changeDelta, pChangeSide, true, pendingHighlightSpots);
-        _getLineHighlight(changeDelta, pChangeSide, true, highlightSpots);
-      }
+      _getLineHighlight(pChangeDelta, pChangeSide, false, pHighlightSpots);
+    }
+    else if (pIsMarkWords && pChangeDelta.getChangeStatus() == EChangeStatus.PENDING && (pChangeDelta.getChangeType() == EChangeType.MODIFY))
+    {
+      _getWordsHighlight(pChangeDelta, pChangeSide, pHighlightSpots, pPendingHighlightSpots);
+    }
+    else
+    {
+      if (pChangeDelta.getChangeStatus() == EChangeStatus.PENDING)
+        _getLineHighlight(pChangeDelta, pChangeSide, true, pPendingHighlightSpots);
+      _getLineHighlight(pChangeDelta, pChangeSide, true, pHighlightSpots);
     }
-    highlightSpots.addAll(pendingHighlightSpots);
-    return highlightSpots;
   }
 
   /**
@@ -157,13 +156,16 @@ public class TextHighlightUtil
   }
 
   /**
-   * applies the given textChangeEvent and the applies the given highlights
+   * applies the given textChangeEvent and then updates the highlights of the IChangeDeltas. The text has to be inserted before the highlights are
+   * calculated
    *
-   * @param pJEditorPane        JEditorPane that should be filled with text and colored
-   * @param pHighlightsSupplier Supplier of list of _Highlight determining which additional areas get colored and the color of the areas
-   *                            This is a supplier instead of a list because the text has to be inserted before the highlights are calculated
+   * @param pJEditorPane JEditorPane that should be filled with text and colored
+   * @param pChangeDeltas IChangeDeltas whose changes should be highlighted
+   * @param pChangeSide   which side of the IChangeDeltas should be used
+   * @param pOverlapping  true if the IChangeDeltas may overlap
    */
-  private static void _insertColoredText(JEditorPane pJEditorPane, IDeltaTextChangeEvent pTextChangeEvent, Supplier<List<_Highlight>> pHighlightsSupplier)
+  private static void _insertColoredText(JEditorPane pJEditorPane, IDeltaTextChangeEvent pTextChangeEvent, List<IChangeDelta> pChangeDeltas,
+                                         EChangeSide pChangeSide, boolean pOverlapping)
   {
     try
     {
@@ -173,33 +175,122 @@ public class TextHighlightUtil
     {
       throw new RuntimeException(pE);
     }
-    _colorHighlights(pJEditorPane, pHighlightsSupplier.get());
+    _colorHighlights(pJEditorPane, pChangeDeltas, pChangeSide, pOverlapping);
   }
 
   /**
-   * applies the given highlights to the editorPane
+   * Updates the highlights of the editorPane to match the given IChangeDeltas. The highlights added for each IChangeDelta are remembered, so only the
+   * highlights of those IChangeDeltas that changed are calculated again, and highlights are only added or removed if the kind of highlighting of an
+   * IChangeDelta changes. If only the offsets of an IChangeDelta changed, its highlights are moved
    *
-   * @param pJEditorPane    EditorPane to add the highlights to
-   * @param pHighlightSpots highlights to add to the editorPane
+   * @param pJEditorPane  EditorPane to add the highlights to
+   * @param pChangeDeltas IChangeDeltas whose changes should be highlighted
+   * @param pChangeSide   which side of the IChangeDeltas should be used
+   * @param pOverlapping  true if the IChangeDeltas may overlap. In that case the highlights of pending changes are moved above all others if highlights were
+   *                      added
    */
-  private static void _colorHighlights(JEditorPane pJEditorPane, List<_Highlight> pHighlightSpots)
+  private static void _colorHighlights(JEditorPane pJEditorPane, List<IChangeDelta> pChangeDeltas, EChangeSide pChangeSide, boolean pOverlapping)
   {
-    LineHighlighter highlighter = new LineHighlighter();
-    // TODO: check if highlighter is already a LineHighlighter and if so, call removeAllHighlights. Seems a better solution and could be better performance-wise
-    pJEditorPane.setHighlighter(highlighter);
-    try
+    _DeltaHighlights deltaHighlights = _getDeltaHighlights(pJEditorPane);
+    LineHighlighter highlighter = deltaHighlights.highlighter;
+    List<_AppliedDelta> appliedDeltas = deltaHighlights.appliedDeltas;
+    boolean addedHighlights = false;
+    for (int index = 0; index < pChangeDeltas.size(); index++)
+    {
+      _AppliedDelta appliedDelta = index < appliedDeltas.size() ? appliedDeltas.get(index) : null;
+      _AppliedDelta updatedDelta = _updateHighlights(highlighter, appliedDelta, pChangeDeltas.get(index), pChangeSide);
+      addedHighlights |= appliedDelta == null || updatedDelta.handles != appliedDelta.handles;
+      if (index < appliedDeltas.size())
+        appliedDeltas.set(index, updatedDelta);
+      else
+        appliedDeltas.add(updatedDelta);
+    }
+    while (appliedDeltas.size() > pChangeDeltas.size())
+    {
+      appliedDeltas.remove(appliedDeltas.size() - 1).removeFrom(highlighter);
+    }
+    if (pOverlapping && addedHighlights)
     {
-      for (_Highlight highlight : pHighlightSpots)
+      try
+      {
+        highlighter.moveBackgroundHighlightsToFront(appliedDeltas.stream()
+                                                        .flatMap(pAppliedDelta -> pAppliedDelta.getPendingHandles().stream())
+                                                        .collect(Collectors.toList()));
+      }
+      catch (BadLocationException e)
       {
-        highlighter.addBackgroundHighlight(highlight.getStartIndex(), highlight.getEndOffset(), new LineHighlightPainter(highlight.getColor(), highlight.getMode()));
+        // exception is okay, can happen if text is not set yet. The order is restored once the highlights are added again
       }
     }
+  }
+
+  /**
+   * Brings the highlights of a single IChangeDelta up to date
+   *
+   * @param pHighlighter   LineHighlighter of the editorPane
+   * @param pAppliedDelta  highlights that were added the last time for the IChangeDelta at this index, null if there are none
+   * @param pChangeDelta   current IChangeDelta
+   * @param pChangeSide    which side of a IChangeDelta should be used
+   * @return the highlights that are now added for the IChangeDelta. Has the same handles as pAppliedDelta if the highlights were only moved
+   */
+  private static _AppliedDelta _updateHighlights(LineHighlighter pHighlighter, @Nullable _AppliedDelta pAppliedDelta, IChangeDelta pChangeDelta,
+                                                 EChangeSide pChangeSide)
+  {
+    _AppliedDelta updatedDelta;
+    if (pAppliedDelta != null && pAppliedDelta.changeDelta == pChangeDelta && pAppliedDelta.changeSide == pChangeSide)
+    {
+      // the delta did not change, but its highlights could have been moved by changes to the text
+      updatedDelta = pAppliedDelta;
+    }
+    else
+    {
+      List<_Highlight> highlightSpots = new ArrayList<>();
+      List<_Highlight> pendingHighlightSpots = new ArrayList<>();
+      _getHighlightSpots(pChangeDelta, pChangeSide, true, highlightSpots, pendingHighlightSpots);
+      highlightSpots.addAll(pendingHighlightSpots);
+      if (pAppliedDelta != null && pAppliedDelta.hasSameLayout(highlightSpots, pendingHighlightSpots.size()))
+      {
+        updatedDelta = new _AppliedDelta(pChangeDelta, pChangeSide, highlightSpots, pendingHighlightSpots.size(), pAppliedDelta.handles);
+      }
+      else
+      {
+        if (pAppliedDelta != null)
+          pAppliedDelta.removeFrom(pHighlighter);
+        updatedDelta = new _AppliedDelta(pChangeDelta, pChangeSide, highlightSpots, pendingHighlightSpots.size(), new ArrayList<>());
+      }
+    }
+    try
+    {
+      updatedDelta.applyTo(pHighlighter);
+      return updatedDelta;
+    }
     catch (BadLocationException e)
     {
-      // exception is okay, can happen if text is not set yet. Don't draw the highlight, should be drawn later on anyways
+      // exception is okay, can happen if text is not set yet. Don't draw the highlights, they are added again with the next update
+      updatedDelta.removeFrom(pHighlighter);
+      return new _AppliedDelta(null, pChangeSide, List.of(), 0, new ArrayList<>());
     }
   }
 
+  /**
+   * Returns the highlights that were added to the editorPane so far. If the editorPane has no LineHighlighter yet, or its highlighter or document was
+   * exchanged in the meantime, a new LineHighlighter is installed
+   *
+   * @param pJEditorPane EditorPane whose highlights should be updated
+   * @return the highlights added to the editorPane
+   */
+  private static _DeltaHighlights _getDeltaHighlights(JEditorPane pJEditorPane)
+  {
+    Object clientProperty = pJEditorPane.getClientProperty(_DeltaHighlights.class);
+    if (clientProperty instanceof _DeltaHighlights && ((_DeltaHighlights) clientProperty).isInstalledOn(pJEditorPane))
+      return (_DeltaHighlights) clientProperty;
+    LineHighlighter highlighter = new LineHighlighter();
+    pJEditorPane.setHighlighter(highlighter);
+    _DeltaHighlights deltaHighlights = new _DeltaHighlights(highlighter, pJEditorPane.getDocument());
+    pJEditorPane.putClientProperty(_DeltaHighlights.class, deltaHighlights);
+    return deltaHighlights;
+  }
+
   /**
    * check if a only a thin line should be highlighted, instead of the whole line
    *
@@ -247,6 +338,15 @@ public class TextHighlightUtil
     {
       return highlightSpot.getColor();
     }
+
+    /**
+     * @param pOther other _Highlight
+     * @return true if both highlights are drawn with the same painter, the offsets may differ
+     */
+    boolean isSamePainter(_Highlight pOther)
+    {
+      return mode == pOther.mode && Objects.equals(getColor(), pOther.getColor());
+    }
   }
 
   /**
@@ -280,4 +380,94 @@ public class TextHighlightUtil
       return color;
     }
   }
+
+  /**
+   * LineHighlighter of an editorPane and the highlights that were added to it for each IChangeDelta, in the order of the IChangeDeltas
+   */
+  private static final class _DeltaHighlights
+  {
+    private final LineHighlighter highlighter;
+    private final Document document;
+    private final List<_AppliedDelta> appliedDeltas = new ArrayList<>();
+
+    private _DeltaHighlights(LineHighlighter pHighlighter, Document pDocument)
+    {
+      highlighter = pHighlighter;
+      document = pDocument;
+    }
+
+    /**
+     * @param pJEditorPane EditorPane that the highlights belong to
+     * @return true if the highlights are still those of the editorPane. If the document was exchanged, the highlights refer to the old document
+     */
+    boolean isInstalledOn(JEditorPane pJEditorPane)
+    {
+      return pJEditorPane.getHighlighter() == highlighter && pJEditorPane.getDocument() == document;
+    }
+  }
+
+  /**
+   * The highlights that were added for an IChangeDelta. The highlights of pending changes are the last ones in the list, because they are drawn on top
+   */
+  private static final class _AppliedDelta
+  {
+    @Nullable
+    private final IChangeDelta changeDelta;
+    private final EChangeSide changeSide;
+    private final List<_Highlight> highlights;
+    private final int pendingCount;
+    // objects returned by the LineHighlighter, one for each of the highlights that is added so far
+    private final List<Object> handles;
+
+    private _AppliedDelta(@Nullable IChangeDelta pChangeDelta, EChangeSide pChangeSide, List<_Highlight> pHighlights, int pPendingCount, List<Object> pHandles)
+    {
+      changeDelta = pChangeDelta;
+      changeSide = pChangeSide;
+      highlights = pHighlights;
+      pendingCount = pPendingCount;
+      handles = pHandles;
+    }
+
+    /**
+     * @return true if the given highlights use the same painters as the highlights of this delta, so the existing highlights only have to be moved
+     */
+    boolean hasSameLayout(List<_Highlight> pHighlights, int pPendingCount)
+    {
+      if (pHighlights.size() != highlights.size() || pPendingCount != pendingCount || handles.size() != highlights.size())
+        return false;
+      for (int index = 0; index < highlights.size(); index++)
+      {
+        if (!highlights.get(index).isSamePainter(pHighlights.get(index)))
+          return false;
+      }
+      return true;
+    }
+
+    /**
+     * Moves the highlights that are already added to their offsets and adds those highlights that are missing
+     */
+    void applyTo(LineHighlighter pHighlighter) throws BadLocationException
+    {
+      for (int index = 0; index < highlights.size(); index++)
+      {
+        _Highlight highlight = highlights.get(index);
+        if (index < handles.size())
+          pHighlighter.changeBackgroundHighlight(handles.get(index), highlight.getStartIndex(), highlight.getEndOffset());
+        else
+          handles.add(pHighlighter.addBackgroundHighlight(highlight.getStartIndex(), highlight.getEndOffset(),
+                                                          new LineHighlightPainter(highlight.getColor(), highlight.getMode())));
+      }
+    }
+
+    void removeFrom(LineHighlighter pHighlighter)
+    {
+      handles.forEach(pHighlighter::removeBackgroundHighlight);
+      handles.clear();
+    }
+
+    List<Object> getPendingHandles()
+    {
+      return handles.subList(Math.max(0, handles.size() - pendingCount), handles.size());
+    }
+  }
 }
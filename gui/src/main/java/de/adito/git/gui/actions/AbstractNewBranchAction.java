@@ -5,6 +5,7 @@ import de.adito.git.api.data.ICommit;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.INewBranchDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.Disposable;
@@ -23,7 +24,8 @@ abstract class AbstractNewBranchAction extends AbstractAction implements IDiscar
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
   private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<ICommit>> startingPoint;
+  private final LatestValue<Optional<IRepository>> currentRepository;
+  private final LatestValue<Optional<ICommit>> startingPoint;
   private final Disposable disposable;
   private final INotifyUtil notifyUtil;
 
@@ -43,7 +45,8 @@ abstract class AbstractNewBranchAction extends AbstractAction implements IDiscar
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
     repository = pRepository;
-    startingPoint = pStartingPoint;
+    currentRepository = new LatestValue<>(pRepository);
+    startingPoint = new LatestValue<>(pStartingPoint);
     disposable = pIsValidObservable.subscribe(pIsValid -> setEnabled(pIsValid.orElse(false)));
     notifyUtil = pNotifyUtil;
   }
@@ -54,10 +57,12 @@ abstract class AbstractNewBranchAction extends AbstractAction implements IDiscar
     INewBranchDialogResult<?, Boolean> result = dialogProvider.showNewBranchDialog(repository);
     if (result.isCreateBranch())
     {
+      Optional<IRepository> repositoryOpt = currentRepository.getOrDefault(Optional.empty());
+      ICommit startingCommit = startingPoint.getOrDefault(Optional.empty()).orElse(null);
       progressFacade.executeAndBlockWithProgress("Creating branch " + result.getMessage(), pHandle -> {
-        IRepository repo = repository.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+        IRepository repo = repositoryOpt.orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
         GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
-        repo.createBranch(result.getMessage(), startingPoint.blockingFirst().orElse(null), result.getInformation());
+        repo.createBranch(result.getMessage(), startingCommit, result.getInformation());
       });
     }
   }
@@ -67,5 +72,7 @@ abstract class AbstractNewBranchAction extends AbstractAction implements IDiscar
   {
     if (disposable != null)
       disposable.dispose();
+    currentRepository.discard();
+    startingPoint.discard();
   }
 }
@@ -1,14 +1,21 @@
 package de.adito.git.gui.actions;
 
 import de.adito.git.api.IDiscardable;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.Disposable;
+import lombok.NonNull;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Super-class for all actions that can have several rows selected
+ * The action subscribes to the observable of its enabled state once and only changes its enabled state in the EDT. Values that the action needs when it is
+ * performed in the EDT can be kept with _keepLatest, so the action never has to block the EDT to wait for an observable. The values are read once when
+ * the action is performed and handed to the background task, only observables of the repository itself (such as its status) are still read in the task
  *
  * @author m.kaspera 04.10.2018
  */
@@ -16,6 +23,8 @@ abstract class AbstractTableAction extends AbstractAction implements IDiscardabl
 {
 
   private final Disposable disposable;
+  private final List<LatestValue<?>> latestValues = new ArrayList<>();
+  private volatile boolean latestEnabledState = false;
 
   /**
    * @param pName the title of the action (is displayed in a menu)
@@ -32,12 +41,41 @@ abstract class AbstractTableAction extends AbstractAction implements IDiscardabl
   AbstractTableAction(String pName, Observable<Optional<Boolean>> pIsEnabledObservable)
   {
     super(pName);
-    disposable = pIsEnabledObservable.subscribe(isEnabled -> setEnabled(isEnabled.orElse(false)));
+    disposable = pIsEnabledObservable.map(pIsEnabled -> pIsEnabled.orElse(false))
+        .distinctUntilChanged()
+        .subscribe(this::_updateEnabledState);
+  }
+
+  /**
+   * Keeps the latest value of the observable for as long as the action exists
+   *
+   * @param pObservable Observable whose latest value should be available without blocking
+   * @return LatestValue that holds the latest value of the observable, discarded together with the action
+   */
+  @NonNull
+  <T> LatestValue<T> _keepLatest(@NonNull Observable<T> pObservable)
+  {
+    LatestValue<T> latestValue = new LatestValue<>(pObservable);
+    latestValues.add(latestValue);
+    return latestValue;
   }
 
   @Override
   public void discard()
   {
     disposable.dispose();
+    latestValues.forEach(LatestValue::discard);
+  }
+
+  /**
+   * sets the enabled state in the EDT. If several states arrive before the EDT gets to set them, only the latest one is set
+   */
+  private void _updateEnabledState(boolean pEnabled)
+  {
+    latestEnabledState = pEnabled;
+    if (SwingUtilities.isEventDispatchThread())
+      setEnabled(pEnabled);
+    else
+      SwingUtilities.invokeLater(() -> setEnabled(latestEnabledState));
   }
 }
@@ -9,6 +9,7 @@ import de.adito.git.gui.Constants;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import javax.swing.*;
@@ -29,8 +30,8 @@ class AddTagAction extends AbstractTableAction
   private static final String ACTION_NAME = "Add Tag";
   private final IDialogProvider dialogProvider;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommits;
 
   @Inject
   AddTagAction(IDialogProvider pDialogProvider, INotifyUtil pNotifyUtil, IIconLoader pIconLoader,
@@ -41,20 +42,20 @@ class AddTagAction extends AbstractTableAction
     putValue(Action.SMALL_ICON, pIconLoader.getIcon(Constants.ADD_TAG_ACTION_ICON));
     dialogProvider = pDialogProvider;
     notifyUtil = pNotifyUtil;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
+    repository = _keepLatest(pRepository);
+    selectedCommits = _keepLatest(pSelectedCommitObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    List<ICommit> selectedCommits = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
-    if (selectedCommits.size() == 1)
+    List<ICommit> commits = selectedCommits.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
+    if (commits.size() == 1)
     {
       IUserPromptDialogResult dialogResult = dialogProvider.showUserPromptDialog("Insert the name of the tag", null);
       if (dialogResult.isOkay())
       {
-        repository.blockingFirst().ifPresent(pRepoOpt -> pRepoOpt.createTag(dialogResult.getMessage(), selectedCommits.get(0).getId()));
+        repository.getOrDefault(Optional.empty()).ifPresent(pRepoOpt -> pRepoOpt.createTag(dialogResult.getMessage(), commits.get(0).getId()));
         notifyUtil.notify(NOTIFY_CATEGORY, "Tag added successfully", true);
       }
       else
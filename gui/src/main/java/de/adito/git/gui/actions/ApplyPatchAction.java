@@ -6,6 +6,7 @@ import de.adito.git.api.IRepository;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.filechooser.FileChooserProvider;
 import de.adito.git.gui.dialogs.results.IFileSelectionDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -18,14 +19,14 @@ import java.util.Optional;
 public class ApplyPatchAction extends AbstractTableAction
 {
   private final IDialogProvider dialogProvider;
-  private final Observable<Optional<IRepository>> repositoryObservable;
+  private final LatestValue<Optional<IRepository>> repositoryObservable;
 
   @Inject
   public ApplyPatchAction(IDialogProvider pDialogProvider, @Assisted Observable<Optional<IRepository>> pRepositoryObservable)
   {
     super("Apply patch");
     dialogProvider = pDialogProvider;
-    repositoryObservable = pRepositoryObservable;
+    repositoryObservable = _keepLatest(pRepositoryObservable);
   }
 
   @Override
@@ -35,7 +36,7 @@ public class ApplyPatchAction extends AbstractTableAction
         dialogProvider.showFileSelectionDialog("Select file that contains the patch", FileChooserProvider.FileSelectionMode.FILES_ONLY, null);
     if (dialogResult.acceptFiles())
     {
-      repositoryObservable.blockingFirst().ifPresent(pRepo -> pRepo.applyPatch(new File(dialogResult.getMessage())));
+      repositoryObservable.getOrDefault(Optional.empty()).ifPresent(pRepo -> pRepo.applyPatch(new File(dialogResult.getMessage())));
     }
   }
 }
@@ -15,6 +15,7 @@ import de.adito.git.gui.dialogs.panels.CompositePanel;
 import de.adito.git.gui.dialogs.panels.NotificationPanel;
 import de.adito.git.gui.dialogs.panels.UserPromptPanel;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
@@ -36,10 +37,10 @@ class CheckoutAction extends AbstractTableAction
   private final IPrefStore prefStore;
   private final IDialogProvider dialogProvider;
   private final IAsyncProgressFacade progressFactory;
-  private final Observable<Optional<IRepository>> repositoryObservable;
+  private final LatestValue<Optional<IRepository>> repositoryObservable;
   private final ISaveUtil saveUtil;
   private final MergeConflictSequence mergeConflictSequence;
-  private final Observable<Optional<IBranch>> branchObservable;
+  private final LatestValue<Optional<IBranch>> branchObservable;
   private final INotifyUtil notifyUtil;
 
   /**
@@ -57,10 +58,10 @@ class CheckoutAction extends AbstractTableAction
     progressFactory = pProgressFactory;
     saveUtil = pSaveUtil;
     mergeConflictSequence = pMergeConflictSequence;
-    branchObservable = pBranch;
+    branchObservable = _keepLatest(pBranch);
     putValue(Action.NAME, Util.getResource(CheckoutAction.class, "checkoutTitle"));
     putValue(Action.SHORT_DESCRIPTION, Util.getResource(CheckoutAction.class, "checkoutTooltip"));
-    repositoryObservable = pRepository;
+    repositoryObservable = _keepLatest(pRepository);
     notifyUtil = pNotifyUtil;
   }
 
@@ -68,8 +69,8 @@ class CheckoutAction extends AbstractTableAction
   public void actionPerformed(ActionEvent pEvent)
   {
     saveUtil.saveUnsavedFiles();
-    IRepository repository = repositoryObservable.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
-    Optional<IBranch> branchOpt = branchObservable.blockingFirst();
+    IRepository repository = repositoryObservable.getOrDefault(Optional.empty()).orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+    Optional<IBranch> branchOpt = branchObservable.getOrDefault(Optional.empty());
     if (branchOpt.isPresent())
     {
       IBranch branch = branchOpt.get();
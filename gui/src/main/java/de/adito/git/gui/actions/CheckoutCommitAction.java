@@ -8,6 +8,7 @@ import de.adito.git.api.data.ICommit;
 import de.adito.git.api.data.IRepositoryState;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
@@ -27,8 +28,8 @@ public class CheckoutCommitAction extends AbstractTableAction
 
   private final INotifyUtil notifyUtil;
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommitObservable;
   private final IDialogProvider dialogProvider;
 
   @Inject
@@ -39,20 +40,20 @@ public class CheckoutCommitAction extends AbstractTableAction
     super("Checkout Commit", _getIsEnabledObservable(pSelectedCommitObservable, pRepository));
     notifyUtil = pNotifyUtil;
     progressFacade = pProgressFacade;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
+    repository = _keepLatest(pRepository);
+    selectedCommitObservable = _keepLatest(pSelectedCommitObservable);
     dialogProvider = pDialogProvider;
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
-    List<ICommit> selectedCommits = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
+    List<ICommit> selectedCommits = selectedCommitObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
     if (selectedCommits.size() == 1)
     {
+      Optional<IRepository> repositoryOpt = repository.getOrDefault(Optional.empty());
       progressFacade.executeInBackgroundWithoutIndexing("Resetting to commit " + selectedCommits.get(0).getId(), pHandle -> {
-        IRepository pRepo = repository.blockingFirst()
-            .orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+        IRepository pRepo = repositoryOpt.orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
         try
         {
           GitIndexLockUtil.checkAndHandleLockedIndexFile(pRepo, dialogProvider, notifyUtil);
@@ -18,6 +18,7 @@ import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IMergeConflictDialogResult;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import de.adito.git.impl.data.MergeDetailsImpl;
@@ -43,8 +44,8 @@ class CherryPickAction extends AbstractTableAction
   private final IDialogProvider dialogProvider;
   private final IAsyncProgressFacade progressFacade;
   private final IActionProvider actionProvider;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommits;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommits;
   private final ISaveUtil saveUtil;
   private final MergeConflictSequence mergeConflictSequence;
 
@@ -63,16 +64,16 @@ class CherryPickAction extends AbstractTableAction
     dialogProvider = pDialogProvider;
     progressFacade = pProgressFacade;
     actionProvider = pActionProvider;
-    repository = pRepository;
-    selectedCommits = pSelectedCommits;
+    repository = _keepLatest(pRepository);
+    selectedCommits = _keepLatest(pSelectedCommits);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
     saveUtil.saveUnsavedFiles();
-    IRepository repo = repository.blockingFirst().orElse(null);
-    List<ICommit> commitsToPick = selectedCommits.blockingFirst().orElse(Collections.emptyList());
+    IRepository repo = repository.getOrDefault(Optional.empty()).orElse(null);
+    List<ICommit> commitsToPick = selectedCommits.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
     if (repo != null && !commitsToPick.isEmpty())
     {
       GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
@@ -110,22 +111,23 @@ class CherryPickAction extends AbstractTableAction
     }
     finally
     {
-      _performUnstash(pHandle);
+      _performUnstash(pRepo, pHandle);
     }
   }
 
   /**
    * Performs the unstash operation
    *
+   * @param pRepo   repository
    * @param pHandle ProgressHandle to display the current progress/step
    */
-  private void _performUnstash(@NonNull IProgressHandle pHandle)
+  private void _performUnstash(IRepository pRepo, @NonNull IProgressHandle pHandle)
   {
     String stashedCommitId = prefStore.get(STASH_ID_KEY);
     if (stashedCommitId != null)
     {
       pHandle.setDescription(Util.getResource(this.getClass(), "unstashChangesMessage"));
-      StashCommand.doUnStashing(mergeConflictSequence, stashedCommitId, Observable.just(repository.blockingFirst()));
+      StashCommand.doUnStashing(mergeConflictSequence, stashedCommitId, Observable.just(Optional.of(pRepo)));
       prefStore.put(STASH_ID_KEY, null);
     }
   }
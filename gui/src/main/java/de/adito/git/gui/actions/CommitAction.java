@@ -6,6 +6,7 @@ import de.adito.git.api.INotifyUtil;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.ISaveUtil;
 import de.adito.git.api.data.IBranch;
+import de.adito.git.api.data.IFileStatus;
 import de.adito.git.api.data.IRepositoryState;
 import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.prefs.IPrefStore;
@@ -16,6 +17,7 @@ import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.CommitDialogResult;
 import de.adito.git.gui.dialogs.results.ICommitDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
@@ -42,7 +44,8 @@ class CommitAction extends AbstractTableAction
   private final ISaveUtil saveUtil;
   private INotifyUtil notifyUtil;
   private String messageTemplate;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IFileStatus>> status;
   private final IDialogProvider dialogProvider;
   private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
 
@@ -59,7 +62,8 @@ class CommitAction extends AbstractTableAction
     putValue(Action.SMALL_ICON, pIconLoader.getIcon(Constants.COMMIT_ACTION_ICON));
     putValue(Action.SHORT_DESCRIPTION, "Commit selected changed files");
     progressFacade = pProgressFacade;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
+    status = _keepLatest(pRepository.switchMap(pRepoOpt -> pRepoOpt.map(IRepository::getStatus).orElse(Observable.just(Optional.empty()))));
     dialogProvider = pDialogProvider;
     selectedFilesObservable = pSelectedFilesObservable;
   }
@@ -68,8 +72,8 @@ class CommitAction extends AbstractTableAction
   public void actionPerformed(ActionEvent pEvent)
   {
     saveUtil.saveUnsavedFiles();
-    Optional<IRepository> currentRepoOpt = repository.blockingFirst();
-    String prefStoreInstanceKey = getCommitMessageStorageKey(repository);
+    Optional<IRepository> currentRepoOpt = repository.getOrDefault(Optional.empty());
+    String prefStoreInstanceKey = getCommitMessageStorageKey(currentRepoOpt);
     Observable<Optional<IRepository>> repo = Observable.just(currentRepoOpt);
     if (messageTemplate == null || messageTemplate.isEmpty())
     {
@@ -77,7 +81,8 @@ class CommitAction extends AbstractTableAction
       if (messageTemplate == null)
         messageTemplate = "";
     }
-    if (currentRepoOpt.map(pRepo -> pRepo.getStatus().blockingFirst(Optional.empty()).map(pStatus -> pStatus.getUncommitted().isEmpty()).orElse(true)).orElse(true))
+    // a status that is not computed yet does not block the EDT, the commit dialog shows the files once the status is there
+    if (!currentRepoOpt.isPresent() || status.getOrDefault(Optional.empty()).map(pStatus -> pStatus.getUncommitted().isEmpty()).orElse(false))
     {
       dialogProvider.showDialog(dialogProvider.getPanelFactory().createNotificationPanel(Util.getResource(this.getClass(), "noFilesToCommitMsg")),
                                 Util.getResource(this.getClass(), "noFilesToCommitTitle"), List.of(EButtons.OK), List.of(EButtons.OK));
@@ -87,7 +92,7 @@ class CommitAction extends AbstractTableAction
     // if user didn't cancel the dialogs
     if (dialogResult.doCommit())
     {
-      IRepository currentRepo = repo.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(CommitAction.class, "noValidRepoMsg")));
+      IRepository currentRepo = currentRepoOpt.orElseThrow(() -> new RuntimeException(Util.getResource(CommitAction.class, "noValidRepoMsg")));
 
       // check for locked index file
       GitIndexLockUtil.checkAndHandleLockedIndexFile(currentRepo, dialogProvider, notifyUtil);
@@ -104,13 +109,13 @@ class CommitAction extends AbstractTableAction
   /**
    * retrieve the key that is used to store the commit message for the current repository
    *
-   * @param pRepository Observable of the Repository
+   * @param pRepository the Repository
    * @return String with the key with which to access the stored commit message for the repository
    */
   @NonNull
-  private static String getCommitMessageStorageKey(@NonNull Observable<Optional<IRepository>> pRepository)
+  private static String getCommitMessageStorageKey(@NonNull Optional<IRepository> pRepository)
   {
-    return COMMIT_MESSAGE_BASE_STORAGE_KEY + pRepository.blockingFirst(Optional.empty())
+    return COMMIT_MESSAGE_BASE_STORAGE_KEY + pRepository
         .map(IRepository::getTopLevelDirectory)
         .map(File::getAbsolutePath)
         .orElse("");
@@ -7,6 +7,7 @@ import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.filechooser.FileChooserProvider;
 import de.adito.git.gui.dialogs.results.IFileSelectionDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -26,8 +27,8 @@ public class CreatePatchAction extends AbstractTableAction
 {
 
   private final IDialogProvider dialogProvider;
-  private final Observable<Optional<IRepository>> repositoryObservable;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<IRepository>> repositoryObservable;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFilesObservable;
 
   @Inject
   public CreatePatchAction(IDialogProvider pDialogProvider, @Assisted Observable<Optional<IRepository>> pRepositoryObservable,
@@ -35,8 +36,8 @@ public class CreatePatchAction extends AbstractTableAction
   {
     super("Create Patch");
     dialogProvider = pDialogProvider;
-    repositoryObservable = pRepositoryObservable;
-    selectedFilesObservable = pSelectedFilesObservable;
+    repositoryObservable = _keepLatest(pRepositoryObservable);
+    selectedFilesObservable = _keepLatest(pSelectedFilesObservable);
   }
 
   @Override
@@ -44,7 +45,7 @@ public class CreatePatchAction extends AbstractTableAction
   {
     IFileSelectionDialogResult<?, Object> dialogResult =
         dialogProvider.showNewFileDialog("Choose destination for patch", FileChooserProvider.FileSelectionMode.DIRECTORIRES_ONLY, null, "changes.patch");
-    List<File> selectedFiles = selectedFilesObservable.blockingFirst().orElse(List.of()).stream().map(IFileChangeType::getFile).collect(Collectors.toList());
+    List<File> selectedFiles = selectedFilesObservable.getOrDefault(Optional.empty()).orElse(List.of()).stream().map(IFileChangeType::getFile).collect(Collectors.toList());
     if (dialogResult.acceptFiles())
     {
       String filePath = dialogResult.getMessage();
@@ -54,7 +55,7 @@ public class CreatePatchAction extends AbstractTableAction
       }
       try (OutputStream outputStream = Files.newOutputStream(Paths.get(filePath)))
       {
-        repositoryObservable.blockingFirst().ifPresent(pRepo -> pRepo.createPatch(selectedFiles, null, outputStream));
+        repositoryObservable.getOrDefault(Optional.empty()).ifPresent(pRepo -> pRepo.createPatch(selectedFiles, null, outputStream));
       }
       catch (IOException pE)
       {
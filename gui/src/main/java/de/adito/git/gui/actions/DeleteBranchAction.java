@@ -10,6 +10,7 @@ import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.EButtons;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -30,8 +31,8 @@ class DeleteBranchAction extends AbstractTableAction
   private final INotifyUtil notifyUtil;
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<IBranch>> branchObs;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IBranch>> branch;
 
   @Inject
   DeleteBranchAction(INotifyUtil pNotifyUtil, IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider,
@@ -41,16 +42,16 @@ class DeleteBranchAction extends AbstractTableAction
     notifyUtil = pNotifyUtil;
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
-    repository = pRepository;
-    branchObs = pBranchObs;
+    repository = _keepLatest(pRepository);
+    branch = _keepLatest(pBranchObs);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    Optional<IBranch> branchOpt = branchObs.blockingFirst(Optional.empty());
+    Optional<IBranch> branchOpt = branch.getOrDefault(Optional.empty());
     String branchName = branchOpt.map(IBranch::getSimpleName).orElse(null);
-    IRepository repo = repository.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+    IRepository repo = repository.getOrDefault(Optional.empty()).orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
     if (branchName != null)
     {
       IUserPromptDialogResult<?, Object> dialogResult = null;
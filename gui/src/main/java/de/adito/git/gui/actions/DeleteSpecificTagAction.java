@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.ITag;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -18,20 +19,20 @@ class DeleteSpecificTagAction extends AbstractTableAction
 {
 
   private final ITag tag;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
 
   @Inject
   DeleteSpecificTagAction(@Assisted Observable<Optional<IRepository>> pRepository, @Assisted ITag pTag)
   {
     super(pTag.getName(), Observable.just(Optional.of(true)));
     tag = pTag;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
-    Optional<IRepository> repo = repository.blockingFirst();
+    Optional<IRepository> repo = repository.getOrDefault(Optional.empty());
     repo.ifPresent(pIRepository -> pIRepository.deleteTag(tag));
   }
 }
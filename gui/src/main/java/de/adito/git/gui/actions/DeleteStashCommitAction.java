@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import javax.swing.*;
@@ -13,27 +14,28 @@ import java.util.Optional;
 /**
  * @author m.kaspera, 12.02.2019
  */
-class DeleteStashCommitAction extends AbstractAction
+class DeleteStashCommitAction extends AbstractTableAction
 {
 
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<String>> commitId;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<String>> commitId;
 
   @Inject
   DeleteStashCommitAction(IAsyncProgressFacade pProgressFacade, @Assisted Observable<Optional<IRepository>> pRepository,
                           @Assisted Observable<Optional<String>> pCommitId)
   {
+    super("Delete Stashed Commit");
     progressFacade = pProgressFacade;
-    repository = pRepository;
-    commitId = pCommitId;
+    repository = _keepLatest(pRepository);
+    commitId = _keepLatest(pCommitId);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresent(repo -> progressFacade.executeInBackground("unStashing changes", pHandle -> {
-      String commitHash = commitId.blockingFirst().orElse(null);
+    String commitHash = commitId.getOrDefault(Optional.empty()).orElse(null);
+    repository.getOrDefault(Optional.empty()).ifPresent(repo -> progressFacade.executeInBackground("unStashing changes", pHandle -> {
       if (commitHash != null)
         repo.dropStashedCommit(commitHash);
     }));
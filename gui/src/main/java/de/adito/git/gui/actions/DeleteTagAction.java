@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.ITag;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -17,22 +18,22 @@ import java.util.Optional;
 class DeleteTagAction extends AbstractTableAction
 {
 
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<ITag>> tagObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<ITag>> tagObservable;
 
   @Inject
   DeleteTagAction(@Assisted Observable<Optional<IRepository>> pRepository, @Assisted Observable<Optional<ITag>> pTagObservable)
   {
     super("Delete", Observable.just(Optional.of(true)));
-    repository = pRepository;
-    tagObservable = pTagObservable;
+    repository = _keepLatest(pRepository);
+    tagObservable = _keepLatest(pTagObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
-    Optional<IRepository> repo = repository.blockingFirst();
-    repo.ifPresent(pIRepository -> tagObservable.blockingFirst().ifPresent(pIRepository::deleteTag));
+    Optional<IRepository> repo = repository.getOrDefault(Optional.empty());
+    repo.ifPresent(pIRepository -> tagObservable.getOrDefault(Optional.empty()).ifPresent(pIRepository::deleteTag));
   }
 
 }
@@ -9,6 +9,7 @@ import de.adito.git.api.data.diff.IFileDiff;
 import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,9 +34,9 @@ class DiffCommitToHeadAction extends AbstractTableAction
   private final IDialogProvider dialogProvider;
   private final IAsyncProgressFacade progressFacade;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
-  private final Observable<Optional<String>> selectedFile;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<String>> selectedFile;
 
   @Inject
   DiffCommitToHeadAction(IDialogProvider pDialogProvider, IAsyncProgressFacade pProgressFacade, INotifyUtil pNotifyUtil,
@@ -47,16 +48,17 @@ class DiffCommitToHeadAction extends AbstractTableAction
     dialogProvider = pDialogProvider;
     progressFacade = pProgressFacade;
     notifyUtil = pNotifyUtil;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
-    selectedFile = pSelectedFile;
+    repository = _keepLatest(pRepository);
+    selectedCommitObservable = _keepLatest(pSelectedCommitObservable);
+    selectedFile = _keepLatest(pSelectedFile == null ? Observable.just(Optional.empty()) : pSelectedFile);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresentOrElse(pRepo -> progressFacade.executeInBackground("Creating Diff", pHandle -> {
-      List<ICommit> commitList = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
+    List<ICommit> commitList = selectedCommitObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
+    String file = selectedFile.getOrDefault(Optional.empty()).orElse(null);
+    repository.getOrDefault(Optional.empty()).ifPresentOrElse(pRepo -> progressFacade.executeInBackground("Creating Diff", pHandle -> {
       if (!commitList.isEmpty())
       {
         ICommit selectedCommit = commitList.get(0);
@@ -70,7 +72,7 @@ class DiffCommitToHeadAction extends AbstractTableAction
           throw new RuntimeException(pE);
         }
         if (!fileDiffs.isEmpty())
-          dialogProvider.showDiffDialog(pRepo.getTopLevelDirectory(), fileDiffs, selectedFile.blockingFirst().orElse(null), null, "HEAD", selectedCommit.getId(), false, true);
+          dialogProvider.showDiffDialog(pRepo.getTopLevelDirectory(), fileDiffs, file, null, "HEAD", selectedCommit.getId(), false, true);
         else
         {
           notifyUtil.notify("No differences found", "No differences found for HEAD and commit " + selectedCommit.getId(), false);
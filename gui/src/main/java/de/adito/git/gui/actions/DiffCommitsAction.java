@@ -9,6 +9,7 @@ import de.adito.git.api.data.diff.IFileDiff;
 import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,10 +30,10 @@ class DiffCommitsAction extends AbstractTableAction
   private final IDialogProvider dialogProvider;
   private final IAsyncProgressFacade progressFacade;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
-  private final Observable<Optional<ICommit>> parentCommitObservable;
-  private final Observable<Optional<String>> selectedFile;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<ICommit>> parentCommitObservable;
+  private final LatestValue<Optional<String>> selectedFile;
 
   @Inject
   DiffCommitsAction(IDialogProvider pDialogProvider, IAsyncProgressFacade pProgressFacade, INotifyUtil pNotifyUtil,
@@ -45,32 +46,37 @@ class DiffCommitsAction extends AbstractTableAction
     dialogProvider = pDialogProvider;
     progressFacade = pProgressFacade;
     notifyUtil = pNotifyUtil;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
-    parentCommitObservable = pParentCommit;
-    selectedFile = pSelectedFile;
+    repository = _keepLatest(pRepository);
+    selectedCommitObservable = _keepLatest(pSelectedCommitObservable);
+    parentCommitObservable = _keepLatest(pParentCommit);
+    selectedFile = _keepLatest(pSelectedFile);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresentOrElse(pRepo -> progressFacade.executeInBackground("Creating Diff", pHandle -> {
-      _performDiff(pRepo);
+    List<ICommit> commitList = selectedCommitObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
+    ICommit selectedParentCommit = parentCommitObservable.getOrDefault(Optional.empty()).orElse(null);
+    String file = selectedFile.getOrDefault(Optional.empty()).orElse(null);
+    repository.getOrDefault(Optional.empty()).ifPresentOrElse(pRepo -> progressFacade.executeInBackground("Creating Diff", pHandle -> {
+      _performDiff(pRepo, commitList, selectedParentCommit, file);
     }), () -> logger.log(Level.SEVERE, () -> "Git: no valid repository found in DiffCommitsAction.actionPerformed"));
   }
 
   /**
    * Performs the diff of the selected commits
    *
-   * @param pRepo Repository used for creating the diff, has to be the repository that contains the commits to be diffed
+   * @param pRepo                 Repository used for creating the diff, has to be the repository that contains the commits to be diffed
+   * @param pCommitList           selected commits, the newest one is compared to the parent of the oldest one
+   * @param pSelectedParentCommit commit to compare to instead of the parent of the oldest commit, null to use the parent
+   * @param pSelectedFile         file that should be selected in the diff dialog, null if none
    */
-  private void _performDiff(IRepository pRepo)
+  private void _performDiff(IRepository pRepo, List<ICommit> pCommitList, @Nullable ICommit pSelectedParentCommit, @Nullable String pSelectedFile)
   {
-    List<ICommit> commitList = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
-    if (!commitList.isEmpty())
+    if (!pCommitList.isEmpty())
     {
-      ICommit selectedCommit = commitList.get(0);
-      ICommit oldestSelectedCommit = commitList.get(commitList.size() - 1);
+      ICommit selectedCommit = pCommitList.get(0);
+      ICommit oldestSelectedCommit = pCommitList.get(pCommitList.size() - 1);
       List<IFileDiff> fileDiffs;
       try
       {
@@ -79,9 +85,11 @@ class DiffCommitsAction extends AbstractTableAction
           parentCommit = null;
         else
           parentCommit = oldestSelectedCommit.getParents().get(0);
-        fileDiffs = pRepo.diff(selectedCommit, parentCommitObservable.blockingFirst().orElse(parentCommit));
-        String rightHeader = Optional.ofNullable(parentCommitObservable.blockingFirst(Optional.empty()).orElse(parentCommit)).map(ICommit::getId).orElse(null);
-        dialogProvider.showDiffDialog(pRepo.getTopLevelDirectory(), fileDiffs, selectedFile.blockingFirst().orElse(null), null, selectedCommit.getId(), rightHeader, false, false);
+        if (pSelectedParentCommit != null)
+          parentCommit = pSelectedParentCommit;
+        fileDiffs = pRepo.diff(selectedCommit, parentCommit);
+        String rightHeader = Optional.ofNullable(parentCommit).map(ICommit::getId).orElse(null);
+        dialogProvider.showDiffDialog(pRepo.getTopLevelDirectory(), fileDiffs, pSelectedFile, null, selectedCommit.getId(), rightHeader, false, false);
       }
       catch (AditoGitException pE)
       {
@@ -13,6 +13,7 @@ import de.adito.git.gui.Constants;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IDiffDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import javax.swing.*;
@@ -35,9 +36,9 @@ class DiffToHeadAction extends AbstractTableAction
   private final IAsyncProgressFacade progressFacade;
   private final INotifyUtil notifyUtil;
   private final Boolean isAsync;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
   private final IDialogProvider dialogProvider;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFiles;
 
   @Inject
   DiffToHeadAction(IIconLoader pIconLoader, IDialogProvider pDialogProvider, IAsyncProgressFacade pProgressFacade, INotifyUtil pNotifyUtil,
@@ -51,15 +52,15 @@ class DiffToHeadAction extends AbstractTableAction
     putValue(Action.SMALL_ICON, pIconLoader.getIcon(Constants.DIFF_ACTION_ICON));
     putValue(Action.SHORT_DESCRIPTION, "Diff to HEAD");
     progressFacade = pProgressFacade;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
     dialogProvider = pDialogProvider;
-    selectedFilesObservable = pSelectedFilesObservable;
+    selectedFiles = _keepLatest(pSelectedFilesObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresentOrElse(this::_diff, () -> logger.log(Level.SEVERE, () -> "Git: no valid repository found in DiffToHeadAction.actionPerformed"));
+    repository.getOrDefault(Optional.empty()).ifPresentOrElse(this::_diff, () -> logger.log(Level.SEVERE, () -> "Git: no valid repository found in DiffToHeadAction.actionPerformed"));
   }
 
   /**
@@ -69,17 +70,22 @@ class DiffToHeadAction extends AbstractTableAction
    */
   private void _diff(IRepository pRepo)
   {
+    List<File> files = selectedFiles.getOrDefault(Optional.empty())
+        .orElse(Collections.emptyList())
+        .stream()
+        .map(iFileChangeType -> new File(iFileChangeType.getFile().getPath()))
+        .collect(Collectors.toList());
     if (isAsync)
     {
       progressFacade.executeInBackground("Creating Diff", pHandle -> {
-        _performDiff(pRepo);
+        _performDiff(pRepo, files);
       });
     }
     else
     {
       try
       {
-        _performDiff(pRepo);
+        _performDiff(pRepo, files);
       }
       catch (AditoGitException pE)
       {
@@ -91,16 +97,12 @@ class DiffToHeadAction extends AbstractTableAction
   /**
    * uses the repository to perform the actual diff of the file, also shows the results in a dialog
    *
-   * @param pRepo Repository that contains the file(s) to diff
+   * @param pRepo  Repository that contains the file(s) to diff
+   * @param pFiles files to diff
    */
-  private void _performDiff(IRepository pRepo) throws AditoGitException
+  private void _performDiff(IRepository pRepo, List<File> pFiles) throws AditoGitException
   {
-    List<File> files = selectedFilesObservable.blockingFirst()
-        .orElse(Collections.emptyList())
-        .stream()
-        .map(iFileChangeType -> new File(iFileChangeType.getFile().getPath()))
-        .collect(Collectors.toList());
-    List<IFileDiff> fileDiffs = pRepo.diff(files, null);
+    List<IFileDiff> fileDiffs = pRepo.diff(pFiles, null);
 
     //Show Dialog in EDT -> Handle gets finished
     SwingUtilities.invokeLater(() -> {
@@ -6,6 +6,7 @@ import de.adito.git.api.IRepository;
 import de.adito.git.api.data.diff.EChangeType;
 import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -23,8 +24,8 @@ class ExcludeAction extends AbstractTableAction
 {
 
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFilesObservable;
 
   @Inject
   ExcludeAction(IAsyncProgressFacade pProgressFacade, @Assisted Observable<Optional<IRepository>> pRepository,
@@ -32,20 +33,21 @@ class ExcludeAction extends AbstractTableAction
   {
     super("Exclude", _getIsEnabledObservable(pSelectedFilesObservable));
     progressFacade = pProgressFacade;
-    repository = pRepository;
-    selectedFilesObservable = pSelectedFilesObservable;
+    repository = _keepLatest(pRepository);
+    selectedFilesObservable = _keepLatest(pSelectedFilesObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
+    List<File> files = selectedFilesObservable.getOrDefault(Optional.empty())
+        .orElse(Collections.emptyList())
+        .stream()
+        .map(iFileChangeType -> new File(iFileChangeType.getFile().getPath()))
+        .collect(Collectors.toList());
+    Optional<IRepository> repositoryOpt = repository.getOrDefault(Optional.empty());
     progressFacade.executeInBackground("Excluding Files", pHandle -> {
-      List<File> files = selectedFilesObservable.blockingFirst()
-          .orElse(Collections.emptyList())
-          .stream()
-          .map(iFileChangeType -> new File(iFileChangeType.getFile().getPath()))
-          .collect(Collectors.toList());
-      repository.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg"))).exclude(files);
+      repositoryOpt.orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg"))).exclude(files);
     });
   }
 
@@ -9,6 +9,7 @@ import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.api.exception.AuthCancelledException;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import org.apache.commons.lang3.StringUtils;
@@ -30,7 +31,7 @@ class FetchAction extends AbstractTableAction
 
   private final INotifyUtil notifyUtil;
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
   private final Logger logger = Logger.getLogger(FetchAction.class.getName());
   private final IDialogProvider dialogProvider;
 
@@ -40,15 +41,15 @@ class FetchAction extends AbstractTableAction
     super(Util.getResource(FetchAction.class, "fetchTitle"), _getIsEnabledObservable(pRepository));
     notifyUtil = pNotifyUtil;
     progressFacade = pProgressFacade;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
     dialogProvider = pDialogProvider;
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
+    Optional<IRepository> optionalIRepository = repository.getOrDefault(Optional.empty());
     progressFacade.executeAndBlockWithProgress(Util.getResource(FetchAction.class, "fetchProgressMsg"), pHandle -> {
-      Optional<IRepository> optionalIRepository = repository.blockingFirst(Optional.empty());
       optionalIRepository.ifPresent(this::_performFetch);
     });
   }
@@ -5,6 +5,7 @@ import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.gui.Constants;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.window.IWindowProvider;
 import de.adito.git.impl.data.CommitFilterImpl;
 import io.reactivex.rxjava3.core.Observable;
@@ -23,7 +24,7 @@ class FileHistoryAction extends AbstractTableAction
 
   private final IWindowProvider windowProvider;
   private final Observable<Optional<IRepository>> repository;
-  private final Observable<List<File>> filesObservable;
+  private final LatestValue<List<File>> filesObservable;
 
   @Inject
   FileHistoryAction(IIconLoader pIconLoader, IWindowProvider pWindowProvider,
@@ -34,13 +35,15 @@ class FileHistoryAction extends AbstractTableAction
     putValue(Action.SHORT_DESCRIPTION, "Show git file history");
     windowProvider = pWindowProvider;
     repository = pRepository;
-    filesObservable = pFile;
+    filesObservable = _keepLatest(pFile);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    windowProvider.showCommitHistoryWindow(repository, new CommitFilterImpl().setFileList(List.of(filesObservable.blockingFirst().get(0))));
+    List<File> files = filesObservable.getOrDefault(List.of());
+    if (!files.isEmpty())
+      windowProvider.showCommitHistoryWindow(repository, new CommitFilterImpl().setFileList(List.of(files.get(0))));
   }
 
   private static Observable<Optional<Boolean>> _getIsEnabledObservable(Observable<List<File>> pSelectedFileObservable)
@@ -11,6 +11,7 @@ import de.adito.git.api.prefs.IPrefStore;
 import de.adito.git.gui.Constants;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IGitConfigDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.data.SSHKeyDetails;
 import de.adito.git.impl.util.GitRawTextComparator;
 import io.reactivex.rxjava3.core.Observable;
@@ -33,6 +34,7 @@ class GitConfigAction extends AbstractTableAction
 
   private final IDialogProvider dialogProvider;
   private final Observable<Optional<IRepository>> repositoryObs;
+  private final LatestValue<Optional<IRepository>> repository;
   private final IPrefStore prefStore;
   private final IKeyStore keyStore;
 
@@ -44,6 +46,7 @@ class GitConfigAction extends AbstractTableAction
     keyStore = pKeyStore;
     putValue(Action.SMALL_ICON, Constants.GIT_CONFIG_ICON);
     repositoryObs = pRepositoryObs;
+    repository = _keepLatest(pRepositoryObs);
     dialogProvider = pDialogProvider;
   }
 
@@ -53,13 +56,13 @@ class GitConfigAction extends AbstractTableAction
     IGitConfigDialogResult<?, Multimap<String, Object>> dialogResult = dialogProvider.showGitConfigDialog(repositoryObs);
     if (dialogResult.doSave())
     {
-      IRepository repository = repositoryObs.blockingFirst().orElse(null);
-      if (repository != null)
+      IRepository currentRepository = repository.getOrDefault(Optional.empty()).orElse(null);
+      if (currentRepository != null)
       {
-        _storeRemoteInfos(dialogResult, repository);
+        _storeRemoteInfos(dialogResult, currentRepository);
       }
       // only set sshKeyLocation for now since that is the only supported setting (for now)
-      _storeSSHKeyInfos(dialogResult, repository);
+      _storeSSHKeyInfos(dialogResult, currentRepository);
       Object autoResolveFlag = Iterables.getFirst(dialogResult.getInformation().get(Constants.AUTO_RESOLVE_SETTINGS_KEY), null);
       if (autoResolveFlag != null)
         prefStore.put(Constants.AUTO_RESOLVE_SETTINGS_KEY, autoResolveFlag.toString());
@@ -8,9 +8,11 @@ import de.adito.git.api.data.diff.EChangeType;
 import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
+import java.io.File;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,8 +28,8 @@ public class MarkResolvedAction extends AbstractTableAction
   private static final String NOTIFY_MESSAGE = "Marking conflicting files as resolved";
   private final IAsyncProgressFacade progressFacade;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFilesObservable;
   private final IDialogProvider dialogProvider;
 
   @Inject
@@ -37,18 +39,20 @@ public class MarkResolvedAction extends AbstractTableAction
     super("Mark resolved", _getIsEnabledObservable(pSelectedFilesObservable));
     progressFacade = pProgressFacade;
     notifyUtil = pNotifyUtil;
-    repository = pRepository;
-    selectedFilesObservable = pSelectedFilesObservable;
+    repository = _keepLatest(pRepository);
+    selectedFilesObservable = _keepLatest(pSelectedFilesObservable);
     dialogProvider = pDialogProvider;
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
+    Optional<IRepository> repositoryOpt = repository.getOrDefault(Optional.empty());
+    List<File> files = selectedFilesObservable.getOrDefault(Optional.empty()).orElse(List.of()).stream().map(IFileChangeType::getFile).collect(Collectors.toList());
     progressFacade.executeInBackground(NOTIFY_MESSAGE, pHandle -> {
-      IRepository repo = repository.blockingFirst().orElseThrow();
+      IRepository repo = repositoryOpt.orElseThrow();
       GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
-      repo.add(selectedFilesObservable.blockingFirst().orElse(List.of()).stream().map(IFileChangeType::getFile).collect(Collectors.toList()));
+      repo.add(files);
     });
     notifyUtil.notify("Mark resolved", "Selected conflicting files were marked as resolved", false);
   }
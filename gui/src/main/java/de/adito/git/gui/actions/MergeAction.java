@@ -18,6 +18,7 @@ import de.adito.git.gui.dialogs.EButtons;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IMergeConflictDialogResult;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import de.adito.git.impl.data.MergeDetailsImpl;
@@ -43,11 +44,12 @@ class MergeAction extends AbstractTableAction
   private final INotifyUtil notifyUtil;
   private final IActionProvider actionProvider;
   private final MergeConflictSequence mergeConflictSequence;
-  final Observable<Optional<IRepository>> repositoryObservable;
+  private final LatestValue<Optional<IRepository>> repository;
   private final IPrefStore prefStore;
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
-  private final Observable<Optional<IBranch>> targetBranch;
+  private final LatestValue<Optional<IBranch>> targetBranch;
+  private final LatestValue<Optional<IRepositoryState>> repositoryState;
 
   @Inject
   MergeAction(IPrefStore pPrefStore, IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider, ISaveUtil pSaveUtil, INotifyUtil pNotifyUtil,
@@ -62,25 +64,27 @@ class MergeAction extends AbstractTableAction
     notifyUtil = pNotifyUtil;
     actionProvider = pActionProvider;
     mergeConflictSequence = pMergeConflictSequence;
-    repositoryObservable = pRepoObs;
-    targetBranch = pTargetBranch;
+    repository = _keepLatest(pRepoObs);
+    targetBranch = _keepLatest(pTargetBranch);
+    repositoryState = _keepLatest(pRepoObs.switchMap(pRepoOpt -> pRepoOpt.map(IRepository::getRepositoryState).orElse(Observable.just(Optional.empty()))));
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    IBranch selectedBranch = targetBranch.blockingFirst().orElse(null);
+    IBranch selectedBranch = targetBranch.getOrDefault(Optional.empty()).orElse(null);
     if (selectedBranch == null)
       return;
-    IRepository repository = repositoryObservable.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+    IRepository currentRepository = repository.getOrDefault(Optional.empty())
+        .orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
 
-    GitIndexLockUtil.checkAndHandleLockedIndexFile(repository, dialogProvider, notifyUtil);
+    GitIndexLockUtil.checkAndHandleLockedIndexFile(currentRepository, dialogProvider, notifyUtil);
     // execute
     progressFacade.executeAndBlockWithProgressWithoutIndexing(MessageFormat.format(Util.getResource(MergeAction.class, "mergeProgressMsg"), selectedBranch.getSimpleName(),
-                                                                                   repository.getRepositoryState().blockingFirst(Optional.empty())
+                                                                                   repositoryState.getOrDefault(Optional.empty())
                                                                                        .map(pRepositoryState -> pRepositoryState.getCurrentBranch().getSimpleName()).orElse("Current")),
                                                               pHandle -> {
-                                                                _doMerge(pHandle, repository, selectedBranch);
+                                                                _doMerge(pHandle, currentRepository, selectedBranch);
                                                               });
   }
 
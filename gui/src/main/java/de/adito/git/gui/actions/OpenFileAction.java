@@ -6,6 +6,7 @@ import de.adito.git.api.IFileSystemUtil;
 import de.adito.git.api.INotifyUtil;
 import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.exception.AditoGitException;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -20,7 +21,7 @@ class OpenFileAction extends AbstractTableAction
 
   private final INotifyUtil notifyUtil;
   private final IFileSystemUtil fileOpener;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFilesObservable;
 
   @Inject
   OpenFileAction(INotifyUtil pNotifyUtil, IFileSystemUtil pFileOpener, @Assisted Observable<Optional<List<IFileChangeType>>> pSelectedFilesObservable)
@@ -28,13 +29,13 @@ class OpenFileAction extends AbstractTableAction
     super("Open", Observable.just(Optional.of(true)));
     notifyUtil = pNotifyUtil;
     fileOpener = pFileOpener;
-    selectedFilesObservable = pSelectedFilesObservable;
+    selectedFilesObservable = _keepLatest(pSelectedFilesObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    selectedFilesObservable.blockingFirst().ifPresent(pIFileChangeTypes -> {
+    selectedFilesObservable.getOrDefault(Optional.empty()).ifPresent(pIFileChangeTypes -> {
       for (IFileChangeType fileChangeType : pIFileChangeTypes)
       {
         try
@@ -5,6 +5,7 @@ import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IFileSystemUtil;
 import de.adito.git.api.INotifyUtil;
 import de.adito.git.api.exception.AditoGitException;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import java.awt.event.ActionEvent;
@@ -22,7 +23,7 @@ class OpenFileStringAction extends AbstractTableAction
 
   private final IFileSystemUtil fileOpener;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<String>> selectedFileObservable;
+  private final LatestValue<Optional<String>> selectedFileObservable;
 
   /**
    * @param pFileOpener             IFileSystemUtil used to open files in the Netbeans editor
@@ -34,13 +35,13 @@ class OpenFileStringAction extends AbstractTableAction
     super("Open", _getIsEnabledObservable(pSelectedFileObservable));
     fileOpener = pFileOpener;
     notifyUtil = pNotifyUtil;
-    selectedFileObservable = pSelectedFileObservable;
+    selectedFileObservable = _keepLatest(pSelectedFileObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    selectedFileObservable.blockingFirst().ifPresent(pFilePath -> {
+    selectedFileObservable.getOrDefault(Optional.empty()).ifPresent(pFilePath -> {
       try
       {
         fileOpener.openFile(new File(pFilePath));
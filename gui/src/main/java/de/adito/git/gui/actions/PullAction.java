@@ -15,6 +15,7 @@ import de.adito.git.gui.dialogs.EButtons;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IMergeConflictDialogResult;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import de.adito.git.impl.data.MergeDetailsImpl;
@@ -35,12 +36,12 @@ import java.util.logging.Logger;
  *
  * @author A.Arnold 11.10.2018
  */
-class PullAction extends AbstractAction
+class PullAction extends AbstractTableAction
 {
   private static final String STASH_ID_KEY = "pull::stashCommitId";
   private static final String NO_VALID_REPO_MSG = "no valid repository found";
   private final Logger logger = Logger.getLogger(this.getClass().getName());
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
   private final IAuthUtil authUtil;
   private final IPrefStore prefStore;
   private final IDialogProvider dialogProvider;
@@ -60,6 +61,7 @@ class PullAction extends AbstractAction
   PullAction(IAuthUtil pAuthUtil, IPrefStore pPrefStore, IDialogProvider pDialogProvider, IActionProvider pActionProvider, INotifyUtil pNotifyUtil, IAsyncProgressFacade pProgressFacade,
              ISaveUtil pSaveUtil, MergeConflictSequence pMergeConflictSequence, @Assisted Observable<Optional<IRepository>> pRepository)
   {
+    super(Util.getResource(PullAction.class, "pullActionName"));
     authUtil = pAuthUtil;
     prefStore = pPrefStore;
     dialogProvider = pDialogProvider;
@@ -68,9 +70,8 @@ class PullAction extends AbstractAction
     progressFacade = pProgressFacade;
     saveUtil = pSaveUtil;
     mergeConflictSequence = pMergeConflictSequence;
-    putValue(Action.NAME, Util.getResource(this.getClass(), "pullActionName"));
     putValue(Action.SHORT_DESCRIPTION, Util.getResource(this.getClass(), "pullTooltipMsg"));
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
   }
 
   /**
@@ -79,18 +80,25 @@ class PullAction extends AbstractAction
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    authUtil.reuseAuthIfNeededMoreThanOnce(() -> progressFacade.executeAndBlockWithProgressWithoutIndexing(Util.getResource(this.getClass(), "pullHandleTitleMsg"), this::_doRebase));
+    Optional<IRepository> repositoryOpt = repository.getOrDefault(Optional.empty());
+    authUtil.reuseAuthIfNeededMoreThanOnce(() -> progressFacade.executeAndBlockWithProgressWithoutIndexing(Util.getResource(this.getClass(), "pullHandleTitleMsg"),
+                                                                                                           pHandle -> {
+                                                                                                             _doRebase(pHandle, repositoryOpt);
+                                                                                                           }));
   }
 
   /**
    * Keeps calling the pull method of the repository until the result is either a success or the user
    * presses cancel on one of the Conflict resolution dialogs
+   *
+   * @param pProgressHandle ProgressHandle that allows informing the user about the current work
+   * @param pRepository     repository to pull, empty if there is no valid repository
    */
-  private void _doRebase(@NonNull IProgressHandle pProgressHandle)
+  private void _doRebase(@NonNull IProgressHandle pProgressHandle, @NonNull Optional<IRepository> pRepository)
   {
     saveUtil.saveUnsavedFiles();
     pProgressHandle.setDescription(Util.getResource(this.getClass(), "pullGetRepoHandleMsg"));
-    IRepository pRepo = repository.blockingFirst().orElseThrow(() -> new RuntimeException(NO_VALID_REPO_MSG));
+    IRepository pRepo = pRepository.orElseThrow(() -> new RuntimeException(NO_VALID_REPO_MSG));
     boolean doAbort = false;
     try
     {
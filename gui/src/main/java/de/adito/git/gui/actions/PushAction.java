@@ -16,6 +16,7 @@ import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IChangeTrackedBranchDialogResult;
 import de.adito.git.gui.dialogs.results.IPushDialogResult;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -23,8 +24,6 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,7 +33,7 @@ import java.util.logging.Logger;
  *
  * @author A.Arnold 11.10.2018
  */
-class PushAction extends AbstractAction
+class PushAction extends AbstractTableAction
 {
 
   private static final String BRANCH_STRING = "branch";
@@ -42,7 +41,8 @@ class PushAction extends AbstractAction
   private static final Logger LOGGER = Logger.getLogger(PushAction.class.getName());
   private final INotifyUtil notifyUtil;
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepositoryState>> repositoryState;
   private final IDialogProvider dialogProvider;
 
   /**
@@ -52,12 +52,13 @@ class PushAction extends AbstractAction
   PushAction(INotifyUtil pNotifyUtil, IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider,
              @Assisted Observable<Optional<IRepository>> pRepository)
   {
+    super("Push");
     notifyUtil = pNotifyUtil;
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
-    putValue(Action.NAME, "Push");
     putValue(Action.SHORT_DESCRIPTION, "Push all commits to the remote-tracking branch");
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
+    repositoryState = _keepLatest(pRepository.switchMap(pRepoOpt -> pRepoOpt.map(IRepository::getRepositoryState).orElse(Observable.just(Optional.empty()))));
   }
 
   /**
@@ -66,8 +67,8 @@ class PushAction extends AbstractAction
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresent(pRepo -> {
-      IRepositoryState repoState = pRepo.getRepositoryState().blockingFirst().orElse(null);
+    repository.getOrDefault(Optional.empty()).ifPresent(pRepo -> {
+      IRepositoryState repoState = repositoryState.getOrDefault(Optional.empty()).orElse(null);
       String remoteName = (repoState != null && repoState.getRemotes().size() == 1) ? repoState.getRemotes().get(0) : null;
       if (repoState != null && repoState.getCurrentRemoteTrackedBranch() == null && repoState.getRemotes().size() > 1)
       {
@@ -77,50 +78,42 @@ class PushAction extends AbstractAction
           return;
         remoteName = (String) result.getInformation();
       }
-      List<ICommit> commitList = null;
       if (_handleNonMatchingTrackedBranch(pRepo, repoState))
       {
         notifyUtil.notify("Aborted push", "Aborted push due to user action", false);
         return;
       }
-      else
-      {
-        Future<List<ICommit>> future = progressFacade.executeInBackground("Gathering Information for Push", pHandle -> {
-          return _determineUnpushedCommits(pRepo);
-        });
-        try
-        {
-          // Could try to implement Future Chaining here, but as-is, the time it takes the future to complete is not noticeable
-          commitList = future.get();
-        }
-        catch (InterruptedException | ExecutionException pE)
-        {
-          LOGGER.log(Level.WARNING, pE, () -> "Exception while waiting for the job that determines the unpushed commits");
-          Thread.currentThread().interrupt();
-        }
-      }
-      if (commitList != null)
-      {
-        IPushDialogResult<?, Boolean> dialogResult = dialogProvider.showPushDialog(Observable.just(repository.blockingFirst()),
-                                                                                   commitList);
+      // the push dialog is shown once the unpushed commits are known, so the EDT does not have to wait for them
+      final String remoteNameFinal = remoteName;
+      progressFacade.executeInBackground("Gathering Information for Push", pHandle -> {
+        List<ICommit> commitList = _determineUnpushedCommits(pRepo);
+        SwingUtilities.invokeLater(() -> _showPushDialog(pRepo, repoState, remoteNameFinal, commitList));
+      });
+    });
 
-        if (dialogResult.isPush())
-        {
-          GitIndexLockUtil.checkAndHandleLockedIndexFile(pRepo, dialogProvider, notifyUtil);
+  }
 
-          final String remoteNameFinal = remoteName;
-          progressFacade.executeInBackground("Pushing Commits", pHandle -> {
-            _performPush(pHandle, pRepo, dialogResult.getInformation(), remoteNameFinal, repoState, notifyUtil);
-          });
-        }
-      }
-      else
-      {
-        notifyUtil.notify("Error while preparing the push", "An error occurred while setting up the push, check the log for more information", false);
-      }
+  /**
+   * Shows the push dialog for the unpushed commits and pushes them if the user confirms
+   *
+   * @param pRepo       current repo
+   * @param pRepoState  state of the repo when the push was started
+   * @param pRemoteName name of the remote to push to
+   * @param pCommitList commits that are not pushed yet
+   */
+  private void _showPushDialog(@NonNull IRepository pRepo, @Nullable IRepositoryState pRepoState, @Nullable String pRemoteName,
+                               @NonNull List<ICommit> pCommitList)
+  {
+    IPushDialogResult<?, Boolean> dialogResult = dialogProvider.showPushDialog(Observable.just(Optional.of(pRepo)), pCommitList);
 
-    });
+    if (dialogResult.isPush())
+    {
+      GitIndexLockUtil.checkAndHandleLockedIndexFile(pRepo, dialogProvider, notifyUtil);
 
+      progressFacade.executeInBackground("Pushing Commits", pHandle -> {
+        _performPush(pHandle, pRepo, dialogResult.getInformation(), pRemoteName, pRepoState, notifyUtil);
+      });
+    }
   }
 
   /**
@@ -5,6 +5,7 @@ import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.gui.Constants;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
 
 import javax.swing.*;
@@ -14,17 +15,17 @@ import java.util.Optional;
 /**
  * @author m.kaspera, 11.03.2019
  */
-class RefreshStatusAction extends AbstractAction
+class RefreshStatusAction extends AbstractTableAction
 {
 
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
   private final Runnable refreshTree;
 
   @Inject
   RefreshStatusAction(IIconLoader pIconLoader, @Assisted Observable<Optional<IRepository>> pRepository, @Assisted Runnable pRefreshTree)
   {
     super("refresh");
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
     refreshTree = pRefreshTree;
     putValue(Action.SMALL_ICON, pIconLoader.getIcon(Constants.REFRESH_CONTENT_ICON));
     putValue(Action.SHORT_DESCRIPTION, "Refresh status tree");
@@ -33,7 +34,7 @@ class RefreshStatusAction extends AbstractAction
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    repository.blockingFirst().ifPresent(IRepository::refreshStatus);
+    repository.getOrDefault(Optional.empty()).ifPresent(IRepository::refreshStatus);
     refreshTree.run();
   }
 }
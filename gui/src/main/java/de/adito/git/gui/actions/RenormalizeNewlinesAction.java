@@ -8,47 +8,41 @@ import de.adito.git.api.data.IFileStatus;
 import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import io.reactivex.rxjava3.core.Observable;
+import lombok.NonNull;
 import org.openide.util.NbBundle;
 
-import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Optional;
 
 /**
  * @author m.kaspera, 04.02.2021
  */
-public class RenormalizeNewlinesAction extends AbstractAction
+public class RenormalizeNewlinesAction extends AbstractTableAction
 {
 
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
   private final INotifyUtil notifyUtil;
   private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> latestRepository;
 
   @Inject
   public RenormalizeNewlinesAction(IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider, INotifyUtil pNotifyUtil, @Assisted Observable<Optional<IRepository>> pRepository)
   {
+    super(null, _getIsEnabledObservable(pRepository));
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
     notifyUtil = pNotifyUtil;
     repository = pRepository;
-  }
-
-  @Override
-  public boolean isEnabled()
-  {
-    return repository.blockingFirst(Optional.empty())
-        .map(pRepo -> pRepo.getStatus().blockingFirst(Optional.empty())
-            .map(IFileStatus::isClean)
-            .orElse(false))
-        .orElse(false);
+    latestRepository = _keepLatest(pRepository);
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
-    IRepository repo = repository.blockingFirst().orElse(null);
+    IRepository repo = latestRepository.getOrDefault(Optional.empty()).orElse(null);
     progressFacade.executeAndBlockWithProgress(NbBundle.getMessage(RenormalizeNewlinesAction.class, "renormalizeNewlinesTitle"), pHandle -> {
       try
       {
@@ -70,4 +64,10 @@ public class RenormalizeNewlinesAction extends AbstractAction
       }
     });
   }
+
+  private static Observable<Optional<Boolean>> _getIsEnabledObservable(@NonNull Observable<Optional<IRepository>> pRepository)
+  {
+    return pRepository.switchMap(pRepoOpt -> pRepoOpt.map(IRepository::getStatus).orElse(Observable.just(Optional.empty())))
+        .map(pStatusOpt -> Optional.of(pStatusOpt.map(IFileStatus::isClean).orElse(false)));
+  }
 }
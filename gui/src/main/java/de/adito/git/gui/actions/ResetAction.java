@@ -11,6 +11,7 @@ import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IResetDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
@@ -33,8 +34,8 @@ class ResetAction extends AbstractTableAction
   private final INotifyUtil notifyUtil;
   private final IDialogProvider dialogProvider;
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommitObservable;
 
   @Inject
   ResetAction(INotifyUtil pNotifyUtil, IDialogProvider pDialogProvider, IAsyncProgressFacade pProgressFacade,
@@ -44,32 +45,35 @@ class ResetAction extends AbstractTableAction
     notifyUtil = pNotifyUtil;
     dialogProvider = pDialogProvider;
     progressFacade = pProgressFacade;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
+    repository = _keepLatest(pRepository);
+    selectedCommitObservable = _keepLatest(pSelectedCommitObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
     IResetDialogResult<?, EResetType> dialogResult = dialogProvider.showResetDialog();
-    List<ICommit> selectedCommits = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
+    List<ICommit> selectedCommits = selectedCommitObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
     if (selectedCommits.size() == 1 && dialogResult.isPerformReset())
     {
+      Optional<IRepository> repositoryOpt = repository.getOrDefault(Optional.empty());
       progressFacade.executeAndBlockWithProgress(MessageFormat.format(Util.getResource(ResetAction.class, "resetProgressMsg"), selectedCommits.get(0).getId()),
                                                  pHandle -> {
-                                                   _performReset(dialogResult, selectedCommits);
+                                                   _performReset(repositoryOpt, dialogResult, selectedCommits);
                                                  });
     }
   }
 
   /**
+   * @param pRepository      repository in which the reset is performed
    * @param pDialogResult    dialogResult with information about which kind of reset should be performed
    * @param pSelectedCommits list with selected commits, the branch is reset to the first commit in the list. Should ideally only contain a single item
    * @throws AditoGitException If the reset could not be performed
    */
-  private void _performReset(IResetDialogResult<?, EResetType> pDialogResult, List<ICommit> pSelectedCommits) throws AditoGitException
+  private void _performReset(Optional<IRepository> pRepository, IResetDialogResult<?, EResetType> pDialogResult, List<ICommit> pSelectedCommits)
+      throws AditoGitException
   {
-    IRepository pRepo = repository.blockingFirst()
+    IRepository pRepo = pRepository
         .orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
     try
     {
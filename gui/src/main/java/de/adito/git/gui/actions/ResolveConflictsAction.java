@@ -18,6 +18,7 @@ import de.adito.git.gui.dialogs.EButtons;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.panels.NotificationPanel;
 import de.adito.git.gui.dialogs.results.*;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
@@ -36,6 +37,7 @@ class ResolveConflictsAction extends AbstractTableAction
   private final MergeConflictSequence mergeConflictSequence;
   private final IDialogProvider dialogProvider;
   private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> currentRepository;
   private final IPrefStore prefStore;
   private final INotifyUtil notifyUtil;
 
@@ -51,13 +53,15 @@ class ResolveConflictsAction extends AbstractTableAction
     mergeConflictSequence = pMergeConflictSequence;
     dialogProvider = pDialogProvider;
     repository = pRepository;
+    currentRepository = _keepLatest(pRepository);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
+    Optional<IRepository> repositoryOpt = currentRepository.getOrDefault(Optional.empty());
     progressFacade.executeInBackground(NOTIFY_MESSAGE, pHandle -> {
-      IRepository repo = repository.blockingFirst().orElseThrow();
+      IRepository repo = repositoryOpt.orElseThrow();
 
       GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
 
@@ -117,7 +121,7 @@ class ResolveConflictsAction extends AbstractTableAction
                                 .map(pRepoState -> pRepoState.getCurrentBranch().getSimpleName()).orElse(""));
       if (dialogResult.doCommit())
       {
-        IRepository currentRepo = repository.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(ResolveConflictsAction.class, "noValidRepoMsg")));
+        IRepository currentRepo = currentRepository.getOrDefault(Optional.empty()).orElseThrow(() -> new RuntimeException(Util.getResource(ResolveConflictsAction.class, "noValidRepoMsg")));
         CommitAction.performCommit(currentRepo, progressFacade, prefStore, dialogResult, null, notifyUtil);
       }
     }
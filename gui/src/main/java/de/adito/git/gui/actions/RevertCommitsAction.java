@@ -11,6 +11,7 @@ import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.api.progress.IProgressHandle;
 import de.adito.git.gui.actions.commands.StashCommand;
 import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
@@ -36,8 +37,8 @@ public class RevertCommitsAction extends AbstractTableAction
   private final INotifyUtil notifyUtil;
   private final IAsyncProgressFacade progressFacade;
   private final MergeConflictSequence mergeConflictSequence;
-  private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<ICommit>>> selectedCommitObservable;
+  private final LatestValue<Optional<IRepository>> repository;
+  private final LatestValue<Optional<List<ICommit>>> selectedCommitObservable;
 
   @Inject
   public RevertCommitsAction(IPrefStore pPrefStore, IDialogProvider pDialogProvider, INotifyUtil pNotifyUtil, IAsyncProgressFacade pProgressFacade,
@@ -50,15 +51,15 @@ public class RevertCommitsAction extends AbstractTableAction
     notifyUtil = pNotifyUtil;
     progressFacade = pProgressFacade;
     mergeConflictSequence = pMergeConflictSequence;
-    repository = pRepository;
-    selectedCommitObservable = pSelectedCommitObservable;
+    repository = _keepLatest(pRepository);
+    selectedCommitObservable = _keepLatest(pSelectedCommitObservable);
   }
 
   @Override
   public void actionPerformed(ActionEvent e)
   {
-    List<ICommit> selectedCommits = selectedCommitObservable.blockingFirst().orElse(Collections.emptyList());
-    IRepository repo = repository.blockingFirst().orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
+    List<ICommit> selectedCommits = selectedCommitObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
+    IRepository repo = repository.getOrDefault(Optional.empty()).orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
     progressFacade.executeInBackgroundWithoutIndexing(String.format("Reverting %s commits", selectedCommits.size()), pHandle -> {
       try
       {
@@ -78,18 +79,18 @@ public class RevertCommitsAction extends AbstractTableAction
       finally
       {
         repo.setUpdateFlag(true);
-        _unStashChanges(pHandle);
+        _unStashChanges(repo, pHandle);
       }
     });
   }
 
-  private void _unStashChanges(@NonNull IProgressHandle pHandle)
+  private void _unStashChanges(@NonNull IRepository pRepo, @NonNull IProgressHandle pHandle)
   {
     String stashedCommitId = prefStore.get(STASH_ID_KEY);
     if (stashedCommitId != null)
     {
       pHandle.setDescription("Un-stashing changes");
-      StashCommand.doUnStashing(mergeConflictSequence, stashedCommitId, Observable.just(repository.blockingFirst()));
+      StashCommand.doUnStashing(mergeConflictSequence, stashedCommitId, Observable.just(Optional.of(pRepo)));
       prefStore.put(STASH_ID_KEY, null);
     }
   }
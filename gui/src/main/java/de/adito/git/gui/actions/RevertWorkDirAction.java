@@ -10,6 +10,7 @@ import de.adito.git.gui.Constants;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IRevertDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
@@ -30,7 +31,8 @@ class RevertWorkDirAction extends AbstractTableAction
 
   private final IAsyncProgressFacade progressFacade;
   private final Observable<Optional<IRepository>> repository;
-  private final Observable<Optional<List<IFileChangeType>>> selectedFilesObservable;
+  private final LatestValue<Optional<IRepository>> currentRepository;
+  private final LatestValue<Optional<List<IFileChangeType>>> selectedFilesObservable;
   private final IDialogProvider dialogProvider;
   private final ISaveUtil saveUtil;
   private final INotifyUtil notifyUtil;
@@ -46,7 +48,8 @@ class RevertWorkDirAction extends AbstractTableAction
     putValue(Action.SHORT_DESCRIPTION, "Revert changes");
     progressFacade = pProgressFacade;
     repository = pRepository;
-    selectedFilesObservable = pSelectedFilesObservable;
+    currentRepository = _keepLatest(pRepository);
+    selectedFilesObservable = _keepLatest(pSelectedFilesObservable);
     notifyUtil = pNotifyUtil;
   }
 
@@ -54,15 +57,16 @@ class RevertWorkDirAction extends AbstractTableAction
   public void actionPerformed(ActionEvent pEvent)
   {
     saveUtil.saveUnsavedFiles();
-    List<IFileChangeType> filesToRevert = selectedFilesObservable.blockingFirst().orElse(Collections.emptyList());
-    IRevertDialogResult<?, ?> result = dialogProvider.showRevertDialog(repository, filesToRevert, repository.blockingFirst()
+    List<IFileChangeType> filesToRevert = selectedFilesObservable.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
+    Optional<IRepository> repositoryOpt = currentRepository.getOrDefault(Optional.empty());
+    IRevertDialogResult<?, ?> result = dialogProvider.showRevertDialog(repository, filesToRevert, repositoryOpt
         .map(IRepository::getTopLevelDirectory)
         .orElse(new File("")));
     if (result.isRevertAccepted())
     {
 
       progressFacade.executeInBackgroundWithoutIndexing("Reverting", pHandle -> {
-        IRepository repo = repository.blockingFirst()
+        IRepository repo = repositoryOpt
             .orElseThrow(() -> new RuntimeException(Util.getResource(this.getClass(), "noValidRepoMsg")));
         
         GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
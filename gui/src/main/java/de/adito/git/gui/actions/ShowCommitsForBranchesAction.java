@@ -5,6 +5,7 @@ import com.google.inject.assistedinject.Assisted;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.IBranch;
 import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.window.IWindowProvider;
 import de.adito.git.impl.data.CommitFilterImpl;
 import io.reactivex.rxjava3.core.Observable;
@@ -25,7 +26,7 @@ class ShowCommitsForBranchesAction extends AbstractTableAction
 
   private final IWindowProvider windowProvider;
   private final IAsyncProgressFacade progressFacade;
-  private final Observable<Optional<List<IBranch>>> branches;
+  private final LatestValue<Optional<List<IBranch>>> branches;
   private final Observable<Optional<IRepository>> repository;
 
   @Inject
@@ -38,7 +39,7 @@ class ShowCommitsForBranchesAction extends AbstractTableAction
     putValue(Action.NAME, "Show History");
     putValue(Action.SHORT_DESCRIPTION, "Get all commits of this Branch or file");
     repository = pRepository;
-    branches = pBranches;
+    branches = _keepLatest(pBranches);
   }
 
   /**
@@ -47,9 +48,9 @@ class ShowCommitsForBranchesAction extends AbstractTableAction
   @Override
   public void actionPerformed(ActionEvent event)
   {
+    List<IBranch> selectedBranches = branches.getOrDefault(Optional.empty()).orElse(Collections.emptyList());
     progressFacade.executeInBackground("Preparing Overview", pHandle -> {
-      branches.blockingFirst()
-          .orElse(Collections.emptyList())
+      selectedBranches
           .forEach(pBranch -> windowProvider.showCommitHistoryWindow(repository, new CommitFilterImpl().setBranch(pBranch))); //shows in EDT
     });
   }
@@ -9,6 +9,7 @@ import de.adito.git.api.progress.IAsyncProgressFacade;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IStashChangesDialogResult;
 import de.adito.git.gui.dialogs.results.StashChangesResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.impl.Util;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -19,28 +20,29 @@ import java.util.Optional;
 /**
  * @author m.kaspera, 12.02.2019
  */
-class StashChangesAction extends AbstractAction
+class StashChangesAction extends AbstractTableAction
 {
 
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
   private final INotifyUtil notifyUtil;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
 
   @Inject
   StashChangesAction(IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider, INotifyUtil pNotifyUtil,
                      @Assisted Observable<Optional<IRepository>> pRepository)
   {
+    super("Stash Changes");
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
     notifyUtil = pNotifyUtil;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    IRepository repo = repository.blockingFirst().orElse(null);
+    IRepository repo = repository.getOrDefault(Optional.empty()).orElse(null);
     if (repo != null)
     {
       GitIndexLockUtil.checkAndHandleLockedIndexFile(repo, dialogProvider, notifyUtil);
@@ -12,6 +12,7 @@ import de.adito.git.gui.dialogs.DialogResult;
 import de.adito.git.gui.dialogs.IDialogProvider;
 import de.adito.git.gui.dialogs.results.IMergeConflictDialogResult;
 import de.adito.git.gui.dialogs.results.IStashedCommitSelectionDialogResult;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.gui.sequences.MergeConflictSequence;
 import de.adito.git.impl.Util;
 import de.adito.git.impl.data.MergeDetailsImpl;
@@ -25,30 +26,31 @@ import java.util.Optional;
 /**
  * @author m.kaspera, 12.02.2019
  */
-class UnStashChangesAction extends AbstractAction
+class UnStashChangesAction extends AbstractTableAction
 {
 
   private final IAsyncProgressFacade progressFacade;
   private final IDialogProvider dialogProvider;
   private final INotifyUtil notifyUtil;
   private final MergeConflictSequence mergeConflictSequence;
-  private final Observable<Optional<IRepository>> repository;
+  private final LatestValue<Optional<IRepository>> repository;
 
   @Inject
   UnStashChangesAction(IAsyncProgressFacade pProgressFacade, IDialogProvider pDialogProvider, INotifyUtil pNotifyUtil, MergeConflictSequence pMergeConflictSequence,
                        @Assisted Observable<Optional<IRepository>> pRepository)
   {
+    super("Unstash Changes");
     progressFacade = pProgressFacade;
     dialogProvider = pDialogProvider;
     notifyUtil = pNotifyUtil;
     mergeConflictSequence = pMergeConflictSequence;
-    repository = pRepository;
+    repository = _keepLatest(pRepository);
   }
 
   @Override
   public void actionPerformed(ActionEvent pEvent)
   {
-    IRepository repo = repository.blockingFirst().orElse(null);
+    IRepository repo = repository.getOrDefault(Optional.empty()).orElse(null);
     if (repo != null)
     {
       try
@@ -0,0 +1,50 @@
+package de.adito.git.gui.concurrency;
+
+import de.adito.git.api.exception.InterruptedRuntimeException;
+import lombok.NonNull;
+
+import java.util.concurrent.Future;
+
+/**
+ * Token that is passed to a task of the {@link LatestWinsScheduler}, the task can check it to find out if a newer task superseded it. Checking the token
+ * is the cooperative way of cancelling: the interrupt of the thread is lost if the task, or code it calls, catches the InterruptedException without
+ * restoring the flag, the token stays cancelled. The token is only known to the gui: a dialog checks it between the steps of its diff calculation, the
+ * single steps run in the api and impl modules and only react to the interrupt
+ *
+ * @author agent, 19.10.2026
+ */
+public final class CancellationToken
+{
+
+  private volatile Future<?> future = null;
+
+  CancellationToken()
+  {
+  }
+
+  /**
+   * @return true if the task was cancelled, either because a newer task for the same key was submitted or because the owner cancelled its tasks
+   */
+  public boolean isCancelled()
+  {
+    Future<?> taskFuture = future;
+    return taskFuture != null && taskFuture.isCancelled();
+  }
+
+  /**
+   * @throws InterruptedRuntimeException if the task was cancelled
+   */
+  public void throwIfCancelled()
+  {
+    if (isCancelled())
+      throw new InterruptedRuntimeException();
+  }
+
+  /**
+   * @param pFuture future of the task the token belongs to, the token is cancelled as soon as the future is
+   */
+  void setFuture(@NonNull Future<?> pFuture)
+  {
+    future = pFuture;
+  }
+}
@@ -23,6 +23,11 @@ public class GitProcessExecutors
                                                                                                   new ThreadFactoryBuilder()
                                                                                                       .setNameFormat("GitBackgroundThread-%d")
                                                                                                       .build());
+  private static final KeyedSerialExecutor TREE_UPDATE_EXECUTOR = new KeyedSerialExecutor(
+      Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 4), new ThreadFactoryBuilder()
+          .setNameFormat("GitTreeUpdateThread-%d")
+          .build()));
+  private static final LatestWinsScheduler DIALOG_SCHEDULER = new LatestWinsScheduler(DEFAULT_BACKGROUND_EXECUTOR);
 
   @NonNull
   public static Future<?> submit(@NonNull Runnable pRunnable)
@@ -36,4 +41,23 @@ public class GitProcessExecutors
     return DEFAULT_BACKGROUND_EXECUTOR.submit(pRunnable, pResult);
   }
 
+  /**
+   * @return executor shared by all tree models to calculate their updates. Uses a fixed number of threads, no matter how many trees exist
+   */
+  @NonNull
+  public static KeyedSerialExecutor getTreeUpdateExecutor()
+  {
+    return TREE_UPDATE_EXECUTOR;
+  }
+
+  /**
+   * @return scheduler shared by all dialogs to run their background computations on the default background threads. Only the latest computation of
+   * each dialog is run, superseded computations are cancelled
+   */
+  @NonNull
+  public static LatestWinsScheduler getDialogScheduler()
+  {
+    return DIALOG_SCHEDULER;
+  }
+
 }
@@ -0,0 +1,250 @@
+package de.adito.git.gui.concurrency;
+
+import lombok.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Executes tasks on a shared Executor, while the tasks for the same key are executed one after the other. Only the latest task of a key is of interest:
+ * submitting a task cancels the task of the same key that still waits for its execution, and interrupts the one that is running. The next task of the key
+ * is only started once the interrupted task returned, so two tasks of the same key never run at the same time.
+ * Keys are compared by equals, the state of a key is dropped once it has no more tasks
+ *
+ * @author agent, 19.10.2026
+ */
+public class KeyedSerialExecutor
+{
+
+  private final Executor executor;
+  private final Map<Object, _KeyState> keyStates = new HashMap<>();
+  private int waitingTasks = 0;
+  private int runningTasks = 0;
+  private long submittedTasks = 0;
+  private long supersededTasks = 0;
+  private long completedTasks = 0;
+  private long totalComputeNanos = 0;
+  private long maxComputeNanos = 0;
+
+  /**
+   * @param pExecutor Executor that runs the tasks. Its number of threads limits the number of keys whose tasks can run at the same time
+   */
+  public KeyedSerialExecutor(@NonNull Executor pExecutor)
+  {
+    executor = pExecutor;
+  }
+
+  /**
+   * Submits a task for the key. A task of the key that did not start yet is cancelled, a running task of the key is interrupted
+   *
+   * @param pKey      key of the task
+   * @param pRunnable task to execute
+   * @return Future of the task, cancelling it removes the task if it did not start yet and interrupts it otherwise
+   */
+  @NonNull
+  public synchronized Future<?> submitLatest(@NonNull Object pKey, @NonNull Runnable pRunnable)
+  {
+    submittedTasks++;
+    _KeyState keyState = keyStates.computeIfAbsent(pKey, pK -> new _KeyState());
+    _cancel(keyState);
+    FutureTask<Void> task = new FutureTask<>(pRunnable, null);
+    keyState.pending = task;
+    waitingTasks++;
+    if (keyState.running == null)
+      _startPending(pKey, keyState);
+    return task;
+  }
+
+  /**
+   * Cancels the waiting task of the key and interrupts its running task. Should be called if the owner of the key is discarded
+   *
+   * @param pKey key whose tasks should be cancelled
+   */
+  public synchronized void cancel(@NonNull Object pKey)
+  {
+    _KeyState keyState = keyStates.get(pKey);
+    if (keyState != null)
+    {
+      _cancel(keyState);
+      if (keyState.running == null)
+        keyStates.remove(pKey);
+    }
+  }
+
+  /**
+   * @return snapshot of the number of tasks and the time spent on executing them
+   */
+  @NonNull
+  public synchronized Statistics getStatistics()
+  {
+    return new Statistics(waitingTasks, runningTasks, submittedTasks, supersededTasks, completedTasks, totalComputeNanos, maxComputeNanos);
+  }
+
+  /**
+   * cancels the waiting and interrupts the running task of the key. The running task stays registered until it returned, so that no other task of the key
+   * is started before
+   */
+  private void _cancel(@NonNull _KeyState pKeyState)
+  {
+    if (pKeyState.pending != null)
+    {
+      pKeyState.pending.cancel(false);
+      pKeyState.pending = null;
+      waitingTasks--;
+      supersededTasks++;
+    }
+    if (pKeyState.running != null && pKeyState.running.cancel(true))
+      supersededTasks++;
+  }
+
+  /**
+   * hands the waiting task of the key to the executor. The task only counts as running once a thread of the executor picked it up
+   */
+  private void _startPending(@NonNull Object pKey, @NonNull _KeyState pKeyState)
+  {
+    FutureTask<Void> task = pKeyState.pending;
+    pKeyState.pending = null;
+    pKeyState.running = task;
+    executor.execute(() -> _run(pKey, pKeyState, task));
+  }
+
+  private void _run(@NonNull Object pKey, @NonNull _KeyState pKeyState, @NonNull FutureTask<Void> pTask)
+  {
+    synchronized (this)
+    {
+      waitingTasks--;
+      runningTasks++;
+    }
+    long startTime = System.nanoTime();
+    try
+    {
+      // does nothing if the task was cancelled in the meantime
+      pTask.run();
+    }
+    finally
+    {
+      long computeNanos = System.nanoTime() - startTime;
+      synchronized (this)
+      {
+        runningTasks--;
+        completedTasks++;
+        totalComputeNanos += computeNanos;
+        maxComputeNanos = Math.max(maxComputeNanos, computeNanos);
+        pKeyState.running = null;
+        if (pKeyState.pending != null)
+          _startPending(pKey, pKeyState);
+        else
+          keyStates.remove(pKey);
+      }
+    }
+  }
+
+  /**
+   * Tasks of a key: the task that was handed to the executor and the task that waits until that one returned
+   */
+  private static final class _KeyState
+  {
+    private FutureTask<Void> running;
+    private FutureTask<Void> pending;
+  }
+
+  /**
+   * Snapshot of the number of tasks of a KeyedSerialExecutor and the time spent on executing them
+   */
+  public static final class Statistics
+  {
+    private final int queueDepth;
+    private final int runningTasks;
+    private final long submittedTasks;
+    private final long supersededTasks;
+    private final long completedTasks;
+    private final long totalComputeNanos;
+    private final long maxComputeNanos;
+
+    private Statistics(int pQueueDepth, int pRunningTasks, long pSubmittedTasks, long pSupersededTasks, long pCompletedTasks, long pTotalComputeNanos,
+                       long pMaxComputeNanos)
+    {
+      queueDepth = pQueueDepth;
+      runningTasks = pRunningTasks;
+      submittedTasks = pSubmittedTasks;
+      supersededTasks = pSupersededTasks;
+      completedTasks = pCompletedTasks;
+      totalComputeNanos = pTotalComputeNanos;
+      maxComputeNanos = pMaxComputeNanos;
+    }
+
+    /**
+     * @return number of tasks that were submitted and not yet picked up by a thread, including those that wait for the running task of their key
+     */
+    public int getQueueDepth()
+    {
+      return queueDepth;
+    }
+
+    /**
+     * @return number of tasks that are executed at the moment
+     */
+    public int getRunningTasks()
+    {
+      return runningTasks;
+    }
+
+    /**
+     * @return number of tasks submitted in total
+     */
+    public long getSubmittedTasks()
+    {
+      return submittedTasks;
+    }
+
+    /**
+     * @return number of tasks that were cancelled before they started or interrupted while running, because a newer task for their key was submitted
+     */
+    public long getSupersededTasks()
+    {
+      return supersededTasks;
+    }
+
+    /**
+     * @return number of tasks that a thread picked up and that returned, including the ones that were cancelled before they could start
+     */
+    public long getCompletedTasks()
+    {
+      return completedTasks;
+    }
+
+    /**
+     * @return time spent on the completed tasks in total, in nanoseconds
+     */
+    public long getTotalComputeNanos()
+    {
+      return totalComputeNanos;
+    }
+
+    /**
+     * @return average time spent on a completed task, in nanoseconds
+     */
+    public long getAverageComputeNanos()
+    {
+      return completedTasks == 0 ? 0 : totalComputeNanos / completedTasks;
+    }
+
+    /**
+     * @return longest time spent on a single task, in nanoseconds
+     */
+    public long getMaxComputeNanos()
+    {
+      return maxComputeNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+      return String.format("queued: %d, running: %d, submitted: %d, superseded: %d, completed: %d, average: %.2fms, max: %.2fms", queueDepth, runningTasks,
+                           submittedTasks, supersededTasks, completedTasks, getAverageComputeNanos() / 1e6, maxComputeNanos / 1e6);
+    }
+  }
+}
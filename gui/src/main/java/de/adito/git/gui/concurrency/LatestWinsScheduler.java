@@ -0,0 +1,127 @@
+package de.adito.git.gui.concurrency;
+
+import de.adito.git.api.exception.InterruptedRuntimeException;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the background computations of dialogs on a shared, bounded Executor. Each owner (usually the dialog itself) is used as key, and only
+ * the latest computation of a key is of interest: submitting a computation cancels the one of the same key that still waits, and interrupts and cancels
+ * the token of the one that is running. Computations of the same key never run at the same time, so a new computation never sees the half-done work of
+ * the one it superseded
+ *
+ * @author agent, 19.10.2026
+ */
+public class LatestWinsScheduler
+{
+
+  private static final Logger LOGGER = Logger.getLogger(LatestWinsScheduler.class.getName());
+  private final KeyedSerialExecutor keyedSerialExecutor;
+  private final Scheduler rxScheduler;
+
+  /**
+   * @param pExecutor Executor that runs the computations. Its number of threads limits the number of keys whose computations can run at the same time
+   */
+  public LatestWinsScheduler(@NonNull Executor pExecutor)
+  {
+    keyedSerialExecutor = new KeyedSerialExecutor(pExecutor);
+    // every task gets its own key: an Rx worker relies on all of its scheduled tasks being run, so they must not supersede each other
+    rxScheduler = Schedulers.from(pRunnable -> keyedSerialExecutor.submitLatest(new Object(), pRunnable), true);
+  }
+
+  /**
+   * Submits the computation for the key. A computation of the key that did not start yet is cancelled, a running computation of the key is interrupted and
+   * its token is cancelled
+   *
+   * @param pKey         key of the computation, usually the dialog that the computation belongs to
+   * @param pComputation computation to execute
+   * @return Future of the computation, cancelling it has the same effect as submitting a newer computation for the key
+   */
+  @NonNull
+  public Future<?> submitLatest(@NonNull Object pKey, @NonNull ICancellableComputation pComputation)
+  {
+    CancellationToken cancellationToken = new CancellationToken();
+    Future<?> future = keyedSerialExecutor.submitLatest(pKey, () -> _compute(pComputation, cancellationToken));
+    cancellationToken.setFuture(future);
+    return future;
+  }
+
+  /**
+   * Cancels the waiting computation of the key and interrupts its running computation. Should be called if the owner of the key is discarded
+   *
+   * @param pKey key whose computations should be cancelled
+   */
+  public void cancel(@NonNull Object pKey)
+  {
+    keyedSerialExecutor.cancel(pKey);
+  }
+
+  /**
+   * @return snapshot of the number of computations and the time spent on executing them, includes the tasks of the Rx Scheduler
+   */
+  @NonNull
+  public KeyedSerialExecutor.Statistics getStatistics()
+  {
+    return keyedSerialExecutor.getStatistics();
+  }
+
+  /**
+   * Scheduler that runs the tasks of Rx chains on the Executor of this scheduler. The Scheduler itself does not drop any tasks, combine it with switchMap
+   * or throttleLatest to only compute the latest value:
+   * <pre>
+   *   selection.switchMap(pSelected -&gt; Observable.fromCallable(() -&gt; compute(pSelected)).subscribeOn(scheduler.asRxScheduler()))
+   * </pre>
+   * Disposing the inner Observable interrupts its running computation
+   *
+   * @return Scheduler that uses the Executor of this scheduler
+   */
+  @NonNull
+  public Scheduler asRxScheduler()
+  {
+    return rxScheduler;
+  }
+
+  private static void _compute(@NonNull ICancellableComputation pComputation, @NonNull CancellationToken pCancellationToken)
+  {
+    try
+    {
+      pComputation.compute(pCancellationToken);
+    }
+    catch (InterruptedRuntimeException pE)
+    {
+      // computation was cancelled, nothing to do
+    }
+    catch (RuntimeException pE)
+    {
+      // code called by a cancelled computation may wrap the InterruptedException into any exception, cancelling is no error
+      if (pCancellationToken.isCancelled())
+      {
+        LOGGER.log(Level.FINE, pE, () -> "Cancelled background computation ended with an exception");
+        return;
+      }
+      // the Future of the computation is usually not checked, so the exception would get lost otherwise
+      LOGGER.log(Level.WARNING, pE, () -> "Background computation failed");
+      throw pE;
+    }
+  }
+
+  /**
+   * Computation that can be cancelled cooperatively by checking the passed token
+   */
+  @FunctionalInterface
+  public interface ICancellableComputation
+  {
+
+    /**
+     * @param pCancellationToken token that is cancelled once a newer computation for the same key is submitted. Long-running computations should check
+     *                           it regularly and return, or call throwIfCancelled, if it is cancelled
+     */
+    void compute(@NonNull CancellationToken pCancellationToken);
+  }
+}
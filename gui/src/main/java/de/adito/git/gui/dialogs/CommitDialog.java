@@ -16,6 +16,7 @@ import de.adito.git.gui.Constants;
 import de.adito.git.gui.DelayedSupplier;
 import de.adito.git.gui.PopupMouseListener;
 import de.adito.git.gui.actions.IActionProvider;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
 import de.adito.git.gui.dialogs.results.CommitDialogResult;
 import de.adito.git.gui.icon.IIconLoader;
 import de.adito.git.gui.quicksearch.QuickSearchTreeCallbackImpl;
@@ -455,7 +456,7 @@ class CommitDialog extends AditoBaseDialog<CommitDialogResult> implements IDisca
             .map(IRepository::getTopLevelDirectory))
         .switchMap(pTLDOpt -> pTLDOpt
             .map(pTLD -> Observable.create(new _CBTreeObservable(checkBoxTree))
-                .throttleLatest(100, TimeUnit.MILLISECONDS)
+                .throttleLatest(100, TimeUnit.MILLISECONDS, GitProcessExecutors.getDialogScheduler().asRxScheduler())
                 .startWithItem(List.of()))
             // in case the repository was not present: Everything is empty, but no exception/crash
             .orElseGet(() -> Observable.just(List.of()))));
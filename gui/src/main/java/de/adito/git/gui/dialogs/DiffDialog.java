@@ -21,6 +21,8 @@ import de.adito.util.reactive.cache.ObservableCache;
 import de.adito.util.reactive.cache.ObservableCacheDisposable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.Subject;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -60,6 +62,7 @@ class DiffDialog extends AditoBaseDialog<Object> implements IDiscardable
   private final ObservableCache observableCache = new ObservableCache();
   private final CompositeDisposable disposables = new CompositeDisposable();
   private final List<IFileDiff> diffs;
+  private final Subject<Optional<IFileDiff>> preparedFileDiff = BehaviorSubject.create();
 
   @Inject
   public DiffDialog(IIconLoader pIconLoader, IEditorKitProvider pEditorKitProvider, IQuickSearchProvider pQuickSearchProvider, IFileSystemUtil pFileSystemUtil,
@@ -86,6 +89,7 @@ class DiffDialog extends AditoBaseDialog<Object> implements IDiscardable
     doAfterJobs[1] = () -> _setSelectedFile(pSelectedFile);
     treeUpdater = new ObservableTreeUpdater<>(changedFiles, statusTreeModel, pFileSystemUtil, doAfterJobs);
     editorKitProvider = pEditorKitProvider;
+    disposables.add(_observeSelectedFileDiff().subscribe(this::_prepareFileDiff));
     _initGui(pIconLoader, pProjectDirectory, pLeftHeader, pRightHeader, pProgressFacade);
   }
 
@@ -155,8 +159,44 @@ class DiffDialog extends AditoBaseDialog<Object> implements IDiscardable
                                    }));
   }
 
+  /**
+   * loads the contents and calculates the changes of the selected IFileDiff in the background, and only passes it on to the panels once that is done. If
+   * another file is selected in the meantime, the calculation is cancelled and the superseded IFileDiff is never shown
+   *
+   * @param pFileDiff selected IFileDiff, empty if nothing is selected
+   */
+  private void _prepareFileDiff(@NonNull Optional<IFileDiff> pFileDiff)
+  {
+    GitProcessExecutors.getDialogScheduler().submitLatest(this, pToken -> {
+      if (pFileDiff.isPresent())
+      {
+        for (EChangeSide changeSide : EChangeSide.values())
+        {
+          pToken.throwIfCancelled();
+          pFileDiff.get().getFileContentInfo(changeSide).getFileContent().get();
+        }
+        pToken.throwIfCancelled();
+        pFileDiff.get().getChangeDeltas();
+      }
+      pToken.throwIfCancelled();
+      SwingUtilities.invokeLater(() -> {
+        if (!pToken.isCancelled())
+          preparedFileDiff.onNext(pFileDiff);
+      });
+    });
+  }
+
+  /**
+   * @return Observable of the selected IFileDiff, fires on the EDT once the contents and changes of the IFileDiff are calculated
+   */
   @NonNull
   private Observable<Optional<IFileDiff>> _observeFileDiffs()
+  {
+    return preparedFileDiff;
+  }
+
+  @NonNull
+  private Observable<Optional<IFileDiff>> _observeSelectedFileDiff()
   {
     return observableCache.calculateParallel("fileDiffs", () -> fileTree.getSelectionObservable()
         .map(pSelectedPaths -> pSelectedPaths.map(pChangeTypes -> pChangeTypes.isEmpty() ? null : (IFileDiff) pChangeTypes.get(0))));
@@ -211,6 +251,7 @@ class DiffDialog extends AditoBaseDialog<Object> implements IDiscardable
   @Override
   public void discard()
   {
+    GitProcessExecutors.getDialogScheduler().cancel(this);
     disposables.dispose();
     diffPanel.discard();
     fileTree.discard();
@@ -10,7 +10,7 @@ import de.adito.git.api.data.ITag;
 import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.gui.PopupMouseListener;
 import de.adito.git.gui.actions.IActionProvider;
-import de.adito.git.gui.concurrency.ComputationCycleExecutor;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
 import de.adito.git.gui.icon.IIconLoader;
 import de.adito.git.gui.quicksearch.QuickSearchTreeCallbackImpl;
 import de.adito.git.gui.quicksearch.SearchableTree;
@@ -48,7 +48,6 @@ class TagOverviewDialog extends AditoBaseDialog<Object> implements IDiscardable
   private final Consumer<ICommit> selectedCommitCallback;
   private final Observable<Optional<IRepository>> repository;
   private final Disposable tagDisposable;
-  private final ComputationCycleExecutor executor = new ComputationCycleExecutor();
   private static final boolean expandActionDone = false;
   private ObservableTreeSelectionModel selectionModel;
   private _SelectCommitAction selectCommitAction;
@@ -66,14 +65,16 @@ class TagOverviewDialog extends AditoBaseDialog<Object> implements IDiscardable
     tagDisposable = tagList.subscribe(pTagList -> {
       pathToTagMapping.clear();
       pTagList.forEach(pTag -> pathToTagMapping.put(Paths.get(pTag.getName()), pTag));
-      TagTreeBackgroundUpdater updater;
-      // expand the tree initially
-      if (!expandActionDone)
-        updater = new TagTreeBackgroundUpdater(treeModel, pTagList.stream().map(pTag -> Paths.get(pTag.getName())).collect(Collectors.toList()),
-                                               pActionProvider.getExpandTreeAction(tree));
-      else
-        updater = new TagTreeBackgroundUpdater(treeModel, pTagList.stream().map(pTag -> Paths.get(pTag.getName())).collect(Collectors.toList()));
-      executor.invokeComputation(updater);
+      List<Path> tagPaths = pTagList.stream().map(pTag -> Paths.get(pTag.getName())).collect(Collectors.toList());
+      GitProcessExecutors.getDialogScheduler().submitLatest(this, pToken -> {
+        TagTreeBackgroundUpdater updater;
+        // expand the tree initially
+        if (!expandActionDone)
+          updater = new TagTreeBackgroundUpdater(treeModel, tagPaths, pToken, pActionProvider.getExpandTreeAction(tree));
+        else
+          updater = new TagTreeBackgroundUpdater(treeModel, tagPaths, pToken);
+        updater.run();
+      });
     });
     Observable<Optional<ITag>> selectedTagObservable = selectionModel.getSelectedPaths().map(pSelectedPaths -> {
       if (pSelectedPaths != null && pSelectedPaths.length == 1)
@@ -140,7 +141,7 @@ class TagOverviewDialog extends AditoBaseDialog<Object> implements IDiscardable
   {
     selectCommitAction.discard();
     tagDisposable.dispose();
-    executor.shutdown();
+    GitProcessExecutors.getDialogScheduler().cancel(this);
     selectionModel.discard();
     tree.discard();
   }
@@ -179,6 +179,12 @@ class ChoiceButtonPanel extends JPanel implements IDiscardable, LineNumberListen
     // do nothing, either the iconInfos or the viewLineChangeMarkins should also change -> will get notification about that -> don't do the same work twice
   }
 
+  @Override
+  public void lineGeometryChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
+  {
+    // do nothing, see lineNumbersChanged
+  }
+
   @Override
   public void viewLineChangeMarkingChanged(@NonNull List<LineNumberColor> pAdaptedLineNumberColorList)
   {
@@ -3,6 +3,7 @@ package de.adito.git.gui.dialogs.panels.basediffpanel.diffpane;
 import de.adito.git.api.IDiscardable;
 import de.adito.git.api.data.diff.IDeltaTextChangeEvent;
 import de.adito.git.gui.OnionColumnLayout;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
 import de.adito.git.gui.dialogs.panels.basediffpanel.DiffPanelModel;
 import de.adito.git.gui.rxjava.ViewPortSizeObservable;
 import de.adito.git.impl.observables.PropertyChangeObservable;
@@ -114,7 +115,7 @@ public class DiffPane extends JPanel implements IDiscardable
                            .startWithItem(Optional.empty()),
                        Observable.create(new ViewPortSizeObservable(scrollPane.getViewport())),
                        (pZoom, pViewportSize) -> pViewportSize)
-        .throttleLatest(250, TimeUnit.MILLISECONDS, true));
+        .throttleLatest(250, TimeUnit.MILLISECONDS, GitProcessExecutors.getDialogScheduler().asRxScheduler(), true));
   }
 
 }
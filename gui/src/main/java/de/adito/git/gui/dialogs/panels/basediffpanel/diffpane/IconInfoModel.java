@@ -36,6 +36,10 @@ public class IconInfoModel extends ListenableModel<IconInfoModelListener> implem
   private TreeMap<Integer, IconInfo> acceptCoordinateMapping = new TreeMap<>();
   @NonNull
   private TreeMap<Integer, IconInfo> discardCoordinateMapping = new TreeMap<>();
+  @Nullable
+  private IDeltaTextChangeEvent lastTextChangeEvent;
+  // index of the last line that one of the icons is placed at
+  private int lastIconLine = -1;
 
 
   /**
@@ -81,7 +85,15 @@ public class IconInfoModel extends ListenableModel<IconInfoModelListener> implem
   @Override
   public void lineNumbersChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, LineNumber @NonNull [] pLineNumbers)
   {
-    calculateIconInfos(pTextChangeEvent, pLineNumbers);
+    calculateIconInfos(pTextChangeEvent, LineGeometry.of(pLineNumbers));
+  }
+
+  @Override
+  public void lineGeometryChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
+  {
+    // the icons only move if the deltas changed or one of the lines they are placed at moved
+    if (pTextChangeEvent != lastTextChangeEvent || pFirstChangedLine <= lastIconLine)
+      calculateIconInfos(pTextChangeEvent, pLineGeometry);
   }
 
   /**
@@ -112,10 +124,11 @@ public class IconInfoModel extends ListenableModel<IconInfoModelListener> implem
    * calculate the icons and their coordinates, based on the IChangeDeltas of the IDeltaTextChangeEvent and the height of the lineNumbers
    *
    * @param pTextChangeEvent IDeltaTextChangeEvent that contains all ChangeDeltas for the current diff/merge
-   * @param pLineNumbers     array of LineNumbers that give the y coordinates of each line
+   * @param pLineGeometry    LineGeometry that gives the y coordinates of each line
    */
-  private void calculateIconInfos(@NonNull IDeltaTextChangeEvent pTextChangeEvent, LineNumber @NonNull [] pLineNumbers)
+  private void calculateIconInfos(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry)
   {
+    int lastLine = -1;
     List<IconInfo> acceptIconInfoList = new ArrayList<>();
     List<IconInfo> discardIconInfoList = new ArrayList<>();
     List<IChangeDelta> changeDeltas = pTextChangeEvent.getFileDiff() == null ? List.of() : pTextChangeEvent.getFileDiff().getChangeDeltas();
@@ -126,8 +139,9 @@ public class IconInfoModel extends ListenableModel<IconInfoModelListener> implem
       {
         int yViewCoordinate = 0;
         int startLine = fileChange.getStartLine(changeSide);
-        if (pLineNumbers.length > startLine)
-          yViewCoordinate = pLineNumbers[startLine].getYCoordinate() + Y_ICON_OFFSET;
+        if (pLineGeometry.getLineCount() > startLine)
+          yViewCoordinate = pLineGeometry.getYCoordinate(startLine) + Y_ICON_OFFSET;
+        lastLine = Math.max(lastLine, startLine);
 
         if (acceptIcon != null)
           acceptIconInfoList.add(new IconInfo(acceptIcon, yViewCoordinate, acceptChangeIconXVal, fileChange));
@@ -138,6 +152,8 @@ public class IconInfoModel extends ListenableModel<IconInfoModelListener> implem
         }
       }
     }
+    lastTextChangeEvent = pTextChangeEvent;
+    lastIconLine = lastLine;
     acceptCoordinateMapping = calculateCoordinateMapping(acceptIconInfoList);
     discardCoordinateMapping = calculateCoordinateMapping(discardIconInfoList);
     // separate lists and treeMaps for accept and discard icons, since pairs of accept and discard icons have the same y value -> cannot be stored in the same treeMap
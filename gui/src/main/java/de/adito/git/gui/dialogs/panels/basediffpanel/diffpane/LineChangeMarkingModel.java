@@ -38,6 +38,10 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
   private List<LineNumberColor> staticLineNumberColors = List.of();
   @NonNull
   private TreeMap<Integer, LineNumberColor> coordinateMapping = new TreeMap<>();
+  @Nullable
+  private IDeltaTextChangeEvent lastTextChangeEvent;
+  // index of the last line that is covered by one of the LineNumberColors
+  private int lastColoredLine = -1;
 
   /**
    * @param pLineNumberModel LineNumberModel that keeps track of the y coordinates of lines
@@ -106,11 +110,12 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
    * calculate the LineNumberColors after some change occurred
    *
    * @param pTextChangeEvent IDeltaTextChangeEvent that contains the ChangeDeltas who are the basis for the LineNumberColors
-   * @param pLineNumbers     Array of LineNumbers that give the y coordinates for each line
+   * @param pLineGeometry    LineGeometry that gives the y coordinates for each line
    */
-  private void calculateLineNumColors(@NonNull IDeltaTextChangeEvent pTextChangeEvent, LineNumber @NonNull [] pLineNumbers)
+  private void calculateLineNumColors(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry)
   {
     List<LineNumberColor> lineNumberColors = new ArrayList<>();
+    int lastLine = -1;
     try
     {
       List<IChangeDelta> changeDeltas = pTextChangeEvent.getFileDiff() == null ? List.of() : pTextChangeEvent.getFileDiff().getChangeDeltas();
@@ -119,10 +124,11 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
         if (fileChange.getChangeStatus() != EChangeStatus.UNDEFINED)
         {
           int numLines = fileChange.getEndLine(changeSide) - fileChange.getStartLine(changeSide);
-          if (fileChange.getStartLine(changeSide) <= pLineNumbers.length)
+          if (fileChange.getStartLine(changeSide) <= pLineGeometry.getLineCount())
           {
-            LineNumberColor lineNumberColor = viewCoordinatesLineNumberColor(fileChange.getStartLine(changeSide), numLines, fileChange, pLineNumbers);
+            LineNumberColor lineNumberColor = viewCoordinatesLineNumberColor(fileChange.getStartLine(changeSide), numLines, fileChange, pLineGeometry);
             lineNumberColors.add(lineNumberColor);
+            lastLine = Math.max(lastLine, fileChange.getEndLine(changeSide));
           }
         }
       }
@@ -135,6 +141,8 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
     }
 
     // re-assign the class variable to the new reference/list
+    lastTextChangeEvent = pTextChangeEvent;
+    lastColoredLine = lastLine;
     staticLineNumberColors = lineNumberColors;
     coordinateMapping = calculateCoordinateMapping(staticLineNumberColors);
     notifyListeners(lineNumberColors);
@@ -158,38 +166,35 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
   }
 
   /**
-   * @param pLineCounter actual number of the line, this is due to added parityLines
-   * @param pNumLines    number of lines that this LineNumColor should encompass
-   * @param pFileChange  IFileChangeChunk that is the reason for this LineNumColor
-   * @param pLineInfos   Array that contains the calculated coordinates of the lines
+   * @param pLineCounter  actual number of the line, this is due to added parityLines
+   * @param pNumLines     number of lines that this LineNumColor should encompass
+   * @param pFileChange   IFileChangeChunk that is the reason for this LineNumColor
+   * @param pLineGeometry LineGeometry that contains the calculated coordinates of the lines
    * @return LineNumberColor with the gathered information about where and what color the LineNumberColor should be drawn, view coordinates
    * @throws BadLocationException i.e. if the line is out of bounds
    */
   private @NonNull LineNumberColor viewCoordinatesLineNumberColor(int pLineCounter, int pNumLines, @NonNull IChangeDelta pFileChange,
-                                                                  @NonNull LineNumber[] pLineInfos) throws BadLocationException
+                                                                  @NonNull LineGeometry pLineGeometry) throws BadLocationException
   {
-    LineNumber startingLineInfo = pLineInfos[Math.min(pLineInfos.length - 1, pLineCounter)];
-    LineNumber endingLineInfo = pLineInfos[Math.min(pLineInfos.length - 1, Math.max(0, pLineCounter + pNumLines - 1))];
+    if (pLineGeometry.getLineCount() == 0)
+      throw new BadLocationException("could not find Element for provided lines", pLineCounter);
+    int startingLine = Math.min(pLineGeometry.getLineCount() - 1, pLineCounter);
+    int endingLine = Math.min(pLineGeometry.getLineCount() - 1, Math.max(0, pLineCounter + pNumLines - 1));
     Rectangle bounds;
-    if (startingLineInfo != null && endingLineInfo != null)
+    // case "insert stuff here", no parity lines and pNumLines was 0 -> endingLine is the line before startingLine
+    if (pNumLines == 0)
     {
-      // case "insert stuff here", no parity lines and pNumLines was 0 -> endingLineInfo is of line before startingLineInfo
-      if (pNumLines == 0)
-      {
-        // to center the drawn line between two text lines, move up the top of the line INSERT_LINE_HEIGHT/2 pixels
-        int yValue = startingLineInfo.getYCoordinate() - INSERT_LINE_HEIGHT / 2;
-        // insert between the lines, so only color a few pixels between the lines
-        bounds = new Rectangle(0, yValue, Integer.MAX_VALUE, INSERT_LINE_HEIGHT);
-      }
-      else
-      {
-        bounds = new Rectangle(0, startingLineInfo.getYCoordinate(), Integer.MAX_VALUE,
-                               endingLineInfo.getYCoordinate() + endingLineInfo.getHeight() - startingLineInfo.getYCoordinate());
-      }
-      return new LineNumberColor(pFileChange.getDiffColor(), bounds);
+      // to center the drawn line between two text lines, move up the top of the line INSERT_LINE_HEIGHT/2 pixels
+      int yValue = pLineGeometry.getYCoordinate(startingLine) - INSERT_LINE_HEIGHT / 2;
+      // insert between the lines, so only color a few pixels between the lines
+      bounds = new Rectangle(0, yValue, Integer.MAX_VALUE, INSERT_LINE_HEIGHT);
+    }
+    else
+    {
+      bounds = new Rectangle(0, pLineGeometry.getYCoordinate(startingLine), Integer.MAX_VALUE,
+                             pLineGeometry.getYCoordinate(endingLine) + pLineGeometry.getHeight(endingLine) - pLineGeometry.getYCoordinate(startingLine));
     }
-    throw new BadLocationException("could not find Element for provided lines", startingLineInfo == null ? pLineCounter :
-        pLineCounter + pNumLines - 1);
+    return new LineNumberColor(pFileChange.getDiffColor(), bounds);
   }
 
   /**
@@ -208,6 +213,14 @@ public class LineChangeMarkingModel extends ListenableModel<LineNumberColorsList
   @Override
   public void lineNumbersChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, LineNumber @NonNull [] pLineNumbers)
   {
-    calculateLineNumColors(pTextChangeEvent, pLineNumbers);
+    calculateLineNumColors(pTextChangeEvent, LineGeometry.of(pLineNumbers));
+  }
+
+  @Override
+  public void lineGeometryChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
+  {
+    // the colored areas only change if the deltas changed or one of the lines they cover moved
+    if (pTextChangeEvent != lastTextChangeEvent || pFirstChangedLine <= lastColoredLine)
+      calculateLineNumColors(pTextChangeEvent, pLineGeometry);
   }
 }
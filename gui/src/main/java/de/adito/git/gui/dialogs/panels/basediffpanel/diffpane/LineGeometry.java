@@ -0,0 +1,185 @@
+package de.adito.git.gui.dialogs.panels.basediffpanel.diffpane;
+
+import de.adito.git.gui.swing.LineNumber;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Snapshot of the y coordinates and heights of all lines in an editor, the coordinates never change once the snapshot is created. The coordinates are
+ * stored in int arrays, the LineNumber objects are only created if they are requested. Since LineNumbers are immutable and created from the fixed
+ * coordinates, a snapshot can be read from several threads: if two threads request the same LineNumber at the same time, both get the instance that was
+ * stored first. Lines can be looked up by their y coordinate with a binary search
+ *
+ * @author agent, 19.10.2026
+ */
+public final class LineGeometry
+{
+
+  static final LineGeometry EMPTY = new LineGeometry(new int[0], new int[0], new AtomicReferenceArray<>(0));
+
+  private final int[] yCoordinates;
+  private final int[] heights;
+  // LineNumbers created so far, created lazily since most of them are never drawn
+  private final AtomicReferenceArray<LineNumber> lineNumbers;
+
+  private LineGeometry(int @NonNull [] pYCoordinates, int @NonNull [] pHeights, @NonNull AtomicReferenceArray<LineNumber> pLineNumbers)
+  {
+    yCoordinates = pYCoordinates;
+    heights = pHeights;
+    lineNumbers = pLineNumbers;
+  }
+
+  /**
+   * @param pLineNumbers LineNumbers of all lines, sorted by the index of the line. Lines whose position is not known may be null, they are placed directly
+   *                     after the line before them with a height of 0
+   * @return LineGeometry with the coordinates of the LineNumbers
+   */
+  @NonNull
+  static LineGeometry of(@Nullable LineNumber @NonNull [] pLineNumbers)
+  {
+    int[] yCoordinates = new int[pLineNumbers.length];
+    int[] heights = new int[pLineNumbers.length];
+    _fill(pLineNumbers, yCoordinates, heights, 0);
+    return new LineGeometry(yCoordinates, heights, new AtomicReferenceArray<>(pLineNumbers));
+  }
+
+  /**
+   * @return number of lines
+   */
+  public int getLineCount()
+  {
+    return yCoordinates.length;
+  }
+
+  /**
+   * @param pLine index of the line
+   * @return y coordinate of the top of the line
+   */
+  public int getYCoordinate(int pLine)
+  {
+    return yCoordinates[pLine];
+  }
+
+  /**
+   * @param pLine index of the line
+   * @return height of the line
+   */
+  public int getHeight(int pLine)
+  {
+    return heights[pLine];
+  }
+
+  /**
+   * @param pLine index of the line
+   * @return LineNumber with the number and coordinates of the line
+   */
+  @NonNull
+  public LineNumber getLineNumber(int pLine)
+  {
+    LineNumber lineNumber = lineNumbers.get(pLine);
+    if (lineNumber == null)
+    {
+      LineNumber createdLineNumber = new LineNumber(pLine + 1, 0, yCoordinates[pLine], heights[pLine]);
+      // another thread may have stored its LineNumber in the meantime, in that case that one is used
+      lineNumber = lineNumbers.compareAndSet(pLine, null, createdLineNumber) ? createdLineNumber : lineNumbers.get(pLine);
+    }
+    return lineNumber;
+  }
+
+  /**
+   * @return LineNumbers of all lines. Creates the LineNumbers of all lines, so this should only be used if the LineNumbers are really needed
+   */
+  @NonNull
+  public LineNumber[] getLineNumbers()
+  {
+    LineNumber[] allLineNumbers = new LineNumber[yCoordinates.length];
+    for (int line = 0; line < allLineNumbers.length; line++)
+    {
+      allLineNumbers[line] = getLineNumber(line);
+    }
+    return allLineNumbers;
+  }
+
+  /**
+   * @param pYCoordinate y coordinate
+   * @return index of the last line whose y coordinate is smaller or equal to pYCoordinate, -1 if all lines start below pYCoordinate
+   */
+  public int getLastLineStartingAtOrBefore(int pYCoordinate)
+  {
+    int low = 0;
+    int high = yCoordinates.length - 1;
+    while (low <= high)
+    {
+      int middle = (low + high) >>> 1;
+      if (yCoordinates[middle] <= pYCoordinate)
+        low = middle + 1;
+      else
+        high = middle - 1;
+    }
+    return high;
+  }
+
+  /**
+   * Creates a new LineGeometry in which some lines are replaced and all lines after them are moved. The lines before the replaced lines are taken over as
+   * they are
+   *
+   * @param pFirstLine     index of the first line that is replaced
+   * @param pReplacedLines number of lines of this LineGeometry that are replaced, starting at pFirstLine
+   * @param pNewLines      LineNumbers of the lines that replace the replaced lines, these determine their coordinates
+   * @param pYShift        number of pixels that the lines after the replaced lines move
+   * @return new LineGeometry with the replaced lines
+   */
+  @NonNull
+  LineGeometry replaceLines(int pFirstLine, int pReplacedLines, @NonNull LineNumber @NonNull [] pNewLines, int pYShift)
+  {
+    int oldSuffixStart = pFirstLine + pReplacedLines;
+    int newSuffixStart = pFirstLine + pNewLines.length;
+    int suffixLength = yCoordinates.length - oldSuffixStart;
+    int[] newYCoordinates = new int[newSuffixStart + suffixLength];
+    int[] newHeights = new int[newYCoordinates.length];
+    AtomicReferenceArray<LineNumber> newLineNumbers = new AtomicReferenceArray<>(newYCoordinates.length);
+    // lines before the replaced lines keep their coordinates and LineNumbers
+    System.arraycopy(yCoordinates, 0, newYCoordinates, 0, pFirstLine);
+    System.arraycopy(heights, 0, newHeights, 0, pFirstLine);
+    for (int line = 0; line < pFirstLine; line++)
+    {
+      newLineNumbers.set(line, lineNumbers.get(line));
+    }
+    _fill(pNewLines, newYCoordinates, newHeights, pFirstLine);
+    for (int index = 0; index < pNewLines.length; index++)
+    {
+      newLineNumbers.set(pFirstLine + index, pNewLines[index]);
+    }
+    // lines after the replaced lines keep their heights but move, their LineNumbers are created again if needed
+    System.arraycopy(heights, oldSuffixStart, newHeights, newSuffixStart, suffixLength);
+    for (int index = 0; index < suffixLength; index++)
+    {
+      newYCoordinates[newSuffixStart + index] = yCoordinates[oldSuffixStart + index] + pYShift;
+    }
+    return new LineGeometry(newYCoordinates, newHeights, newLineNumbers);
+  }
+
+  /**
+   * write the coordinates of the LineNumbers into the arrays, starting at pOffset. Null entries are placed directly after the line before them
+   */
+  private static void _fill(@Nullable LineNumber @NonNull [] pLineNumbers, int @NonNull [] pYCoordinates, int @NonNull [] pHeights, int pOffset)
+  {
+    for (int index = 0; index < pLineNumbers.length; index++)
+    {
+      int line = pOffset + index;
+      LineNumber lineNumber = pLineNumbers[index];
+      if (lineNumber != null)
+      {
+        pYCoordinates[line] = lineNumber.getYCoordinate();
+        pHeights[line] = lineNumber.getHeight();
+      }
+      else
+      {
+        pYCoordinates[line] = line == 0 ? 0 : pYCoordinates[line - 1] + pHeights[line - 1];
+        pHeights[line] = 0;
+      }
+    }
+  }
+}
@@ -130,6 +130,13 @@ class LineNumPanel extends JPanel implements IDiscardable, LineNumberColorsListe
     recalcAndRedraw();
   }
 
+  @Override
+  public void lineGeometryChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
+  {
+    // the lines to draw are fetched from the model when painting, so there is no need for the LineNumbers of all lines here
+    recalcAndRedraw();
+  }
+
   /**
    * calculate the width this panel must have to display all the lineNumbers, based on the highest lineNumber and the used font
    *
@@ -19,4 +19,17 @@ public interface LineNumberListener
    */
   void lineNumbersChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, LineNumber @NonNull [] pLineNumbers);
 
+  /**
+   * Called by the LineNumberModel instead of {@link #lineNumbersChanged(IDeltaTextChangeEvent, LineNumber[])}. Listeners that only need the coordinates of some
+   * lines should override this method, since the default implementation has to create the LineNumbers of all lines
+   *
+   * @param pTextChangeEvent  DeltaTextChangeEvent that triggered the re-calculation of the lineNumber y coordinates
+   * @param pLineGeometry     coordinates of all lines present in the editor
+   * @param pFirstChangedLine index of the first line whose coordinates changed, all lines before it kept their coordinates
+   */
+  default void lineGeometryChanged(@NonNull IDeltaTextChangeEvent pTextChangeEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
+  {
+    lineNumbersChanged(pTextChangeEvent, pLineGeometry.getLineNumbers());
+  }
+
 }
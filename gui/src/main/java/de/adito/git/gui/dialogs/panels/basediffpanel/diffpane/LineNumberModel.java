@@ -3,6 +3,7 @@ package de.adito.git.gui.dialogs.panels.basediffpanel.diffpane;
 import com.google.common.annotations.VisibleForTesting;
 import de.adito.git.api.IDiscardable;
 import de.adito.git.api.data.diff.IDeltaTextChangeEvent;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
 import de.adito.git.gui.swing.LineNumber;
 import de.adito.git.gui.swing.SwingUtil;
 import de.adito.git.gui.swing.TextPaneUtil;
@@ -12,9 +13,12 @@ import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.View;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.*;
 import java.awt.Dimension;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -22,7 +26,9 @@ import java.util.logging.Logger;
 
 /**
  * Tracks the y coordinates for the lineNumbers in an editor, updated based on events in the FileChangesObservable of the DiffPanelModel (text changed -> number of
- * lines can change) and a resize of the editor window (possible line wrapping or zoom level changed -> positions of the lines can change)
+ * lines can change) and a resize of the editor window (possible line wrapping or zoom level changed -> positions of the lines can change).
+ * The model listens to the document of the editor and only calculates the coordinates of the lines that were edited since the last calculation again, the lines
+ * after them are moved by the difference in height. A resize, zoom or font change calculates the coordinates of all lines again
  *
  * @author m.kaspera, 09.12.2022
  */
@@ -33,9 +39,24 @@ public class LineNumberModel extends ListenableModel<LineNumberListener> impleme
   @NonNull
   private final Disposable areaDisposable;
   @NonNull
-  private LineNumber[] lineNumberInfos = new LineNumber[0];
+  private final JEditorPane editorPane;
   @NonNull
-  private TreeMap<Integer, LineNumber> coordinateMapping = new TreeMap<>();
+  private final DocumentListener documentListener = new _EditedLinesListener();
+  @NonNull
+  private final PropertyChangeListener propertyChangeListener = this::_propertyChanged;
+  @NonNull
+  private final Object editedLinesLock = new Object();
+  @NonNull
+  private Document document;
+  @NonNull
+  private LineGeometry lineGeometry = LineGeometry.EMPTY;
+  // all lines have to be calculated again, guarded by editedLinesLock
+  private boolean fullRecalculation = true;
+  // range of lines edited since the last calculation, in the line indices of the current document. Guarded by editedLinesLock
+  private int firstEditedLine = Integer.MAX_VALUE;
+  private int lastEditedLine = -1;
+  // number of lines added (or removed, if negative) since the last calculation. Guarded by editedLinesLock
+  private int lineCountDelta = 0;
 
   /**
    * @param pTextChangeEventObservable Observable of DeltaTextChangeEvents that fires each time the user accepts or discards changes or manually inputs text
@@ -45,8 +66,18 @@ public class LineNumberModel extends ListenableModel<LineNumberListener> impleme
   public LineNumberModel(@NonNull Observable<IDeltaTextChangeEvent> pTextChangeEventObservable, @NonNull JEditorPane pEditorPane,
                          @NonNull Observable<Dimension> pViewAreaObs)
   {
-    areaDisposable = Observable.combineLatest(pTextChangeEventObservable, pViewAreaObs, (pChangesEvent, pArea) -> pChangesEvent)
-        .throttleLatest(200, TimeUnit.MILLISECONDS, true)
+    editorPane = pEditorPane;
+    document = pEditorPane.getDocument();
+    document.addDocumentListener(documentListener);
+    pEditorPane.addPropertyChangeListener(propertyChangeListener);
+    areaDisposable = Observable.combineLatest(pTextChangeEventObservable.doOnNext(pEvent -> {
+                                                if (pEvent.isInit())
+                                                  _requestFullRecalculation();
+                                              }),
+                                              // a resize or zoom can change the height of all lines
+                                              pViewAreaObs.doOnNext(pArea -> _requestFullRecalculation()),
+                                              (pChangesEvent, pArea) -> pChangesEvent)
+        .throttleLatest(200, TimeUnit.MILLISECONDS, GitProcessExecutors.getDialogScheduler().asRxScheduler(), true)
         .subscribe(pEvent -> calculateLineNumColors(pEvent, pEditorPane));
   }
 
@@ -63,28 +94,33 @@ public class LineNumberModel extends ListenableModel<LineNumberListener> impleme
     if (pYStart > pYEnd)
       return List.of();
 
-    // assign coordinateMapping to a temp variable in case it would be assigned a different value during the subMap call -> ThreadSafety
-    TreeMap<Integer, LineNumber> tmp = coordinateMapping;
-    Collection<LineNumber> lineNumbers = tmp.subMap(pYStart, pYEnd).values();
-    // it is possible that a LineNumberColor starts before the given y start coodinate, but still intersects the area that has to be drawn (due to its height).
-    // We check if the last element before yStart is exactly such a case, and add it to the result if it is
-    @Nullable
-    Map.Entry<Integer, LineNumber> lineNumberEntryBefore = tmp.floorEntry(pYStart);
-    if (Optional.ofNullable(lineNumberEntryBefore)
-        .map(Map.Entry::getValue)
-        .map(pLineNumber -> pLineNumber.getYCoordinate() + pLineNumber.getHeight() >= pYStart)
-        .orElse(false) && !lineNumbers.contains(lineNumberEntryBefore.getValue()))
+    // assign lineGeometry to a temp variable in case it would be assigned a different value during this method -> ThreadSafety
+    LineGeometry tmp = lineGeometry;
+    List<LineNumber> lineNumbers = new ArrayList<>();
+    int lineBefore = tmp.getLastLineStartingAtOrBefore(pYStart);
+    // it is possible that a LineNumber starts before the given y start coodinate, but still intersects the area that has to be drawn (due to its height).
+    // We check if the last line starting before yStart is exactly such a case, and add it to the result if it is
+    if (lineBefore >= 0 && tmp.getYCoordinate(lineBefore) + tmp.getHeight(lineBefore) >= pYStart)
+      lineNumbers.add(tmp.getLineNumber(lineBefore));
+    for (int line = lineBefore + 1; line < tmp.getLineCount() && tmp.getYCoordinate(line) < pYEnd; line++)
     {
-      // create a new list here because the collection gotten from subMap.values does not support adding elements. Creating a new list is okay from a performance
-      // standpoint because lineNumbers should have a very limited number of entries
-      lineNumbers = new ArrayList<>(lineNumbers);
-      lineNumbers.add(lineNumberEntryBefore.getValue());
+      lineNumbers.add(tmp.getLineNumber(line));
     }
     return lineNumbers;
   }
 
   /**
-   * Calculates the view coordinates of the lineNumbers and notifies listeners of the new list
+   * @return coordinates of all lines, as calculated by the last update
+   */
+  @NonNull
+  public LineGeometry getLineGeometry()
+  {
+    return lineGeometry;
+  }
+
+  /**
+   * Calculates the view coordinates of the lineNumbers and notifies listeners of the new coordinates. Only the lines that were edited since the last
+   * calculation are calculated again, unless a full recalculation was requested
    *
    * @param pEvent      IDeltaTextChangeEvent that triggered the new calculation of the y values
    * @param pEditorPane JEditorPane with the text from the IFileChangesEvent. It's UI defines the y values for the lines
@@ -93,57 +129,192 @@ public class LineNumberModel extends ListenableModel<LineNumberListener> impleme
   void calculateLineNumColors(@NonNull IDeltaTextChangeEvent pEvent, @NonNull JEditorPane pEditorPane)
   {
     SwingUtil.invokeInEDT(() -> {
+      boolean recalculateAll;
+      int firstLine;
+      int lastLine;
+      int addedLines;
+      synchronized (editedLinesLock)
+      {
+        recalculateAll = fullRecalculation;
+        firstLine = firstEditedLine;
+        lastLine = lastEditedLine;
+        addedLines = lineCountDelta;
+        _resetEditedLines();
+      }
+      View view = pEditorPane.getUI().getRootView(pEditorPane);
+      int firstChangedLine = 0;
       try
       {
-        View view = pEditorPane.getUI().getRootView(pEditorPane);
-        lineNumberInfos = TextPaneUtil.calculateLineYPositions(pEditorPane, view);
+        LineGeometry updatedGeometry = recalculateAll ? null : _calculateEditedLines(pEditorPane, view, firstLine, lastLine, addedLines);
+        if (updatedGeometry == null)
+          lineGeometry = LineGeometry.of(TextPaneUtil.calculateLineYPositions(pEditorPane, view));
+        else
+        {
+          lineGeometry = updatedGeometry;
+          firstChangedLine = Math.min(firstLine, lineGeometry.getLineCount());
+        }
       }
       catch (BadLocationException pE)
       {
-        // just log the exception and return the LineNumbers we could calculate. This way, the model may be able to fully calculate all LineNumbers on the next
+        // just log the exception and keep the LineNumbers we could calculate. This way, the model may be able to fully calculate all LineNumbers on the next
         // event and is not broken
         LOGGER.log(Level.WARNING, pE, () -> "Git Plugin: Could not calculate LineNumber coordinates");
+        _requestFullRecalculation();
       }
-      coordinateMapping = calculateCoordinateMapping(lineNumberInfos);
-      notifyListeners(pEvent, lineNumberInfos);
+      notifyListeners(pEvent, lineGeometry, firstChangedLine);
     });
   }
 
   /**
-   * Calculate a treeMap of the LineNumbers and their y coordinates for fast access of a given range of y values
+   * calculate the coordinates of the edited lines and move the lines after them
    *
-   * @param pViewCoordinatesColors Array of LineNumbers
-   * @return TreeMap with the LineNumbers as values and the y coordinates of the LineNumbers as value
+   * @param pEditorPane JEditorPane whose lines are calculated
+   * @param pView       root view of pEditorPane
+   * @param pFirstLine  index of the first edited line, Integer.MAX_VALUE if no line was edited
+   * @param pLastLine   index of the last edited line, in the current document
+   * @param pAddedLines number of lines added by the edits, negative if lines were removed
+   * @return updated LineGeometry, or null if all lines have to be calculated
+   * @throws BadLocationException if one of the accessed lines is out of bounds
    */
-  @NonNull
-  private TreeMap<Integer, LineNumber> calculateCoordinateMapping(LineNumber @NonNull [] pViewCoordinatesColors)
+  @Nullable
+  private LineGeometry _calculateEditedLines(@NonNull JEditorPane pEditorPane, @Nullable View pView, int pFirstLine, int pLastLine, int pAddedLines)
+      throws BadLocationException
   {
-    TreeMap<Integer, LineNumber> lineNumberMap = new TreeMap<>();
-    for (LineNumber lineNumber : pViewCoordinatesColors)
+    LineGeometry currentGeometry = lineGeometry;
+    int lineCount = pEditorPane.getDocument().getDefaultRootElement().getElementCount();
+    if (pFirstLine == Integer.MAX_VALUE)
+      // nothing was edited, the coordinates are still valid as long as the number of lines matches
+      return currentGeometry.getLineCount() == lineCount ? currentGeometry : null;
+    int lastLine = Math.min(pLastLine, lineCount - 1);
+    int replacedLines = lastLine - pFirstLine + 1 - pAddedLines;
+    if (currentGeometry.getLineCount() + pAddedLines != lineCount || pFirstLine > lastLine || replacedLines < 0
+        || pFirstLine + replacedLines > currentGeometry.getLineCount())
+      return null;
+    // also calculate the first line after the edited lines, it determines how far the following lines move
+    boolean hasFollowingLine = lastLine + 1 < lineCount;
+    LineNumber[] calculatedLines = TextPaneUtil.calculateLineYPositions(pEditorPane, pView, pFirstLine, hasFollowingLine ? lastLine + 1 : lastLine);
+    if (calculatedLines == null || Arrays.stream(calculatedLines).anyMatch(Objects::isNull))
+      return null;
+    int yShift = 0;
+    LineNumber[] editedLines = calculatedLines;
+    if (hasFollowingLine)
     {
-      lineNumberMap.put(lineNumber.getYCoordinate(), lineNumber);
+      editedLines = Arrays.copyOf(calculatedLines, calculatedLines.length - 1);
+      yShift = calculatedLines[calculatedLines.length - 1].getYCoordinate() - currentGeometry.getYCoordinate(pFirstLine + replacedLines);
     }
-    return lineNumberMap;
+    return currentGeometry.replaceLines(pFirstLine, replacedLines, editedLines, yShift);
   }
 
   @Override
   public void discard()
   {
     areaDisposable.dispose();
+    document.removeDocumentListener(documentListener);
+    editorPane.removePropertyChangeListener(propertyChangeListener);
     discardListeners();
   }
 
   /**
    * Loops through the list of LineNumberListeners and informs them that the LineNumbers changed
    *
-   * @param pEvent    IDeltaTextChangeEvent that trigger the recalculation
-   * @param pNewValue new/updated values for the LineNumbers
+   * @param pEvent            IDeltaTextChangeEvent that trigger the recalculation
+   * @param pLineGeometry     new/updated coordinates of the lines
+   * @param pFirstChangedLine index of the first line whose coordinates changed
    */
-  private void notifyListeners(@NonNull IDeltaTextChangeEvent pEvent, LineNumber @NonNull [] pNewValue)
+  private void notifyListeners(@NonNull IDeltaTextChangeEvent pEvent, @NonNull LineGeometry pLineGeometry, int pFirstChangedLine)
   {
     for (LineNumberListener listener : listeners)
     {
-      listener.lineNumbersChanged(pEvent, pNewValue);
+      listener.lineGeometryChanged(pEvent, pLineGeometry, pFirstChangedLine);
+    }
+  }
+
+  private void _requestFullRecalculation()
+  {
+    synchronized (editedLinesLock)
+    {
+      fullRecalculation = true;
+    }
+  }
+
+  /**
+   * has to be called while holding the editedLinesLock
+   */
+  private void _resetEditedLines()
+  {
+    fullRecalculation = false;
+    firstEditedLine = Integer.MAX_VALUE;
+    lastEditedLine = -1;
+    lineCountDelta = 0;
+  }
+
+  private void _propertyChanged(@NonNull PropertyChangeEvent pEvent)
+  {
+    if ("document".equals(pEvent.getPropertyName()))
+    {
+      document.removeDocumentListener(documentListener);
+      document = editorPane.getDocument();
+      document.addDocumentListener(documentListener);
+      _requestFullRecalculation();
+    }
+    else if ("font".equals(pEvent.getPropertyName()))
+    {
+      _requestFullRecalculation();
+    }
+  }
+
+  /**
+   * Collects the range of lines that were edited, and the number of lines that were added or removed
+   */
+  private class _EditedLinesListener implements DocumentListener
+  {
+
+    @Override
+    public void insertUpdate(DocumentEvent pEvent)
+    {
+      Element root = pEvent.getDocument().getDefaultRootElement();
+      _edited(root.getElementIndex(pEvent.getOffset()), root.getElementIndex(pEvent.getOffset() + pEvent.getLength()), _getAddedLines(pEvent, root));
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent pEvent)
+    {
+      Element root = pEvent.getDocument().getDefaultRootElement();
+      int line = root.getElementIndex(pEvent.getOffset());
+      _edited(line, line, _getAddedLines(pEvent, root));
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent pEvent)
+    {
+      // attributes such as the font of a part of the text may change the height of any line
+      _requestFullRecalculation();
+    }
+
+    /**
+     * @return number of lines added by the edit, negative if lines were removed
+     */
+    private int _getAddedLines(@NonNull DocumentEvent pEvent, @NonNull Element pRoot)
+    {
+      DocumentEvent.ElementChange change = pEvent.getChange(pRoot);
+      return change == null ? 0 : change.getChildrenAdded().length - change.getChildrenRemoved().length;
+    }
+
+    /**
+     * @param pFirstLine  index of the first line affected by the edit
+     * @param pLastLine   index of the last line affected by the edit, after the edit
+     * @param pAddedLines number of lines added by the edit, negative if lines were removed
+     */
+    private void _edited(int pFirstLine, int pLastLine, int pAddedLines)
+    {
+      synchronized (editedLinesLock)
+      {
+        // lines edited earlier move with the added or removed lines, if they come after this edit
+        int previousLastLine = lastEditedLine >= pFirstLine ? lastEditedLine + pAddedLines : lastEditedLine;
+        firstEditedLine = Math.min(firstEditedLine, pFirstLine);
+        lastEditedLine = Math.max(previousLastLine, pLastLine);
+        lineCountDelta += pAddedLines;
+      }
     }
   }
 }
@@ -1,14 +1,12 @@
 package de.adito.git.gui.guice.dummies;
 
 import de.adito.git.api.IFileSystemUtil;
-import de.adito.git.api.data.diff.IFileChangeType;
 import lombok.NonNull;
 
 import java.awt.Image;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 /**
  * @author w.glanzer, 07.02.2019
@@ -27,12 +25,6 @@ public class SimpleFileSystemUtil implements IFileSystemUtil
     // no implementation
   }
 
-  @Override
-  public void preLoadIcons(@NonNull List<IFileChangeType> pFiles)
-  {
-    // no implementation
-  }
-
   @Override
   public Image getIcon(@NonNull File pFile, boolean pIsOpened)
   {
@@ -0,0 +1,350 @@
+package de.adito.git.gui.icon;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import de.adito.git.api.IFileSystemUtil;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.Image;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads and caches the icons of files for all trees of the process. Files share their icon if they have the same type, which consists of their extension,
+ * whether they exist and their MIME type. All folders share one icon. Since the type depends on the file system, it is determined in the background
+ * together with the icon. The type of a file is determined again if the file changed, or if it was determined some time ago, so that deleted or recreated
+ * files get the matching icon again. Until then the last known type and icon are served.
+ * Requests for an icon that is already being loaded are not queued again, and all icons that were requested in the meantime are loaded by one background
+ * task. Whoever requested an icon that was not loaded yet, or whose type turned out to have changed, is called back on the EDT once the icon is there, so
+ * the affected rows can be repainted
+ *
+ * @author agent, 19.10.2026
+ */
+public class FileIconService
+{
+
+  private static final Map<IFileSystemUtil, FileIconService> INSTANCES = new HashMap<>();
+  private static final _FileType FOLDER_TYPE = new _FileType("/", true, null);
+  private static final int MAX_CACHED_FILE_TYPES = 5000;
+  private static final long FILE_TYPE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private final Logger logger = Logger.getLogger(FileIconService.class.getName());
+  private final IFileSystemUtil fileSystemUtil;
+  private final Executor executor;
+  private final Map<_IconKey, Icon> icons = new HashMap<>();
+  private final Cache<File, _CachedFileType> fileTypes = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_FILE_TYPES)
+      .build();
+  // requests whose icon is queued, and those whose icon is currently loaded
+  private final Set<_IconRequest> queuedRequests = new LinkedHashSet<>();
+  private final Set<_IconRequest> loadingRequests = new HashSet<>();
+  private final Map<_IconRequest, Set<Runnable>> callbacks = new HashMap<>();
+  private boolean loadScheduled = false;
+
+  FileIconService(@NonNull IFileSystemUtil pFileSystemUtil, @NonNull Executor pExecutor)
+  {
+    fileSystemUtil = pFileSystemUtil;
+    executor = pExecutor;
+  }
+
+  /**
+   * @param pFileSystemUtil IFileSystemUtil that loads the icons. There is only one per process, so this is effectively a singleton
+   * @return the FileIconService that loads its icons with pFileSystemUtil
+   */
+  @NonNull
+  public static synchronized FileIconService getInstance(@NonNull IFileSystemUtil pFileSystemUtil)
+  {
+    return INSTANCES.computeIfAbsent(pFileSystemUtil, pUtil -> new FileIconService(pUtil, GitProcessExecutors::submit));
+  }
+
+  /**
+   * Returns the icon for the file if it is already loaded, and queues it for loading otherwise
+   *
+   * @param pFile     file whose icon should be returned
+   * @param pFolder   true if the file is a folder
+   * @param pExpanded whether the icon should represent an opened or closed state of the file, for example for a node in a tree
+   * @param pOnLoaded called on the EDT once the icon is loaded, if it was not loaded yet or if the type of the file changed. Passing the same Runnable for
+   *                  several files leads to only one call
+   * @return the icon, null if it is not loaded yet. The icon of the last known type of the file while its type is determined again
+   */
+  @Nullable
+  public synchronized Icon getIcon(@NonNull File pFile, boolean pFolder, boolean pExpanded, @NonNull Runnable pOnLoaded)
+  {
+    _IconRequest request = new _IconRequest(pFile, pFolder, pExpanded);
+    Icon icon = _getLoadedIcon(request);
+    if (icon == null || (!pFolder && _isOutdated(fileTypes.getIfPresent(pFile))))
+    {
+      callbacks.computeIfAbsent(request, pRequest -> new LinkedHashSet<>()).add(pOnLoaded);
+      _queue(request);
+    }
+    return icon;
+  }
+
+  /**
+   * Queues the icons of the files for loading, so they are likely to be there once the files are shown. The files are expected to have changed, so their
+   * types are determined again. Their last known types are served until then
+   *
+   * @param pFiles files whose icons should be loaded, the icons of closed files are loaded
+   */
+  public synchronized void preLoadIcons(@NonNull Collection<File> pFiles)
+  {
+    for (File file : pFiles)
+    {
+      _CachedFileType cachedFileType = fileTypes.getIfPresent(file);
+      if (cachedFileType == null)
+        _queue(new _IconRequest(file, false, false));
+      else if (!cachedFileType.stale)
+      {
+        cachedFileType.stale = true;
+        _queue(new _IconRequest(file, false, false));
+      }
+    }
+  }
+
+  /**
+   * @return the icon of the request if the type of the file is known and its icon is loaded, null otherwise. The type may be outdated
+   */
+  @Nullable
+  private Icon _getLoadedIcon(@NonNull _IconRequest pRequest)
+  {
+    _FileType fileType;
+    if (pRequest.folder)
+      fileType = FOLDER_TYPE;
+    else
+    {
+      _CachedFileType cachedFileType = fileTypes.getIfPresent(pRequest.file);
+      fileType = cachedFileType == null ? null : cachedFileType.fileType;
+    }
+    return fileType == null ? null : icons.get(new _IconKey(fileType, pRequest.expanded));
+  }
+
+  /**
+   * @return true if the type has to be determined again, because the file may have changed or the type was determined some time ago
+   */
+  private static boolean _isOutdated(@Nullable _CachedFileType pCachedFileType)
+  {
+    return pCachedFileType != null && (pCachedFileType.stale || System.nanoTime() - pCachedFileType.determinedNanos > FILE_TYPE_REFRESH_NANOS);
+  }
+
+  /**
+   * adds the request to the queue, unless it is queued or loaded already. Starts a background task if none is running, the running task takes the new
+   * request with it
+   */
+  private void _queue(@NonNull _IconRequest pRequest)
+  {
+    if (loadingRequests.contains(pRequest) || !queuedRequests.add(pRequest))
+      return;
+    if (!loadScheduled)
+    {
+      loadScheduled = true;
+      executor.execute(this::_loadQueuedIcons);
+    }
+  }
+
+  /**
+   * determines the types of the queued files and loads the icons of those types that are not loaded yet, one batch after the other until the queue is empty
+   */
+  private void _loadQueuedIcons()
+  {
+    while (true)
+    {
+      List<_IconRequest> batch;
+      synchronized (this)
+      {
+        if (queuedRequests.isEmpty())
+        {
+          loadScheduled = false;
+          return;
+        }
+        batch = new ArrayList<>(queuedRequests);
+        queuedRequests.clear();
+        loadingRequests.addAll(batch);
+      }
+      Set<Runnable> toCall = new LinkedHashSet<>();
+      for (_IconRequest request : batch)
+      {
+        _FileType fileType = request.folder ? FOLDER_TYPE : _getFileType(request.file);
+        _IconKey key = new _IconKey(fileType, request.expanded);
+        Icon icon;
+        Icon previousIcon;
+        synchronized (this)
+        {
+          icon = icons.get(key);
+          previousIcon = _getLoadedIcon(request);
+        }
+        if (icon == null)
+          icon = _loadIcon(request.file, request.expanded);
+        synchronized (this)
+        {
+          icons.putIfAbsent(key, icon);
+          if (!request.folder)
+            fileTypes.put(request.file, new _CachedFileType(fileType));
+          loadingRequests.remove(request);
+          Set<Runnable> requestCallbacks = callbacks.remove(request);
+          // if the type did not change, the icon that is already shown stays the same and nothing has to be repainted
+          if (requestCallbacks != null && icons.get(key) != previousIcon)
+            toCall.addAll(requestCallbacks);
+        }
+      }
+      if (!toCall.isEmpty())
+        SwingUtilities.invokeLater(() -> toCall.forEach(Runnable::run));
+    }
+  }
+
+  @NonNull
+  private _FileType _getFileType(@NonNull File pFile)
+  {
+    String mimeType = null;
+    try
+    {
+      mimeType = fileSystemUtil.getMimeType(pFile);
+    }
+    catch (RuntimeException pE)
+    {
+      logger.log(Level.WARNING, pE, () -> "Git: Failed to determine the MIME type of " + pFile);
+    }
+    return new _FileType(_getExtension(pFile.getName()), pFile.exists(), mimeType);
+  }
+
+  @NonNull
+  private static String _getExtension(@NonNull String pFileName)
+  {
+    int extensionStart = pFileName.lastIndexOf('.');
+    // names such as .gitignore are no extension
+    if (extensionStart > 0)
+      return pFileName.substring(extensionStart + 1).toLowerCase(Locale.ROOT);
+    return pFileName;
+  }
+
+  @NonNull
+  private Icon _loadIcon(@NonNull File pFile, boolean pExpanded)
+  {
+    try
+    {
+      Image image = fileSystemUtil.getIcon(pFile, pExpanded);
+      if (image != null)
+        return new ImageIcon(image);
+    }
+    catch (RuntimeException pE)
+    {
+      logger.log(Level.WARNING, pE, () -> "Git: Failed to load the icon for " + pFile);
+    }
+    return MissingIcon.get16x16();
+  }
+
+  /**
+   * A requested icon: the file, whether it is a folder and whether it is expanded
+   */
+  private static final class _IconRequest
+  {
+    private final File file;
+    private final boolean folder;
+    private final boolean expanded;
+
+    _IconRequest(@NonNull File pFile, boolean pFolder, boolean pExpanded)
+    {
+      file = pFile;
+      folder = pFolder;
+      expanded = pExpanded;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO) return true;
+      if (pO == null || getClass() != pO.getClass()) return false;
+      _IconRequest request = (_IconRequest) pO;
+      return folder == request.folder && expanded == request.expanded && file.equals(request.file);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(file, folder, expanded);
+    }
+  }
+
+  /**
+   * Type of a file, all files of the same type share their icon: the extension (or the name if the file has no extension), whether the file exists and its
+   * MIME type. Deleted files get a generic icon for their extension, and files such as xml files can have different icons depending on their content
+   */
+  private static final class _FileType
+  {
+    private final String extension;
+    private final boolean exists;
+    private final String mimeType;
+
+    _FileType(@NonNull String pExtension, boolean pExists, @Nullable String pMimeType)
+    {
+      extension = pExtension;
+      exists = pExists;
+      mimeType = pMimeType;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO) return true;
+      if (pO == null || getClass() != pO.getClass()) return false;
+      _FileType fileType = (_FileType) pO;
+      return exists == fileType.exists && extension.equals(fileType.extension) && Objects.equals(mimeType, fileType.mimeType);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(extension, exists, mimeType);
+    }
+  }
+
+  /**
+   * Type of a file as it was determined last, marked stale once the file is expected to have changed
+   */
+  private static final class _CachedFileType
+  {
+    private final _FileType fileType;
+    private final long determinedNanos = System.nanoTime();
+    private boolean stale = false;
+
+    _CachedFileType(@NonNull _FileType pFileType)
+    {
+      fileType = pFileType;
+    }
+  }
+
+  /**
+   * Key for the icons: the type of the file and whether it is expanded
+   */
+  private static final class _IconKey
+  {
+    private final _FileType fileType;
+    private final boolean expanded;
+
+    _IconKey(@NonNull _FileType pFileType, boolean pExpanded)
+    {
+      fileType = pFileType;
+      expanded = pExpanded;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO) return true;
+      if (pO == null || getClass() != pO.getClass()) return false;
+      _IconKey iconKey = (_IconKey) pO;
+      return expanded == iconKey.expanded && fileType.equals(iconKey.fileType);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(fileType, expanded);
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package de.adito.git.gui.quicksearch;
 
 import de.adito.git.api.IQuickSearch;
-import org.apache.commons.lang3.StringUtils;
 
 import javax.swing.*;
 import java.util.ArrayList;
@@ -10,6 +9,8 @@ import java.util.List;
 /**
  * Implementation of the callback for a search, can cycle through results
  * If no matching result was found, the selection is cleared
+ * The rows are looked up in a search index that is kept up to date with the model of the table, instead of converting every cell to a String for each
+ * typed character
  *
  * @author m.kaspera, 06.02.2019
  */
@@ -18,6 +19,7 @@ public class QuickSearchCallbackImpl implements IQuickSearch.ICallback
 
   private final JTable table;
   private final List<Integer> columnsToSearch = new ArrayList<>();
+  private final TableSearchIndex searchIndex;
   private String searchString = null;
   private int searchResultIndex = 0;
 
@@ -29,6 +31,7 @@ public class QuickSearchCallbackImpl implements IQuickSearch.ICallback
       if (table.getModel().getColumnCount() > columnToSearch)
         columnsToSearch.add(columnToSearch);
     }
+    searchIndex = new TableSearchIndex(pTable, columnsToSearch);
   }
 
   @Override
@@ -71,60 +74,23 @@ public class QuickSearchCallbackImpl implements IQuickSearch.ICallback
 
   /**
    * @param pSearchString the String to look for
-   * @param pN            which occurrence should be found
+   * @param pN            which occurrence should be found. Starts again at the first occurrence if there are less than n + 1 occurrences, and goes to
+   *                      the last occurrence if n is negative
    * @return the row of the n-th occurrence, or -1 if no occurrence was found
    */
   private int _findNthOccurrence(String pSearchString, int pN)
   {
-    int lastOccurrence = -1;
-    int foundOccurrences = 0;
-
-    for (int rowIndex = 0; rowIndex < table.getModel().getRowCount(); rowIndex++)
-    {
-      for (Integer colToSearch : columnsToSearch)
-      {
-        if (_isOccurrence(pSearchString, rowIndex, colToSearch))
-        {
-          foundOccurrences++;
-          lastOccurrence = rowIndex;
-          // if n != -1 and n-th result exists (n < foundOccurrences because count found occurrences 1 for one hit, n for first result = 0)
-          if (pN >= 0 && foundOccurrences > pN)
-          {
-            return rowIndex;
-          }
-          // only one result per row, else the user can press next twice and still be in the same row
-          break;
-        }
-      }
-    }
-    // if n == -1 -> pressed back on first occurrence -> set index to last occurrence
+    if (pSearchString == null)
+      return -1;
+    // only one result per row, else the user can press next twice and still be in the same row
+    List<Integer> foundRows = searchIndex.findRows(pSearchString);
+    if (foundRows.isEmpty())
+      return -1;
     if (pN < 0)
-      searchResultIndex = foundOccurrences - 1;
-    // if result is bigger than biggest occurrence -> Index to 0 (first result) and look up row of first occurrence
-    if (pN >= foundOccurrences && foundOccurrences != 0)
-    {
+      searchResultIndex = foundRows.size() - 1;
+    else if (pN >= foundRows.size())
       searchResultIndex = 0;
-      return _findNthOccurrence(pSearchString, searchResultIndex);
-    }
-    // found nothing -> -1
-    if (foundOccurrences == 0)
-    {
-      return -1;
-    }
-    // if n < 0 return the row of the last occurrence
-    return lastOccurrence;
-  }
-
-  /**
-   * @param pSearchString string that should be matched to the content of the cell
-   * @param pRowIndex     row of the cell to check
-   * @param pColIndex     column of the cell to check
-   * @return true if the toString method of the object in the cell contains the searchString
-   */
-  private boolean _isOccurrence(String pSearchString, int pRowIndex, int pColIndex)
-  {
-    Object foundObj = table.getModel().getValueAt(pRowIndex, pColIndex);
-    return StringUtils.containsIgnoreCase(foundObj.toString(), pSearchString);
+    return foundRows.get(searchResultIndex);
   }
 
   /**
@@ -1,32 +1,31 @@
 package de.adito.git.gui.quicksearch;
 
 import de.adito.git.api.IQuickSearch;
-import de.adito.git.gui.tree.nodes.FileChangeTypeNodeInfo;
-import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
-import javax.swing.tree.DefaultMutableTreeNode;
-import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * Implementation of the Callback of QuickSearch for Trees
+ * The nodes are looked up in a search index that is kept up to date with the model of the tree, instead of converting every node to a String for each
+ * typed character
  *
  * @author m.kaspera, 19.02.2019
  */
 public class QuickSearchTreeCallbackImpl implements IQuickSearch.ICallback
 {
 
-  private TreePath lastFoundBuffer = null;
-
   private final JTree tree;
+  private final TreeSearchIndex searchIndex;
   private String searchString = null;
   private int searchResultIndex = 0;
 
   public QuickSearchTreeCallbackImpl(JTree pTree)
   {
     tree = pTree;
+    searchIndex = new TreeSearchIndex(pTree);
   }
 
   @Override
@@ -45,9 +44,7 @@ public class QuickSearchTreeCallbackImpl implements IQuickSearch.ICallback
   @Override
   public void quickSearchConfirmed()
   {
-    _SearchResult searchResult = _findNthOccurrence(searchString, searchResultIndex, null, (DefaultMutableTreeNode) tree.getModel().getRoot());
-    tree.scrollPathToVisible(searchResult.getValidPath());
-    tree.getSelectionModel().setSelectionPath(searchResult.getValidPath());
+    _goToFoundNode(_findNthOccurrence(searchString, searchResultIndex));
   }
 
   @Override
@@ -55,9 +52,7 @@ public class QuickSearchTreeCallbackImpl implements IQuickSearch.ICallback
   {
     searchResultIndex = 0;
     searchString = pSearchText;
-    _SearchResult searchResult = _findNthOccurrence(searchString, searchResultIndex, null, (DefaultMutableTreeNode) tree.getModel().getRoot());
-    tree.scrollPathToVisible(searchResult.getValidPath());
-    tree.getSelectionModel().setSelectionPath(searchResult.getValidPath());
+    _goToFoundNode(_findNthOccurrence(searchString, searchResultIndex));
   }
 
   @Override
@@ -69,91 +64,38 @@ public class QuickSearchTreeCallbackImpl implements IQuickSearch.ICallback
     }
     else
       searchResultIndex--;
-    _SearchResult searchResult = _findNthOccurrence(searchString, searchResultIndex, null, (DefaultMutableTreeNode) tree.getModel().getRoot());
-    tree.scrollPathToVisible(searchResult.getValidPath());
-    tree.getSelectionModel().setSelectionPath(searchResult.getValidPath());
+    _goToFoundNode(_findNthOccurrence(searchString, searchResultIndex));
   }
 
   /**
-   * finds the n-th node that contains the searchString in the tree, only considers leafs for search hits
+   * finds the n-th visible node that contains the searchString, in the order the nodes are shown in the tree. Starts again at the first node if there
+   * are less than n + 1 nodes, and goes to the last node if n is negative
    *
    * @param pSearchString the String to look for
    * @param pN            the n in "find n-th occurrence"
-   * @param pPath         TreePath that describes the path from root down to pNode, inclusive the root node and exclusive the pNode
-   * @param pNode         current Node
+   * @return path of the found node, null if no node contains the searchString
    */
-  private _SearchResult _findNthOccurrence(String pSearchString, int pN, TreePath pPath, DefaultMutableTreeNode pNode)
+  @Nullable
+  private TreePath _findNthOccurrence(@Nullable String pSearchString, int pN)
   {
-    // keeps track of how many occurrences have been found so far
-    int foundOccurrences = 0;
-    {
-      for (TreeNode childNode : Collections.list(pNode.children()))
-      {
-        TreePath childPath = pPath == null ? new TreePath(pNode) : pPath.pathByAddingChild(pNode);
-        if (tree.isVisible(childPath.pathByAddingChild(childNode)))
-        {
-          if (StringUtils.containsIgnoreCase(((FileChangeTypeNodeInfo) ((DefaultMutableTreeNode) childNode).getUserObject()).getNodeDescription(), pSearchString))
-          {
-            foundOccurrences++;
-            lastFoundBuffer = childPath.pathByAddingChild(childNode);
-            if (pN == 0)
-              return new _SearchResult(foundOccurrences, childPath.pathByAddingChild(childNode));
-            else
-              pN--;
-          }
-          if (!childNode.isLeaf())
-          {
-            _SearchResult searchResult = _findNthOccurrence(pSearchString, pN, childPath, (DefaultMutableTreeNode) childNode);
-            foundOccurrences += searchResult.getFoundOccurrences();
-            if ((pN == 0 || pN - foundOccurrences == -1) && searchResult.getValidPath() != null)
-              return new _SearchResult(foundOccurrences, searchResult.getValidPath());
-            pN -= searchResult.getFoundOccurrences();
-          }
-        }
-      }
-    }
-    if (pPath == null)
-    {
-      if (pN >= 0 && foundOccurrences > 0)
-      {
-        searchResultIndex = 0;
-        return _findNthOccurrence(pSearchString, searchResultIndex, null, pNode);
-      }
-      if (pN < 0)
-      {
-        searchResultIndex = foundOccurrences - 1;
-        return new _SearchResult(foundOccurrences, lastFoundBuffer);
-      }
-      lastFoundBuffer = null;
-    }
-    return new _SearchResult(foundOccurrences, null);
+    if (pSearchString == null)
+      return null;
+    List<TreePath> foundNodes = searchIndex.findVisibleNodes(pSearchString);
+    if (foundNodes.isEmpty())
+      return null;
+    if (pN < 0)
+      searchResultIndex = foundNodes.size() - 1;
+    else if (pN >= foundNodes.size())
+      searchResultIndex = 0;
+    return foundNodes.get(searchResultIndex);
   }
 
   /**
-   * Simple class to hold a TreePath and an integer indicating the number of matches found
+   * selects the node of the path and scrolls it into view, clears the selection if the path is null
    */
-  private static class _SearchResult
+  private void _goToFoundNode(@Nullable TreePath pFoundPath)
   {
-
-    private final int foundOccurrences;
-    private final TreePath validPath;
-
-    _SearchResult(int pFoundOccurrences, TreePath pValidPath)
-    {
-      foundOccurrences = pFoundOccurrences;
-      validPath = pValidPath;
-    }
-
-    TreePath getValidPath()
-    {
-      return validPath;
-    }
-
-    int getFoundOccurrences()
-    {
-      return foundOccurrences;
-    }
+    tree.scrollPathToVisible(pFoundPath);
+    tree.getSelectionModel().setSelectionPath(pFoundPath);
   }
-
-
 }
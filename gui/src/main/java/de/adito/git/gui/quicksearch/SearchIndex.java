@@ -0,0 +1,138 @@
+package de.adito.git.gui.quicksearch;
+
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * Index for the QuickSearch: keeps the lower-cased texts of each entry, so that a search does not have to convert and lower-case the texts of all entries
+ * for every typed character. Optionally keeps the entries that contain each trigram (sequence of three characters), so that a search for three or more
+ * characters only has to check the entries that contain all trigrams of the search string.
+ * Entries are added, replaced and removed one by one, so the index can be kept up to date with the events of a model. Not thread-safe, meant to be used
+ * in the EDT
+ *
+ * @author agent, 19.10.2026
+ */
+final class SearchIndex<T>
+{
+
+  private static final int TRIGRAM_LENGTH = 3;
+  private final Map<T, String[]> texts = new HashMap<>();
+  private final Map<String, Set<T>> trigrams;
+
+  /**
+   * @param pUseTrigrams true if the trigrams of the texts should be indexed. Makes searches for longer strings a lot faster, but takes memory for each
+   *                     trigram of each text
+   */
+  SearchIndex(boolean pUseTrigrams)
+  {
+    trigrams = pUseTrigrams ? new HashMap<>() : null;
+  }
+
+  /**
+   * adds the entry to the index, replaces the texts if the entry is already part of the index
+   *
+   * @param pEntry entry to add
+   * @param pTexts texts of the entry, the entry is found if any of the texts contains the search string
+   */
+  void put(@NonNull T pEntry, @NonNull List<String> pTexts)
+  {
+    remove(pEntry);
+    String[] lowerCaseTexts = new String[pTexts.size()];
+    for (int index = 0; index < lowerCaseTexts.length; index++)
+    {
+      lowerCaseTexts[index] = _toLowerCase(pTexts.get(index));
+    }
+    texts.put(pEntry, lowerCaseTexts);
+    if (trigrams != null)
+    {
+      for (String trigram : _getTrigrams(lowerCaseTexts))
+      {
+        trigrams.computeIfAbsent(trigram, pTrigram -> new HashSet<>()).add(pEntry);
+      }
+    }
+  }
+
+  /**
+   * @param pEntry entry to remove from the index, nothing happens if it is not part of the index
+   */
+  void remove(@NonNull T pEntry)
+  {
+    String[] removedTexts = texts.remove(pEntry);
+    if (removedTexts == null || trigrams == null)
+      return;
+    for (String trigram : _getTrigrams(removedTexts))
+    {
+      Set<T> entries = trigrams.get(trigram);
+      if (entries != null)
+      {
+        entries.remove(pEntry);
+        if (entries.isEmpty())
+          trigrams.remove(trigram);
+      }
+    }
+  }
+
+  void clear()
+  {
+    texts.clear();
+    if (trigrams != null)
+      trigrams.clear();
+  }
+
+  /**
+   * @param pSearchString string to search for, case is ignored
+   * @return all entries that have a text that contains the search string, in no particular order
+   */
+  @NonNull
+  List<T> find(@NonNull String pSearchString)
+  {
+    String searchString = _toLowerCase(pSearchString);
+    Collection<T> candidates = texts.keySet();
+    if (trigrams != null && searchString.length() >= TRIGRAM_LENGTH)
+    {
+      // the entries that contain the least common trigram of the search string are the only ones that can contain the search string
+      for (String trigram : _getTrigrams(new String[]{searchString}))
+      {
+        Set<T> entries = trigrams.get(trigram);
+        if (entries == null)
+          return List.of();
+        if (entries.size() < candidates.size())
+          candidates = entries;
+      }
+    }
+    List<T> foundEntries = new ArrayList<>();
+    for (T candidate : candidates)
+    {
+      for (String text : texts.get(candidate))
+      {
+        if (text.contains(searchString))
+        {
+          foundEntries.add(candidate);
+          break;
+        }
+      }
+    }
+    return foundEntries;
+  }
+
+  @NonNull
+  private static Set<String> _getTrigrams(@NonNull String[] pTexts)
+  {
+    Set<String> textTrigrams = new HashSet<>();
+    for (String text : pTexts)
+    {
+      for (int index = 0; index + TRIGRAM_LENGTH <= text.length(); index++)
+      {
+        textTrigrams.add(text.substring(index, index + TRIGRAM_LENGTH));
+      }
+    }
+    return textTrigrams;
+  }
+
+  @NonNull
+  private static String _toLowerCase(@NonNull String pText)
+  {
+    return pText.toLowerCase(Locale.ROOT);
+  }
+}
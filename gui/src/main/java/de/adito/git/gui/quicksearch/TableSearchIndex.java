@@ -0,0 +1,131 @@
+package de.adito.git.gui.quicksearch;
+
+import lombok.NonNull;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Search index for the rows of a table, each row is found by the contents of the searched columns. The index is built on the first search and kept up to
+ * date with the events of the model afterwards. Rows that are appended to or removed from the end of the model, and rows that are updated, are indexed
+ * one by one. Other changes shift the indices of the rows, so the index is built again on the next search
+ *
+ * @author agent, 19.10.2026
+ */
+final class TableSearchIndex implements TableModelListener
+{
+
+  private final JTable table;
+  private final List<Integer> columnsToSearch;
+  // cells can contain long texts such as commit messages, so trigrams would take a lot of memory
+  private final SearchIndex<Integer> searchIndex = new SearchIndex<>(false);
+  private TableModel model = null;
+  private int indexedRows = 0;
+  private boolean upToDate = false;
+
+  /**
+   * @param pTable           table whose rows should be searched
+   * @param pColumnsToSearch indices of the columns in the model whose contents are searched
+   */
+  TableSearchIndex(@NonNull JTable pTable, @NonNull List<Integer> pColumnsToSearch)
+  {
+    table = pTable;
+    columnsToSearch = pColumnsToSearch;
+    table.addPropertyChangeListener("model", this::_modelChanged);
+  }
+
+  /**
+   * @param pSearchString string to search for, case is ignored
+   * @return the rows of the model that contain the search string in any of the searched columns, in ascending order
+   */
+  @NonNull
+  List<Integer> findRows(@NonNull String pSearchString)
+  {
+    _ensureUpToDate();
+    List<Integer> foundRows = new ArrayList<>(searchIndex.find(pSearchString));
+    Collections.sort(foundRows);
+    return foundRows;
+  }
+
+  @Override
+  public void tableChanged(TableModelEvent pEvent)
+  {
+    if (!upToDate)
+      return;
+    int firstRow = pEvent.getFirstRow();
+    int lastRow = pEvent.getLastRow();
+    if (firstRow == TableModelEvent.HEADER_ROW || lastRow == Integer.MAX_VALUE)
+      _invalidate();
+    else if (pEvent.getType() == TableModelEvent.INSERT && firstRow == indexedRows)
+      _putRows(firstRow, lastRow);
+    else if (pEvent.getType() == TableModelEvent.DELETE && lastRow == indexedRows - 1)
+      _removeRows(firstRow, lastRow);
+    else if (pEvent.getType() == TableModelEvent.UPDATE && lastRow < indexedRows)
+      _putRows(firstRow, lastRow);
+    else
+      _invalidate();
+  }
+
+  private void _modelChanged(@NonNull PropertyChangeEvent pEvent)
+  {
+    if (model != null)
+      model.removeTableModelListener(this);
+    model = null;
+    _invalidate();
+  }
+
+  private void _invalidate()
+  {
+    upToDate = false;
+    searchIndex.clear();
+    indexedRows = 0;
+  }
+
+  /**
+   * builds the index from the current model, if it is not up to date. Starts listening to the model, so it stays up to date from now on
+   */
+  private void _ensureUpToDate()
+  {
+    if (upToDate)
+      return;
+    TableModel tableModel = table.getModel();
+    if (model != tableModel)
+    {
+      if (model != null)
+        model.removeTableModelListener(this);
+      model = tableModel;
+      model.addTableModelListener(this);
+    }
+    _putRows(0, model.getRowCount() - 1);
+    upToDate = true;
+  }
+
+  private void _putRows(int pFirstRow, int pLastRow)
+  {
+    for (int row = pFirstRow; row <= pLastRow; row++)
+    {
+      List<String> texts = new ArrayList<>(columnsToSearch.size());
+      for (Integer column : columnsToSearch)
+      {
+        texts.add(String.valueOf(model.getValueAt(row, column)));
+      }
+      searchIndex.put(row, texts);
+    }
+    indexedRows = Math.max(indexedRows, pLastRow + 1);
+  }
+
+  private void _removeRows(int pFirstRow, int pLastRow)
+  {
+    for (int row = pFirstRow; row <= pLastRow; row++)
+    {
+      searchIndex.remove(row);
+    }
+    indexedRows = pFirstRow;
+  }
+}
@@ -0,0 +1,232 @@
+package de.adito.git.gui.quicksearch;
+
+import de.adito.git.gui.tree.nodes.FileChangeTypeNodeInfo;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+import java.beans.PropertyChangeEvent;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Search index for the nodes of a tree. The index is built on the first search and kept up to date with the events of the model of the tree afterwards,
+ * if the model of the tree is exchanged the index is built again on the next search.
+ * Also keeps the index of the children in their parents, so that the found nodes can be brought into the order in which they are shown without searching
+ * the children of their parents again
+ *
+ * @author agent, 19.10.2026
+ */
+final class TreeSearchIndex implements TreeModelListener
+{
+
+  private final JTree tree;
+  private final SearchIndex<TreeNode> searchIndex = new SearchIndex<>(true);
+  private final Map<TreeNode, Map<TreeNode, Integer>> childIndices = new IdentityHashMap<>();
+  private TreeModel model = null;
+  private boolean upToDate = false;
+
+  /**
+   * @param pTree Tree whose nodes should be searched
+   */
+  TreeSearchIndex(@NonNull JTree pTree)
+  {
+    tree = pTree;
+    tree.addPropertyChangeListener(JTree.TREE_MODEL_PROPERTY, this::_modelChanged);
+  }
+
+  /**
+   * @param pSearchString string to search for, case is ignored
+   * @return paths of the visible nodes whose text contains the search string, in the order they are shown in the tree. The root is never part of the result
+   */
+  @NonNull
+  List<TreePath> findVisibleNodes(@NonNull String pSearchString)
+  {
+    _ensureUpToDate();
+    List<Map.Entry<int[], TreePath>> foundNodes = new ArrayList<>();
+    for (TreeNode node : searchIndex.find(pSearchString))
+    {
+      TreePath path = _getPath(node);
+      if (path != null && path.getPathCount() > 1 && tree.isVisible(path))
+        foundNodes.add(new AbstractMap.SimpleImmutableEntry<>(_getPosition(path), path));
+    }
+    foundNodes.sort((pFirst, pSecond) -> Arrays.compare(pFirst.getKey(), pSecond.getKey()));
+    return foundNodes.stream().map(Map.Entry::getValue).collect(Collectors.toList());
+  }
+
+  @Override
+  public void treeNodesChanged(TreeModelEvent pEvent)
+  {
+    if (!upToDate)
+      return;
+    Object[] children = pEvent.getChildren();
+    if (children == null)
+      _putNode(pEvent.getTreePath().getLastPathComponent());
+    else
+      Arrays.stream(children).forEach(this::_putNode);
+  }
+
+  @Override
+  public void treeNodesInserted(TreeModelEvent pEvent)
+  {
+    if (!upToDate)
+      return;
+    childIndices.remove(pEvent.getTreePath().getLastPathComponent());
+    for (Object child : pEvent.getChildren())
+    {
+      _putSubtree(child);
+    }
+  }
+
+  @Override
+  public void treeNodesRemoved(TreeModelEvent pEvent)
+  {
+    if (!upToDate)
+      return;
+    childIndices.remove(pEvent.getTreePath().getLastPathComponent());
+    for (Object child : pEvent.getChildren())
+    {
+      _removeSubtree(child);
+    }
+  }
+
+  @Override
+  public void treeStructureChanged(TreeModelEvent pEvent)
+  {
+    // the nodes that were part of the changed structure are not known anymore
+    _invalidate();
+  }
+
+  private void _modelChanged(@NonNull PropertyChangeEvent pEvent)
+  {
+    if (model != null)
+      model.removeTreeModelListener(this);
+    model = null;
+    _invalidate();
+  }
+
+  private void _invalidate()
+  {
+    upToDate = false;
+    searchIndex.clear();
+    childIndices.clear();
+  }
+
+  /**
+   * builds the index from the current model, if it is not up to date. Starts listening to the model, so it stays up to date from now on
+   */
+  private void _ensureUpToDate()
+  {
+    if (upToDate)
+      return;
+    TreeModel treeModel = tree.getModel();
+    if (model != treeModel)
+    {
+      if (model != null)
+        model.removeTreeModelListener(this);
+      model = treeModel;
+      if (model != null)
+        model.addTreeModelListener(this);
+    }
+    if (model != null && model.getRoot() != null)
+      _putSubtree(model.getRoot());
+    upToDate = true;
+  }
+
+  private void _putSubtree(@NonNull Object pNode)
+  {
+    _putNode(pNode);
+    if (pNode instanceof TreeNode)
+    {
+      TreeNode node = (TreeNode) pNode;
+      for (int index = 0; index < node.getChildCount(); index++)
+      {
+        _putSubtree(node.getChildAt(index));
+      }
+    }
+  }
+
+  private void _removeSubtree(@NonNull Object pNode)
+  {
+    if (pNode instanceof TreeNode)
+    {
+      TreeNode node = (TreeNode) pNode;
+      searchIndex.remove(node);
+      childIndices.remove(node);
+      for (int index = 0; index < node.getChildCount(); index++)
+      {
+        _removeSubtree(node.getChildAt(index));
+      }
+    }
+  }
+
+  private void _putNode(@NonNull Object pNode)
+  {
+    if (pNode instanceof TreeNode)
+      searchIndex.put((TreeNode) pNode, List.of(_getText(pNode)));
+  }
+
+  /**
+   * @param pNode node of the tree
+   * @return text that is searched for the node: the description of the node for nodes of changed files, the String representation otherwise
+   */
+  @NonNull
+  private static String _getText(@NonNull Object pNode)
+  {
+    if (pNode instanceof DefaultMutableTreeNode && ((DefaultMutableTreeNode) pNode).getUserObject() instanceof FileChangeTypeNodeInfo)
+      return ((FileChangeTypeNodeInfo) ((DefaultMutableTreeNode) pNode).getUserObject()).getNodeDescription();
+    return String.valueOf(pNode);
+  }
+
+  /**
+   * @param pNode node whose path should be determined
+   * @return path from the root of the model to the node, null if the node is not part of the model anymore
+   */
+  @Nullable
+  private TreePath _getPath(@NonNull TreeNode pNode)
+  {
+    LinkedList<Object> pathComponents = new LinkedList<>();
+    TreeNode node = pNode;
+    while (node != null)
+    {
+      pathComponents.addFirst(node);
+      node = node.getParent();
+    }
+    if (model == null || pathComponents.getFirst() != model.getRoot())
+      return null;
+    return new TreePath(pathComponents.toArray());
+  }
+
+  /**
+   * @param pPath path of a node
+   * @return indices of the nodes of the path in their parents, comparing these in lexicographic order gives the order in which the nodes are shown
+   */
+  @NonNull
+  private int[] _getPosition(@NonNull TreePath pPath)
+  {
+    int[] position = new int[pPath.getPathCount() - 1];
+    for (int index = 1; index < pPath.getPathCount(); index++)
+    {
+      TreeNode parent = (TreeNode) pPath.getPathComponent(index - 1);
+      position[index - 1] = childIndices.computeIfAbsent(parent, TreeSearchIndex::_getChildIndices).getOrDefault(pPath.getPathComponent(index), -1);
+    }
+    return position;
+  }
+
+  @NonNull
+  private static Map<TreeNode, Integer> _getChildIndices(@NonNull TreeNode pParent)
+  {
+    Map<TreeNode, Integer> indices = new IdentityHashMap<>();
+    for (int index = 0; index < pParent.getChildCount(); index++)
+    {
+      indices.put(pParent.getChildAt(index), index);
+    }
+    return indices;
+  }
+}
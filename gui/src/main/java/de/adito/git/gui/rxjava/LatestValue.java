@@ -0,0 +1,46 @@
+package de.adito.git.gui.rxjava;
+
+import de.adito.git.api.IDiscardable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import lombok.NonNull;
+
+/**
+ * Subscribes to an Observable once and keeps its latest value, so the value can be read at any time without blocking. Meant for code running in the EDT,
+ * which must not call blockingFirst on an Observable that may not have a value yet (such as the status of a repository that is still computed)
+ *
+ * @author agent, 19.10.2026
+ */
+public class LatestValue<T> implements IDiscardable
+{
+
+  private final Disposable disposable;
+  private volatile T value;
+  private volatile boolean hasValue = false;
+
+  /**
+   * @param pObservable Observable whose latest value should be kept
+   */
+  public LatestValue(@NonNull Observable<T> pObservable)
+  {
+    disposable = pObservable.subscribe(pValue -> {
+      value = pValue;
+      hasValue = true;
+    });
+  }
+
+  /**
+   * @param pDefaultValue value to return if the Observable did not emit a value yet
+   * @return the latest value of the Observable, pDefaultValue if it did not emit a value yet
+   */
+  public T getOrDefault(T pDefaultValue)
+  {
+    return hasValue ? value : pDefaultValue;
+  }
+
+  @Override
+  public void discard()
+  {
+    disposable.dispose();
+  }
+}
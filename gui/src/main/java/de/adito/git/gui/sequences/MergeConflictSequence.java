@@ -17,6 +17,7 @@ import de.adito.git.gui.dialogs.panels.CheckboxPanel;
 import de.adito.git.gui.dialogs.panels.NotificationPanel;
 import de.adito.git.gui.dialogs.results.IMergeConflictDialogResult;
 import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.swing.SwingUtil;
 import de.adito.git.impl.Util;
 import de.adito.git.impl.data.diff.EConflictType;
 import de.adito.git.impl.data.diff.ResolveOptionsProvider;
@@ -101,7 +102,9 @@ public class MergeConflictSequence
 
   /**
    * Goes through the list of conflicting files and tries to perform an auto-resolve. This is done by checking if the file has no change delta that is marked as
-   * conflicting, and if that is the case, accepting all changes and marking the file resolved. Files with conflicting change deltas are not touched
+   * conflicting, and if that is the case, accepting all changes and marking the file resolved. Files with conflicting change deltas are not touched.
+   * The files are checked in parallel, the changes of the resolvable files are accepted in one batch on the EDT. The resolved files are then written and
+   * removed from the list of merge conflicts in the order of that list. The list itself is only modified on the EDT
    *
    * @param pMergeConflicts List of merge conflicts to try and auto-resolve
    * @param pRepository     Repository, used to perform an add one the conflicting files to mark them as resolved
@@ -111,45 +114,33 @@ public class MergeConflictSequence
   {
     int numConflictsTotal = pMergeConflicts.size();
     List<IMergeData> resolvedConflicts = new ArrayList<>();
-    pProgressFacade.executeAndBlockWithProgress("Auto-Resolving", pProgressHandle -> {
-      pProgressHandle.switchToDeterminate(pMergeConflicts.size());
+    ParallelAutoResolver autoResolver = new ParallelAutoResolver(pResolveOptionsProvider);
+    pProgressFacade.executeAndBlockWithCancellableProgress("Auto-Resolving", pProgressHandle -> {
       List<File> resolvedFiles = new ArrayList<>();
-      for (int index = pMergeConflicts.size() - 1; index >= 0; index--)
+      for (IMergeData mergeData : autoResolver.resolve(pMergeConflicts, pProgressHandle))
       {
-        IMergeData mergeData = pMergeConflicts.get(index);
-        pProgressHandle.setDescription("Trying to resolve  " + mergeData.getFilePath());
         try
         {
-          if (!isSkipMergeData(mergeData))
-          {
-            mergeData.markConflicting(pResolveOptionsProvider);
-            if (mergeData.getDiff(EConflictSide.YOURS).getChangeDeltas()
-                .stream()
-                .noneMatch(pChangeDelta -> pChangeDelta.getConflictType() == EConflictType.CONFLICTING)
-                && mergeData.getDiff(EConflictSide.THEIRS).getChangeDeltas()
-                .stream()
-                .noneMatch(pChangeDelta -> pChangeDelta.getConflictType() == EConflictType.CONFLICTING))
-            {
-              acceptMergeSide(mergeData, EConflictSide.YOURS);
-              acceptMergeSide(mergeData, EConflictSide.THEIRS);
-              File resolvedFile = acceptManualVersion(mergeData, pRepository);
-              if (resolvedFile != null)
-                resolvedFiles.add(resolvedFile);
-              resolvedConflicts.add(mergeData);
-            }
-          }
+          File resolvedFile = acceptManualVersion(mergeData, pRepository);
+          if (resolvedFile != null)
+            resolvedFiles.add(resolvedFile);
+          resolvedConflicts.add(mergeData);
         }
         catch (Exception pE)
         {
           logger.log(Level.WARNING, "Git error while trying to resolve conflict for file " + mergeData.getFilePath(), pE);
         }
-        pProgressHandle.progress(pMergeConflicts.size() - index);
       }
       GitIndexLockUtil.checkAndHandleLockedIndexFile(pRepository, pDialogProvider, pNotifyUtil);
       pRepository.add(resolvedFiles);
-      pMergeConflicts.removeAll(resolvedConflicts);
+      // the list may be the model of a dialog, so it is only changed on the EDT. The written files have to be removed from the list even if the auto-resolve was
+      // cancelled by an interrupt, so the interrupted flag is only restored afterwards
+      boolean interrupted = Thread.interrupted();
+      SwingUtil.invokeSynchronouslyASAP(() -> pMergeConflicts.removeAll(resolvedConflicts));
+      if (interrupted)
+        Thread.currentThread().interrupt();
       return List.of();
-    });
+    }, autoResolver::cancel);
     pNotifyUtil.notify("Auto-resolve", "Auto-resolve managed to resolve " + resolvedConflicts.size() + " of " + numConflictsTotal + " conflicts", false);
   }
 
@@ -0,0 +1,303 @@
+package de.adito.git.gui.sequences;
+
+import de.adito.git.api.data.diff.EConflictSide;
+import de.adito.git.api.data.diff.IMergeData;
+import de.adito.git.api.progress.IProgressHandle;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
+import de.adito.git.gui.swing.SwingUtil;
+import de.adito.git.impl.data.diff.EConflictType;
+import de.adito.git.impl.data.diff.ResolveOptionsProvider;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tries to auto-resolve the conflicts of several files in parallel. Marking the conflicts only touches the IMergeData of a single file, so the files are
+ * checked independently: the calling thread and helpers on the shared background threads take the files one after the other from the list. Since the
+ * calling thread takes part, the auto-resolve finishes even if all background threads are busy. Accepting the changes fires the text change events of the
+ * IMergeData that a dialog may listen to, so the changes of all resolvable files are accepted afterwards in one batch on the EDT. The resolved files are
+ * returned in the order of the passed list, regardless of the order in which they were checked
+ *
+ * @author agent, 19.10.2026
+ */
+final class ParallelAutoResolver
+{
+
+  private static final Logger logger = Logger.getLogger(ParallelAutoResolver.class.getName());
+  private final ResolveOptionsProvider resolveOptionsProvider;
+  private final Executor executor;
+  private final int parallelism;
+  private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+  /**
+   * @param pResolveOptionsProvider provides the ResolveOptions used to mark the conflicts
+   */
+  ParallelAutoResolver(@NonNull ResolveOptionsProvider pResolveOptionsProvider)
+  {
+    this(pResolveOptionsProvider, GitProcessExecutors::submit, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * @param pResolveOptionsProvider provides the ResolveOptions used to mark the conflicts
+   * @param pExecutor               Executor that runs the helpers, its threads are shared with other tasks
+   * @param pParallelism            maximum number of files that are processed at the same time, including the file processed by the calling thread
+   */
+  ParallelAutoResolver(@NonNull ResolveOptionsProvider pResolveOptionsProvider, @NonNull Executor pExecutor, int pParallelism)
+  {
+    resolveOptionsProvider = pResolveOptionsProvider;
+    executor = pExecutor;
+    parallelism = Math.max(1, pParallelism);
+  }
+
+  /**
+   * Cancels the auto-resolve. Files that are currently processed are finished, all other files are skipped. Can be called from any thread, for example by
+   * the cancel button of the progress dialog
+   */
+  void cancel()
+  {
+    cancelled.set(true);
+  }
+
+  /**
+   * @return true if the auto-resolve was cancelled, either by calling cancel or by interrupting the thread that called resolve
+   */
+  boolean isCancelled()
+  {
+    return cancelled.get();
+  }
+
+  /**
+   * Tries to resolve each of the conflicting files. For the resolved files, all changes of both sides are accepted on the EDT, but the files are not written.
+   * Blocks until all files are processed or the auto-resolve is cancelled. Must not be called while the EDT waits for the calling thread
+   *
+   * @param pMergeConflicts List of merge conflicts to try and auto-resolve
+   * @param pProgressHandle handle that the progress is reported to after each file
+   * @return the resolved merge conflicts, in the order of pMergeConflicts. If the auto-resolve is cancelled, only the files that were resolved up to then
+   */
+  @NonNull
+  List<IMergeData> resolve(@NonNull List<IMergeData> pMergeConflicts, @NonNull IProgressHandle pProgressHandle)
+  {
+    pProgressHandle.switchToDeterminate(pMergeConflicts.size());
+    _Work work = new _Work(pMergeConflicts, pProgressHandle);
+    int numHelpers = Math.min(parallelism, pMergeConflicts.size()) - 1;
+    List<Future<?>> helpers = new ArrayList<>();
+    for (int index = 0; index < numHelpers; index++)
+    {
+      FutureTask<?> helper = new FutureTask<>(work::processFiles, null);
+      helpers.add(helper);
+      executor.execute(helper);
+    }
+    work.processFiles();
+    // a helper that did not start yet would find no file left, so it does not have to run at all
+    helpers.forEach(pHelper -> pHelper.cancel(false));
+    // the files that are currently processed by the helpers have to be finished, otherwise their IMergeData could be changed while it is already shown
+    work.awaitProcessed();
+    List<IMergeData> resolvableConflicts = new ArrayList<>();
+    for (int index = 0; index < pMergeConflicts.size(); index++)
+    {
+      if (work.isResolvable(index))
+        resolvableConflicts.add(pMergeConflicts.get(index));
+    }
+    // the files that were found to be resolvable are accepted even if the auto-resolve was cancelled in the meantime, their conflicts are marked already
+    FutureTask<List<IMergeData>> acceptTask = new FutureTask<>(() -> _acceptAll(resolvableConflicts));
+    SwingUtil.invokeInEDT(acceptTask);
+    return _awaitUninterruptibly(acceptTask);
+  }
+
+  /**
+   * Accepts all changes of both sides of the given files, has to be called on the EDT. A file that fails is logged and left out of the result
+   *
+   * @param pResolvableConflicts merge conflicts without conflicting changes
+   * @return the merge conflicts whose changes were accepted, in the order of pResolvableConflicts
+   */
+  @NonNull
+  private static List<IMergeData> _acceptAll(@NonNull List<IMergeData> pResolvableConflicts)
+  {
+    List<IMergeData> resolvedConflicts = new ArrayList<>();
+    for (IMergeData mergeData : pResolvableConflicts)
+    {
+      try
+      {
+        MergeConflictSequence.acceptMergeSide(mergeData, EConflictSide.YOURS);
+        MergeConflictSequence.acceptMergeSide(mergeData, EConflictSide.THEIRS);
+        resolvedConflicts.add(mergeData);
+      }
+      catch (Exception pE)
+      {
+        logger.log(Level.WARNING, "Git error while trying to resolve conflict for file " + mergeData.getFilePath(), pE);
+      }
+    }
+    return resolvedConflicts;
+  }
+
+  /**
+   * Waits for the task that accepts the changes on the EDT. The task is not stopped by an interrupt, so the waiting thread keeps waiting for its result and
+   * restores the interrupted flag afterwards
+   *
+   * @param pAcceptTask task that was passed to the EDT
+   * @return result of the task
+   */
+  @NonNull
+  private static List<IMergeData> _awaitUninterruptibly(@NonNull FutureTask<List<IMergeData>> pAcceptTask)
+  {
+    boolean interrupted = false;
+    try
+    {
+      while (true)
+      {
+        try
+        {
+          return pAcceptTask.get();
+        }
+        catch (InterruptedException pE)
+        {
+          interrupted = true;
+        }
+        catch (ExecutionException pE)
+        {
+          // _acceptAll catches the exceptions of the single files, only an Error can end up here
+          throw new IllegalStateException(pE.getCause());
+        }
+      }
+    }
+    finally
+    {
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Marks the conflicts of a single file and checks if none of the changes are conflicting. Does not accept any changes
+   *
+   * @param pMergeData      IMergeData of the file
+   * @param pProgressHandle handle that the progress is reported to
+   * @param pNumProcessed   number of files that are processed already, incremented after this file is processed
+   * @return true if the file can be resolved by accepting all changes of both sides
+   */
+  private boolean _isResolvable(@NonNull IMergeData pMergeData, @NonNull IProgressHandle pProgressHandle, @NonNull AtomicInteger pNumProcessed)
+  {
+    synchronized (pProgressHandle)
+    {
+      pProgressHandle.setDescription("Trying to resolve  " + pMergeData.getFilePath());
+    }
+    try
+    {
+      if (MergeConflictSequence.isSkipMergeData(pMergeData))
+        return false;
+      pMergeData.markConflicting(resolveOptionsProvider);
+      return _hasNoConflictingDeltas(pMergeData, EConflictSide.YOURS) && _hasNoConflictingDeltas(pMergeData, EConflictSide.THEIRS);
+    }
+    catch (Exception pE)
+    {
+      logger.log(Level.WARNING, "Git error while trying to resolve conflict for file " + pMergeData.getFilePath(), pE);
+      return false;
+    }
+    finally
+    {
+      synchronized (pProgressHandle)
+      {
+        pProgressHandle.progress(pNumProcessed.incrementAndGet());
+      }
+    }
+  }
+
+  /**
+   * @param pMergeData    IMergeData to check
+   * @param pConflictSide side of the IMergeData to check
+   * @return true if none of the change deltas of the given side is marked as conflicting
+   */
+  private static boolean _hasNoConflictingDeltas(@NonNull IMergeData pMergeData, @NonNull EConflictSide pConflictSide)
+  {
+    return pMergeData.getDiff(pConflictSide).getChangeDeltas()
+        .stream()
+        .noneMatch(pChangeDelta -> pChangeDelta.getConflictType() == EConflictType.CONFLICTING);
+  }
+
+  /**
+   * The files of one call to resolve, shared by the calling thread and the helpers. Each file is taken by exactly one thread
+   */
+  private final class _Work
+  {
+    private final List<IMergeData> mergeConflicts;
+    private final IProgressHandle progressHandle;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicInteger numProcessed = new AtomicInteger();
+    private final AtomicIntegerArray resolvable;
+    // counted down for each file once it is processed or skipped
+    private final CountDownLatch processedLatch;
+
+    _Work(@NonNull List<IMergeData> pMergeConflicts, @NonNull IProgressHandle pProgressHandle)
+    {
+      mergeConflicts = pMergeConflicts;
+      progressHandle = pProgressHandle;
+      resolvable = new AtomicIntegerArray(pMergeConflicts.size());
+      processedLatch = new CountDownLatch(pMergeConflicts.size());
+    }
+
+    /**
+     * takes files from the list and processes them until no file is left. Once the auto-resolve is cancelled, the remaining files are skipped
+     */
+    void processFiles()
+    {
+      int index;
+      while ((index = nextIndex.getAndIncrement()) < mergeConflicts.size())
+      {
+        try
+        {
+          if (Thread.currentThread().isInterrupted())
+            cancel();
+          if (!isCancelled() && _isResolvable(mergeConflicts.get(index), progressHandle, numProcessed))
+            resolvable.set(index, 1);
+        }
+        finally
+        {
+          processedLatch.countDown();
+        }
+      }
+    }
+
+    /**
+     * Waits until every file is processed or skipped. If the waiting thread is interrupted, the auto-resolve is cancelled, the files that are processed at
+     * the moment are still waited for and the interrupted flag is restored afterwards
+     */
+    void awaitProcessed()
+    {
+      boolean interrupted = false;
+      while (processedLatch.getCount() > 0)
+      {
+        try
+        {
+          processedLatch.await();
+        }
+        catch (InterruptedException pE)
+        {
+          interrupted = true;
+          cancel();
+        }
+      }
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+
+    /**
+     * @param pIndex index of the file in the list
+     * @return true if the file was processed and can be resolved
+     */
+    boolean isResolvable(int pIndex)
+    {
+      return resolvable.get(pIndex) == 1;
+    }
+  }
+}
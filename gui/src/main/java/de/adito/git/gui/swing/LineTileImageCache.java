@@ -0,0 +1,256 @@
+package de.adito.git.gui.swing;
+
+import de.adito.git.api.IDiscardable;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache for the image of a sidebar of a text editor, such as the annotations or the markings of changed lines. The image is split into tiles of a fixed number
+ * of lines, and only the tiles of the visible area (plus a margin) are drawn. The y coordinates of the lines are only calculated for the lines of those tiles,
+ * so the cost of painting does not depend on the size of the document.
+ * The tiles of the lines at and after an edit of the document are dropped, as are all tiles if the size or font of the editor changes. If the content that
+ * is drawn changes, {@link #invalidate()} has to be called
+ *
+ * @author agent, 19.10.2026
+ */
+public class LineTileImageCache implements IDiscardable
+{
+
+  private static final Logger LOGGER = Logger.getLogger(LineTileImageCache.class.getName());
+  private static final int LINES_PER_TILE = 64;
+  private static final int MARGIN_LINES = LINES_PER_TILE / 2;
+  private static final int MAX_CACHED_TILES = 12;
+  private final JTextComponent target;
+  private final ITilePainter tilePainter;
+  private final Map<Integer, _Tile> tiles = new LinkedHashMap<>(16, 0.75f, true)
+  {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, _Tile> pEldest)
+    {
+      return size() > MAX_CACHED_TILES;
+    }
+  };
+  private final ADocumentListener documentListener = new ADocumentListener()
+  {
+    @Override
+    public void updated(DocumentEvent pE)
+    {
+      invalidateFromLine(pE.getDocument().getDefaultRootElement().getElementIndex(pE.getOffset()));
+    }
+  };
+  private final ComponentListener resizeListener = new ComponentAdapter()
+  {
+    @Override
+    public void componentResized(ComponentEvent pE)
+    {
+      invalidate();
+    }
+  };
+  private final PropertyChangeListener propertyChangeListener = this::_propertyChanged;
+  private Document document;
+  // increased with each invalidation, so that tiles that were drawn before an invalidation are not added to the cache afterwards
+  private long modificationCount = 0;
+
+  /**
+   * @param pTarget      text editor whose lines the sidebar belongs to
+   * @param pTilePainter draws the content of a single tile
+   */
+  public LineTileImageCache(@NonNull JTextComponent pTarget, @NonNull ITilePainter pTilePainter)
+  {
+    target = pTarget;
+    tilePainter = pTilePainter;
+    document = pTarget.getDocument();
+    document.addDocumentListener(documentListener);
+    pTarget.addComponentListener(resizeListener);
+    pTarget.addPropertyChangeListener(propertyChangeListener);
+  }
+
+  /**
+   * Draws the tiles that intersect pArea, drawing those tiles that are not cached yet. Has to be called on the EDT
+   *
+   * @param pGraphics Graphics of the sidebar, with the same y coordinates as the text editor
+   * @param pWidth    width of the sidebar
+   * @param pArea     area of the sidebar that should be drawn, usually the clip bounds
+   */
+  public void paint(@NonNull Graphics pGraphics, int pWidth, @NonNull Rectangle pArea)
+  {
+    int numLines = target.getDocument().getDefaultRootElement().getElementCount();
+    if (pWidth <= 0 || numLines == 0)
+      return;
+    int firstLine = Math.max(0, TextPaneUtil.getLineIndexAt(target, pArea.y) - MARGIN_LINES);
+    int lastLine = Math.min(numLines - 1, TextPaneUtil.getLineIndexAt(target, pArea.y + pArea.height) + MARGIN_LINES);
+    for (int tileIndex = firstLine / LINES_PER_TILE; tileIndex <= lastLine / LINES_PER_TILE; tileIndex++)
+    {
+      _Tile tile = _getTile(tileIndex, pWidth, numLines);
+      if (tile != null && tile.y < pArea.y + pArea.height && tile.y + tile.image.getHeight() > pArea.y)
+        pGraphics.drawImage(tile.image, 0, tile.y, null);
+    }
+  }
+
+  /**
+   * Drops all tiles, has to be called if the content that is drawn changes
+   */
+  public void invalidate()
+  {
+    synchronized (tiles)
+    {
+      modificationCount++;
+      tiles.clear();
+    }
+  }
+
+  /**
+   * Drops the tiles that contain pLine or any later line, since those lines may have moved
+   *
+   * @param pLine index of the first line that changed
+   */
+  public void invalidateFromLine(int pLine)
+  {
+    int firstTileIndex = pLine / LINES_PER_TILE;
+    synchronized (tiles)
+    {
+      modificationCount++;
+      tiles.keySet().removeIf(pTileIndex -> pTileIndex >= firstTileIndex);
+    }
+  }
+
+  @Override
+  public void discard()
+  {
+    document.removeDocumentListener(documentListener);
+    target.removeComponentListener(resizeListener);
+    target.removePropertyChangeListener(propertyChangeListener);
+    invalidate();
+  }
+
+  /**
+   * get the tile from the cache, or draw it if it is not cached or was drawn for another width
+   *
+   * @return the tile, or null if the positions of its lines could not be determined
+   */
+  @Nullable
+  private _Tile _getTile(int pTileIndex, int pWidth, int pNumLines)
+  {
+    long expectedModificationCount;
+    synchronized (tiles)
+    {
+      _Tile tile = tiles.get(pTileIndex);
+      if (tile != null && tile.image.getWidth() == pWidth)
+        return tile;
+      expectedModificationCount = modificationCount;
+    }
+    // drawn outside the lock, since determining the line positions requires the lock of the document, and the document listener is called with that lock
+    _Tile tile = _drawTile(pTileIndex, pWidth, pNumLines);
+    if (tile != null)
+    {
+      synchronized (tiles)
+      {
+        if (expectedModificationCount == modificationCount)
+          tiles.put(pTileIndex, tile);
+      }
+    }
+    return tile;
+  }
+
+  @Nullable
+  private _Tile _drawTile(int pTileIndex, int pWidth, int pNumLines)
+  {
+    int firstLine = pTileIndex * LINES_PER_TILE;
+    int lastLine = Math.min(pNumLines - 1, firstLine + LINES_PER_TILE - 1);
+    // the first line of the next tile determines where this tile ends
+    boolean hasNextLine = lastLine + 1 < pNumLines;
+    LineNumber[] lineNumbers;
+    try
+    {
+      lineNumbers = TextPaneUtil.calculateLineYPositions(target, target.getUI().getRootView(target), firstLine, hasNextLine ? lastLine + 1 : lastLine);
+    }
+    catch (BadLocationException pE)
+    {
+      LOGGER.log(Level.WARNING, pE, () -> "Git Plugin: Accessed bad index while trying to determine the positions of the lines in the text editor");
+      return null;
+    }
+    LineNumber firstLineNumber = lineNumbers[0];
+    LineNumber lastLineNumber = lineNumbers[lineNumbers.length - 1];
+    if (firstLineNumber == null || lastLineNumber == null)
+      return null;
+    int startY = firstLineNumber.getYCoordinate();
+    int endY = hasNextLine ? lastLineNumber.getYCoordinate() : lastLineNumber.getYCoordinate() + lastLineNumber.getHeight();
+    BufferedImage image = new BufferedImage(pWidth, Math.max(1, endY - startY), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    try
+    {
+      // the painter draws with the coordinates of the text editor
+      graphics.translate(0, -startY);
+      graphics.setClip(0, startY, pWidth, image.getHeight());
+      LineNumber[] tileLineNumbers = new LineNumber[lastLine - firstLine + 1];
+      System.arraycopy(lineNumbers, 0, tileLineNumbers, 0, tileLineNumbers.length);
+      tilePainter.paintTile(graphics, firstLine, tileLineNumbers);
+    }
+    finally
+    {
+      graphics.dispose();
+    }
+    return new _Tile(startY, image);
+  }
+
+  private void _propertyChanged(@NonNull PropertyChangeEvent pEvent)
+  {
+    if ("document".equals(pEvent.getPropertyName()))
+    {
+      document.removeDocumentListener(documentListener);
+      document = target.getDocument();
+      document.addDocumentListener(documentListener);
+      invalidate();
+    }
+    else if ("font".equals(pEvent.getPropertyName()))
+    {
+      invalidate();
+    }
+  }
+
+  /**
+   * Draws the content of a tile of the sidebar
+   */
+  public interface ITilePainter
+  {
+
+    /**
+     * @param pGraphics    Graphics of the tile. Uses the y coordinates of the text editor, and its clip bounds are those of the tile
+     * @param pFirstLine   index of the first line of the tile
+     * @param pLineNumbers positions of the lines of the tile, position 0 in the array is the LineNumber of pFirstLine. Entries may be null if the position
+     *                     of a line could not be determined
+     */
+    void paintTile(@NonNull Graphics2D pGraphics, int pFirstLine, @NonNull LineNumber[] pLineNumbers);
+  }
+
+  /**
+   * Image of a tile and the y coordinate of its top edge
+   */
+  private static class _Tile
+  {
+    private final int y;
+    private final BufferedImage image;
+
+    _Tile(int pY, @NonNull BufferedImage pImage)
+    {
+      y = pY;
+      image = pImage;
+    }
+  }
+}
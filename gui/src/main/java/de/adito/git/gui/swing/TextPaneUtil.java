@@ -28,7 +28,38 @@ public class TextPaneUtil
   {
     int numLines = pEditorPane.getDocument().getDefaultRootElement().getElementCount();
     return _calculateLineNumbers(pEditorPane, pView, pEditorPane.getFontMetrics(pEditorPane.getFont()).getHeight(), 0,
-                                 Math.max(0, numLines - 1), new LineNumber[numLines]);
+                                 Math.max(0, numLines - 1), 0, new LineNumber[numLines]);
+  }
+
+  /**
+   * calculates the y coordinates of the lines from pFirstLine to pLastLine (both inclusive) in the text editor. Only those lines are accessed, so this is
+   * much cheaper than calculating the positions of all lines if only a part of a large document is of interest
+   *
+   * @param pEditorPane JTextComponent
+   * @param pView       View shows the textComponent
+   * @param pFirstLine  index of the first line whose position should be calculated
+   * @param pLastLine   index of the last line whose position should be calculated, has to be smaller than the number of lines in the document
+   * @return Array of LineNumbers, each representing one Line. The LineNumbers are sorted, so position 0 in the array is the LineNumber of pFirstLine
+   * @throws BadLocationException if one of the accessed lineNumbers is out of bounds
+   */
+  public static LineNumber[] calculateLineYPositions(@NonNull JTextComponent pEditorPane, @Nullable View pView, int pFirstLine, int pLastLine)
+      throws BadLocationException
+  {
+    return _calculateLineNumbers(pEditorPane, pView, pEditorPane.getFontMetrics(pEditorPane.getFont()).getHeight(), pFirstLine, pLastLine, pFirstLine,
+                                 new LineNumber[pLastLine - pFirstLine + 1]);
+  }
+
+  /**
+   * determines the line that is shown at the given y coordinate of the text editor
+   *
+   * @param pEditorPane  JTextComponent
+   * @param pYCoordinate y coordinate in the coordinate system of pEditorPane
+   * @return index of the line at pYCoordinate, the index of the last line if pYCoordinate is below the last line
+   */
+  public static int getLineIndexAt(@NonNull JTextComponent pEditorPane, int pYCoordinate)
+  {
+    int offset = pEditorPane.viewToModel2D(new Point(0, Math.max(0, pYCoordinate)));
+    return pEditorPane.getDocument().getDefaultRootElement().getElementIndex(Math.max(0, offset));
   }
 
   /**
@@ -41,12 +72,13 @@ public class TextPaneUtil
    * @param pLineHeight  height of a line in the current font
    * @param pStartIndex  first line to check
    * @param pEndIndex    last line to check
+   * @param pArrayOffset index of the line that is stored at position 0 of pLineNumbers
    * @param pLineNumbers Array of LineNumbers, used as the return value (after input is filled into the array)
    * @return Set of LineNumbers
    * @throws BadLocationException if one of the accessed lineNumbers is out of bounds
    */
   private static LineNumber[] _calculateLineNumbers(@NonNull JTextComponent pEditorPane, @Nullable View pView,
-                                                    int pLineHeight, int pStartIndex, int pEndIndex, LineNumber[] pLineNumbers)
+                                                    int pLineHeight, int pStartIndex, int pEndIndex, int pArrayOffset, LineNumber[] pLineNumbers)
       throws BadLocationException
   {
     LineNumber startNumber = _calculateLineNumberPos(pEditorPane, pView, pStartIndex);
@@ -57,20 +89,21 @@ public class TextPaneUtil
     // so seperate treatment here
     if (pEndIndex - pStartIndex <= 1)
     {
-      pLineNumbers[pStartIndex] = new LineNumber(pStartIndex + 1, startNumber.getXCoordinate(), startNumber.getYCoordinate(), startNumber.getHeight());
-      pLineNumbers[pEndIndex] = new LineNumber(pEndIndex + 1, endNumber.getXCoordinate(), endNumber.getYCoordinate(), endNumber.getHeight());
+      pLineNumbers[pStartIndex - pArrayOffset] = new LineNumber(pStartIndex + 1, startNumber.getXCoordinate(), startNumber.getYCoordinate(),
+                                                                startNumber.getHeight());
+      pLineNumbers[pEndIndex - pArrayOffset] = new LineNumber(pEndIndex + 1, endNumber.getXCoordinate(), endNumber.getYCoordinate(), endNumber.getHeight());
     }
     else if (endNumber.getYCoordinate() - startNumber.getYCoordinate() == (pEndIndex - pStartIndex) * pLineHeight)
     {
       for (int index = 0; index <= pEndIndex - pStartIndex; index++)
       {
-        pLineNumbers[pStartIndex + index] = new LineNumber(pStartIndex + index + 1, startNumber.getXCoordinate(), startNumber.getYCoordinate() + index * pLineHeight, pLineHeight);
+        pLineNumbers[pStartIndex - pArrayOffset + index] = new LineNumber(pStartIndex + index + 1, startNumber.getXCoordinate(), startNumber.getYCoordinate() + index * pLineHeight, pLineHeight);
       }
     }
     else
     {
-      _calculateLineNumbers(pEditorPane, pView, pLineHeight, pStartIndex, (pStartIndex + pEndIndex) / 2, pLineNumbers);
-      _calculateLineNumbers(pEditorPane, pView, pLineHeight, (pStartIndex + pEndIndex) / 2, pEndIndex, pLineNumbers);
+      _calculateLineNumbers(pEditorPane, pView, pLineHeight, pStartIndex, (pStartIndex + pEndIndex) / 2, pArrayOffset, pLineNumbers);
+      _calculateLineNumbers(pEditorPane, pView, pLineHeight, (pStartIndex + pEndIndex) / 2, pEndIndex, pArrayOffset, pLineNumbers);
     }
     return pLineNumbers;
   }
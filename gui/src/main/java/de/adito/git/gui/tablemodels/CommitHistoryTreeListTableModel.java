@@ -3,10 +3,12 @@ package de.adito.git.gui.tablemodels;
 import de.adito.git.api.CommitHistoryTreeListItem;
 import de.adito.git.gui.DateTimeRenderer;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,6 +33,8 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
   private static final List<String> columnNames = new ArrayList<>(Arrays.asList(BRANCHING_COL_NAME, AUTHOR_COL_NAME, DATE_COL_NAME, COMMIT_ID_COL_NAME));
 
   private final List<CommitHistoryTreeListItem> commitList;
+  // formatted dates of the commits by row, a date is formatted the first time its row is shown. Null if the date of the row was not formatted yet
+  private final List<String> formattedDates = new ArrayList<>();
 
   /**
    * @param pCommitList the list of commits to show
@@ -38,6 +42,7 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
   public CommitHistoryTreeListTableModel(List<CommitHistoryTreeListItem> pCommitList)
   {
     commitList = pCommitList;
+    formattedDates.addAll(Collections.nCopies(commitList.size(), null));
   }
 
   @Override
@@ -58,8 +63,13 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
    */
   public void addData(List<CommitHistoryTreeListItem> pToAdd)
   {
+    if (pToAdd.isEmpty())
+      return;
+    int firstRow = commitList.size();
     commitList.addAll(pToAdd);
-    fireTableDataChanged();
+    formattedDates.addAll(Collections.nCopies(pToAdd.size(), null));
+    // only the appended rows are announced, so that listeners such as the search index do not have to process all rows again
+    fireTableRowsInserted(firstRow, commitList.size() - 1);
   }
 
   /**
@@ -72,7 +82,10 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
     if (!commitListsEqual(commitList, pNewValues))
     {
       commitList.clear();
-      addData(pNewValues);
+      commitList.addAll(pNewValues);
+      formattedDates.clear();
+      formattedDates.addAll(Collections.nCopies(commitList.size(), null));
+      fireTableDataChanged();
     }
   }
 
@@ -121,7 +134,7 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
       case AUTHOR:
         return commitHistoryTreeListItem.getCommit().getAuthor();
       case TIME:
-        return DateTimeRenderer.asString(commitHistoryTreeListItem.getCommit().getTime());
+        return _getFormattedDate(pRowIndex);
       case COMMIT_ID:
         return commitHistoryTreeListItem.getCommit().getId();
       default:
@@ -129,6 +142,22 @@ public class CommitHistoryTreeListTableModel extends AbstractTableModel
     }
   }
 
+  /**
+   * @param pRowIndex row of the commit
+   * @return the formatted date of the commit in the row, the date is only formatted the first time
+   */
+  @Nullable
+  private String _getFormattedDate(int pRowIndex)
+  {
+    String formattedDate = formattedDates.get(pRowIndex);
+    if (formattedDate == null)
+    {
+      formattedDate = DateTimeRenderer.asString(commitList.get(pRowIndex).getCommit().getTime());
+      formattedDates.set(pRowIndex, formattedDate);
+    }
+    return formattedDate;
+  }
+
   /**
    * checks if the commits contained in the two CommitHistoryTreeListItem lists are equal and in the same order
    *
@@ -1,5 +1,6 @@
 package de.adito.git.gui.tree;
 
+import de.adito.git.gui.concurrency.CancellationToken;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -19,13 +20,21 @@ public class TagTreeBackgroundUpdater extends SwingWorker<List<TreeUpdate>, Tree
 
   private final DefaultTreeModel treeModel;
   private final List<Path> members;
+  private final CancellationToken cancellationToken;
   private final Action[] performAfter;
 
-  public TagTreeBackgroundUpdater(DefaultTreeModel pTreeModel, List<Path> pMembers, Action... pPerformAfter)
+  /**
+   * @param pTreeModel         model of the tree to update
+   * @param pMembers           paths of the tags that the tree should contain
+   * @param pCancellationToken token of the computation that runs this updater. If it is cancelled, the calculation stops and no updates are applied
+   * @param pPerformAfter      actions that are performed once the updates are applied
+   */
+  public TagTreeBackgroundUpdater(DefaultTreeModel pTreeModel, List<Path> pMembers, @NonNull CancellationToken pCancellationToken, Action... pPerformAfter)
   {
     super();
     treeModel = pTreeModel;
     members = pMembers;
+    cancellationToken = pCancellationToken;
     performAfter = pPerformAfter;
   }
 
@@ -39,7 +48,8 @@ public class TagTreeBackgroundUpdater extends SwingWorker<List<TreeUpdate>, Tree
   @Override
   protected void done()
   {
-    if (isCancelled())
+    // a newer update superseded this one, its updates would not fit the tree the newer update is calculated for
+    if (isCancelled() || cancellationToken.isCancelled())
       return;
     List<TreeUpdate> treeUpdates;
     try
@@ -57,7 +67,7 @@ public class TagTreeBackgroundUpdater extends SwingWorker<List<TreeUpdate>, Tree
       {
         treeModel.insertNodeInto(update.getNode(), update.getParent(), update.getIndex());
       }
-      else
+      else if (update.getType() == TreeUpdate.TYPE.REMOVE)
       {
         treeModel.removeNodeFromParent(update.getNode());
       }
@@ -81,6 +91,7 @@ public class TagTreeBackgroundUpdater extends SwingWorker<List<TreeUpdate>, Tree
   @NonNull
   private List<TreeUpdate> _updateTree(@Nullable DefaultMutableTreeNode pParent, @NonNull DefaultTreeModel pTreeModel, @NonNull Path pPath, @NonNull List<Path> pMembers)
   {
+    cancellationToken.throwIfCancelled();
     List<TreeUpdate> updates = new ArrayList<>();
     if (pParent != null)
     {
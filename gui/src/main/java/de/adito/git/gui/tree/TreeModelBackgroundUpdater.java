@@ -5,15 +5,18 @@ import de.adito.git.gui.tree.models.BaseObservingTreeModel;
 import lombok.NonNull;
 
 import javax.swing.*;
+import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
+ * Calculates the updates of a tree in the background and applies them on the EDT. The updates are applied in batches, so there is only one event for
+ * all nodes inserted into or removed from the same parent
+ *
  * @author m.kaspera, 12.06.2019
  */
 public class TreeModelBackgroundUpdater<T> extends SwingWorker<List<TreeUpdate>, TreeUpdate>
@@ -24,8 +27,7 @@ public class TreeModelBackgroundUpdater<T> extends SwingWorker<List<TreeUpdate>,
   private final List<T> param;
   private final Comparator<TreeNode> comparator;
   private final Runnable[] doOnUpdateComplete;
-  private static int factoryNumber = 0;
-  private final int modelNumber;
+  private final int updateNumber;
 
   /**
    * @param pTreeModel          TreeModel that should be updated
@@ -42,8 +44,7 @@ public class TreeModelBackgroundUpdater<T> extends SwingWorker<List<TreeUpdate>,
     param = pParam;
     comparator = pComparator;
     doOnUpdateComplete = pDoOnUpdateComplete;
-    factoryNumber++;
-    modelNumber = factoryNumber;
+    updateNumber = pTreeModel.registerUpdate();
   }
 
   @Override
@@ -68,25 +69,9 @@ public class TreeModelBackgroundUpdater<T> extends SwingWorker<List<TreeUpdate>,
     try
     {
       treeUpdates = get();
-      for (TreeUpdate update : treeUpdates)
-      {
-        if (modelNumber != factoryNumber || isCancelled() || Thread.currentThread().isInterrupted())
-          return;
-        if (update.getType() == TreeUpdate.TYPE.INSERT)
-        {
-          treeModel.insertNodeInto(update.getNode(), update.getParent(), Math.min(update.getParent().getChildCount(),
-                                                                                  _findSortedIndex(update.getParent(), update.getNode(), comparator)));
-        }
-        else if (update.getType() == TreeUpdate.TYPE.ROOT)
-        {
-          treeModel.setRoot(update.getNode());
-          treeModel.reload();
-        }
-        else if (update.getType() == TreeUpdate.TYPE.REMOVE && update.getNode().getParent() != null)
-        {
-          treeModel.removeNodeFromParent(update.getNode());
-        }
-      }
+      if (!(treeModel.isIncremental() || treeModel.isLatestUpdate(updateNumber)) || isCancelled() || Thread.currentThread().isInterrupted())
+        return;
+      applyUpdates(treeModel, treeUpdates, comparator);
       Arrays.stream(doOnUpdateComplete).forEach(Runnable::run);
     }
     catch (InterruptedRuntimeException pE)
@@ -100,15 +85,129 @@ public class TreeModelBackgroundUpdater<T> extends SwingWorker<List<TreeUpdate>,
     }
   }
 
-  private static int _findSortedIndex(@NonNull MutableTreeNode pParent, @NonNull MutableTreeNode pToInsert, @NonNull Comparator<TreeNode> pComparator)
+  /**
+   * Applies the updates to the model. A new root is set right away, all removals and insertions are grouped by their parent. The nodes are removed from or
+   * inserted into the parent without firing events, afterwards one event with the indices of all removed/inserted children is fired per parent.
+   * Insertions into nodes that are inserted themselves do not fire any event, they are part of the subtree whose insertion is announced. Changed nodes are
+   * announced with one event per parent as well, after all removals and insertions, so that the renderer shows their new content.
+   * Must be called on the EDT
+   *
+   * @param pTreeModel   TreeModel that the updates should be applied to
+   * @param pTreeUpdates updates to apply
+   * @param pComparator  comparator used to find the index at which a node is inserted, the children of each node have to be sorted by this comparator
+   */
+  static void applyUpdates(@NonNull DefaultTreeModel pTreeModel, @NonNull List<TreeUpdate> pTreeUpdates, @NonNull Comparator<TreeNode> pComparator)
   {
-    for (int index = 0; index < pParent.getChildCount(); index++)
+    Map<TreeNode, Set<TreeNode>> removals = new LinkedHashMap<>();
+    Map<MutableTreeNode, Set<TreeNode>> insertions = new LinkedHashMap<>();
+    Set<TreeNode> changedNodes = _newIdentitySet();
+    for (TreeUpdate update : pTreeUpdates)
+    {
+      if (update.getType() == TreeUpdate.TYPE.INSERT)
+      {
+        insertions.computeIfAbsent(update.getParent(), pParent -> _newIdentitySet()).add(update.getNode());
+      }
+      else if (update.getType() == TreeUpdate.TYPE.ROOT)
+      {
+        pTreeModel.setRoot(update.getNode());
+        pTreeModel.reload();
+      }
+      else if (update.getType() == TreeUpdate.TYPE.REMOVE && update.getNode().getParent() != null)
+      {
+        removals.computeIfAbsent(update.getNode().getParent(), pParent -> _newIdentitySet()).add(update.getNode());
+      }
+      else if (update.getType() == TreeUpdate.TYPE.CHANGE)
+      {
+        changedNodes.add(update.getNode());
+      }
+    }
+    for (Map.Entry<TreeNode, Set<TreeNode>> removal : removals.entrySet())
+    {
+      _removeChildren(pTreeModel, (MutableTreeNode) removal.getKey(), removal.getValue());
+    }
+    Set<TreeNode> insertedNodes = _newIdentitySet();
+    insertions.values().forEach(insertedNodes::addAll);
+    for (Map.Entry<MutableTreeNode, Set<TreeNode>> insertion : insertions.entrySet())
+    {
+      for (TreeNode node : insertion.getValue())
+      {
+        insertion.getKey().insert((MutableTreeNode) node, _findSortedIndex(insertion.getKey(), node, pComparator));
+      }
+    }
+    for (Map.Entry<MutableTreeNode, Set<TreeNode>> insertion : insertions.entrySet())
     {
-      if (pComparator.compare(pToInsert, pParent.getChildAt(index)) < 0)
+      MutableTreeNode parent = insertion.getKey();
+      if (!insertedNodes.contains(parent))
       {
-        return index;
+        int[] childIndices = IntStream.range(0, parent.getChildCount()).filter(pIndex -> insertion.getValue().contains(parent.getChildAt(pIndex))).toArray();
+        pTreeModel.nodesWereInserted(parent, childIndices);
       }
     }
-    return pParent.getChildCount();
+    _fireChanged(pTreeModel, changedNodes, insertedNodes);
+  }
+
+  /**
+   * fires one event per parent for the changed nodes that are still part of the tree. Nodes that were inserted by the same update, or whose parent was, are
+   * skipped since their insertion is announced already
+   */
+  private static void _fireChanged(@NonNull DefaultTreeModel pTreeModel, @NonNull Set<TreeNode> pChangedNodes, @NonNull Set<TreeNode> pInsertedNodes)
+  {
+    Map<TreeNode, Set<TreeNode>> changes = new LinkedHashMap<>();
+    for (TreeNode node : pChangedNodes)
+    {
+      TreeNode parent = node.getParent();
+      if (node == pTreeModel.getRoot())
+        pTreeModel.nodeChanged(node);
+      else if (parent != null && !pInsertedNodes.contains(node) && !pInsertedNodes.contains(parent))
+        changes.computeIfAbsent(parent, pParent -> _newIdentitySet()).add(node);
+    }
+    for (Map.Entry<TreeNode, Set<TreeNode>> change : changes.entrySet())
+    {
+      TreeNode parent = change.getKey();
+      int[] childIndices = IntStream.range(0, parent.getChildCount()).filter(pIndex -> change.getValue().contains(parent.getChildAt(pIndex))).toArray();
+      if (childIndices.length > 0)
+        pTreeModel.nodesChanged(parent, childIndices);
+    }
+  }
+
+  /**
+   * removes the children from the parent and fires one event for all of them
+   */
+  private static void _removeChildren(@NonNull DefaultTreeModel pTreeModel, @NonNull MutableTreeNode pParent, @NonNull Set<TreeNode> pChildren)
+  {
+    // ascending, as required by nodesWereRemoved
+    int[] childIndices = IntStream.range(0, pParent.getChildCount()).filter(pIndex -> pChildren.contains(pParent.getChildAt(pIndex))).toArray();
+    Object[] removedChildren = new Object[childIndices.length];
+    for (int index = childIndices.length - 1; index >= 0; index--)
+    {
+      removedChildren[index] = pParent.getChildAt(childIndices[index]);
+      pParent.remove(childIndices[index]);
+    }
+    if (childIndices.length > 0)
+      pTreeModel.nodesWereRemoved(pParent, childIndices, removedChildren);
+  }
+
+  /**
+   * @return index after all children of pParent that are smaller than or equal to pToInsert, found with a binary search
+   */
+  private static int _findSortedIndex(@NonNull TreeNode pParent, @NonNull TreeNode pToInsert, @NonNull Comparator<TreeNode> pComparator)
+  {
+    int low = 0;
+    int high = pParent.getChildCount();
+    while (low < high)
+    {
+      int middle = (low + high) >>> 1;
+      if (pComparator.compare(pToInsert, pParent.getChildAt(middle)) < 0)
+        high = middle;
+      else
+        low = middle + 1;
+    }
+    return low;
+  }
+
+  @NonNull
+  private static Set<TreeNode> _newIdentitySet()
+  {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
   }
 }
@@ -20,12 +20,14 @@ public class TreeUpdate
    * INSERT: insert the specified node under the specified parent
    * REMOVE: remove the specified node from the tree
    * ROOT: set the specified node as root of the tree
+   * CHANGE: the specified node stays where it is, but its content changed and it has to be rendered again
    */
   public enum TYPE
   {
     INSERT,
     REMOVE,
-    ROOT
+    ROOT,
+    CHANGE
   }
 
   private TreeUpdate(@NonNull TYPE pType, @NonNull MutableTreeNode pNode, @Nullable MutableTreeNode pParent, int pIndex)
@@ -66,6 +68,15 @@ public class TreeUpdate
     return new TreeUpdate(TYPE.ROOT, pNode, null, -1);
   }
 
+  /**
+   * @param pNode Node whose content changed
+   * @return TreeUpdate with the specified attributes
+   */
+  public static TreeUpdate createChange(@NonNull MutableTreeNode pNode)
+  {
+    return new TreeUpdate(TYPE.CHANGE, pNode, null, -1);
+  }
+
   /**
    * @return TYPE of the update
    */
@@ -4,6 +4,8 @@ import de.adito.git.api.IDiscardable;
 import de.adito.git.api.data.IDiffInfo;
 import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.exception.InterruptedRuntimeException;
+import de.adito.git.gui.concurrency.GitProcessExecutors;
+import de.adito.git.gui.concurrency.KeyedSerialExecutor;
 import de.adito.git.gui.tree.TreeUpdate;
 import de.adito.git.gui.tree.nodes.FileChangeTypeNode;
 import de.adito.git.gui.tree.nodes.FileChangeTypeNodeInfo;
@@ -13,21 +15,23 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
 import java.io.File;
-import java.text.Collator;
+import java.text.CollationKey;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Offers a serviceExecutor and IDataModelUpdateListeners
+ * Offers the executor for the updates of the tree and IDataModelUpdateListeners. The updates of all models run on a shared executor, the updates of one
+ * model are executed one after the other and an update cancels the updates of the same model that are still queued or running
  *
  * @author m.kaspera, 12.07.2019
  */
 public abstract class BaseObservingTreeModel<T> extends DefaultTreeModel implements IDiscardable
 {
 
+  private static final CollationKey EMPTY_SORT_KEY = FileChangeTypeNodeInfo.getSortKey("");
   final File projectDirectory;
-  final ExecutorService service = Executors.newSingleThreadExecutor();
+  private final KeyedSerialExecutor updateExecutor = GitProcessExecutors.getTreeUpdateExecutor();
+  private final AtomicInteger latestUpdateNumber = new AtomicInteger();
 
   BaseObservingTreeModel(File pProjectDirectory)
   {
@@ -35,24 +39,64 @@ public abstract class BaseObservingTreeModel<T> extends DefaultTreeModel impleme
     projectDirectory = pProjectDirectory;
   }
 
+  /**
+   * submits the calculation of an update of this model, cancels the calculation of the previous update if that is not done yet
+   *
+   * @param pUpdate Runnable that calculates and applies the update
+   */
+  void _submitUpdate(@NonNull Runnable pUpdate)
+  {
+    updateExecutor.submitLatest(this, pUpdate);
+  }
+
+  @Override
+  public void discard()
+  {
+    updateExecutor.cancel(this);
+  }
+
+  /**
+   * registers a new update of this model, all updates that were registered before are outdated from now on
+   *
+   * @return number of the update, can be passed to isLatestUpdate
+   */
+  public int registerUpdate()
+  {
+    return latestUpdateNumber.incrementAndGet();
+  }
+
+  /**
+   * @param pUpdateNumber number of the update, as returned by registerUpdate
+   * @return true if no other update was registered after the update with the given number
+   */
+  public boolean isLatestUpdate(int pUpdateNumber)
+  {
+    return latestUpdateNumber.get() == pUpdateNumber;
+  }
+
+  /**
+   * @return true if each update of this model only contains the changes since the previous update. Such updates build on each other, so every update has
+   * to be applied, even if a newer update was registered in the meantime
+   */
+  public boolean isIncremental()
+  {
+    return false;
+  }
+
   /**
    * @return Comparator that orders according to the nodeInfo of a FileChangeTypeNode
    */
   @NonNull
   Comparator<TreeNode> _getDefaultComparator()
   {
-    return Comparator.comparing(pO -> {
-      FileChangeTypeNodeInfo nodeInfo = ((FileChangeTypeNode) pO).getInfo();
-      if (nodeInfo != null)
-        return nodeInfo.getNodeDescription();
-      return "";
-    }, Collator.getInstance());
+    return Comparator.comparing(pO -> _getSortKey((FileChangeTypeNode) pO));
   }
 
   abstract void _treeChanged(List<T> pNewElements, Runnable... pDoAfter);
 
   /**
-   * searches the parentNode for a child whose nodeDescription equals the passed name
+   * searches the parentNode for a child whose nodeDescription equals the passed name. The children are sorted by the default comparator, so the child is
+   * found with a binary search
    *
    * @param pNode      Node that should be searched for the child
    * @param pChildName name of the child as String
@@ -61,13 +105,24 @@ public abstract class BaseObservingTreeModel<T> extends DefaultTreeModel impleme
   @Nullable
   protected FileChangeTypeNode _getChildNode(@NonNull FileChangeTypeNode pNode, @NonNull String pChildName)
   {
-    for (int index = pNode.getChildCount() - 1; index >= 0; index--)
+    CollationKey childKey = FileChangeTypeNodeInfo.getSortKey(pChildName);
+    int low = 0;
+    int high = pNode.getChildCount();
+    while (low < high)
+    {
+      int middle = (low + high) >>> 1;
+      if (_getSortKey((FileChangeTypeNode) pNode.getChildAt(middle)).compareTo(childKey) < 0)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+    // different names can be equal for the collator, so check all children with an equal key
+    for (int index = low; index < pNode.getChildCount(); index++)
     {
       FileChangeTypeNode child = (FileChangeTypeNode) pNode.getChildAt(index);
-      if (child.getInfo() == null)
-        continue;
-      final String childDisplayName = child.getInfo().getNodeDescription();
-      if (pChildName.equals(childDisplayName))
+      if (_getSortKey(child).compareTo(childKey) != 0)
+        break;
+      if (child.getInfo() != null && pChildName.equals(child.getInfo().getNodeDescription()))
         return child;
     }
     return null;
@@ -135,9 +190,10 @@ public abstract class BaseObservingTreeModel<T> extends DefaultTreeModel impleme
     HashMap<File, FileChangeTypeNodeInfo> map = pNode.getInfo() == null ? null : pMap.get(pNode.getInfo().getNodeFile());
     if (map != null)
     {
+      Map<File, FileChangeTypeNode> childNodes = _getChildNodesByFile(pNode);
       for (Map.Entry<File, FileChangeTypeNodeInfo> entry : map.entrySet())
       {
-        FileChangeTypeNode childNode = FileChangeTypeNode.getChildNodeForFile(pNode, entry.getKey());
+        FileChangeTypeNode childNode = childNodes.get(entry.getKey());
         if (childNode != null && childNode.getInfo() != null)
         {
           childNode.getInfo().setMembers(map.get(entry.getKey()).getMembers());
@@ -163,4 +219,34 @@ public abstract class BaseObservingTreeModel<T> extends DefaultTreeModel impleme
     }
     return treeUpdates;
   }
+
+  /**
+   * @param pNode node whose children should be mapped
+   * @return map of the nodeFiles of the children of pNode to the children. Children without nodeInfo are left out
+   */
+  @NonNull
+  private static Map<File, FileChangeTypeNode> _getChildNodesByFile(@NonNull FileChangeTypeNode pNode)
+  {
+    Map<File, FileChangeTypeNode> childNodes = new HashMap<>();
+    for (int index = 0; index < pNode.getChildCount(); index++)
+    {
+      FileChangeTypeNode child = (FileChangeTypeNode) pNode.getChildAt(index);
+      if (child.getInfo() != null)
+        childNodes.putIfAbsent(child.getInfo().getNodeFile(), child);
+    }
+    return childNodes;
+  }
+
+  /**
+   * @param pNode node whose sort key should be returned
+   * @return sort key of the nodeInfo of pNode, the key of an empty String if the node has no nodeInfo
+   */
+  @NonNull
+  private static CollationKey _getSortKey(@NonNull FileChangeTypeNode pNode)
+  {
+    FileChangeTypeNodeInfo nodeInfo = pNode.getInfo();
+    if (nodeInfo != null)
+      return nodeInfo.getSortKey();
+    return EMPTY_SORT_KEY;
+  }
 }
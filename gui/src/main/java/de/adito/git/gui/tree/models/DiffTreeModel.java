@@ -31,12 +31,6 @@ public class DiffTreeModel extends ObservingTreeModel<IDiffInfo> implements IDis
     super(pProjectDirectory);
   }
 
-  @Override
-  public void discard()
-  {
-    service.shutdown();
-  }
-
   /**
    * update the tree so that the information fits the one passed in the pList
    *
@@ -113,7 +107,7 @@ public class DiffTreeModel extends ObservingTreeModel<IDiffInfo> implements IDis
   {
     try
     {
-      service.submit(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pList, comparator, pDoAfter));
+      _submitUpdate(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pList, comparator, pDoAfter));
     }
     catch (InterruptedRuntimeException pE)
     {
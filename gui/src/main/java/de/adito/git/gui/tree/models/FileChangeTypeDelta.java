@@ -0,0 +1,111 @@
+package de.adito.git.gui.tree.models;
+
+import de.adito.git.api.data.diff.EChangeSide;
+import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.api.exception.InterruptedRuntimeException;
+import lombok.NonNull;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Differences between two lists of IFileChangeTypes, such as two states of the status of a repository. Entries are identified by their file
+ *
+ * @author agent, 19.10.2026
+ */
+final class FileChangeTypeDelta
+{
+
+  private final Map<File, IFileChangeType> currentEntries;
+  private final List<IFileChangeType> added = new ArrayList<>();
+  private final List<IFileChangeType> removed = new ArrayList<>();
+  private final List<IFileChangeType> changed = new ArrayList<>();
+
+  private FileChangeTypeDelta(@NonNull Map<File, IFileChangeType> pCurrentEntries)
+  {
+    currentEntries = pCurrentEntries;
+  }
+
+  /**
+   * @param pPreviousEntries entries of the previous state, mapped by their file. Is not modified
+   * @param pCurrentList     list of IFileChangeTypes of the current state
+   * @return delta from the previous to the current state
+   */
+  @NonNull
+  static FileChangeTypeDelta calculate(@NonNull Map<File, IFileChangeType> pPreviousEntries, @NonNull List<IFileChangeType> pCurrentList)
+  {
+    FileChangeTypeDelta delta = new FileChangeTypeDelta(new HashMap<>());
+    for (IFileChangeType changeType : pCurrentList)
+    {
+      if (Thread.currentThread().isInterrupted())
+        throw new InterruptedRuntimeException();
+      File file = changeType.getFile();
+      if (delta.currentEntries.put(file, changeType) != null)
+        continue;
+      IFileChangeType previous = pPreviousEntries.get(file);
+      if (previous == null)
+        delta.added.add(changeType);
+      else if (!_isSame(previous, changeType))
+        delta.changed.add(changeType);
+    }
+    for (Map.Entry<File, IFileChangeType> previousEntry : pPreviousEntries.entrySet())
+    {
+      if (!delta.currentEntries.containsKey(previousEntry.getKey()))
+        delta.removed.add(previousEntry.getValue());
+    }
+    return delta;
+  }
+
+  /**
+   * @return all entries of the current state, mapped by their file
+   */
+  @NonNull
+  Map<File, IFileChangeType> getCurrentEntries()
+  {
+    return currentEntries;
+  }
+
+  /**
+   * @return entries whose file was not part of the previous state
+   */
+  @NonNull
+  List<IFileChangeType> getAdded()
+  {
+    return added;
+  }
+
+  /**
+   * @return entries of the previous state whose file is not part of the current state
+   */
+  @NonNull
+  List<IFileChangeType> getRemoved()
+  {
+    return removed;
+  }
+
+  /**
+   * @return entries of the current state whose file was part of the previous state, but with another kind of change
+   */
+  @NonNull
+  List<IFileChangeType> getChanged()
+  {
+    return changed;
+  }
+
+  /**
+   * @return true if the previous and the current state are the same
+   */
+  boolean isEmpty()
+  {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * equals of the IFileChangeTypes does not consider the file before the change, so a renamed file with the same target would count as the same
+   */
+  private static boolean _isSame(@NonNull IFileChangeType pPrevious, @NonNull IFileChangeType pCurrent)
+  {
+    return pPrevious.getChangeType() == pCurrent.getChangeType() && Objects.equals(pPrevious.getFile(EChangeSide.NEW), pCurrent.getFile(EChangeSide.NEW))
+        && Objects.equals(pPrevious.getFile(EChangeSide.OLD), pCurrent.getFile(EChangeSide.OLD));
+  }
+}
@@ -27,18 +27,12 @@ public class FlatDiffTreeModel extends BaseObservingTreeModel<IDiffInfo> impleme
     super(pProjectDirectory);
   }
 
-  @Override
-  public void discard()
-  {
-    service.shutdown();
-  }
-
   @Override
   void _treeChanged(@NonNull List<IDiffInfo> pChangeList, Runnable... pDoAfterJobs)
   {
     try
     {
-      service.submit(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pChangeList, _getDefaultComparator(), pDoAfterJobs));
+      _submitUpdate(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pChangeList, _getDefaultComparator(), pDoAfterJobs));
     }
     catch (InterruptedRuntimeException pE)
     {
@@ -9,30 +9,40 @@ import de.adito.git.gui.tree.nodes.FileChangeTypeNode;
 import de.adito.git.gui.tree.nodes.FileChangeTypeNodeInfo;
 import lombok.NonNull;
 
-import javax.swing.tree.MutableTreeNode;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Model that arrays all IFileChangeTypes as direct children of root
+ * Only the nodes of the files whose status changed are inserted, removed or updated, the nodes are kept in a map by their file
  *
  * @author m.kaspera, 12.07.2019
  */
 public class FlatStatusTreeModel extends BaseObservingTreeModel<IFileChangeType> implements IDiscardable
 {
 
+  // state of the tree after all calculated updates, only accessed by the update tasks of this model, which run one after the other
+  private final Map<File, FileChangeTypeNode> nodes = new HashMap<>();
+  private Map<File, IFileChangeType> entries = new HashMap<>();
+  private FileChangeTypeNode rootNode;
+
   public FlatStatusTreeModel(@NonNull File pProjectDirectory)
   {
     super(pProjectDirectory);
   }
 
+  @Override
+  public boolean isIncremental()
+  {
+    return true;
+  }
+
   @Override
   void _treeChanged(@NonNull List<IFileChangeType> pChangeList, Runnable... pDoAfterJobs)
   {
     try
     {
-      service.submit(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pChangeList, _getDefaultComparator(), pDoAfterJobs));
+      _submitUpdate(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pChangeList, _getDefaultComparator(), pDoAfterJobs));
     }
     catch (InterruptedRuntimeException pE)
     {
@@ -44,37 +54,46 @@ public class FlatStatusTreeModel extends BaseObservingTreeModel<IFileChangeType>
     }
   }
 
+  @NonNull
   private List<TreeUpdate> _calculateTree(@NonNull List<IFileChangeType> pChangeList)
   {
+    FileChangeTypeDelta delta = FileChangeTypeDelta.calculate(entries, pChangeList);
+    // from here on the state is changed, so the update must not be cancelled anymore
     List<TreeUpdate> treeUpdates = new ArrayList<>();
-    FileChangeTypeNode rootNode = (FileChangeTypeNode) getRoot();
     if (rootNode == null)
     {
       rootNode = new FileChangeTypeNode(new FileChangeTypeNodeInfo(projectDirectory.getName(), projectDirectory, List.of()));
-      setRoot(rootNode);
+      treeUpdates.add(TreeUpdate.createRoot(rootNode));
     }
-    for (int index = 0; index < rootNode.getChildCount(); index++)
+    for (IFileChangeType changeType : delta.getRemoved())
     {
-      if (!pChangeList.contains(((FileChangeTypeNode) rootNode.getChildAt(index)).getInfo().getMembers().get(0)))
-      {
-        treeUpdates.add(TreeUpdate.createRemove((MutableTreeNode) rootNode.getChildAt(index)));
-      }
+      FileChangeTypeNode node = nodes.remove(changeType.getFile());
+      if (node != null)
+        treeUpdates.add(TreeUpdate.createRemove(node));
     }
-    for (IFileChangeType changeType : pChangeList)
+    for (IFileChangeType changeType : delta.getChanged())
     {
-      if (!rootNode.getInfo().getMembers().contains(changeType))
+      FileChangeTypeNode node = nodes.get(changeType.getFile());
+      if (node != null && node.getInfo() != null)
       {
-        treeUpdates.add(TreeUpdate.createInsert(new FileChangeTypeNode(new FileChangeTypeNodeInfo(changeType.getFile().getName(), changeType.getFile(),
-                                                                                                  List.of(changeType))), rootNode, 0));
+        node.getInfo().setMembers(List.of(changeType));
+        // the node stays where it is, but has to be rendered with the new change type
+        treeUpdates.add(TreeUpdate.createChange(node));
       }
     }
-    rootNode.getInfo().setMembers(pChangeList);
+    for (IFileChangeType changeType : delta.getAdded())
+    {
+      FileChangeTypeNode node = new FileChangeTypeNode(new FileChangeTypeNodeInfo(changeType.getFile().getName(), changeType.getFile(), List.of(changeType)));
+      nodes.put(changeType.getFile(), node);
+      treeUpdates.add(TreeUpdate.createInsert(node, rootNode, 0));
+    }
+    if (rootNode.getInfo() != null)
+    {
+      rootNode.getInfo().setMembers(pChangeList);
+      if (!delta.isEmpty())
+        treeUpdates.add(TreeUpdate.createChange(rootNode));
+    }
+    entries = delta.getCurrentEntries();
     return treeUpdates;
   }
-
-  @Override
-  public void discard()
-  {
-    service.shutdown();
-  }
 }
@@ -4,11 +4,13 @@ import de.adito.git.api.IDiscardable;
 import de.adito.git.api.IFileSystemUtil;
 import de.adito.git.api.data.IDiffInfo;
 import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.gui.icon.FileIconService;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import lombok.NonNull;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Class that serves as a connection between an observable and a TreeModel, telling the TreeModel to update itself each time it gets new data from the observable
@@ -62,15 +64,19 @@ public class ObservableTreeUpdater<T> implements IDiscardable
   private void _changeHappened(List<T> pCurrentElements)
   {
     // assume that the whole list is of type IFileChangeType if the first elemtent is of that type, preLoad the icons if of type IFileChangeType
+    // the icons are shared by all files of the same type, so only few icons are actually loaded
     if (!pCurrentElements.isEmpty() && fileSystemUtil != null)
     {
+      FileIconService iconService = FileIconService.getInstance(fileSystemUtil);
       if (pCurrentElements.get(0) instanceof IFileChangeType)
       {
-        fileSystemUtil.preLoadIcons((List<IFileChangeType>) pCurrentElements);
+        iconService.preLoadIcons(((List<IFileChangeType>) pCurrentElements).stream().map(IFileChangeType::getFile).collect(Collectors.toList()));
       }
       else if (pCurrentElements.get(0) instanceof IDiffInfo)
       {
-        pCurrentElements.forEach(pDiffInfo -> fileSystemUtil.preLoadIcons(((IDiffInfo) pDiffInfo).getChangedFiles()));
+        pCurrentElements.forEach(pDiffInfo -> iconService.preLoadIcons(((IDiffInfo) pDiffInfo).getChangedFiles().stream()
+                                                                            .map(IFileChangeType::getFile)
+                                                                            .collect(Collectors.toList())));
       }
     }
     for (Runnable doBeforeJob : doBeforeJobs)
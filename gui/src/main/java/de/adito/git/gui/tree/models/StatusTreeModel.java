@@ -8,21 +8,26 @@ import de.adito.git.gui.tree.TreeUpdate;
 import de.adito.git.gui.tree.nodes.FileChangeTypeNode;
 import de.adito.git.gui.tree.nodes.FileChangeTypeNodeInfo;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.tree.TreeNode;
 import java.io.File;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Model for the Tree that displays the changed files
+ * The tree is updated incrementally: only the nodes on the paths of the files whose status changed are touched, a node is removed as soon as it has no
+ * more members. The nodes are kept in a map by their file, so that the node for a path can be found without searching the tree
  *
  * @author m.kaspera, 22.02.2019
  */
-public class StatusTreeModel extends ObservingTreeModel<IFileChangeType> implements IDiscardable
+public class StatusTreeModel extends BaseObservingTreeModel<IFileChangeType> implements IDiscardable
 {
 
   private final Comparator<TreeNode> comparator = _getDefaultComparator();
+  // state of the tree after all calculated updates, only accessed by the update tasks of this model, which run one after the other
+  private final Map<File, FileChangeTypeNode> nodes = new HashMap<>();
+  private Map<File, IFileChangeType> entries = new HashMap<>();
 
   public StatusTreeModel(@NonNull File pProjectDirectory)
   {
@@ -30,51 +35,147 @@ public class StatusTreeModel extends ObservingTreeModel<IFileChangeType> impleme
   }
 
   @Override
-  public void discard()
+  public boolean isIncremental()
   {
-    service.shutdown();
+    return true;
   }
 
   @NonNull
   private List<TreeUpdate> _calculateTree(@NonNull List<IFileChangeType> pList)
   {
+    FileChangeTypeDelta delta = FileChangeTypeDelta.calculate(entries, pList);
+    if (delta.isEmpty())
+      return List.of();
+
+    // paths of all changed entries, every folder comes before its children
+    Set<File> touchedFiles = new LinkedHashSet<>();
+    Map<File, List<IFileChangeType>> addedMembers = new HashMap<>();
+    Set<File> removedMemberFiles = new HashSet<>();
+    for (IFileChangeType changeType : delta.getRemoved())
+    {
+      if (_addPath(touchedFiles, changeType.getFile()) != null)
+        removedMemberFiles.add(changeType.getFile());
+    }
+    List<IFileChangeType> addedOrChanged = new ArrayList<>(delta.getAdded());
+    addedOrChanged.addAll(delta.getChanged());
+    for (IFileChangeType changeType : addedOrChanged)
+    {
+      List<File> path = _addPath(touchedFiles, changeType.getFile());
+      if (path == null)
+        continue;
+      path.forEach(pFile -> addedMembers.computeIfAbsent(pFile, pKey -> new ArrayList<>()).add(changeType));
+    }
+    delta.getChanged().forEach(pChangeType -> removedMemberFiles.add(pChangeType.getFile()));
+
+    Map<File, List<IFileChangeType>> newMembers = new HashMap<>();
+    for (File file : touchedFiles)
+    {
+      if (Thread.currentThread().isInterrupted())
+        throw new InterruptedRuntimeException();
+      newMembers.put(file, _getNewMembers(nodes.get(file), removedMemberFiles, addedMembers.getOrDefault(file, List.of())));
+    }
+
+    // from here on the state is changed, so the update must not be cancelled anymore
     List<TreeUpdate> treeUpdates = new ArrayList<>();
-    FileChangeTypeNode rootNode = (FileChangeTypeNode) getRoot();
-    HashMap<File, HashMap<File, FileChangeTypeNodeInfo>> fileHashMap = _calculateMap(pList);
-    if (!fileHashMap.isEmpty())
+    Set<File> removedFiles = new HashSet<>();
+    for (File file : touchedFiles)
     {
-      fileHashMap = _reduce(fileHashMap, pList.stream().map(IFileChangeType::getFile).collect(Collectors.toCollection(HashSet::new)), projectDirectory.getParentFile());
-      if (rootNode == null)
-      {
-        rootNode = new FileChangeTypeNode(fileHashMap.get(projectDirectory.getParentFile()).get(projectDirectory));
-        treeUpdates.add(TreeUpdate.createRoot(rootNode));
-      }
-      FileChangeTypeNodeInfo rootInfo = rootNode.getInfo();
-      if (rootInfo != null)
-        rootInfo.setMembers(pList);
-      treeUpdates.addAll(_updateTree(fileHashMap, rootNode));
+      _updateNode(file, newMembers.get(file), removedFiles, treeUpdates);
     }
-    else
+    entries = delta.getCurrentEntries();
+    return treeUpdates;
+  }
+
+  /**
+   * inserts, removes or changes the node of the file, according to its new members
+   *
+   * @param pFile         file of the node
+   * @param pMembers      members the node should have
+   * @param pRemovedFiles files whose nodes were removed by this update, the file of the node is added if its node is removed
+   * @param pTreeUpdates  list that the updates for the tree are added to
+   */
+  private void _updateNode(@NonNull File pFile, @NonNull List<IFileChangeType> pMembers, @NonNull Set<File> pRemovedFiles,
+                           @NonNull List<TreeUpdate> pTreeUpdates)
+  {
+    FileChangeTypeNode node = nodes.get(pFile);
+    boolean isRoot = pFile.equals(projectDirectory);
+    if (node == null)
     {
-      if (rootNode != null)
+      if (pMembers.isEmpty())
+        return;
+      node = new FileChangeTypeNode(new FileChangeTypeNodeInfo(pFile.getName(), pFile, pMembers));
+      nodes.put(pFile, node);
+      // the parent comes before its children, so it was already created
+      pTreeUpdates.add(isRoot ? TreeUpdate.createRoot(node) : TreeUpdate.createInsert(node, nodes.get(pFile.getParentFile()), 0));
+    }
+    else if (pMembers.isEmpty() && !isRoot)
+    {
+      nodes.remove(pFile);
+      pRemovedFiles.add(pFile);
+      // removing the topmost node that is removed also removes its children
+      if (!pRemovedFiles.contains(pFile.getParentFile()))
+        pTreeUpdates.add(TreeUpdate.createRemove(node));
+    }
+    else if (node.getInfo() != null)
+    {
+      node.getInfo().setMembers(pMembers);
+      // the node stays where it is, but has to be rendered with its new members
+      pTreeUpdates.add(TreeUpdate.createChange(node));
+    }
+  }
+
+  /**
+   * adds the path from the project directory to the file to the touched files
+   *
+   * @param pTouchedFiles set that the files of the path are added to, a folder is added before its children
+   * @param pFile         file whose path should be added
+   * @return files of the path, starting with the project directory. Null if the file is not located in the project directory
+   */
+  @Nullable
+  private List<File> _addPath(@NonNull Set<File> pTouchedFiles, @NonNull File pFile)
+  {
+    LinkedList<File> path = new LinkedList<>();
+    File file = pFile;
+    while (file != null && !file.equals(projectDirectory))
+    {
+      path.addFirst(file);
+      file = file.getParentFile();
+    }
+    if (file == null)
+      return null;
+    path.addFirst(file);
+    pTouchedFiles.addAll(path);
+    return path;
+  }
+
+  /**
+   * @param pNode              current node of the file, null if there is none
+   * @param pRemovedMemberFiles files whose entries are removed or replaced
+   * @param pAddedMembers      entries that are added to the node
+   * @return the members of the node after the update
+   */
+  @NonNull
+  private static List<IFileChangeType> _getNewMembers(@Nullable FileChangeTypeNode pNode, @NonNull Set<File> pRemovedMemberFiles,
+                                                      @NonNull List<IFileChangeType> pAddedMembers)
+  {
+    List<IFileChangeType> members = new ArrayList<>();
+    if (pNode != null && pNode.getInfo() != null)
+    {
+      for (IFileChangeType member : pNode.getInfo().getMembers())
       {
-        FileChangeTypeNodeInfo rootInfo = rootNode.getInfo();
-        if (rootInfo != null)
-          rootInfo.setMembers(new ArrayList<>());
-        for (TreeNode treeNode : Collections.list(rootNode.children()))
-        {
-          treeUpdates.add(TreeUpdate.createRemove((FileChangeTypeNode) treeNode));
-        }
+        if (!pRemovedMemberFiles.contains(member.getFile()))
+          members.add(member);
       }
     }
-    return treeUpdates;
+    members.addAll(pAddedMembers);
+    return members;
   }
 
   void _treeChanged(@NonNull List<IFileChangeType> pList, Runnable... pDoAfter)
   {
     try
     {
-      service.submit(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pList, comparator, pDoAfter));
+      _submitUpdate(new TreeModelBackgroundUpdater<>(this, this::_calculateTree, pList, comparator, pDoAfter));
     }
     catch (InterruptedRuntimeException pE)
     {
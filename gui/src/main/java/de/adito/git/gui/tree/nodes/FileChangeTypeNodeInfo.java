@@ -4,6 +4,8 @@ import de.adito.git.api.data.diff.IFileChangeType;
 import lombok.NonNull;
 
 import java.io.File;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.List;
 
 /**
@@ -14,9 +16,11 @@ import java.util.List;
 public class FileChangeTypeNodeInfo
 {
 
+  private static final Collator COLLATOR = Collator.getInstance();
   private List<IFileChangeType> members;
   private File nodeFile;
   private String nodeDescription;
+  private CollationKey sortKey;
 
   /**
    * @param pNodeDescription String with the name of the nodeFile, can also contain the name of several nodeFiles if the nodes were collapsed
@@ -48,6 +52,32 @@ public class FileChangeTypeNodeInfo
     return nodeDescription;
   }
 
+  /**
+   * @return CollationKey of the nodeDescription, nodes are sorted by this key. Created once, comparing the keys is a lot cheaper than comparing the
+   * descriptions with a Collator
+   */
+  @NonNull
+  public CollationKey getSortKey()
+  {
+    CollationKey key = sortKey;
+    if (key == null)
+    {
+      key = getSortKey(nodeDescription);
+      sortKey = key;
+    }
+    return key;
+  }
+
+  /**
+   * @param pNodeDescription nodeDescription of a node
+   * @return CollationKey that can be compared to the sortKeys of FileChangeTypeNodeInfos
+   */
+  @NonNull
+  public static CollationKey getSortKey(@NonNull String pNodeDescription)
+  {
+    return COLLATOR.getCollationKey(pNodeDescription);
+  }
+
   /**
    * appends the nodeDescription of pOtherNodeInfo and a "/" to this nodeDescription and sets the nodeFile to the nodeFile of pOtherNodeInfo
    *
@@ -57,6 +87,7 @@ public class FileChangeTypeNodeInfo
   public void collapse(@NonNull FileChangeTypeNodeInfo pOtherNodeInfo)
   {
     nodeDescription = nodeDescription + " / " + pOtherNodeInfo.getNodeDescription();
+    sortKey = null;
     nodeFile = pOtherNodeInfo.getNodeFile();
   }
 
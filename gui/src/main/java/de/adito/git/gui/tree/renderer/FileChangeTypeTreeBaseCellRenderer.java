@@ -1,17 +1,14 @@
 package de.adito.git.gui.tree.renderer;
 
-import com.google.common.cache.*;
 import de.adito.git.api.*;
+import de.adito.git.gui.icon.FileIconService;
 import de.adito.git.gui.icon.MissingIcon;
 import de.adito.git.gui.tree.nodes.*;
-import lombok.*;
 
 import javax.swing.*;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import java.awt.*;
 import java.io.File;
-import java.util.concurrent.ExecutionException;
-import java.util.logging.*;
 
 /**
  * Renderer with special logic for FileChangeTypeNodes, the additional info the the right of the name of the node is left to the subclasses
@@ -24,24 +21,16 @@ public abstract class FileChangeTypeTreeBaseCellRenderer extends DefaultTreeCell
   static final String FILE_SINGULAR = "file";
   static final String FILE_PLURAL = "files";
   private static final int PANEL_HGAP = 5;
-  private static final Logger LOGGER = Logger.getLogger(FileChangeTypeTreeBaseCellRenderer.class.getName());
-  private final IFileSystemUtil fileSystemUtil;
+  private final FileIconService iconService;
   private final DefaultTreeCellRenderer defaultRenderer;
-  private final LoadingCache<CacheKey, AsyncIconLabel> asyncIconCache = CacheBuilder.newBuilder()
-      .maximumSize(500)
-      .build(new CacheLoader<>()
-      {
-        @Override
-        public AsyncIconLabel load(@NonNull CacheKey key)
-        {
-          return new AsyncIconLabel(() -> fileSystemUtil.getIcon(key.file, key.isExpanded));
-        }
-      });
+  private final Runnable repaintTree = this::_repaintTree;
+  // tree that was drawn last, repainted once icons are loaded or changed. Only accessed in the EDT
+  private JTree tree;
   final File projectDir;
 
   public FileChangeTypeTreeBaseCellRenderer(IFileSystemUtil pFileSystemUtil, File pProjectDir)
   {
-    fileSystemUtil = pFileSystemUtil;
+    iconService = FileIconService.getInstance(pFileSystemUtil);
     projectDir = pProjectDir;
     defaultRenderer = new DefaultTreeCellRenderer();
   }
@@ -59,19 +48,12 @@ public abstract class FileChangeTypeTreeBaseCellRenderer extends DefaultTreeCell
       JPanel panel = new JPanel(new BorderLayout(PANEL_HGAP, 0));
       File iconFile = pLeaf ? nodeInfo.getNodeFile() : projectDir;
 
-      // icon for the file/folder
-      JLabel iconLabel;
-      try
-      {
-        CacheKey cacheKey = new CacheKey(iconFile, pExpanded, pLeaf);
-        iconLabel = asyncIconCache.get(cacheKey);
-      }
-      catch (ExecutionException pE)
-      {
-        LOGGER.log(Level.WARNING, pE, () -> "Failed to load icon asynchronously");
-        iconLabel = new JLabel(MissingIcon.get16x16());
-      }
-      panel.add(iconLabel, BorderLayout.WEST);
+      // icon for the file/folder, a placeholder until the icon is loaded
+      tree = pTree;
+      Icon icon = iconService.getIcon(iconFile, !pLeaf, pExpanded, repaintTree);
+      if (icon == null)
+        icon = MissingIcon.get16x16();
+      panel.add(new JLabel(icon, SwingConstants.CENTER), BorderLayout.WEST);
 
       // name of the file/folder, if nodes are collapsed the path from the parentNode to the childNode
       JLabel fileLabel = new JLabel(nodeInfo.getNodeDescription());
@@ -105,22 +87,16 @@ public abstract class FileChangeTypeTreeBaseCellRenderer extends DefaultTreeCell
   @Override
   public void discard()
   {
-    asyncIconCache.invalidateAll();
+    tree = null;
   }
 
   /**
-   * Key for the cache, combines infos necessary for the icon such as:
-   * - which file is referenced
-   * - is the node expanded
-   * - is the node a leaf
+   * repaints the tree, because rows were drawn with the placeholder icon or with an icon of a file type that turned out to have changed. Only the visible
+   * part of the tree is actually painted
    */
-  @AllArgsConstructor
-  @EqualsAndHashCode
-  private static final class CacheKey
+  private void _repaintTree()
   {
-    final File file;
-    final boolean isExpanded;
-    final boolean isLeaf;
-
+    if (tree != null)
+      tree.repaint();
   }
 }
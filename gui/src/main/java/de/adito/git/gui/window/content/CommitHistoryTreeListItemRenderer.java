@@ -4,18 +4,25 @@ import de.adito.git.api.CommitHistoryTreeListItem;
 import de.adito.git.api.HistoryGraphElement;
 import de.adito.git.api.data.EBranchType;
 import de.adito.git.api.data.IBranch;
+import de.adito.git.api.data.ICommit;
 import de.adito.git.api.data.ITag;
 import de.adito.git.gui.Constants;
 import de.adito.git.gui.icon.IIconLoader;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.util.List;
+import java.util.*;
 
 /**
  * Class that retrieves the component for the rendering of the CommitHistoryTreeListItems that form the
  * first row in the CommitHistory log
+ * The components are created once and reused for every cell. The data that is derived from the items (message, label of the branches, tooltip and
+ * measured widths) is cached per item, so that repaints while scrolling only have to paint the cached data. The cache is cleared if the look and feel
+ * or the font of the labels changes
  *
  * @author m.kaspera 19.11.2018
  */
@@ -27,6 +34,14 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
   private final ImageIcon localBranchIcon;
   private final ImageIcon headIcon;
   private final ImageIcon originBranchIcon;
+  // CommitHistoryTreeListItem does not override equals, so every item has its own entry. Entries of items that are not part of the model anymore are
+  // removed once the items are garbage collected
+  private final Map<CommitHistoryTreeListItem, _RenderData> renderDataCache = new WeakHashMap<>();
+  private final JPanel field = new JPanel(new BorderLayout());
+  private final CommitHistoryTreeListItemComponent lineContainer = new CommitHistoryTreeListItemComponent();
+  private final JLabel shortMessageLabel = new JLabel();
+  private final BranchTagPanel branchTags = new BranchTagPanel();
+  private Font renderDataFont = null;
 
   CommitHistoryTreeListItemRenderer(IIconLoader pIconLoader)
   {
@@ -35,6 +50,23 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
     headIcon = pIconLoader.getIcon(Constants.BRANCH_ICON_HEAD);
     originBranchIcon = pIconLoader.getIcon(Constants.BRANCH_ICON_ORIGIN);
     stashIcon = pIconLoader.getIcon(Constants.STASH_COMMIT_ICON);
+    // needed so the background of the label is drawn if the line is selected
+    shortMessageLabel.setOpaque(true);
+    branchTags.setOpaque(true);
+    field.add(branchTags, BorderLayout.EAST);
+    field.add(lineContainer, BorderLayout.WEST);
+    field.add(shortMessageLabel, BorderLayout.CENTER);
+  }
+
+  @Override
+  public void updateUI()
+  {
+    super.updateUI();
+    // called by the constructor of JLabel, before the fields of this class are initialized
+    if (renderDataCache == null)
+      return;
+    SwingUtilities.updateComponentTreeUI(field);
+    renderDataCache.clear();
   }
 
   @Override
@@ -45,32 +77,130 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
     if (pValue instanceof CommitHistoryTreeListItem)
     {
       CommitHistoryTreeListItem itemVal = (CommitHistoryTreeListItem) pValue;
-      JPanel field = new JPanel(new BorderLayout());
-      JComponent lineContainer = new CommitHistoryTreeListItemComponent(itemVal);
-      JLabel shortMessageLabel = new JLabel(itemVal.getCommit().getShortMessage());
-      JPanel branchTags = new BranchTagPanel(itemVal.getBranches(), itemVal.getTags());
+      _RenderData renderData = _getRenderData(itemVal);
+      lineContainer.setItem(itemVal);
       lineContainer.setBackground(comp.getBackground());
       lineContainer.setForeground(comp.getForeground());
       lineContainer.setFont(comp.getFont());
+      shortMessageLabel.setText(renderData.shortMessage);
       shortMessageLabel.setBackground(comp.getBackground());
       shortMessageLabel.setForeground(comp.getForeground());
-      if (itemVal.getCommit().getParents().size() > 1)
-        shortMessageLabel.setEnabled(false);
-      shortMessageLabel.setToolTipText(itemVal.getCommit().getShortMessage());
+      shortMessageLabel.setEnabled(!renderData.merge);
+      shortMessageLabel.setToolTipText(renderData.shortMessage);
+      shortMessageLabel.setFont(comp.getFont());
+      branchTags.setRenderData(renderData);
       branchTags.setBackground(comp.getBackground());
       branchTags.setForeground(comp.getForeground());
-      shortMessageLabel.setFont(comp.getFont());
-      // needed so the background of the label is drawn if the line is selected
-      shortMessageLabel.setOpaque(true);
-      branchTags.setOpaque(true);
-      field.add(branchTags, BorderLayout.EAST);
-      field.add(lineContainer, BorderLayout.WEST);
-      field.add(shortMessageLabel, BorderLayout.CENTER);
       return field;
     }
     return comp;
   }
 
+  /**
+   * @param pItem item whose render data should be returned
+   * @return the cached render data of the item, the data is created if the item was not rendered before
+   */
+  @NonNull
+  private _RenderData _getRenderData(@NonNull CommitHistoryTreeListItem pItem)
+  {
+    // the width of the label of the branches depends on the font it is measured with
+    if (!Objects.equals(renderDataFont, branchTags.getFont()))
+    {
+      renderDataCache.clear();
+      renderDataFont = branchTags.getFont();
+    }
+    return renderDataCache.computeIfAbsent(pItem, this::_createRenderData);
+  }
+
+  @NonNull
+  private _RenderData _createRenderData(@NonNull CommitHistoryTreeListItem pItem)
+  {
+    List<IBranch> branches = pItem.getBranches();
+    List<ITag> tags = pItem.getTags();
+    List<ImageIcon> branchIcons = new ArrayList<>(branches.size());
+    String branchString = "";
+    String toolTip = null;
+    int preferredWidth = 0;
+    if (!branches.isEmpty() || !tags.isEmpty())
+    {
+      StringBuilder toolTipBuilder = new StringBuilder("<html>");
+      StringBuilder textBuilder = new StringBuilder();
+      for (IBranch branch : branches)
+      {
+        toolTipBuilder.append(branch.getSimpleName()).append("<br>");
+        branchIcons.add(_getBranchIcon(branch));
+      }
+      for (int index = 0; index < branches.size() && index < BranchTagPanel.MAX_NUM_BRANCHES_IN_TEXT; index++)
+      {
+        textBuilder.append(branches.get(index).getSimpleName()).append(" & ");
+      }
+      // branchString only has to be set if there are actually branches pointing to the commit
+      if (!branches.isEmpty())
+        branchString = textBuilder.delete(textBuilder.length() - 3, textBuilder.length() - 1).toString();
+      if (branches.size() > BranchTagPanel.MAX_NUM_BRANCHES_IN_TEXT)
+      {
+        branchString = branchString + "...";
+      }
+      for (ITag tag : tags)
+      {
+        toolTipBuilder.append(tag.getName()).append("<br>");
+      }
+      toolTipBuilder.append("</html>");
+      toolTip = toolTipBuilder.toString();
+      preferredWidth = branchTags.getFontMetrics(branchTags.getFont()).stringWidth(branchString)
+          + (branches.size() + tags.size()) * BranchTagPanel.ICON_SEPARATION + localBranchIcon.getIconWidth()
+          + BranchTagPanel.MARGIN_ICONS_TEXT + BranchTagPanel.MARGIN_RIGHT;
+    }
+    ICommit commit = pItem.getCommit();
+    return new _RenderData(commit.getShortMessage(), commit.getParents().size() > 1, branchIcons, tags.size(), branchString, toolTip, preferredWidth);
+  }
+
+  @NonNull
+  private ImageIcon _getBranchIcon(@NonNull IBranch pBranch)
+  {
+    if (pBranch.getType() == EBranchType.REMOTE)
+      return originBranchIcon;
+    else if (pBranch.getType() == EBranchType.EMPTY)
+    {
+      if (pBranch == IBranch.HEAD)
+      {
+        return headIcon;
+      }
+      else if ("stash".equals(pBranch.getSimpleName()))
+      {
+        return stashIcon;
+      }
+    }
+    return localBranchIcon;
+  }
+
+  /**
+   * Data of a CommitHistoryTreeListItem that is needed to render it and does not change as long as the item is shown
+   */
+  private static final class _RenderData
+  {
+
+    private final String shortMessage;
+    private final boolean merge;
+    private final List<ImageIcon> branchIcons;
+    private final int tagCount;
+    private final String branchString;
+    private final String toolTip;
+    private final int preferredWidth;
+
+    _RenderData(@Nullable String pShortMessage, boolean pMerge, @NonNull List<ImageIcon> pBranchIcons, int pTagCount, @NonNull String pBranchString,
+                @Nullable String pToolTip, int pPreferredWidth)
+    {
+      shortMessage = pShortMessage;
+      merge = pMerge;
+      branchIcons = pBranchIcons;
+      tagCount = pTagCount;
+      branchString = pBranchString;
+      toolTip = pToolTip;
+      preferredWidth = pPreferredWidth;
+    }
+  }
+
   /**
    * Class that does the actual rendering of the CommitHistoryTreeListItems in the paintComponent method
    */
@@ -78,13 +208,20 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
   {
 
     private static final int PADDING_RIGHT = 20;
-    private final CommitHistoryTreeListItem commitHistoryTreeListItem;
+    private CommitHistoryTreeListItem commitHistoryTreeListItem = null;
 
-    CommitHistoryTreeListItemComponent(CommitHistoryTreeListItem pCommitHistoryTreeListItem)
+    CommitHistoryTreeListItemComponent()
     {
-      commitHistoryTreeListItem = pCommitHistoryTreeListItem;
       // needed so the line can be marked as selected
       setOpaque(true);
+    }
+
+    /**
+     * @param pCommitHistoryTreeListItem item whose lines should be painted next
+     */
+    void setItem(@NonNull CommitHistoryTreeListItem pCommitHistoryTreeListItem)
+    {
+      commitHistoryTreeListItem = pCommitHistoryTreeListItem;
       setPreferredSize(new Dimension(commitHistoryTreeListItem.getMaxLineWidth() + PADDING_RIGHT, getHeight()));
     }
 
@@ -93,6 +230,8 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
     {
       // call this for a working selection marker
       super.paintComponent(pG);
+      if (commitHistoryTreeListItem == null)
+        return;
       Graphics2D g2d = (Graphics2D) pG;
       g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
       g2d.setStroke(new BasicStroke(HistoryGraphElement.ColoredLineCoordinates.LINE_WIDTH));
@@ -160,79 +299,41 @@ public class CommitHistoryTreeListItemRenderer extends DefaultTableCellRenderer
     private static final int MARGIN_RIGHT = 3;
     private static final int MARGIN_ICONS_TEXT = 5;
     private static final int MAX_NUM_BRANCHES_IN_TEXT = 2;
-    private final java.util.List<IBranch> branches;
-    private final List<ITag> tags;
-    private String branchString = "";
+    private _RenderData renderData = null;
 
-    BranchTagPanel(List<IBranch> pBranches, List<ITag> pTags)
+    /**
+     * @param pRenderData render data of the item whose branches and tags should be painted next
+     */
+    void setRenderData(@NonNull _RenderData pRenderData)
     {
-      branches = pBranches;
-      tags = pTags;
-      if (!branches.isEmpty() || !tags.isEmpty())
-      {
-        StringBuilder toolTipBuilder = new StringBuilder("<html>");
-        StringBuilder textBuilder = new StringBuilder();
-        for (IBranch branch : branches)
-        {
-          toolTipBuilder.append(branch.getSimpleName()).append("<br>");
-        }
-        for (int index = 0; index < branches.size() && index < MAX_NUM_BRANCHES_IN_TEXT; index++)
-        {
-          textBuilder.append(branches.get(index).getSimpleName()).append(" & ");
-        }
-        // branchString only has to be set if there are actually branches pointing to the commit
-        if (!branches.isEmpty())
-          branchString = textBuilder.delete(textBuilder.length() - 3, textBuilder.length() - 1).toString();
-        if (branches.size() > MAX_NUM_BRANCHES_IN_TEXT)
-        {
-          branchString = branchString + "...";
-        }
-        for (ITag tag : tags)
-        {
-          toolTipBuilder.append(tag.getName()).append("<br>");
-        }
-        toolTipBuilder.append("</html>");
-        setToolTipText(toolTipBuilder.toString());
-        setPreferredSize(new Dimension(getFontMetrics(getFont()).stringWidth(branchString)
-                                           + (branches.size() + tags.size()) * ICON_SEPARATION + localBranchIcon.getIconWidth()
-                                           + MARGIN_ICONS_TEXT + MARGIN_RIGHT,
-                                       localBranchIcon.getIconHeight()));
-      }
+      renderData = pRenderData;
+      setToolTipText(renderData.toolTip);
+      // without branches and tags the panel keeps the preferred size of its layout
+      setPreferredSize(renderData.preferredWidth == 0 ? null : new Dimension(renderData.preferredWidth, localBranchIcon.getIconHeight()));
     }
 
     @Override
     protected void paintComponent(Graphics pGraphics)
     {
       super.paintComponent(pGraphics);
+      if (renderData == null)
+        return;
       ((Graphics2D) pGraphics).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+      int branchCount = renderData.branchIcons.size();
       // Icon should be positioned in the middle of the cell, so the top should be half the remaining height from the top
       int yCoordinate = (getHeight() - localBranchIcon.getIconHeight()) / 2;
       // draw the last icons first, so that the first icon ends up on top of the other icons
-      for (int index = tags.size() - 1; index >= 0; index--)
+      for (int index = renderData.tagCount - 1; index >= 0; index--)
       {
-        tagIcon.paintIcon(this, pGraphics, (index + branches.size()) * ICON_SEPARATION, yCoordinate);
+        tagIcon.paintIcon(this, pGraphics, (index + branchCount) * ICON_SEPARATION, yCoordinate);
       }
       // draw the last icons first, so that the first icon ends up on top of the other icons
-      for (int index = branches.size() - 1; index >= 0; index--)
+      for (int index = branchCount - 1; index >= 0; index--)
       {
-        IBranch currentBranch = branches.get(index);
-        ImageIcon paintThis = localBranchIcon;
-        if (currentBranch.getType() == EBranchType.REMOTE)
-          paintThis = originBranchIcon;
-        else if (currentBranch.getType() == EBranchType.EMPTY)
-        {
-          if (currentBranch == IBranch.HEAD)
-          {
-            paintThis = headIcon;
-          }
-          else if ("stash".equals(currentBranch.getSimpleName()))
-          {
-            paintThis = stashIcon;
-          }
-        }
-        paintThis.paintIcon(this, pGraphics, (index) * ICON_SEPARATION, yCoordinate);
+        renderData.branchIcons.get(index).paintIcon(this, pGraphics, (index) * ICON_SEPARATION, yCoordinate);
       }
-      pGraphics.drawString(branchString, ((branches.size()) + tags.size()) * ICON_SEPARATION + localBranchIcon.getIconWidth() + MARGIN_ICONS_TEXT,
+      pGraphics.drawString(renderData.branchString,
+                           (branchCount + renderData.tagCount) * ICON_SEPARATION + localBranchIcon.getIconWidth() + MARGIN_ICONS_TEXT,
                            getFontMetrics(getFont()).getAscent() + (getHeight() - getFontMetrics(getFont()).getHeight()) / 2);
     }
   }
@@ -118,7 +118,8 @@ class StatusWindowContent extends ObservableTreePanel implements IDiscardable, I
     Action applyPatchAction = actionProvider.getApplyPatchAction(repository);
     JToolBar toolBar = new JToolBar(SwingConstants.VERTICAL);
     toolBar.setFloatable(false);
-    toolBar.add(actionProvider.getRefreshStatusAction(repository, statusTreeModel::reload));
+    Action refreshStatusAction = actionProvider.getRefreshStatusAction(repository, statusTreeModel::reload);
+    toolBar.add(refreshStatusAction);
     toolBar.addSeparator();
     toolBar.add(commitAction);
     toolBar.add(revertWorkDirAction);
@@ -155,6 +156,7 @@ class StatusWindowContent extends ObservableTreePanel implements IDiscardable, I
     statusTree.getTree().getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), STANDARD_ACTION_STRING);
     statusTree.getTree().getActionMap().put(STANDARD_ACTION_STRING, openFileAction);
 
+    discardableActions.add((IDiscardable) refreshStatusAction);
     discardableActions.add((IDiscardable) commitAction);
     discardableActions.add((IDiscardable) revertWorkDirAction);
     discardableActions.add((IDiscardable) diffToHeadAction);
@@ -0,0 +1,92 @@
+package de.adito.git.gui;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.text.Highlighter;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link TextHighlightUtil}.
+ *
+ * @author agent, 19.10.2026
+ */
+class TextHighlightUtilTest
+{
+
+  /**
+   * Checks that accepting a delta only replaces the highlights of that delta, and that the result is the same as highlighting all deltas in a new editorPane
+   */
+  @Test
+  void onlyChangedDeltaHighlightedAgain()
+  {
+    String text = "line 0\nline 1\nline 2\nline 3\nline 4\nline 5\n";
+    JEditorPane editorPane = new JEditorPane("text/plain", text);
+    List<IChangeDelta> changeDeltas = new ArrayList<>(List.of(_mockDelta(0, 7, EChangeStatus.PENDING), _mockDelta(14, 21, EChangeStatus.PENDING),
+                                                              _mockDelta(28, 35, EChangeStatus.PENDING)));
+    TextHighlightUtil.insertColoredText(editorPane, _mockEvent(changeDeltas), EChangeSide.NEW);
+    Highlighter.Highlight[] initialHighlights = editorPane.getHighlighter().getHighlights();
+
+    changeDeltas.set(1, _mockDelta(14, 21, EChangeStatus.ACCEPTED));
+    TextHighlightUtil.insertColoredText(editorPane, _mockEvent(changeDeltas), EChangeSide.NEW);
+    Highlighter.Highlight[] highlights = editorPane.getHighlighter().getHighlights();
+
+    // the two pending highlights of the first and the third delta are untouched
+    assertSame(initialHighlights[0], highlights[0]);
+    assertSame(initialHighlights[1], highlights[1]);
+    assertSame(initialHighlights[4], highlights[2]);
+    assertSame(initialHighlights[5], highlights[3]);
+
+    JEditorPane otherEditorPane = new JEditorPane("text/plain", text);
+    TextHighlightUtil.insertColoredText(otherEditorPane, _mockEvent(changeDeltas), EChangeSide.NEW);
+    assertEquals(_describe(otherEditorPane), _describe(editorPane));
+  }
+
+  @NonNull
+  private static List<String> _describe(@NonNull JEditorPane pEditorPane)
+  {
+    return Arrays.stream(pEditorPane.getHighlighter().getHighlights())
+        .map(pHighlight -> pHighlight.getStartOffset() + "-" + pHighlight.getEndOffset() + " " + ((LineHighlightPainter) pHighlight.getPainter()).getColor())
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @NonNull
+  private static IDeltaTextChangeEvent _mockEvent(@NonNull List<IChangeDelta> pChangeDeltas)
+  {
+    IFileDiff fileDiff = mock(IFileDiff.class);
+    when(fileDiff.getChangeDeltas()).thenReturn(new ArrayList<>(pChangeDeltas));
+    IDeltaTextChangeEvent textChangeEvent = mock(IDeltaTextChangeEvent.class);
+    when(textChangeEvent.getFileDiff()).thenReturn(fileDiff);
+    when(textChangeEvent.getSide()).thenReturn(EChangeSide.NEW);
+    when(textChangeEvent.getText()).thenReturn("");
+    return textChangeEvent;
+  }
+
+  @NonNull
+  private static IChangeDelta _mockDelta(int pStartIndex, int pEndIndex, @NonNull EChangeStatus pChangeStatus)
+  {
+    IChangeDelta changeDelta = mock(IChangeDelta.class);
+    when(changeDelta.getChangeType()).thenReturn(EChangeType.ADD);
+    when(changeDelta.getChangeStatus()).thenReturn(pChangeStatus);
+    when(changeDelta.getStartTextIndex(any())).thenReturn(pStartIndex);
+    when(changeDelta.getEndTextIndex(any())).thenReturn(pEndIndex);
+    when(changeDelta.getStartLine(any())).thenReturn(pStartIndex / 7);
+    when(changeDelta.getEndLine(any())).thenReturn(pEndIndex / 7);
+    when(changeDelta.getDiffColor()).thenReturn(pChangeStatus == EChangeStatus.PENDING ? Color.RED : Color.GREEN);
+    when(changeDelta.getSecondaryDiffColor()).thenReturn(Color.PINK);
+    return changeDelta;
+  }
+}
@@ -0,0 +1,79 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import de.adito.git.gui.rxjava.LatestValue;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link AbstractTableAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class AbstractTableActionTest
+{
+
+  /**
+   * Checks that the enabled state that is emitted in a background thread is set in the EDT, and that the action does not wait for values it keeps
+   */
+  @Test
+  void enabledStateSetInEdt() throws Exception
+  {
+    BehaviorSubject<Optional<Boolean>> isEnabled = BehaviorSubject.createDefault(Optional.of(false));
+    BehaviorSubject<String> value = BehaviorSubject.create();
+    AtomicBoolean setInEdt = new AtomicBoolean(true);
+    _TestAction action = new _TestAction(isEnabled, value, setInEdt);
+
+    Thread emitter = new Thread(() -> isEnabled.onNext(Optional.of(true)));
+    emitter.start();
+    emitter.join();
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> {
+      assertTrue(action.isEnabled());
+      action.actionPerformed(null);
+    });
+    assertTrue(setInEdt.get());
+    assertEquals("default", action.performedWith);
+
+    action.discard();
+    assertFalse(isEnabled.hasObservers());
+    assertFalse(value.hasObservers());
+  }
+
+  /**
+   * Action that records if its enabled state was always set in the EDT
+   */
+  private static class _TestAction extends AbstractTableAction
+  {
+    private final LatestValue<String> value;
+    private final AtomicBoolean setInEdt;
+    private String performedWith;
+
+    _TestAction(BehaviorSubject<Optional<Boolean>> pIsEnabled, BehaviorSubject<String> pValue, AtomicBoolean pSetInEdt)
+    {
+      super("Test", pIsEnabled);
+      value = _keepLatest(pValue);
+      setInEdt = pSetInEdt;
+    }
+
+    @Override
+    public void setEnabled(boolean pEnabled)
+    {
+      if (!SwingUtilities.isEventDispatchThread())
+        setInEdt.set(false);
+      super.setEnabled(pEnabled);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent pEvent)
+    {
+      performedWith = value.getOrDefault("default");
+    }
+  }
+}
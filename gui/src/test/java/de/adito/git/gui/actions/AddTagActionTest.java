@@ -0,0 +1,54 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ICommit;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.dialogs.panels.UserPromptPanel;
+import de.adito.git.gui.dialogs.results.IUserPromptDialogResult;
+import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link AddTagAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class AddTagActionTest
+{
+
+  /**
+   * Checks that the tag is created without blocking the EDT, even if neither the repository nor the commit observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    ICommit commit = mock(ICommit.class);
+    when(commit.getId()).thenReturn("abc");
+    @SuppressWarnings("unchecked")
+    IUserPromptDialogResult<UserPromptPanel, Object> dialogResult = mock(IUserPromptDialogResult.class);
+    when(dialogResult.isOkay()).thenReturn(true);
+    when(dialogResult.getMessage()).thenReturn("v1.0");
+    IDialogProvider dialogProvider = mock(IDialogProvider.class);
+    when(dialogProvider.showUserPromptDialog(anyString(), any())).thenReturn(dialogResult);
+    IRepository repository = mock(IRepository.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<List<ICommit>>> selectedCommitObservable = PublishSubject.create();
+    AddTagAction addTagAction = new AddTagAction(dialogProvider, mock(INotifyUtil.class), mock(IIconLoader.class), repositoryObservable, selectedCommitObservable);
+    repositoryObservable.onNext(Optional.of(repository));
+    selectedCommitObservable.onNext(Optional.of(List.of(commit)));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> addTagAction.actionPerformed(null));
+    verify(repository).createTag("v1.0", "abc");
+    addTagAction.discard();
+  }
+}
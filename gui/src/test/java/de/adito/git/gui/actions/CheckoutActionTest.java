@@ -0,0 +1,52 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.ISaveUtil;
+import de.adito.git.api.data.IBranch;
+import de.adito.git.api.prefs.IPrefStore;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import de.adito.git.gui.sequences.MergeConflictSequence;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link CheckoutAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class CheckoutActionTest
+{
+
+  /**
+   * Checks that the checkout is started without blocking the EDT, even if neither the repository nor the branch observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    when(repository.getRepositoryState()).thenReturn(Observable.never());
+    IBranch branch = mock(IBranch.class);
+    when(branch.getSimpleName()).thenReturn("feature");
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<IBranch>> branchObservable = PublishSubject.create();
+    CheckoutAction checkoutAction = new CheckoutAction(mock(IPrefStore.class), mock(IDialogProvider.class), progressFacade, mock(ISaveUtil.class),
+                                                       mock(MergeConflictSequence.class), repositoryObservable, branchObservable, mock(INotifyUtil.class));
+    repositoryObservable.onNext(Optional.of(repository));
+    branchObservable.onNext(Optional.of(branch));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> checkoutAction.actionPerformed(null));
+    verify(progressFacade).executeAndBlockWithProgressWithoutIndexing(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    checkoutAction.discard();
+  }
+}
@@ -0,0 +1,50 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ICommit;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link CheckoutCommitAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class CheckoutCommitActionTest
+{
+
+  /**
+   * Checks that the checkout is started in the background without blocking the EDT, even if neither the repository nor the commit observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    when(repository.getRepositoryState()).thenReturn(Observable.never());
+    ICommit commit = mock(ICommit.class);
+    when(commit.getId()).thenReturn("abc");
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<List<ICommit>>> selectedCommitObservable = PublishSubject.create();
+    CheckoutCommitAction checkoutCommitAction = new CheckoutCommitAction(mock(INotifyUtil.class), progressFacade, repositoryObservable, selectedCommitObservable,
+                                                                         mock(IDialogProvider.class));
+    repositoryObservable.onNext(Optional.of(repository));
+    selectedCommitObservable.onNext(Optional.of(List.of(commit)));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> checkoutCommitAction.actionPerformed(null));
+    verify(progressFacade).executeInBackgroundWithoutIndexing(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    checkoutCommitAction.discard();
+  }
+}
@@ -0,0 +1,51 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.ISaveUtil;
+import de.adito.git.api.data.ICommit;
+import de.adito.git.api.prefs.IPrefStore;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import de.adito.git.gui.sequences.MergeConflictSequence;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link CherryPickAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class CherryPickActionTest
+{
+
+  /**
+   * Checks that the cherry pick is started in the background without blocking the EDT, even if neither the repository nor the commit observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<List<ICommit>>> selectedCommitObservable = PublishSubject.create();
+    CherryPickAction cherryPickAction = new CherryPickAction(mock(IPrefStore.class), mock(IIconLoader.class), mock(INotifyUtil.class), mock(IDialogProvider.class),
+                                                             progressFacade, mock(ISaveUtil.class), mock(IActionProvider.class), mock(MergeConflictSequence.class),
+                                                             repositoryObservable, selectedCommitObservable);
+    repositoryObservable.onNext(Optional.of(mock(IRepository.class)));
+    selectedCommitObservable.onNext(Optional.of(List.of(mock(ICommit.class))));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> cherryPickAction.actionPerformed(null));
+    verify(progressFacade).executeInBackgroundWithoutIndexing(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    cherryPickAction.discard();
+  }
+}
@@ -0,0 +1,52 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.ISaveUtil;
+import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.api.prefs.IPrefStore;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.dialogs.results.ICommitDialogResult;
+import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link CommitAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class CommitActionTest
+{
+
+  /**
+   * Checks that the commit dialog is shown without blocking the EDT, even if the status of the repository is not computed yet
+   */
+  @Test
+  void actionPerformedWithoutStatus() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    when(repository.getStatus()).thenReturn(Observable.never());
+    when(repository.getRepositoryState()).thenReturn(Observable.never());
+    when(repository.getTopLevelDirectory()).thenReturn(new File("repo"));
+    IDialogProvider dialogProvider = mock(IDialogProvider.class);
+    ICommitDialogResult<?, ?> dialogResult = mock(ICommitDialogResult.class);
+    doReturn(dialogResult).when(dialogProvider).showCommitDialog(any(), any(), any());
+    Observable<Optional<List<IFileChangeType>>> selectedFiles = Observable.just(Optional.empty());
+    CommitAction commitAction = new CommitAction(mock(IPrefStore.class), mock(IIconLoader.class), mock(IAsyncProgressFacade.class), dialogProvider,
+                                                 mock(ISaveUtil.class), mock(INotifyUtil.class), Observable.just(Optional.of(repository)), selectedFiles, "");
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> commitAction.actionPerformed(null));
+    verify(dialogProvider).showCommitDialog(any(), any(), any());
+    commitAction.discard();
+  }
+}
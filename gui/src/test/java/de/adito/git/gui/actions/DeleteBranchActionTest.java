@@ -0,0 +1,51 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.IBranch;
+import de.adito.git.api.data.TrackedBranchStatus;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link DeleteBranchAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DeleteBranchActionTest
+{
+
+  /**
+   * Checks that the branch is deleted without blocking the EDT, even if neither the repository nor the branch observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    when(repository.getRepositoryState()).thenReturn(Observable.never());
+    IBranch branch = mock(IBranch.class);
+    when(branch.getSimpleName()).thenReturn("feature");
+    when(branch.getTrackedBranchStatus()).thenReturn(TrackedBranchStatus.NONE);
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<IBranch>> branchObservable = PublishSubject.create();
+    DeleteBranchAction deleteBranchAction = new DeleteBranchAction(mock(INotifyUtil.class), progressFacade, mock(IDialogProvider.class),
+                                                                   repositoryObservable, branchObservable);
+    repositoryObservable.onNext(Optional.of(repository));
+    branchObservable.onNext(Optional.of(branch));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> deleteBranchAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    deleteBranchAction.discard();
+  }
+}
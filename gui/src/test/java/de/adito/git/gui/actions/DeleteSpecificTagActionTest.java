@@ -0,0 +1,38 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ITag;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link DeleteSpecificTagAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DeleteSpecificTagActionTest
+{
+
+  /**
+   * Checks that the tag is deleted without blocking the EDT, even if the repository observable does not replay its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    ITag tag = mock(ITag.class);
+    when(tag.getName()).thenReturn("v1.0");
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    DeleteSpecificTagAction deleteSpecificTagAction = new DeleteSpecificTagAction(repositoryObservable, tag);
+    repositoryObservable.onNext(Optional.of(repository));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> deleteSpecificTagAction.actionPerformed(null));
+    verify(repository).deleteTag(tag);
+    deleteSpecificTagAction.discard();
+  }
+}
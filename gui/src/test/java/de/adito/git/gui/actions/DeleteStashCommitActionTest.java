@@ -0,0 +1,41 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.IRepository;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link DeleteStashCommitAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DeleteStashCommitActionTest
+{
+
+  /**
+   * Checks that the stashed commit is dropped in the background without blocking the EDT, even if neither the repository nor the commit id observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<String>> commitIdObservable = PublishSubject.create();
+    DeleteStashCommitAction deleteStashCommitAction = new DeleteStashCommitAction(progressFacade, repositoryObservable, commitIdObservable);
+    repositoryObservable.onNext(Optional.of(mock(IRepository.class)));
+    commitIdObservable.onNext(Optional.of("abc"));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> deleteStashCommitAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    deleteStashCommitAction.discard();
+  }
+}
@@ -0,0 +1,40 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ITag;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link DeleteTagAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DeleteTagActionTest
+{
+
+  /**
+   * Checks that the tag is deleted without blocking the EDT, even if neither the repository nor the tag observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepository repository = mock(IRepository.class);
+    ITag tag = mock(ITag.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<ITag>> tagObservable = PublishSubject.create();
+    DeleteTagAction deleteTagAction = new DeleteTagAction(repositoryObservable, tagObservable);
+    repositoryObservable.onNext(Optional.of(repository));
+    tagObservable.onNext(Optional.of(tag));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> deleteTagAction.actionPerformed(null));
+    verify(repository).deleteTag(tag);
+    deleteTagAction.discard();
+  }
+}
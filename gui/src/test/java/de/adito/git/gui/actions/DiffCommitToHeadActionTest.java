@@ -0,0 +1,48 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ICommit;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link DiffCommitToHeadAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DiffCommitToHeadActionTest
+{
+
+  /**
+   * Checks that the diff is started in the background without blocking the EDT, even if none of the observables replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<List<ICommit>>> selectedCommitObservable = PublishSubject.create();
+    PublishSubject<Optional<String>> selectedFileObservable = PublishSubject.create();
+    DiffCommitToHeadAction diffCommitToHeadAction = new DiffCommitToHeadAction(mock(IDialogProvider.class), progressFacade, mock(INotifyUtil.class),
+                                                                               repositoryObservable, selectedCommitObservable, selectedFileObservable);
+    repositoryObservable.onNext(Optional.of(mock(IRepository.class)));
+    selectedCommitObservable.onNext(Optional.of(List.of(mock(ICommit.class))));
+    selectedFileObservable.onNext(Optional.empty());
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> diffCommitToHeadAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    diffCommitToHeadAction.discard();
+  }
+}
@@ -0,0 +1,43 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link DiffCommitsAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DiffCommitsActionTest
+{
+
+  /**
+   * Checks that the diff is started in the background without blocking the EDT, even if the repository observable does not replay its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    DiffCommitsAction diffCommitsAction = new DiffCommitsAction(mock(IDialogProvider.class), progressFacade, mock(INotifyUtil.class), repositoryObservable,
+                                                                Observable.never(), Observable.never(), Observable.never());
+    repositoryObservable.onNext(Optional.of(mock(IRepository.class)));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> diffCommitsAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    diffCommitsAction.discard();
+  }
+}
@@ -0,0 +1,47 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.icon.IIconLoader;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link DiffToHeadAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DiffToHeadActionTest
+{
+
+  /**
+   * Checks that the diff is started in the background without blocking the EDT, even if neither the repository nor the file observable replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PublishSubject<Optional<List<IFileChangeType>>> selectedFilesObservable = PublishSubject.create();
+    DiffToHeadAction diffToHeadAction = new DiffToHeadAction(mock(IIconLoader.class), mock(IDialogProvider.class), progressFacade, mock(INotifyUtil.class),
+                                                             repositoryObservable, selectedFilesObservable, true);
+    repositoryObservable.onNext(Optional.of(mock(IRepository.class)));
+    selectedFilesObservable.onNext(Optional.of(List.of(mock(IFileChangeType.class))));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> diffToHeadAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    diffToHeadAction.discard();
+  }
+}
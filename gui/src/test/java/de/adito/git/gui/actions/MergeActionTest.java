@@ -1,12 +1,21 @@
 package de.adito.git.gui.actions;
 
+import de.adito.git.api.INotifyUtil;
 import de.adito.git.api.IRepository;
+import de.adito.git.api.ISaveUtil;
 import de.adito.git.api.data.IBranch;
 import de.adito.git.api.data.IRepositoryState;
 import de.adito.git.api.data.diff.IMergeData;
+import de.adito.git.api.prefs.IPrefStore;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import de.adito.git.gui.sequences.MergeConflictSequence;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
 import lombok.NonNull;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -20,8 +29,9 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for the MergeAction class
@@ -98,4 +108,33 @@ class MergeActionTest
 
   }
 
-}
\ No newline at end of file
+  @Nested
+  class ActionPerformed
+  {
+
+    /**
+     * Checks that the merge is started without blocking the EDT, even if neither the repository nor the branch observable replays its value
+     */
+    @Test
+    void actionPerformedWithoutBlocking() throws Exception
+    {
+      IRepository repository = mock(IRepository.class);
+      when(repository.getRepositoryState()).thenReturn(Observable.never());
+      IBranch mergeBranch = mock(IBranch.class);
+      when(mergeBranch.getSimpleName()).thenReturn("dev");
+      IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+      PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+      PublishSubject<Optional<IBranch>> branchObservable = PublishSubject.create();
+      MergeAction mergeAction = new MergeAction(mock(IPrefStore.class), progressFacade, mock(IDialogProvider.class), mock(ISaveUtil.class),
+                                                mock(INotifyUtil.class), mock(IActionProvider.class), mock(MergeConflictSequence.class),
+                                                repositoryObservable, branchObservable);
+      repositoryObservable.onNext(Optional.of(repository));
+      branchObservable.onNext(Optional.of(mergeBranch));
+
+      EdtBlockingHarness.assertDoesNotBlockEdt(() -> mergeAction.actionPerformed(null));
+      verify(progressFacade).executeAndBlockWithProgressWithoutIndexing(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+      mergeAction.discard();
+    }
+  }
+
+}
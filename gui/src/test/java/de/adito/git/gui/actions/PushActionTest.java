@@ -0,0 +1,48 @@
+package de.adito.git.gui.actions;
+
+import de.adito.git.api.INotifyUtil;
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.IRepositoryState;
+import de.adito.git.api.progress.IAsyncProgressFacade;
+import de.adito.git.gui.dialogs.IDialogProvider;
+import de.adito.git.gui.rxjava.EdtBlockingHarness;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link PushAction}.
+ *
+ * @author agent, 19.10.2026
+ */
+class PushActionTest
+{
+
+  /**
+   * Checks that the unpushed commits are gathered in the background without blocking the EDT, even if neither the repository nor its state replays its value
+   */
+  @Test
+  void actionPerformedWithoutBlocking() throws Exception
+  {
+    IRepositoryState repositoryState = mock(IRepositoryState.class);
+    when(repositoryState.getRemotes()).thenReturn(List.of("origin"));
+    PublishSubject<Optional<IRepositoryState>> repositoryStateObservable = PublishSubject.create();
+    IRepository repository = mock(IRepository.class);
+    when(repository.getRepositoryState()).thenReturn(repositoryStateObservable);
+    IAsyncProgressFacade progressFacade = mock(IAsyncProgressFacade.class);
+    PublishSubject<Optional<IRepository>> repositoryObservable = PublishSubject.create();
+    PushAction pushAction = new PushAction(mock(INotifyUtil.class), progressFacade, mock(IDialogProvider.class), repositoryObservable);
+    repositoryObservable.onNext(Optional.of(repository));
+    repositoryStateObservable.onNext(Optional.of(repositoryState));
+
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> pushAction.actionPerformed(null));
+    verify(progressFacade).executeInBackground(anyString(), any(IAsyncProgressFacade.IVoidExec.class));
+    pushAction.discard();
+  }
+}
@@ -0,0 +1,137 @@
+package de.adito.git.gui.concurrency;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link KeyedSerialExecutor}.
+ *
+ * @author agent, 19.10.2026
+ */
+class KeyedSerialExecutorTest
+{
+
+  private ExecutorService threadPool;
+  private KeyedSerialExecutor keyedSerialExecutor;
+
+  @BeforeEach
+  void setUp()
+  {
+    threadPool = Executors.newFixedThreadPool(2);
+    keyedSerialExecutor = new KeyedSerialExecutor(threadPool);
+  }
+
+  @AfterEach
+  void tearDown()
+  {
+    threadPool.shutdownNow();
+  }
+
+  /**
+   * Checks that a new task of a key cancels the waiting task of the key, interrupts the running one and only starts once the running task returned
+   */
+  @Test
+  void latestTaskOfKeyWins() throws Exception
+  {
+    CountDownLatch firstTaskStarted = new CountDownLatch(1);
+    CountDownLatch newerTasksSubmitted = new CountDownLatch(1);
+    CountDownLatch firstTaskReturned = new CountDownLatch(1);
+    AtomicBoolean firstTaskInterrupted = new AtomicBoolean();
+    AtomicBoolean lastTaskSawFirstTaskReturned = new AtomicBoolean();
+    AtomicInteger executedTasks = new AtomicInteger();
+    Object key = new Object();
+    keyedSerialExecutor.submitLatest(key, () -> {
+      firstTaskStarted.countDown();
+      try
+      {
+        new CountDownLatch(1).await();
+      }
+      catch (InterruptedException pE)
+      {
+        firstTaskInterrupted.set(true);
+      }
+      // keeps running after the interrupt, until both newer tasks are submitted
+      _awaitUninterruptibly(newerTasksSubmitted);
+      executedTasks.incrementAndGet();
+      firstTaskReturned.countDown();
+    });
+    assertTrue(firstTaskStarted.await(5, TimeUnit.SECONDS));
+
+    Future<?> supersededTask = keyedSerialExecutor.submitLatest(key, executedTasks::incrementAndGet);
+    Future<?> lastTask = keyedSerialExecutor.submitLatest(key, () -> {
+      lastTaskSawFirstTaskReturned.set(firstTaskReturned.getCount() == 0);
+      executedTasks.incrementAndGet();
+    });
+    newerTasksSubmitted.countDown();
+    lastTask.get(5, TimeUnit.SECONDS);
+
+    assertTrue(supersededTask.isCancelled());
+    assertTrue(firstTaskInterrupted.get());
+    assertTrue(lastTaskSawFirstTaskReturned.get());
+    assertEquals(2, executedTasks.get());
+    KeyedSerialExecutor.Statistics statistics = keyedSerialExecutor.getStatistics();
+    assertEquals(3, statistics.getSubmittedTasks());
+    assertEquals(2, statistics.getSupersededTasks());
+    assertEquals(0, statistics.getQueueDepth());
+  }
+
+  /**
+   * Checks that tasks of different keys run at the same time, and that they queue up once all threads are busy
+   */
+  @Test
+  void differentKeysRunInParallel() throws Exception
+  {
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blockingTask = () -> {
+      bothRunning.countDown();
+      try
+      {
+        release.await();
+      }
+      catch (InterruptedException pE)
+      {
+        Thread.currentThread().interrupt();
+      }
+    };
+    List<Future<?>> futures = List.of(keyedSerialExecutor.submitLatest("first", blockingTask), keyedSerialExecutor.submitLatest("second", blockingTask),
+                                      keyedSerialExecutor.submitLatest("third", () -> {
+                                      }));
+    assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+    KeyedSerialExecutor.Statistics statistics = keyedSerialExecutor.getStatistics();
+    assertEquals(2, statistics.getRunningTasks());
+    assertEquals(1, statistics.getQueueDepth());
+
+    release.countDown();
+    for (Future<?> future : futures)
+    {
+      future.get(5, TimeUnit.SECONDS);
+    }
+    assertEquals(0, keyedSerialExecutor.getStatistics().getSupersededTasks());
+  }
+
+  private static void _awaitUninterruptibly(@NonNull CountDownLatch pLatch)
+  {
+    while (true)
+    {
+      try
+      {
+        pLatch.await();
+        return;
+      }
+      catch (InterruptedException pE)
+      {
+        // wait until the latch is released
+      }
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package de.adito.git.gui.concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link LatestWinsScheduler}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LatestWinsSchedulerTest
+{
+
+  private ExecutorService threadPool;
+  private LatestWinsScheduler scheduler;
+
+  @BeforeEach
+  void setUp()
+  {
+    threadPool = Executors.newFixedThreadPool(2);
+    scheduler = new LatestWinsScheduler(threadPool);
+  }
+
+  @AfterEach
+  void tearDown()
+  {
+    threadPool.shutdownNow();
+  }
+
+  /**
+   * Checks that the token of a running computation is cancelled once a newer computation for the same key is submitted, even if the computation ignores
+   * the interrupt
+   */
+  @Test
+  void tokenCancelledBySupersedingComputation() throws Exception
+  {
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    AtomicBoolean firstSawCancellation = new AtomicBoolean();
+    Object key = new Object();
+    Future<?> first = scheduler.submitLatest(key, pToken -> {
+      firstStarted.countDown();
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      // busy computation that does not react to the interrupt, only checks the token
+      while (!pToken.isCancelled() && System.nanoTime() < end)
+      {
+        Thread.onSpinWait();
+      }
+      firstSawCancellation.set(pToken.isCancelled());
+    });
+    assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+    AtomicBoolean secondCancelled = new AtomicBoolean(true);
+    scheduler.submitLatest(key, pToken -> secondCancelled.set(pToken.isCancelled())).get(5, TimeUnit.SECONDS);
+
+    assertTrue(first.isCancelled());
+    assertTrue(firstSawCancellation.get());
+    assertFalse(secondCancelled.get());
+    assertEquals(1, scheduler.getStatistics().getSupersededTasks());
+  }
+
+  /**
+   * Checks that cancelling the key cancels the waiting computation, so that it is never run
+   */
+  @Test
+  void cancelKey() throws Exception
+  {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch running = new CountDownLatch(1);
+    AtomicBoolean waitingRan = new AtomicBoolean();
+    Object key = new Object();
+    scheduler.submitLatest(key, pToken -> {
+      running.countDown();
+      while (!pToken.isCancelled())
+      {
+        try
+        {
+          release.await();
+        }
+        catch (InterruptedException pE)
+        {
+          // the token is checked instead
+        }
+      }
+    });
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+    Future<?> waiting = scheduler.submitLatest(key, pToken -> waitingRan.set(true));
+    scheduler.cancel(key);
+    release.countDown();
+
+    assertTrue(waiting.isCancelled());
+    assertFalse(waitingRan.get());
+  }
+
+  /**
+   * Checks that a computation that fails because it was cancelled is not logged as failed background computation
+   */
+  @Test
+  void failureAfterCancellationNotLogged() throws Exception
+  {
+    List<LogRecord> records = new CopyOnWriteArrayList<>();
+    CountDownLatch logged = new CountDownLatch(1);
+    Handler handler = new Handler()
+    {
+      @Override
+      public void publish(LogRecord pRecord)
+      {
+        records.add(pRecord);
+        logged.countDown();
+      }
+
+      @Override
+      public void flush()
+      {
+      }
+
+      @Override
+      public void close()
+      {
+      }
+    };
+    Logger logger = Logger.getLogger(LatestWinsScheduler.class.getName());
+    Level oldLevel = logger.getLevel();
+    logger.setLevel(Level.ALL);
+    logger.addHandler(handler);
+    try
+    {
+      CountDownLatch started = new CountDownLatch(1);
+      Object key = new Object();
+      scheduler.submitLatest(key, pToken -> {
+        try
+        {
+          started.countDown();
+          TimeUnit.SECONDS.sleep(5);
+        }
+        catch (InterruptedException pE)
+        {
+          // like code that wraps the InterruptedException
+          throw new IllegalStateException(pE);
+        }
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      scheduler.cancel(key);
+      assertTrue(logged.await(5, TimeUnit.SECONDS));
+    }
+    finally
+    {
+      logger.removeHandler(handler);
+      logger.setLevel(oldLevel);
+    }
+    assertEquals(1, records.size());
+    assertEquals(Level.FINE, records.get(0).getLevel());
+  }
+
+  /**
+   * Checks that the Rx Scheduler runs the work on the threads of the executor and counts it in the statistics
+   */
+  @Test
+  void rxSchedulerUsesExecutor()
+  {
+    AtomicReference<String> threadName = new AtomicReference<>();
+    String mainThread = Thread.currentThread().getName();
+    int result = Observable.fromCallable(() -> {
+      threadName.set(Thread.currentThread().getName());
+      return 42;
+    })
+        .subscribeOn(scheduler.asRxScheduler())
+        .blockingFirst();
+
+    assertEquals(42, result);
+    assertNotEquals(mainThread, threadName.get());
+    assertTrue(scheduler.getStatistics().getSubmittedTasks() > 0);
+  }
+}
@@ -0,0 +1,47 @@
+package de.adito.git.gui.dialogs.panels.basediffpanel.diffpane;
+
+import de.adito.git.gui.swing.LineNumber;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test class for {@link LineGeometry}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LineGeometryTest
+{
+
+  /**
+   * Checks that the binary search finds the last line that starts at or before the y coordinate
+   */
+  @Test
+  void lastLineStartingAtOrBefore()
+  {
+    LineGeometry lineGeometry = LineGeometry.of(new LineNumber[]{new LineNumber(1, 0, 0, 10), new LineNumber(2, 0, 10, 20), new LineNumber(3, 0, 30, 10)});
+    assertEquals(-1, lineGeometry.getLastLineStartingAtOrBefore(-1));
+    assertEquals(0, lineGeometry.getLastLineStartingAtOrBefore(0));
+    assertEquals(1, lineGeometry.getLastLineStartingAtOrBefore(29));
+    assertEquals(2, lineGeometry.getLastLineStartingAtOrBefore(30));
+    assertEquals(2, lineGeometry.getLastLineStartingAtOrBefore(1000));
+  }
+
+  /**
+   * Checks that replacing lines keeps the lines before them and moves the lines after them
+   */
+  @Test
+  void replaceLinesMovesFollowingLines()
+  {
+    LineNumber firstLine = new LineNumber(1, 0, 0, 10);
+    LineGeometry lineGeometry = LineGeometry.of(new LineNumber[]{firstLine, new LineNumber(2, 0, 10, 10), new LineNumber(3, 0, 20, 15)});
+    // line 2 is replaced by two lines, so line 3 moves down by 10 pixels
+    LineGeometry replaced = lineGeometry.replaceLines(1, 1, new LineNumber[]{new LineNumber(2, 0, 10, 10), new LineNumber(3, 0, 20, 10)}, 10);
+    assertEquals(4, replaced.getLineCount());
+    assertSame(firstLine, replaced.getLineNumber(0));
+    assertEquals(30, replaced.getYCoordinate(3));
+    assertEquals(15, replaced.getHeight(3));
+    assertEquals("4", replaced.getLineNumber(3).getNumber());
+  }
+}
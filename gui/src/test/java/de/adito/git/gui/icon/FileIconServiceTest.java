@@ -0,0 +1,219 @@
+package de.adito.git.gui.icon;
+
+import de.adito.git.api.IFileSystemUtil;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.*;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link FileIconService}.
+ *
+ * @author agent, 19.10.2026
+ */
+class FileIconServiceTest
+{
+
+  private Path tempDir;
+  private List<File> loadedFiles;
+  private Map<File, String> mimeTypes;
+  private List<Runnable> submittedTasks;
+  private FileIconService iconService;
+
+  @BeforeEach
+  void setUp(@TempDir Path pTempDir)
+  {
+    tempDir = pTempDir;
+    loadedFiles = new ArrayList<>();
+    mimeTypes = new HashMap<>();
+    submittedTasks = new ArrayList<>();
+    iconService = new FileIconService(new _FileSystemUtil(), submittedTasks::add);
+  }
+
+  /**
+   * Checks that all files of the same type share one icon, that is only loaded once by a single task, and that the callback is only called once
+   */
+  @Test
+  void iconLoadedOncePerType() throws Exception
+  {
+    AtomicInteger callbackCount = new AtomicInteger();
+    Runnable callback = callbackCount::incrementAndGet;
+    for (int index = 0; index < 5000; index++)
+    {
+      assertNull(iconService.getIcon(new File("src/File" + index + ".java"), false, false, callback));
+    }
+    assertEquals(1, submittedTasks.size());
+
+    _runSubmittedTasks();
+    assertEquals(List.of(new File("src/File0.java")), loadedFiles);
+    assertEquals(1, callbackCount.get());
+    assertNotNull(iconService.getIcon(new File("src/File1.java"), false, false, callback));
+    assertTrue(submittedTasks.isEmpty());
+
+    // the type of a new file has to be determined first, but its icon is shared
+    assertNull(iconService.getIcon(new File("other/Other.JAVA"), false, false, callback));
+    _runSubmittedTasks();
+    assertNotNull(iconService.getIcon(new File("other/Other.JAVA"), false, false, callback));
+    assertEquals(List.of(new File("src/File0.java")), loadedFiles);
+  }
+
+  /**
+   * Checks that files with different extensions, folders and expanded states have their own icons, and that they are loaded by one task
+   */
+  @Test
+  void differentTypesLoadedInOneBatch() throws Exception
+  {
+    Runnable callback = () -> {
+    };
+    iconService.preLoadIcons(List.of(new File("a.txt"), new File("b.xml"), new File("c.txt")));
+    iconService.getIcon(new File("folder"), true, false, callback);
+    iconService.getIcon(new File("folder"), true, true, callback);
+    iconService.getIcon(new File(".gitignore"), false, false, callback);
+    assertEquals(1, submittedTasks.size());
+
+    _runSubmittedTasks();
+    assertEquals(5, loadedFiles.size());
+    assertNotNull(iconService.getIcon(new File("c.txt"), false, false, callback));
+    assertNotNull(iconService.getIcon(new File("other"), true, true, callback));
+    assertNull(iconService.getIcon(new File("other.gitignore"), false, false, callback));
+  }
+
+  /**
+   * Checks that existing and deleted files, and files with different MIME types, do not share their icons even if they have the same extension, and that
+   * preloading a changed file determines its type again
+   */
+  @Test
+  void existenceAndMimeTypeSeparateIcons() throws Exception
+  {
+    Runnable callback = () -> {
+    };
+    File existing = Files.createFile(tempDir.resolve("existing.txt")).toFile();
+    File deleted = tempDir.resolve("deleted.txt").toFile();
+    File process = tempDir.resolve("process.aod").toFile();
+    File entity = tempDir.resolve("entity.aod").toFile();
+    mimeTypes.put(process, "text/x-process");
+    mimeTypes.put(entity, "text/x-entity");
+    iconService.preLoadIcons(List.of(existing, deleted, process, entity));
+    _runSubmittedTasks();
+    assertEquals(List.of(existing, deleted, process, entity), loadedFiles);
+
+    Files.delete(existing.toPath());
+    Icon existingIcon = iconService.getIcon(existing, false, false, callback);
+    assertNotNull(existingIcon);
+    iconService.preLoadIcons(List.of(existing));
+    // the last known icon is served while the type is determined again
+    assertSame(existingIcon, iconService.getIcon(existing, false, false, callback));
+    _runSubmittedTasks();
+    // the icon of deleted txt files is shared
+    assertEquals(4, loadedFiles.size());
+    assertSame(iconService.getIcon(deleted, false, false, callback), iconService.getIcon(existing, false, false, callback));
+  }
+
+  /**
+   * while a changed file is determined again, its last known icon is served, and the requester is only called back if the type actually changed
+   */
+  @Test
+  void refreshKeepsIconAndCallsBackOnlyOnChange() throws Exception
+  {
+    AtomicInteger callbackCalls = new AtomicInteger();
+    Runnable callback = callbackCalls::incrementAndGet;
+    File file = Files.createFile(tempDir.resolve("file.txt")).toFile();
+    assertNull(iconService.getIcon(file, false, false, callback));
+    _runSubmittedTasks();
+    assertEquals(1, callbackCalls.get());
+    Icon icon = iconService.getIcon(file, false, false, callback);
+    assertNotNull(icon);
+
+    // content changed, type stays the same
+    iconService.preLoadIcons(List.of(file));
+    assertSame(icon, iconService.getIcon(file, false, false, callback));
+    _runSubmittedTasks();
+    assertEquals(1, callbackCalls.get());
+    assertSame(icon, iconService.getIcon(file, false, false, callback));
+
+    // file deleted, type changes
+    Files.delete(file.toPath());
+    iconService.preLoadIcons(List.of(file));
+    assertSame(icon, iconService.getIcon(file, false, false, callback));
+    _runSubmittedTasks();
+    assertEquals(2, callbackCalls.get());
+    Icon deletedIcon = iconService.getIcon(file, false, false, callback);
+    assertNotNull(deletedIcon);
+    assertNotSame(icon, deletedIcon);
+  }
+
+  /**
+   * runs the submitted tasks and waits until the callbacks they passed to the EDT are done
+   */
+  private void _runSubmittedTasks() throws Exception
+  {
+    List<Runnable> tasks = new ArrayList<>(submittedTasks);
+    submittedTasks.clear();
+    tasks.forEach(Runnable::run);
+    SwingUtilities.invokeAndWait(() -> {
+    });
+  }
+
+  /**
+   * IFileSystemUtil that only records the files whose icon is loaded
+   */
+  private class _FileSystemUtil implements IFileSystemUtil
+  {
+    @Override
+    public void openFile(@NonNull String pAbsolutePath)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void openFile(@NonNull File pFile)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Image getIcon(@NonNull File pFile, boolean pIsOpened)
+    {
+      loadedFiles.add(pFile);
+      return new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Nullable
+    @Override
+    public String getMimeType(@NonNull File pFile)
+    {
+      return mimeTypes.get(pFile);
+    }
+
+    @NonNull
+    @Override
+    public Charset getEncoding(@NonNull File pFile)
+    {
+      return StandardCharsets.UTF_8;
+    }
+
+    @NonNull
+    @Override
+    public Charset getEncoding(byte @NonNull [] pContent)
+    {
+      return StandardCharsets.UTF_8;
+    }
+  }
+}
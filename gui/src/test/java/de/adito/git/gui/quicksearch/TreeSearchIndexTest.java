@@ -0,0 +1,105 @@
+package de.adito.git.gui.quicksearch;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link TreeSearchIndex}.
+ *
+ * @author agent, 19.10.2026
+ */
+class TreeSearchIndexTest
+{
+
+  private DefaultMutableTreeNode root;
+  private DefaultMutableTreeNode src;
+  private DefaultTreeModel model;
+  private JTree tree;
+  private TreeSearchIndex searchIndex;
+
+  @BeforeEach
+  void setUp()
+  {
+    root = new DefaultMutableTreeNode("project");
+    src = new DefaultMutableTreeNode("src");
+    src.add(new DefaultMutableTreeNode("Main.java"));
+    src.add(new DefaultMutableTreeNode("MainWindow.java"));
+    root.add(src);
+    root.add(new DefaultMutableTreeNode("domain.txt"));
+    model = new DefaultTreeModel(root);
+    tree = new JTree(model);
+    tree.expandPath(new TreePath(new Object[]{root, src}));
+    searchIndex = new TreeSearchIndex(tree);
+  }
+
+  /**
+   * Checks that the found nodes are returned in the order they are shown in the tree, independent of the case and the length of the search string
+   */
+  @Test
+  void foundInShownOrder()
+  {
+    assertEquals(List.of("Main.java", "MainWindow.java", "domain.txt"), _find("MAIN"));
+    assertEquals(List.of("Main.java", "MainWindow.java", "domain.txt"), _find("ma"));
+    assertEquals(List.of("MainWindow.java"), _find("window"));
+    assertEquals(List.of(), _find("main.xml"));
+  }
+
+  /**
+   * Checks that nodes of collapsed folders are not found
+   */
+  @Test
+  void hiddenNodesNotFound()
+  {
+    tree.collapsePath(new TreePath(new Object[]{root, src}));
+    assertEquals(List.of("domain.txt"), _find("main"));
+  }
+
+  /**
+   * Checks that the index follows inserted, removed and changed nodes of the model
+   */
+  @Test
+  void indexFollowsModel()
+  {
+    assertEquals(List.of("MainWindow.java"), _find("window"));
+
+    model.insertNodeInto(new DefaultMutableTreeNode("Window.java"), src, 0);
+    model.removeNodeFromParent((DefaultMutableTreeNode) src.getChildAt(2));
+    DefaultMutableTreeNode domain = (DefaultMutableTreeNode) root.getChildAt(1);
+    domain.setUserObject("window.txt");
+    model.nodeChanged(domain);
+
+    assertEquals(List.of("Window.java", "window.txt"), _find("window"));
+    assertEquals(List.of("Main.java"), _find("main"));
+  }
+
+  /**
+   * Checks that the index is built again if the model of the tree is exchanged
+   */
+  @Test
+  void modelExchanged()
+  {
+    assertEquals(List.of("domain.txt"), _find("domain"));
+    DefaultMutableTreeNode newRoot = new DefaultMutableTreeNode("other");
+    newRoot.add(new DefaultMutableTreeNode("domain.java"));
+    tree.setModel(new DefaultTreeModel(newRoot));
+    assertEquals(List.of("domain.java"), _find("domain"));
+  }
+
+  @NonNull
+  private List<String> _find(@NonNull String pSearchString)
+  {
+    return searchIndex.findVisibleNodes(pSearchString).stream()
+        .map(pPath -> String.valueOf(pPath.getLastPathComponent()))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,55 @@
+package de.adito.git.gui.rxjava;
+
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import lombok.NonNull;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs code in the EDT and fails if that code blocks the EDT. Blocking operators of RxJava, such as blockingFirst, fail as soon as they would have to wait
+ * for a value, other ways of blocking are caught by a timeout
+ *
+ * @author agent, 19.10.2026
+ */
+public final class EdtBlockingHarness
+{
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private EdtBlockingHarness()
+  {
+  }
+
+  /**
+   * @param pRunnable code to execute in the EDT
+   * @throws AssertionError if pRunnable blocked the EDT or threw an exception
+   */
+  public static void assertDoesNotBlockEdt(@NonNull Runnable pRunnable) throws InterruptedException
+  {
+    RxJavaPlugins.setOnBeforeBlocking(SwingUtilities::isEventDispatchThread);
+    RxJavaPlugins.setFailOnNonBlockingScheduler(true);
+    try
+    {
+      FutureTask<Void> task = new FutureTask<>(pRunnable, null);
+      SwingUtilities.invokeLater(task);
+      task.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+    catch (ExecutionException pE)
+    {
+      throw new AssertionError("Code executed in the EDT failed or tried to block the EDT", pE.getCause());
+    }
+    catch (TimeoutException pE)
+    {
+      throw new AssertionError("Code executed in the EDT did not return within " + TIMEOUT_SECONDS + " seconds", pE);
+    }
+    finally
+    {
+      RxJavaPlugins.setOnBeforeBlocking(null);
+      RxJavaPlugins.setFailOnNonBlockingScheduler(false);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package de.adito.git.gui.rxjava;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link LatestValue} and {@link EdtBlockingHarness}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LatestValueTest
+{
+
+  /**
+   * Checks that the default value is returned until the observable emits, and the latest value afterwards
+   */
+  @Test
+  void latestValueReadWithoutBlocking() throws Exception
+  {
+    BehaviorSubject<String> subject = BehaviorSubject.create();
+    LatestValue<String> latestValue = new LatestValue<>(subject);
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> assertEquals("default", latestValue.getOrDefault("default")));
+
+    subject.onNext("first");
+    subject.onNext("second");
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> assertEquals("second", latestValue.getOrDefault("default")));
+
+    latestValue.discard();
+    subject.onNext("third");
+    assertEquals("second", latestValue.getOrDefault("default"));
+    assertFalse(subject.hasObservers());
+  }
+
+  /**
+   * Checks that the harness fails if the EDT waits for an observable, but not if the observable already has a value
+   */
+  @Test
+  void harnessDetectsBlockingCall() throws Exception
+  {
+    EdtBlockingHarness.assertDoesNotBlockEdt(() -> assertEquals("value", Observable.just("value").blockingFirst()));
+    assertThrows(AssertionError.class, () -> EdtBlockingHarness.assertDoesNotBlockEdt(() -> Observable.never().blockingFirst()));
+    // outside the EDT, blocking is still allowed
+    assertEquals("value", Observable.just("value").blockingFirst());
+  }
+}
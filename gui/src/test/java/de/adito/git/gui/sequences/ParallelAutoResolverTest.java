@@ -0,0 +1,179 @@
+package de.adito.git.gui.sequences;
+
+import de.adito.git.api.data.diff.*;
+import de.adito.git.api.progress.IProgressHandle;
+import de.adito.git.impl.data.diff.EConflictType;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link ParallelAutoResolver}
+ *
+ * @author agent, 19.10.2026
+ */
+class ParallelAutoResolverTest
+{
+
+  /**
+   * Tests that exactly the files without conflicting deltas are resolved, and that they are returned in the order of the passed list even though they are
+   * finished in random order
+   */
+  @Test
+  void resolvedInListOrder()
+  {
+    List<IMergeData> mergeConflicts = new ArrayList<>();
+    List<IMergeData> expected = new ArrayList<>();
+    for (int index = 0; index < 30; index++)
+    {
+      IMergeData mergeData = _createMergeData(index % 3 == 0);
+      doAnswer(pInvocation -> {
+        TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(10));
+        return null;
+      }).when(mergeData).markConflicting(any());
+      mergeConflicts.add(mergeData);
+      if (index % 3 != 0)
+        expected.add(mergeData);
+    }
+    IProgressHandle progressHandle = mock(IProgressHandle.class);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(3);
+    List<IMergeData> resolved;
+    try
+    {
+      resolved = new ParallelAutoResolver(List::of, executorService, 4).resolve(mergeConflicts, progressHandle);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+
+    assertEquals(expected, resolved);
+    verify(progressHandle).switchToDeterminate(30);
+    verify(progressHandle).progress(30);
+  }
+
+  /**
+   * Tests that all files are processed by the calling thread if the shared threads are busy with other tasks and never start the helpers
+   */
+  @Test
+  void resolvedWithoutFreeThreads()
+  {
+    List<Runnable> neverStarted = new ArrayList<>();
+    IMergeData first = _createMergeData(false);
+    IMergeData second = _createMergeData(true);
+    IMergeData third = _createMergeData(false);
+
+    List<IMergeData> resolved = new ParallelAutoResolver(List::of, neverStarted::add, 4).resolve(List.of(first, second, third), mock(IProgressHandle.class));
+
+    assertEquals(List.of(first, third), resolved);
+    assertEquals(2, neverStarted.size());
+  }
+
+  /**
+   * Tests that the files that are not yet started are skipped after the auto-resolve is cancelled, while the file that is currently processed is finished
+   */
+  @Test
+  void cancelSkipsRemainingFiles()
+  {
+    ParallelAutoResolver resolver = new ParallelAutoResolver(List::of, Runnable::run, 1);
+    IMergeData first = _createMergeData(false);
+    doAnswer(pInvocation -> {
+      resolver.cancel();
+      return null;
+    }).when(first).markConflicting(any());
+    IMergeData second = _createMergeData(false);
+
+    List<IMergeData> resolved = resolver.resolve(List.of(first, second), mock(IProgressHandle.class));
+
+    assertTrue(resolver.isCancelled());
+    assertEquals(List.of(first), resolved);
+    verify(second, never()).markConflicting(any());
+  }
+
+  /**
+   * Tests that the changes of the resolvable files are accepted on the EDT, while the conflicts are marked on the calling thread and the helpers
+   */
+  @Test
+  void changesAcceptedOnEdt()
+  {
+    List<Boolean> acceptedOnEdt = new CopyOnWriteArrayList<>();
+    List<Boolean> markedOnEdt = new CopyOnWriteArrayList<>();
+    List<IMergeData> mergeConflicts = new ArrayList<>();
+    for (int index = 0; index < 10; index++)
+    {
+      IMergeData mergeData = _createMergeData(false);
+      IChangeDelta pendingDelta = mock(IChangeDelta.class);
+      when(pendingDelta.getChangeStatus()).thenReturn(EChangeStatus.PENDING);
+      when(pendingDelta.getConflictType()).thenReturn(EConflictType.NONE);
+      when(mergeData.getDiff(EConflictSide.YOURS).getChangeDeltas()).thenReturn(List.of(pendingDelta));
+      doAnswer(pInvocation -> markedOnEdt.add(SwingUtilities.isEventDispatchThread())).when(mergeData).markConflicting(any());
+      doAnswer(pInvocation -> acceptedOnEdt.add(SwingUtilities.isEventDispatchThread())).when(mergeData).acceptDelta(any(), any());
+      mergeConflicts.add(mergeData);
+    }
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    List<IMergeData> resolved;
+    try
+    {
+      resolved = new ParallelAutoResolver(List::of, executorService, 3).resolve(mergeConflicts, mock(IProgressHandle.class));
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+
+    assertEquals(mergeConflicts, resolved);
+    assertEquals(10, acceptedOnEdt.size());
+    assertTrue(acceptedOnEdt.stream().allMatch(pOnEdt -> pOnEdt));
+    assertEquals(10, markedOnEdt.size());
+    assertTrue(markedOnEdt.stream().noneMatch(pOnEdt -> pOnEdt));
+  }
+
+  /**
+   * @param pConflicting true if the YOURS side should contain a conflicting delta
+   * @return mocked IMergeData of a small file
+   */
+  @NonNull
+  private static IMergeData _createMergeData(boolean pConflicting)
+  {
+    IMergeData mergeData = mock(IMergeData.class);
+    IFileDiff yours = _createFileDiff(pConflicting);
+    IFileDiff theirs = _createFileDiff(false);
+    when(mergeData.getDiff(EConflictSide.YOURS)).thenReturn(yours);
+    when(mergeData.getDiff(EConflictSide.THEIRS)).thenReturn(theirs);
+    when(mergeData.getFilePath()).thenReturn("file");
+    return mergeData;
+  }
+
+  /**
+   * @param pConflicting true if the diff should contain a conflicting delta
+   * @return mocked IFileDiff with an empty text
+   */
+  @NonNull
+  private static IFileDiff _createFileDiff(boolean pConflicting)
+  {
+    IFileDiff fileDiff = mock(IFileDiff.class);
+    List<IChangeDelta> changeDeltas = new ArrayList<>();
+    if (pConflicting)
+    {
+      IChangeDelta changeDelta = mock(IChangeDelta.class);
+      when(changeDelta.getConflictType()).thenReturn(EConflictType.CONFLICTING);
+      changeDeltas.add(changeDelta);
+    }
+    when(fileDiff.getText(any())).thenReturn("");
+    when(fileDiff.getChangeDeltas()).thenReturn(changeDeltas);
+    return fileDiff;
+  }
+}
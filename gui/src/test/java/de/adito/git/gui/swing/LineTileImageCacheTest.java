@@ -0,0 +1,102 @@
+package de.adito.git.gui.swing;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+/**
+ * Test class for {@link LineTileImageCache}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LineTileImageCacheTest
+{
+
+  private static final int LINE_HEIGHT = 10;
+  private static final int WIDTH = 20;
+
+  /**
+   * Checks that only the tiles of the visible area are drawn, that each tile is only drawn once and that an edit only drops the tiles at and after the edit
+   */
+  @Test
+  void tilesDrawnOnceAndDroppedAfterEdit() throws Exception
+  {
+    JTextArea textArea = new JTextArea(IntStream.range(0, 200).mapToObj(pLine -> "line " + pLine).collect(Collectors.joining("\n")));
+    List<Integer> paintedTiles = new ArrayList<>();
+    Graphics graphics = new BufferedImage(WIDTH, LINE_HEIGHT, BufferedImage.TYPE_INT_ARGB).getGraphics();
+    try (MockedStatic<TextPaneUtil> textPaneUtil = Mockito.mockStatic(TextPaneUtil.class))
+    {
+      textPaneUtil.when(() -> TextPaneUtil.getLineIndexAt(any(), anyInt()))
+          .thenAnswer(pInvocation -> Math.min(199, pInvocation.<Integer>getArgument(1) / LINE_HEIGHT));
+      textPaneUtil.when(() -> TextPaneUtil.calculateLineYPositions(any(), any(), anyInt(), anyInt()))
+          .thenAnswer(pInvocation -> _lineNumbers(pInvocation.getArgument(2), pInvocation.getArgument(3)));
+      LineTileImageCache tileCache = new LineTileImageCache(textArea, (pGraphics, pFirstLine, pLineNumbers) -> paintedTiles.add(pFirstLine));
+
+      // lines 0 to 10 are visible, with the margin that is only the first tile
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 0, WIDTH, 10 * LINE_HEIGHT));
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 0, WIDTH, 10 * LINE_HEIGHT));
+      assertEquals(List.of(0), paintedTiles);
+
+      // lines 100 to 110 are visible, with the margin that is the second and third tile
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 100 * LINE_HEIGHT, WIDTH, 10 * LINE_HEIGHT));
+      assertEquals(List.of(0, 64, 128), paintedTiles);
+
+      // edit in the second tile, the first tile is still valid
+      textArea.insert("edit", textArea.getLineStartOffset(100));
+      paintedTiles.clear();
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 0, WIDTH, 200 * LINE_HEIGHT));
+      assertEquals(List.of(64, 128, 192), paintedTiles);
+
+      tileCache.discard();
+    }
+  }
+
+  /**
+   * Checks that all tiles are drawn again after the cache was invalidated or if the width of the sidebar changes
+   */
+  @Test
+  void tilesDrawnAgainAfterInvalidate() throws Exception
+  {
+    JTextArea textArea = new JTextArea(IntStream.range(0, 10).mapToObj(pLine -> "line " + pLine).collect(Collectors.joining("\n")));
+    List<Integer> paintedTiles = new ArrayList<>();
+    Graphics graphics = new BufferedImage(WIDTH, LINE_HEIGHT, BufferedImage.TYPE_INT_ARGB).getGraphics();
+    try (MockedStatic<TextPaneUtil> textPaneUtil = Mockito.mockStatic(TextPaneUtil.class))
+    {
+      textPaneUtil.when(() -> TextPaneUtil.getLineIndexAt(any(), anyInt()))
+          .thenAnswer(pInvocation -> Math.min(9, pInvocation.<Integer>getArgument(1) / LINE_HEIGHT));
+      textPaneUtil.when(() -> TextPaneUtil.calculateLineYPositions(any(), any(), anyInt(), anyInt()))
+          .thenAnswer(pInvocation -> _lineNumbers(pInvocation.getArgument(2), pInvocation.getArgument(3)));
+      LineTileImageCache tileCache = new LineTileImageCache(textArea, (pGraphics, pFirstLine, pLineNumbers) -> paintedTiles.add(pLineNumbers.length));
+
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 0, WIDTH, 10 * LINE_HEIGHT));
+      tileCache.invalidate();
+      tileCache.paint(graphics, WIDTH, new Rectangle(0, 0, WIDTH, 10 * LINE_HEIGHT));
+      tileCache.paint(graphics, WIDTH + 1, new Rectangle(0, 0, WIDTH + 1, 10 * LINE_HEIGHT));
+      // the only tile contains all 10 lines
+      assertEquals(List.of(10, 10, 10), paintedTiles);
+
+      tileCache.discard();
+    }
+  }
+
+  @NonNull
+  private static LineNumber[] _lineNumbers(int pFirstLine, int pLastLine)
+  {
+    return IntStream.rangeClosed(pFirstLine, pLastLine)
+        .mapToObj(pLine -> new LineNumber(pLine + 1, 0, pLine * LINE_HEIGHT, LINE_HEIGHT))
+        .toArray(LineNumber[]::new);
+  }
+}
@@ -0,0 +1,134 @@
+package de.adito.git.gui.tree;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeNode;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link TreeModelBackgroundUpdater}.
+ *
+ * @author agent, 19.10.2026
+ */
+class TreeModelBackgroundUpdaterTest
+{
+
+  private static final Comparator<TreeNode> COMPARATOR = Comparator.comparing(pNode -> (String) ((DefaultMutableTreeNode) pNode).getUserObject());
+  private DefaultMutableTreeNode root;
+  private DefaultTreeModel treeModel;
+  private List<TreeModelEvent> insertEvents;
+  private List<TreeModelEvent> removeEvents;
+
+  @BeforeEach
+  void setUp()
+  {
+    root = new DefaultMutableTreeNode("root");
+    for (String name : List.of("b", "d", "f"))
+    {
+      root.add(new DefaultMutableTreeNode(name));
+    }
+    treeModel = new DefaultTreeModel(root);
+    insertEvents = new ArrayList<>();
+    removeEvents = new ArrayList<>();
+    treeModel.addTreeModelListener(new TreeModelListener()
+    {
+      @Override
+      public void treeNodesChanged(TreeModelEvent pEvent)
+      {
+        // not of interest
+      }
+
+      @Override
+      public void treeNodesInserted(TreeModelEvent pEvent)
+      {
+        insertEvents.add(pEvent);
+      }
+
+      @Override
+      public void treeNodesRemoved(TreeModelEvent pEvent)
+      {
+        removeEvents.add(pEvent);
+      }
+
+      @Override
+      public void treeStructureChanged(TreeModelEvent pEvent)
+      {
+        // not of interest
+      }
+    });
+  }
+
+  /**
+   * Checks that all nodes inserted into the same parent are inserted at their sorted position and announced in a single event
+   */
+  @Test
+  void insertionsIntoSameParentAreOneEvent()
+  {
+    List<TreeUpdate> treeUpdates = new ArrayList<>();
+    for (String name : List.of("e", "a", "g", "c"))
+    {
+      treeUpdates.add(TreeUpdate.createInsert(new DefaultMutableTreeNode(name), root, 0));
+    }
+    TreeModelBackgroundUpdater.applyUpdates(treeModel, treeUpdates, COMPARATOR);
+
+    assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), _getChildNames(root));
+    assertEquals(1, insertEvents.size());
+    assertArrayEquals(new int[]{0, 2, 4, 6}, insertEvents.get(0).getChildIndices());
+    assertSame(root, insertEvents.get(0).getTreePath().getLastPathComponent());
+  }
+
+  /**
+   * Checks that the insertion of a node and its children is announced by a single event for the topmost inserted node
+   */
+  @Test
+  void insertedSubtreeIsOneEvent()
+  {
+    DefaultMutableTreeNode newFolder = new DefaultMutableTreeNode("c");
+    List<TreeUpdate> treeUpdates = List.of(TreeUpdate.createInsert(newFolder, root, 0),
+                                           TreeUpdate.createInsert(new DefaultMutableTreeNode("z"), newFolder, 0),
+                                           TreeUpdate.createInsert(new DefaultMutableTreeNode("y"), newFolder, 0));
+    TreeModelBackgroundUpdater.applyUpdates(treeModel, treeUpdates, COMPARATOR);
+
+    assertEquals(List.of("b", "c", "d", "f"), _getChildNames(root));
+    assertEquals(List.of("y", "z"), _getChildNames(newFolder));
+    assertEquals(1, insertEvents.size());
+    assertArrayEquals(new int[]{1}, insertEvents.get(0).getChildIndices());
+  }
+
+  /**
+   * Checks that all nodes removed from the same parent are announced in a single event with the indices they had before the removal
+   */
+  @Test
+  void removalsFromSameParentAreOneEvent()
+  {
+    TreeNode lastChild = root.getChildAt(2);
+    TreeNode firstChild = root.getChildAt(0);
+    TreeModelBackgroundUpdater.applyUpdates(treeModel, List.of(TreeUpdate.createRemove((DefaultMutableTreeNode) lastChild),
+                                                               TreeUpdate.createRemove((DefaultMutableTreeNode) firstChild)), COMPARATOR);
+
+    assertEquals(List.of("d"), _getChildNames(root));
+    assertEquals(1, removeEvents.size());
+    assertArrayEquals(new int[]{0, 2}, removeEvents.get(0).getChildIndices());
+    assertArrayEquals(new Object[]{firstChild, lastChild}, removeEvents.get(0).getChildren());
+    assertTrue(insertEvents.isEmpty());
+  }
+
+  @NonNull
+  private static List<String> _getChildNames(@NonNull DefaultMutableTreeNode pNode)
+  {
+    List<String> childNames = new ArrayList<>();
+    for (TreeNode child : Collections.list(pNode.children()))
+    {
+      childNames.add((String) ((DefaultMutableTreeNode) child).getUserObject());
+    }
+    return childNames;
+  }
+}
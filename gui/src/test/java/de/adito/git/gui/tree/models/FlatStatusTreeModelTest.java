@@ -0,0 +1,110 @@
+package de.adito.git.gui.tree.models;
+
+import de.adito.git.api.data.diff.EChangeType;
+import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.gui.tree.nodes.FileChangeTypeNode;
+import de.adito.git.impl.data.FileChangeTypeImpl;
+import lombok.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link FlatStatusTreeModel}.
+ *
+ * @author agent, 19.10.2026
+ */
+class FlatStatusTreeModelTest
+{
+
+  private final File projectDirectory = new File("project").getAbsoluteFile();
+  private FlatStatusTreeModel treeModel;
+
+  @BeforeEach
+  void setUp()
+  {
+    treeModel = new FlatStatusTreeModel(projectDirectory);
+  }
+
+  @AfterEach
+  void tearDown()
+  {
+    treeModel.discard();
+  }
+
+  /**
+   * Checks that a file whose change type changed keeps its node, and that the node is announced as changed so that it is rendered with the new change type
+   */
+  @Test
+  void changedEntryFiresNodeChanged() throws Exception
+  {
+    _update(List.of(_createChange("a.txt", EChangeType.MODIFY), _createChange("b.txt", EChangeType.NEW)));
+    FileChangeTypeNode root = (FileChangeTypeNode) treeModel.getRoot();
+    FileChangeTypeNode nodeA = (FileChangeTypeNode) root.getChildAt(0);
+    List<Object> changedNodes = new ArrayList<>();
+    List<TreeModelEvent> otherEvents = new ArrayList<>();
+    treeModel.addTreeModelListener(new TreeModelListener()
+    {
+      @Override
+      public void treeNodesChanged(TreeModelEvent pEvent)
+      {
+        if (pEvent.getChildren() != null)
+          changedNodes.addAll(Arrays.asList(pEvent.getChildren()));
+      }
+
+      @Override
+      public void treeNodesInserted(TreeModelEvent pEvent)
+      {
+        otherEvents.add(pEvent);
+      }
+
+      @Override
+      public void treeNodesRemoved(TreeModelEvent pEvent)
+      {
+        otherEvents.add(pEvent);
+      }
+
+      @Override
+      public void treeStructureChanged(TreeModelEvent pEvent)
+      {
+        otherEvents.add(pEvent);
+      }
+    });
+
+    IFileChangeType deletedA = _createChange("a.txt", EChangeType.DELETE);
+    _update(List.of(deletedA, _createChange("b.txt", EChangeType.NEW)));
+
+    assertSame(nodeA, root.getChildAt(0));
+    assertEquals(List.of(deletedA), nodeA.getInfo().getMembers());
+    assertEquals(List.of(nodeA), changedNodes);
+    assertTrue(otherEvents.isEmpty());
+  }
+
+  /**
+   * passes the list to the model and waits until the update is applied in the EDT
+   */
+  private void _update(@NonNull List<IFileChangeType> pChangeList) throws Exception
+  {
+    CountDownLatch updated = new CountDownLatch(1);
+    treeModel._treeChanged(pChangeList, updated::countDown);
+    assertTrue(updated.await(5, TimeUnit.SECONDS));
+  }
+
+  @NonNull
+  private IFileChangeType _createChange(@NonNull String pPath, @NonNull EChangeType pChangeType)
+  {
+    File file = new File(projectDirectory, pPath);
+    return new FileChangeTypeImpl(file, file, pChangeType);
+  }
+}
@@ -0,0 +1,177 @@
+package de.adito.git.gui.tree.models;
+
+import de.adito.git.api.data.diff.EChangeType;
+import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.gui.tree.nodes.FileChangeTypeNode;
+import de.adito.git.impl.data.FileChangeTypeImpl;
+import lombok.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link StatusTreeModel}.
+ *
+ * @author agent, 19.10.2026
+ */
+class StatusTreeModelTest
+{
+
+  private final File projectDirectory = new File("project").getAbsoluteFile();
+  private StatusTreeModel treeModel;
+
+  @BeforeEach
+  void setUp()
+  {
+    treeModel = new StatusTreeModel(projectDirectory);
+  }
+
+  @AfterEach
+  void tearDown()
+  {
+    treeModel.discard();
+  }
+
+  /**
+   * Checks that the tree contains a node for each folder and file, with the changed files below them as members
+   */
+  @Test
+  void treeBuiltFromStatus() throws Exception
+  {
+    IFileChangeType fileA = _createChange("src/a.txt", EChangeType.MODIFY);
+    IFileChangeType fileB = _createChange("src/b.txt", EChangeType.NEW);
+    IFileChangeType readme = _createChange("docs/readme.md", EChangeType.MODIFY);
+    _update(List.of(fileB, readme, fileA));
+
+    FileChangeTypeNode root = (FileChangeTypeNode) treeModel.getRoot();
+    assertEquals(3, root.getInfo().getMembers().size());
+    assertEquals(List.of("docs", "src"), _getChildNames(root));
+    FileChangeTypeNode src = (FileChangeTypeNode) root.getChildAt(1);
+    assertEquals(List.of("a.txt", "b.txt"), _getChildNames(src));
+    assertEquals(List.of(fileB, fileA), src.getInfo().getMembers());
+  }
+
+  /**
+   * Checks that only the nodes on the paths of the changed entries are updated, and that folders without members are removed
+   */
+  @Test
+  void onlyChangedPathsUpdated() throws Exception
+  {
+    IFileChangeType fileA = _createChange("src/a.txt", EChangeType.MODIFY);
+    IFileChangeType fileB = _createChange("src/b.txt", EChangeType.NEW);
+    IFileChangeType readme = _createChange("docs/sub/readme.md", EChangeType.MODIFY);
+    IFileChangeType fileC = _createChange("other/c.txt", EChangeType.NEW);
+    _update(List.of(fileA, fileB, readme, fileC));
+    FileChangeTypeNode root = (FileChangeTypeNode) treeModel.getRoot();
+    FileChangeTypeNode src = (FileChangeTypeNode) root.getChildAt(2);
+    FileChangeTypeNode other = (FileChangeTypeNode) root.getChildAt(1);
+    List<IFileChangeType> otherMembers = other.getInfo().getMembers();
+
+    IFileChangeType deletedA = _createChange("src/a.txt", EChangeType.DELETE);
+    IFileChangeType fileD = _createChange("src/d.txt", EChangeType.NEW);
+    _update(List.of(_createChange("src/b.txt", EChangeType.NEW), _createChange("other/c.txt", EChangeType.NEW), deletedA, fileD));
+
+    assertSame(root, treeModel.getRoot());
+    assertEquals(List.of("other", "src"), _getChildNames(root));
+    assertSame(src, root.getChildAt(1));
+    assertEquals(List.of("a.txt", "b.txt", "d.txt"), _getChildNames(src));
+    assertEquals(List.of(fileB, fileD, deletedA), src.getInfo().getMembers());
+    assertEquals(List.of(deletedA), ((FileChangeTypeNode) src.getChildAt(0)).getInfo().getMembers());
+    // entries that did not change keep their instances, the nodes of unchanged paths are not touched
+    assertSame(otherMembers, other.getInfo().getMembers());
+    assertEquals(4, root.getInfo().getMembers().size());
+
+    _update(List.of());
+    assertSame(root, treeModel.getRoot());
+    assertEquals(0, root.getChildCount());
+    assertTrue(root.getInfo().getMembers().isEmpty());
+  }
+
+  /**
+   * Checks that a file whose change type changed keeps its node, and that the node is announced as changed so that it is rendered with the new change type
+   */
+  @Test
+  void changedEntryFiresNodeChanged() throws Exception
+  {
+    IFileChangeType fileA = _createChange("src/a.txt", EChangeType.MODIFY);
+    _update(List.of(fileA, _createChange("src/b.txt", EChangeType.NEW)));
+    FileChangeTypeNode src = (FileChangeTypeNode) ((FileChangeTypeNode) treeModel.getRoot()).getChildAt(0);
+    FileChangeTypeNode nodeA = (FileChangeTypeNode) src.getChildAt(0);
+    List<Object> changedNodes = new ArrayList<>();
+    treeModel.addTreeModelListener(new TreeModelListener()
+    {
+      @Override
+      public void treeNodesChanged(TreeModelEvent pEvent)
+      {
+        // the event of the root has no children
+        if (pEvent.getChildren() != null)
+          changedNodes.addAll(Arrays.asList(pEvent.getChildren()));
+      }
+
+      @Override
+      public void treeNodesInserted(TreeModelEvent pEvent)
+      {
+        fail("no node should be inserted");
+      }
+
+      @Override
+      public void treeNodesRemoved(TreeModelEvent pEvent)
+      {
+        fail("no node should be removed");
+      }
+
+      @Override
+      public void treeStructureChanged(TreeModelEvent pEvent)
+      {
+        fail("the structure should not change");
+      }
+    });
+
+    IFileChangeType deletedA = _createChange("src/a.txt", EChangeType.DELETE);
+    _update(List.of(deletedA, _createChange("src/b.txt", EChangeType.NEW)));
+
+    assertSame(nodeA, src.getChildAt(0));
+    assertEquals(List.of(deletedA), nodeA.getInfo().getMembers());
+    assertTrue(changedNodes.contains(nodeA));
+    assertTrue(changedNodes.contains(src));
+  }
+
+  /**
+   * passes the list to the model and waits until the update is applied in the EDT
+   */
+  private void _update(@NonNull List<IFileChangeType> pChangeList) throws Exception
+  {
+    CountDownLatch updated = new CountDownLatch(1);
+    treeModel._treeChanged(pChangeList, updated::countDown);
+    assertTrue(updated.await(5, TimeUnit.SECONDS));
+  }
+
+  @NonNull
+  private IFileChangeType _createChange(@NonNull String pPath, @NonNull EChangeType pChangeType)
+  {
+    File file = new File(projectDirectory, pPath);
+    return new FileChangeTypeImpl(file, file, pChangeType);
+  }
+
+  @NonNull
+  private static List<String> _getChildNames(@NonNull FileChangeTypeNode pNode)
+  {
+    List<String> childNames = new ArrayList<>();
+    for (int index = 0; index < pNode.getChildCount(); index++)
+    {
+      childNames.add(((FileChangeTypeNode) pNode.getChildAt(index)).getInfo().getNodeDescription());
+    }
+    return childNames;
+  }
+}
@@ -3,24 +3,64 @@ package de.adito.git.data.diff;
 import com.google.inject.Inject;
 import de.adito.git.impl.data.diff.ResolveOption;
 import de.adito.git.impl.data.diff.ResolveOptionsProvider;
+import lombok.NonNull;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
+ * Provides the ResolveOptions bound in the injector and the ResolveOptions registered as service, ordered by their estimated cost and, for the same cost,
+ * by their position
+ *
  * @author m.kaspera, 20.06.2022
  */
 public class ResolveOptionsProviderImpl implements ResolveOptionsProvider
 {
 
+  private static final Logger logger = Logger.getLogger(ResolveOptionsProviderImpl.class.getName());
   private final List<ResolveOption> resolveOptions;
 
   @Inject
   public ResolveOptionsProviderImpl(Set<ResolveOption> pResolveOptions)
   {
-    resolveOptions = pResolveOptions.stream().sorted(Comparator.comparingInt(ResolveOption::getPosition)).collect(Collectors.toList());
+    this(pResolveOptions, ServiceLoader.load(ResolveOption.class));
+  }
+
+  /**
+   * @param pResolveOptions        ResolveOptions bound in the injector
+   * @param pServiceResolveOptions ResolveOptions registered as service. ResolveOptions of a class that is already contained in pResolveOptions are skipped
+   */
+  ResolveOptionsProviderImpl(@NonNull Set<ResolveOption> pResolveOptions, @NonNull Iterable<ResolveOption> pServiceResolveOptions)
+  {
+    List<ResolveOption> allResolveOptions = new ArrayList<>(pResolveOptions);
+    Set<Class<?>> resolveOptionClasses = pResolveOptions.stream().map(Object::getClass).collect(Collectors.toSet());
+    try
+    {
+      Iterator<ResolveOption> serviceIterator = pServiceResolveOptions.iterator();
+      while (serviceIterator.hasNext())
+      {
+        try
+        {
+          ResolveOption resolveOption = serviceIterator.next();
+          if (resolveOptionClasses.add(resolveOption.getClass()))
+            allResolveOptions.add(resolveOption);
+        }
+        catch (ServiceConfigurationError pE)
+        {
+          // a ResolveOption that cannot be instantiated should not prevent the other ResolveOptions from being used
+          logger.log(Level.WARNING, "Git: could not load ResolveOption", pE);
+        }
+      }
+    }
+    catch (ServiceConfigurationError pE)
+    {
+      logger.log(Level.WARNING, "Git: could not read the registered ResolveOptions", pE);
+    }
+    resolveOptions = allResolveOptions.stream()
+        .sorted(Comparator.comparingInt(ResolveOption::getCostEstimate).thenComparingInt(ResolveOption::getPosition))
+        .collect(Collectors.toList());
   }
 
 
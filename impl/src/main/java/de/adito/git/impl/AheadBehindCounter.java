@@ -0,0 +1,301 @@
+package de.adito.git.impl;
+
+import de.adito.git.api.data.TrackedBranchStatus;
+import lombok.NonNull;
+import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Computes how many commits local branches are ahead and behind of the branches they track. The counts of all tracked branches that are not cached yet are
+ * computed together, in a single walk that starts at the tips of all those branches. Each commit of the walk stores which tips it can be reached from, and
+ * the walk visits the newest commits first. The walk stops as soon as every commit left to visit is reachable from either both or neither commit of every
+ * pair, so only the commits down to the merge bases of the pairs are visited, not the whole history.
+ * The used JGit version does not read the commit-graph, so the commit time takes the place of the generation number. If a commit is older than one of its
+ * parents (clock skew), a commit may be visited before it is known from which tips it can be reached. Such a commit is visited again once the set of tips
+ * grows, and its earlier contribution to the counts is corrected.
+ * The counts are cached per pair of local and remote commit id, so only the pairs whose branches moved are computed again. Only the pairs of the current
+ * branches are kept
+ *
+ * @author agent, 19.10.2026
+ */
+class AheadBehindCounter
+{
+
+  private Map<_TrackedPair, _Counts> cachedCounts = new HashMap<>();
+
+  /**
+   * Determines the ahead/behind counts of the given branch. If the counts of the branch are not cached, the counts of all local branches whose counts are not
+   * cached are computed
+   *
+   * @param pRepository Repository that the branch belongs to
+   * @param pBranchName name of the local branch, either the full name or the short name
+   * @return TrackedBranchStatus of the branch, or null if the branch does not exist or does not track an existing branch
+   * @throws IOException if the commits cannot be read
+   */
+  @Nullable
+  synchronized TrackedBranchStatus getTrackedBranchStatus(@NonNull Repository pRepository, @NonNull String pBranchName) throws IOException
+  {
+    _TrackedPair trackedPair = _getTrackedPair(pRepository, Repository.shortenRefName(pBranchName));
+    if (trackedPair == null)
+      return null;
+    _Counts counts = cachedCounts.get(trackedPair);
+    if (counts == null)
+    {
+      _countAll(pRepository, trackedPair);
+      counts = cachedCounts.get(trackedPair);
+    }
+    return new TrackedBranchStatus(trackedPair.remoteBranchName, counts.behind, counts.ahead);
+  }
+
+  /**
+   * Computes the counts of all local branches that are not cached yet. Counts of pairs that no longer exist are dropped from the cache
+   *
+   * @param pRepository   Repository whose branches should be counted
+   * @param pTrackedPair  pair that has to be contained in the cache afterwards, even if the branch is not found among the local branches anymore
+   */
+  private void _countAll(@NonNull Repository pRepository, @NonNull _TrackedPair pTrackedPair) throws IOException
+  {
+    Set<_TrackedPair> trackedPairs = new HashSet<>();
+    trackedPairs.add(pTrackedPair);
+    for (Ref ref : pRepository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS))
+    {
+      _TrackedPair trackedPair = _getTrackedPair(pRepository, Repository.shortenRefName(ref.getName()));
+      if (trackedPair != null)
+        trackedPairs.add(trackedPair);
+    }
+    Map<_TrackedPair, _Counts> counts = new HashMap<>();
+    List<_TrackedPair> missingPairs = new ArrayList<>();
+    for (_TrackedPair trackedPair : trackedPairs)
+    {
+      _Counts cached = cachedCounts.get(trackedPair);
+      if (cached == null)
+        missingPairs.add(trackedPair);
+      else
+        counts.put(trackedPair, cached);
+    }
+    counts.putAll(_count(pRepository, missingPairs));
+    cachedCounts = counts;
+  }
+
+  /**
+   * Counts the commits that are only reachable from one of the commits of each pair, in a single walk
+   *
+   * @param pRepository   Repository that contains the commits
+   * @param pTrackedPairs pairs of local and remote commits
+   * @return counts of each pair
+   * @throws IOException if the commits cannot be read
+   */
+  @NonNull
+  private Map<_TrackedPair, _Counts> _count(@NonNull Repository pRepository, @NonNull List<_TrackedPair> pTrackedPairs) throws IOException
+  {
+    Map<_TrackedPair, _Counts> counts = new HashMap<>();
+    if (pTrackedPairs.isEmpty())
+      return counts;
+    try (RevWalk revWalk = new RevWalk(pRepository))
+    {
+      // each distinct tip gets an index, the bit with that index is set for all commits reachable from the tip
+      Map<RevCommit, Integer> tipIndices = new HashMap<>();
+      int[] localIndices = new int[pTrackedPairs.size()];
+      int[] remoteIndices = new int[pTrackedPairs.size()];
+      for (int pairIndex = 0; pairIndex < pTrackedPairs.size(); pairIndex++)
+      {
+        localIndices[pairIndex] = _getTipIndex(revWalk, pTrackedPairs.get(pairIndex).localId, tipIndices);
+        remoteIndices[pairIndex] = _getTipIndex(revWalk, pTrackedPairs.get(pairIndex).remoteId, tipIndices);
+      }
+      int[] aheadCounts = new int[pTrackedPairs.size()];
+      int[] behindCounts = new int[pTrackedPairs.size()];
+      _walk(revWalk, tipIndices, localIndices, remoteIndices, aheadCounts, behindCounts);
+      for (int pairIndex = 0; pairIndex < pTrackedPairs.size(); pairIndex++)
+      {
+        counts.put(pTrackedPairs.get(pairIndex), new _Counts(aheadCounts[pairIndex], behindCounts[pairIndex]));
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Visits the commits reachable from the tips, newest commit first. A commit whose set of tips grows after it was visited is visited again, so the counts
+   * are correct even if the commit times do not match the order of the commits
+   */
+  private static void _walk(@NonNull RevWalk pRevWalk, @NonNull Map<RevCommit, Integer> pTipIndices, int @NonNull [] pLocalIndices,
+                            int @NonNull [] pRemoteIndices, int @NonNull [] pAheadCounts, int @NonNull [] pBehindCounts) throws IOException
+  {
+    Map<RevCommit, BitSet> reachableFrom = new HashMap<>();
+    // set of tips of each visited commit at the time it was last visited, needed to undo its contribution to the counts if it has to be visited again
+    Map<RevCommit, BitSet> visitedWith = new HashMap<>();
+    PriorityQueue<RevCommit> queue = new PriorityQueue<>(Comparator.comparingInt(RevCommit::getCommitTime).reversed());
+    Set<RevCommit> queued = new HashSet<>();
+    // number of queued commits that are reachable from only one commit of a pair or have to be visited again, the walk is done once there are none left
+    int pendingCommits = 0;
+    for (Map.Entry<RevCommit, Integer> tip : pTipIndices.entrySet())
+    {
+      BitSet tipBits = new BitSet();
+      tipBits.set(tip.getValue());
+      reachableFrom.put(tip.getKey(), tipBits);
+      pRevWalk.parseHeaders(tip.getKey());
+      queue.add(tip.getKey());
+      queued.add(tip.getKey());
+      if (_isRelevant(tipBits, pLocalIndices, pRemoteIndices))
+        pendingCommits++;
+    }
+    while (pendingCommits > 0)
+    {
+      RevCommit commit = queue.remove();
+      queued.remove(commit);
+      BitSet commitBits = reachableFrom.get(commit);
+      BitSet previousBits = visitedWith.put(commit, (BitSet) commitBits.clone());
+      if (previousBits != null || _isRelevant(commitBits, pLocalIndices, pRemoteIndices))
+        pendingCommits--;
+      if (previousBits != null)
+        _addToCounts(previousBits, pLocalIndices, pRemoteIndices, pAheadCounts, pBehindCounts, -1);
+      _addToCounts(commitBits, pLocalIndices, pRemoteIndices, pAheadCounts, pBehindCounts, 1);
+      for (RevCommit parent : commit.getParents())
+      {
+        BitSet parentBits = reachableFrom.get(parent);
+        if (parentBits == null)
+        {
+          pRevWalk.parseHeaders(parent);
+          reachableFrom.put(parent, (BitSet) commitBits.clone());
+          queue.add(parent);
+          queued.add(parent);
+          if (_isRelevant(commitBits, pLocalIndices, pRemoteIndices))
+            pendingCommits++;
+        }
+        else
+        {
+          BitSet mergedBits = (BitSet) parentBits.clone();
+          mergedBits.or(commitBits);
+          if (mergedBits.equals(parentBits))
+            continue;
+          boolean wasVisited = visitedWith.containsKey(parent);
+          if (queued.contains(parent))
+          {
+            boolean wasPending = wasVisited || _isRelevant(parentBits, pLocalIndices, pRemoteIndices);
+            boolean isPending = wasVisited || _isRelevant(mergedBits, pLocalIndices, pRemoteIndices);
+            if (wasPending != isPending)
+              pendingCommits += isPending ? 1 : -1;
+          }
+          else
+          {
+            // only visited commits are neither queued nor new, they have to be visited again since their set of tips changed
+            queue.add(parent);
+            queued.add(parent);
+            pendingCommits++;
+          }
+          parentBits.or(commitBits);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the contribution of a commit that is reachable from the tips in pBits to the counts of all pairs
+   *
+   * @param pSign 1 to add the contribution, -1 to remove it
+   */
+  private static void _addToCounts(@NonNull BitSet pBits, int @NonNull [] pLocalIndices, int @NonNull [] pRemoteIndices, int @NonNull [] pAheadCounts,
+                                   int @NonNull [] pBehindCounts, int pSign)
+  {
+    for (int pairIndex = 0; pairIndex < pLocalIndices.length; pairIndex++)
+    {
+      boolean fromLocal = pBits.get(pLocalIndices[pairIndex]);
+      if (fromLocal != pBits.get(pRemoteIndices[pairIndex]))
+      {
+        if (fromLocal)
+          pAheadCounts[pairIndex] += pSign;
+        else
+          pBehindCounts[pairIndex] += pSign;
+      }
+    }
+  }
+
+  /**
+   * @return true if the commit with the given bits is reachable from only one of the commits of any of the pairs
+   */
+  private static boolean _isRelevant(@NonNull BitSet pBits, int @NonNull [] pLocalIndices, int @NonNull [] pRemoteIndices)
+  {
+    for (int pairIndex = 0; pairIndex < pLocalIndices.length; pairIndex++)
+    {
+      if (pBits.get(pLocalIndices[pairIndex]) != pBits.get(pRemoteIndices[pairIndex]))
+        return true;
+    }
+    return false;
+  }
+
+  private static int _getTipIndex(@NonNull RevWalk pRevWalk, @NonNull ObjectId pId, @NonNull Map<RevCommit, Integer> pTipIndices) throws IOException
+  {
+    return pTipIndices.computeIfAbsent(pRevWalk.parseCommit(pId), pCommit -> pTipIndices.size());
+  }
+
+  /**
+   * Resolves the branch and the branch it tracks, the same way that JGit's BranchTrackingStatus does
+   *
+   * @return the pair, or null if the branch does not track a branch or one of the branches does not exist
+   */
+  @Nullable
+  private static _TrackedPair _getTrackedPair(@NonNull Repository pRepository, @NonNull String pShortBranchName) throws IOException
+  {
+    String trackingBranch = new BranchConfig(pRepository.getConfig(), pShortBranchName).getTrackingBranch();
+    if (trackingBranch == null)
+      return null;
+    Ref trackingRef = pRepository.exactRef(trackingBranch);
+    Ref localRef = pRepository.exactRef(Constants.R_HEADS + pShortBranchName);
+    if (trackingRef == null || trackingRef.getObjectId() == null || localRef == null || localRef.getObjectId() == null)
+      return null;
+    return new _TrackedPair(localRef.getObjectId(), trackingRef.getObjectId(), trackingBranch);
+  }
+
+  /**
+   * Commit id of a local branch and of the branch it tracks, the name of the tracked branch is not part of the identity
+   */
+  private static final class _TrackedPair
+  {
+    private final ObjectId localId;
+    private final ObjectId remoteId;
+    private final String remoteBranchName;
+
+    _TrackedPair(@NonNull ObjectId pLocalId, @NonNull ObjectId pRemoteId, @NonNull String pRemoteBranchName)
+    {
+      localId = pLocalId.copy();
+      remoteId = pRemoteId.copy();
+      remoteBranchName = pRemoteBranchName;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO)
+        return true;
+      if (pO == null || getClass() != pO.getClass())
+        return false;
+      _TrackedPair trackedPair = (_TrackedPair) pO;
+      return localId.equals(trackedPair.localId) && remoteId.equals(trackedPair.remoteId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(localId, remoteId);
+    }
+  }
+
+  /**
+   * Number of commits that are only reachable from the local and only reachable from the remote commit of a pair
+   */
+  private static final class _Counts
+  {
+    private final int ahead;
+    private final int behind;
+
+    _Counts(int pAhead, int pBehind)
+    {
+      ahead = pAhead;
+      behind = pBehind;
+    }
+  }
+}
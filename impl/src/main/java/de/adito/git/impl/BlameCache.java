@@ -0,0 +1,83 @@
+package de.adito.git.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.adito.git.api.data.IBlame;
+import lombok.NonNull;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the blames of the most recently used files. A blame is identified by the path of the file and the HEAD commit it was computed for, so a blame is
+ * computed at most once per file and HEAD as long as it stays in the cache. Concurrent requests for the same blame wait for the one computation
+ *
+ * @author agent, 19.10.2026
+ */
+class BlameCache
+{
+
+  private static final int MAX_CACHED_BLAMES = 32;
+  private final Logger logger = Logger.getLogger(BlameCache.class.getName());
+  private final Cache<_BlameKey, Optional<IBlame>> blames = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_BLAMES)
+      .build();
+
+  /**
+   * @param pPath        path of the file, relative to the root of the repository
+   * @param pHeadId      id of the HEAD commit that the blame is computed for
+   * @param pBlameLoader computes the blame if it is not cached. A blame that cannot be computed should be signalled by an exception, so that it is not cached
+   * @return the blame of the file, or an empty Optional if the file does not exist in HEAD or the blame could not be computed
+   */
+  @NonNull
+  Optional<IBlame> get(@NonNull String pPath, @NonNull ObjectId pHeadId, @NonNull Callable<Optional<IBlame>> pBlameLoader)
+  {
+    try
+    {
+      return blames.get(new _BlameKey(pPath, pHeadId), pBlameLoader);
+    }
+    catch (ExecutionException | UncheckedExecutionException pE)
+    {
+      logger.log(Level.SEVERE, pE, () -> "Git error during blame call");
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Key of the cache, path of the file and the HEAD commit id
+   */
+  private static final class _BlameKey
+  {
+    private final String path;
+    private final ObjectId headId;
+
+    _BlameKey(@NonNull String pPath, @NonNull ObjectId pHeadId)
+    {
+      path = pPath;
+      headId = pHeadId;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO)
+        return true;
+      if (pO == null || getClass() != pO.getClass())
+        return false;
+      _BlameKey blameKey = (_BlameKey) pO;
+      return path.equals(blameKey.path) && headId.equals(blameKey.headId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(path, headId);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package de.adito.git.impl;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.reactivex.rxjava3.core.Observable;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Detects changes to the refs of a repository and to the files that determine the state of the repository. The files that are checked are HEAD, the
+ * packed-refs, the loose refs, the config (remotes and tracked branches) and the files that mark an ongoing merge, rebase, cherry-pick, revert or bisect.
+ * The index is only checked while a merge, cherry-pick or revert is ongoing, since only then the state depends on whether conflicts are left.
+ * A file is only read again if its size or modification time changed, or if it was modified so recently that a later change could keep the same
+ * modification time. Its content is then compared via a hash, so touching a file does not count as a change
+ *
+ * @author agent, 19.10.2026
+ */
+class RefChangeDetector
+{
+
+  // coarsest resolution of the modification time among the common file systems
+  private static final long RACY_INTERVAL_MILLIS = 2500;
+  private static final String[] STATE_FILES = {"HEAD", "packed-refs", "config", "MERGE_HEAD", "CHERRY_PICK_HEAD", "REVERT_HEAD", "BISECT_LOG"};
+  private static final String[] STATE_DIRECTORIES = {"refs", "rebase-merge", "rebase-apply"};
+  private static final String[] INDEX_DEPENDENT_STATE_FILES = {"MERGE_HEAD", "CHERRY_PICK_HEAD", "REVERT_HEAD"};
+  private static final String LOCK_FILE_SUFFIX = ".lock";
+  private final Logger logger = Logger.getLogger(RefChangeDetector.class.getName());
+  private final Path gitDirectory;
+  private Map<Path, _FileState> fileStates = new HashMap<>();
+  private long version = 0;
+
+  /**
+   * @param pGitDirectory the .git directory of the repository
+   */
+  RefChangeDetector(@NonNull File pGitDirectory)
+  {
+    gitDirectory = pGitDirectory.toPath();
+  }
+
+  /**
+   * Checks the files for changes
+   *
+   * @return number that is increased each time a change is detected. Stays the same as long as nothing changed
+   */
+  synchronized long getVersion()
+  {
+    Map<Path, _FileState> currentFileStates = new HashMap<>();
+    boolean changed = false;
+    for (Path file : _getFiles())
+    {
+      _FileState oldState = fileStates.get(file);
+      _FileState currentState = _FileState.read(file, oldState);
+      if (currentState != null)
+      {
+        currentFileStates.put(file, currentState);
+        changed |= oldState == null || !oldState.hash.equals(currentState.hash);
+      }
+    }
+    changed |= !currentFileStates.keySet().equals(fileStates.keySet());
+    fileStates = currentFileStates;
+    if (changed)
+      version++;
+    return version;
+  }
+
+  /**
+   * Maps the emissions of pTrigger to the version of the refs and passes a version on only if it differs from the last one, so that each emission stands for
+   * a change of the refs or the state of the repository
+   *
+   * @param pTrigger Observable whose emissions trigger the check for changes, for example the status of the repository
+   * @return Observable that fires the current version immediately, and the new version each time a change was detected
+   */
+  @NonNull
+  Observable<Long> observeVersions(@NonNull Observable<?> pTrigger)
+  {
+    return Observable.fromCallable(this::getVersion)
+        .concatWith(pTrigger.map(pObj -> getVersion()))
+        .distinctUntilChanged();
+  }
+
+  /**
+   * @return all files that determine the refs and the state of the repository and that currently exist
+   */
+  @NonNull
+  private Iterable<Path> _getFiles()
+  {
+    Stream.Builder<Path> files = Stream.builder();
+    for (String stateFile : STATE_FILES)
+    {
+      files.add(gitDirectory.resolve(stateFile));
+    }
+    for (String stateDirectory : STATE_DIRECTORIES)
+    {
+      Path directory = gitDirectory.resolve(stateDirectory);
+      if (Files.isDirectory(directory))
+      {
+        try (Stream<Path> directoryFiles = Files.walk(directory))
+        {
+          // lock files only exist while a ref is written, the change is seen once the ref itself changes
+          directoryFiles.filter(pFile -> !pFile.getFileName().toString().endsWith(LOCK_FILE_SUFFIX))
+              .filter(Files::isRegularFile)
+              .forEach(files::add);
+        }
+        catch (IOException | UncheckedIOException pE)
+        {
+          // the directory changed while it was walked, it is walked again with the next check
+          logger.log(Level.FINE, pE, () -> "Could not list the files in " + directory);
+        }
+      }
+    }
+    for (String indexDependentStateFile : INDEX_DEPENDENT_STATE_FILES)
+    {
+      if (Files.exists(gitDirectory.resolve(indexDependentStateFile)))
+      {
+        files.add(gitDirectory.resolve("index"));
+        break;
+      }
+    }
+    return files.build()::iterator;
+  }
+
+  /**
+   * Size, modification time and hash of the content of a file
+   */
+  private static final class _FileState
+  {
+    private final long size;
+    private final long lastModified;
+    private final boolean racy;
+    private final HashCode hash;
+
+    private _FileState(long pSize, long pLastModified, boolean pRacy, @NonNull HashCode pHash)
+    {
+      size = pSize;
+      lastModified = pLastModified;
+      racy = pRacy;
+      hash = pHash;
+    }
+
+    /**
+     * @param pFile     file to read
+     * @param pOldState state of the file at the last check, null if it did not exist then
+     * @return the state of the file, pOldState if the file was not modified since. Null if the file does not exist
+     */
+    @Nullable
+    static _FileState read(@NonNull Path pFile, @Nullable _FileState pOldState)
+    {
+      try
+      {
+        BasicFileAttributes attributes = Files.readAttributes(pFile, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (pOldState != null && !pOldState.racy && pOldState.size == attributes.size() && pOldState.lastModified == lastModified)
+          return pOldState;
+        // determined before reading, so a change during the read is found with the next check
+        boolean racy = System.currentTimeMillis() - lastModified < RACY_INTERVAL_MILLIS;
+        return new _FileState(attributes.size(), lastModified, racy, Hashing.murmur3_128().hashBytes(Files.readAllBytes(pFile)));
+      }
+      catch (NoSuchFileException pE)
+      {
+        return null;
+      }
+      catch (IOException pE)
+      {
+        // the file exists but cannot be read at the moment, keep the last known content and read it again with the next check
+        return new _FileState(-1, -1, true, pOldState == null ? HashCode.fromInt(0) : pOldState.hash);
+      }
+    }
+  }
+}
@@ -12,6 +12,7 @@ import de.adito.git.api.exception.*;
 import de.adito.git.impl.dag.DAGFilterIterator;
 import de.adito.git.impl.data.TrackingRefUpdate;
 import de.adito.git.impl.data.*;
+import de.adito.git.impl.data.diff.DocumentDiffSessionImpl;
 import de.adito.git.impl.data.diff.FileContentInfoImpl;
 import de.adito.git.impl.data.diff.FileDiffHeaderImpl;
 import de.adito.git.impl.data.diff.FileDiffImpl;
@@ -77,12 +78,14 @@ public class RepositoryImpl implements IRepository
   private final Logger logger = Logger.getLogger(RepositoryImpl.class.getName());
   private final IStandAloneDiffProvider standAloneDiffProvider;
   private final Git git;
+  private final RefChangeDetector refChangeDetector;
   private final IFileSystemUtil fileSystemUtil;
   private final IFileSystemObserver fileSystemObserver;
   private final IgnoreFacadeImpl ignoreFacade = new IgnoreFacadeImpl();
   private final ObservableCache observableCache = new ObservableCache();
   private final CompositeDisposable disposables = new CompositeDisposable();
   private final TrackedBranchStatusCache trackedBranchStatusCache = new TrackedBranchStatusCacheImpl();
+  private final BlameCache blameCache = new BlameCache();
   private final IUserInputPrompt userInputPrompt;
   private final Scheduler gitStatusScheduler;
 
@@ -108,6 +111,7 @@ public class RepositoryImpl implements IRepository
     dataFactory = pDataFactory;
     standAloneDiffProvider = pStandAloneDiffProvider;
     git = new Git(FileRepositoryBuilder.create(new File(pRepositoryDescription.getPath() + File.separator + ".git")));
+    refChangeDetector = new RefChangeDetector(git.getRepository().getDirectory());
     fileSystemObserver = pFileSystemObserverProvider.getFileSystemObserver(pRepositoryDescription, ignoreFacade);
     disposables.add(Disposable.fromRunnable(fileSystemObserver::discard));
     disposables.add(Disposable.fromRunnable(ignoreFacade::discard));
@@ -147,9 +151,20 @@ public class RepositoryImpl implements IRepository
   @Override
   public Observable<Optional<IRepositoryState>> getRepositoryState()
   {
-    return observableCache.calculateParallel("getRepositoryState", () -> getStatus()
-        .map(pStatus -> RepositoryImplHelper.currentState(git, this::getBranch, trackedBranchStatusCache))
-        .startWithItem(RepositoryImplHelper.currentState(git, this::getBranch, trackedBranchStatusCache)));
+    return observableCache.calculateParallel("getRepositoryState", () -> _getRefVersions()
+        .map(pVersion -> RepositoryImplHelper.currentState(git, this::getBranch, trackedBranchStatusCache)));
+  }
+
+  /**
+   * The refs are checked once per status, and the version is shared by the repository state, the branches and the tags. The latest version is replayed,
+   * so the Observables derived from it compute their current value once they are subscribed
+   *
+   * @return Observable that fires the current version of the refs and each new version once the refs or the state of the repository changed
+   */
+  @NonNull
+  private Observable<Long> _getRefVersions()
+  {
+    return observableCache.calculateParallel("getRefVersions", () -> refChangeDetector.observeVersions(getStatus()));
   }
 
   /**
@@ -420,7 +435,7 @@ public class RepositoryImpl implements IRepository
           RevCommit forkRef = RepositoryImplHelper.findForkPoint(git, targetName, currentHeadName);
           ICommit forkCommit = forkRef == null ? CommitImpl.VOID_COMMIT : new CommitImpl(forkRef);
           return new RebaseResultImpl(RepositoryImplHelper.getMergeConflicts(git, targetName, currentHeadName, forkCommit,
-                                                                             conflictingFiles, this::diff),
+                                                                             conflictingFiles, this::_diffFiltered),
                                       RebaseResult.Status.CONFLICTS);
         }
         RebaseCommand rebaseCommand = git.rebase();
@@ -479,7 +494,7 @@ public class RepositoryImpl implements IRepository
         cherryPickCommit = getCommit(ObjectId.toString(git.getRepository().readCherryPickHead()));
         String headId = ObjectId.toString(git.getRepository().resolve(Constants.HEAD));
         mergeConflicts = RepositoryImplHelper.getMergeConflicts(git, headId, cherryPickCommit.getId(), cherryPickCommit.getParents().get(0),
-                                                                RepositoryImplHelper.status(git).getConflicting(), this::diff);
+                                                                RepositoryImplHelper.status(git).getConflicting(), this::_diffFiltered);
       }
       return new CherryPickResultImpl(cherryPickResult, cherryPickCommit, mergeConflicts);
     }
@@ -518,7 +533,7 @@ public class RepositoryImpl implements IRepository
           throw new AditoGitException("Found conflicts during the pull, but could not determine the target branch -> Can not display conflicts." +
                                           " Resolve the conflicts manually and mark them as resolved before continuing");
         }
-        return new RebaseResultImpl(RepositoryImplHelper.getMergeConflicts(git, pCurrHeadName, pTargetName, pForkPoint, conflictFilesSet, this::diff),
+        return new RebaseResultImpl(RepositoryImplHelper.getMergeConflicts(git, pCurrHeadName, pTargetName, pForkPoint, conflictFilesSet, this::_diffFiltered),
                                     pResultSupplier.get().getStatus());
       }
     }
@@ -629,6 +644,26 @@ public class RepositoryImpl implements IRepository
         .getChangeDeltas();
   }
 
+  @Override
+  @NonNull
+  public IDocumentDiffSession createDiffSession(@NonNull File pFile)
+  {
+    return new DocumentDiffSessionImpl(new DocumentDiffSessionImpl.HeadVersionProvider()
+    {
+      @Override
+      public ObjectId getHeadId() throws IOException
+      {
+        return git.getRepository().resolve(Constants.HEAD);
+      }
+
+      @Override
+      public @NonNull IFileContentInfo getFileContents(@Nullable ObjectId pHeadId) throws IOException
+      {
+        return RepositoryImpl.this.getFileContents(getFileVersion(ObjectId.toString(pHeadId), getRelativePath(pFile, git)), pFile);
+      }
+    }, () -> GitRawTextComparator.getCurrent().getValue());
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -652,6 +687,26 @@ public class RepositoryImpl implements IRepository
 
   @NonNull
   private List<IFileDiff> diff(@NonNull ICommit pOriginal, @Nullable ICommit pCompareTo, @Nullable OutputStream pWriteTo)
+  {
+    return diff(pOriginal, pCompareTo, pWriteTo, null);
+  }
+
+  /**
+   * Diffs the two commits, only taking the files matched by the given TreeFilter into account
+   *
+   * @param pOriginal   the commit whose files are the NEW side of the diff
+   * @param pCompareTo  the commit whose files are the OLD side of the diff
+   * @param pPathFilter TreeFilter that limits the diff to the matching paths, null to diff all paths
+   * @return List of IFileDiffs for the changed files that match the filter
+   */
+  @NonNull
+  private List<IFileDiff> _diffFiltered(@NonNull ICommit pOriginal, @Nullable ICommit pCompareTo, @Nullable TreeFilter pPathFilter)
+  {
+    return diff(pOriginal, pCompareTo, null, pPathFilter);
+  }
+
+  @NonNull
+  private List<IFileDiff> diff(@NonNull ICommit pOriginal, @Nullable ICommit pCompareTo, @Nullable OutputStream pWriteTo, @Nullable TreeFilter pPathFilter)
   {
     try
     {
@@ -660,7 +715,7 @@ public class RepositoryImpl implements IRepository
       File tld = getTopLevelDirectory();
       IFileContentInfo emptyContentInfo = new FileContentInfoImpl(() -> "", () -> StandardCharsets.UTF_8);
       ObjectId compareTo = pCompareTo == null || pCompareTo == CommitImpl.VOID_COMMIT ? null : ObjectId.fromString(pCompareTo.getId());
-      List<DiffEntry> listDiff = RepositoryImplHelper.doDiff(git, ObjectId.fromString(pOriginal.getId()), compareTo);
+      List<DiffEntry> listDiff = RepositoryImplHelper.doDiff(git, ObjectId.fromString(pOriginal.getId()), compareTo, pPathFilter);
 
       if (listDiff != null)
       {
@@ -672,9 +727,9 @@ public class RepositoryImpl implements IRepository
           {
             FileHeader fileHeader = formatter.toFileHeader(diff);
             IFileContentInfo oldFileContent = VOID_PATH.equals(diff.getOldPath()) || pCompareTo == null ? emptyContentInfo
-                : getFileContents(getFileVersion(pCompareTo.getId(), diff.getOldPath()));
+                : _getFileContents(getFileVersion(pCompareTo.getId(), diff.getOldPath()), new File(tld, diff.getOldPath()));
             IFileContentInfo newFileContent = VOID_PATH.equals(diff.getNewPath()) ? emptyContentInfo
-                : getFileContents(getFileVersion(pOriginal.getId(), diff.getNewPath()));
+                : _getFileContents(getFileVersion(pOriginal.getId(), diff.getNewPath()), new File(tld, diff.getNewPath()));
             listDiffImpl.add(new FileDiffImpl(new FileDiffHeaderImpl(diff, tld), fileHeader.getHunks().get(0).toEditList(),
                                               oldFileContent, newFileContent));
           }
@@ -737,13 +792,18 @@ public class RepositoryImpl implements IRepository
             || pFilesToDiff.stream().anyMatch(file -> getRelativePath(file, git).equals(diffEntry.getNewPath()))
             || pFilesToDiff.stream().anyMatch(file -> getRelativePath(file, git).equals(diffEntry.getOldPath())))
         {
-          FileHeader fileHeader = diffFormatter.toFileHeader(diffEntry);
+          File workingTreeFile = new File(getTopLevelDirectory(), diffEntry.getNewPath());
+          // big files are memory-mapped, the DiffFormatter would load both versions into the heap
+          EditList editList = RepositoryImplHelper.isMappedDiff(diffEntry, workingTreeFile)
+              ? RepositoryImplHelper.getChangedLinesMapped(git.getRepository(), diffEntry, workingTreeFile)
+              : diffFormatter.toFileHeader(diffEntry).getHunks().get(0).toEditList();
           IFileContentInfo oldFileContents = VOID_PATH.equals(diffEntry.getOldPath()) ? new FileContentInfoImpl(() -> "", () -> StandardCharsets.UTF_8)
-              : getFileContents(getFileVersion(ObjectId.toString(compareWithId), diffEntry.getOldPath()));
+              : _getFileContents(getFileVersion(ObjectId.toString(compareWithId), diffEntry.getOldPath()),
+                                 new File(getTopLevelDirectory(), diffEntry.getOldPath()));
           IFileContentInfo newFileContents = VOID_PATH.equals(diffEntry.getNewPath()) ? new FileContentInfoImpl(() -> "", () -> StandardCharsets.UTF_8)
-              : new FileContentInfoImpl(Suppliers.memoize(() -> _getFileContent(diffEntry.getNewPath())), fileSystemUtil);
-          returnList.add(new FileDiffImpl(new FileDiffHeaderImpl(diffEntry, getTopLevelDirectory()), fileHeader.getHunks().get(0).toEditList(),
-                                          oldFileContents, newFileContents));
+              : new FileContentInfoImpl(Suppliers.memoize(() -> _getFileContent(diffEntry.getNewPath())), new File(getTopLevelDirectory(), diffEntry.getNewPath()),
+                                        fileSystemUtil);
+          returnList.add(new FileDiffImpl(new FileDiffHeaderImpl(diffEntry, getTopLevelDirectory()), editList, oldFileContents, newFileContents));
         }
       }
       return returnList;
@@ -792,7 +852,7 @@ public class RepositoryImpl implements IRepository
   public IFileContentInfo getFileContents(String pIdentifier, File pFile) throws IOException
   {
     ObjectLoader loader = git.getRepository().open(ObjectId.fromString(pIdentifier));
-    return new FileContentInfoImpl(Suppliers.memoize(loader::getBytes), fileSystemUtil);
+    return new FileContentInfoImpl(Suppliers.memoize(loader::getBytes), pFile, fileSystemUtil);
   }
 
   /**
@@ -800,6 +860,19 @@ public class RepositoryImpl implements IRepository
    */
   @Override
   public IFileContentInfo getFileContents(String pIdentifier)
+  {
+    return _getFileContents(pIdentifier, null);
+  }
+
+  /**
+   * Lazily loads the contents of the given version of a file
+   *
+   * @param pIdentifier String identifying the specific version of the file
+   * @param pFile       the file whose contents should be retrieved, used to determine the encoding. Null if unknown
+   * @return the contents of the requested file as IFileContentInfo
+   */
+  @NonNull
+  private IFileContentInfo _getFileContents(@NonNull String pIdentifier, @Nullable File pFile)
   {
     Supplier<byte[]> byteSup = Suppliers.memoize(() -> {
       ObjectLoader loader;
@@ -815,7 +888,7 @@ public class RepositoryImpl implements IRepository
       return loader.getBytes();
     });
 
-    return new FileContentInfoImpl(byteSup, fileSystemUtil);
+    return new FileContentInfoImpl(byteSup, pFile, fileSystemUtil);
   }
 
   /**
@@ -1096,20 +1169,29 @@ public class RepositoryImpl implements IRepository
   @NonNull
   public Optional<IBlame> getBlame(@NonNull File pFile)
   {
-    BlameCommand blameCommand = git
-        .blame()
-        .setFilePath(getRelativePath(pFile, git))
-        .setTextComparator(RawTextComparator.WS_IGNORE_TRAILING);
+    String relativePath = getRelativePath(pFile, git);
+    ObjectId headId;
     try
     {
-      BlameResult blameResult = blameCommand.call();
-      return Optional.of(new BlameImpl(blameResult));
+      headId = git.getRepository().resolve(Constants.HEAD);
     }
-    catch (GitAPIException pE)
+    catch (IOException pE)
     {
       logger.log(Level.SEVERE, pE, () -> "Git error during blame call");
-    }
-    return Optional.empty();
+      return Optional.empty();
+    }
+    if (headId == null)
+      return Optional.empty();
+    return blameCache.get(relativePath, headId, () -> {
+      BlameResult blameResult = git
+          .blame()
+          .setFilePath(relativePath)
+          .setStartCommit(headId)
+          .setTextComparator(RawTextComparator.WS_IGNORE_TRAILING)
+          .call();
+      // the result is null if the file does not exist in HEAD
+      return Optional.ofNullable(blameResult).map(BlameImpl::new);
+    });
   }
 
   /**
@@ -1217,7 +1299,7 @@ public class RepositoryImpl implements IRepository
             throw new AmbiguousStashCommitsException("num stashed commits: " + stashedCommits.size());
           else if (!stashedCommits.isEmpty())
           {
-            List<IMergeData> conflicts = RepositoryImplHelper.getStashConflictMerge(git, conflictingFiles, stashedCommits.get(0).getId(), this::diff);
+            List<IMergeData> conflicts = RepositoryImplHelper.getStashConflictMerge(git, conflictingFiles, stashedCommits.get(0).getId(), this::_diffFiltered);
             return new MergeDetailsImpl(conflicts, currentBranchId, conflictingBranchId);
           }
           else throw new AditoGitException("Conflict from failed un-stashing, but no more stashed commits exist");
@@ -1226,14 +1308,14 @@ public class RepositoryImpl implements IRepository
         {
           List<IMergeData> mergeConflicts = RepositoryImplHelper.getMergeConflicts(git, currentBranchId, conflictingBranchId,
                                                                                    getCommit(conflictingBranchId).getParents().get(0),
-                                                                                   conflictingFiles, this::diff);
+                                                                                   conflictingFiles, this::_diffFiltered);
           return new MergeDetailsImpl(mergeConflicts, currentBranchId, conflictingBranchId);
         }
         RevCommit forkPointRef = RepositoryImplHelper.findForkPoint(git, currentBranchId, conflictingBranchId);
         ICommit forkPointCommit = forkPointRef == null ? CommitImpl.VOID_COMMIT : new CommitImpl(forkPointRef);
         List<IMergeData> mergeConflicts = RepositoryImplHelper.getMergeConflicts(git, currentBranchId, conflictingBranchId,
                                                                                  forkPointCommit,
-                                                                                 conflictingFiles, this::diff);
+                                                                                 conflictingFiles, this::_diffFiltered);
         return new MergeDetailsImpl(mergeConflicts, currentBranchId, conflictingBranchId);
       }
       return new MergeDetailsImpl(Collections.emptyList(), "HEAD", "UNKNOWN");
@@ -1269,7 +1351,7 @@ public class RepositoryImpl implements IRepository
     Set<String> conflictingFiles = getStatus().blockingFirst().map(IFileStatus::getConflicting).orElse(Collections.emptySet());
     try
     {
-      return new MergeDetailsImpl(RepositoryImplHelper.getStashConflictMerge(git, conflictingFiles, pStashedCommitId, this::diff), "HEAD", pStashedCommitId);
+      return new MergeDetailsImpl(RepositoryImplHelper.getStashConflictMerge(git, conflictingFiles, pStashedCommitId, this::_diffFiltered), "HEAD", pStashedCommitId);
     }
     catch (IOException pE)
     {
@@ -1300,7 +1382,7 @@ public class RepositoryImpl implements IRepository
         RevCommit forkCommit = RepositoryImplHelper.findForkPoint(git, parentID, toMergeID);
         return RepositoryImplHelper.getMergeConflicts(git, parentID, toMergeID, forkCommit == null ? CommitImpl.VOID_COMMIT : new CommitImpl(forkCommit),
                                                       getStatus().blockingFirst().map(IFileStatus::getConflicting).orElse(Collections.emptySet()),
-                                                      this::diff);
+                                                      this::_diffFiltered);
       }
       // only checkout the parent branch if the current branch is some other branch
       if (!getRepositoryState().blockingFirst(Optional.empty()).map(pRepoState -> pRepoState.getCurrentBranch().equals(pParentBranch)).orElse(false))
@@ -1343,7 +1425,7 @@ public class RepositoryImpl implements IRepository
           }
           logger.log(Level.INFO, () -> String.format("base commit for merge: %s", mergeBase));
           mergeConflicts = RepositoryImplHelper.getMergeConflicts(git, parentID, toMergeID, mergeBase == null ? CommitImpl.VOID_COMMIT : new CommitImpl(mergeBase),
-                                                                  mergeResult.getConflicts().keySet(), this::diff);
+                                                                  mergeResult.getConflicts().keySet(), this::_diffFiltered);
         }
       }
       catch (GitAPIException e)
@@ -1551,9 +1633,8 @@ public class RepositoryImpl implements IRepository
   @Override
   public Observable<Optional<List<IBranch>>> getBranches()
   {
-    return observableCache.calculateParallel("getBranches", () -> getStatus()
-        .map(pStatus -> Optional.of(RepositoryImplHelper.branchList(git, trackedBranchStatusCache)))
-        .startWithItem(Optional.of(RepositoryImplHelper.branchList(git, trackedBranchStatusCache))));
+    return observableCache.calculateParallel("getBranches", () -> _getRefVersions()
+        .map(pVersion -> Optional.of(RepositoryImplHelper.branchList(git, trackedBranchStatusCache))));
   }
 
   @Override
@@ -1593,8 +1674,8 @@ public class RepositoryImpl implements IRepository
   @Override
   public Observable<List<ITag>> getTags()
   {
-    return observableCache.calculateParallel("getTags", () -> getStatus()
-        .map(pStatus -> git.tagList().call().stream().map(TagImpl::new).collect(Collectors.<ITag>toList()))
+    return observableCache.calculateParallel("getTags", () -> _getRefVersions()
+        .map(pVersion -> git.tagList().call().stream().map(TagImpl::new).collect(Collectors.<ITag>toList()))
         .distinctUntilChanged()
         .startWithItem(List.<ITag>of()));
   }
@@ -1662,7 +1743,7 @@ public class RepositoryImpl implements IRepository
         try
         {
           List<IMergeData> stashConflicts = RepositoryImplHelper.getStashConflictMerge(git, RepositoryImplHelper.status(git).getConflicting(),
-                                                                                       pStashCommitId, this::diff);
+                                                                                       pStashCommitId, this::_diffFiltered);
           if (stashConflicts.isEmpty())
             throw new AditoGitException("Could not determine conflicting files, commit or undo your changes before trying the unstash again", pStashApplyFailureEx);
           else return stashConflicts;
@@ -1811,26 +1892,38 @@ public class RepositoryImpl implements IRepository
   }
 
   /**
-   * Impementation of the TrackedBranchStatusCache, calculates the ahead/behind commits with the help of BranchTrackingStatus
+   * Impementation of the TrackedBranchStatusCache, calculates the ahead/behind commits of all tracked branches at once with the help of the
+   * AheadBehindCounter. Falls back to BranchTrackingStatus for a single branch if the commits of the other branches cannot be read
    */
   private class TrackedBranchStatusCacheImpl extends TrackedBranchStatusCache
   {
 
+    private final AheadBehindCounter aheadBehindCounter = new AheadBehindCounter();
+
     @Override
     @NonNull
     public TrackedBranchStatus getTrackedBranchStatus(@NonNull IBranch pBranch)
     {
+      if (pBranch.getType() != EBranchType.LOCAL)
+        return TrackedBranchStatus.NONE;
+      try
+      {
+        TrackedBranchStatus trackedBranchStatus = aheadBehindCounter.getTrackedBranchStatus(git.getRepository(), pBranch.getName());
+        return trackedBranchStatus == null ? TrackedBranchStatus.NONE : trackedBranchStatus;
+      }
+      catch (IOException pE)
+      {
+        logger.log(Level.INFO, pE, () -> "Exception while trying to get the ahead/behind count of all tracked branches, counting " + pBranch.getName()
+            + " on its own");
+      }
       BranchTrackingStatus trackingStatus = null;
-      if (pBranch.getType() == EBranchType.LOCAL)
+      try
       {
-        try
-        {
-          trackingStatus = BranchTrackingStatus.of(git.getRepository(), pBranch.getName());
-        }
-        catch (IOException pE)
-        {
-          logger.log(Level.INFO, pE, () -> "Exception while trying to get the ahead/behind count of branch " + pBranch.getName());
-        }
+        trackingStatus = BranchTrackingStatus.of(git.getRepository(), pBranch.getName());
+      }
+      catch (IOException pE)
+      {
+        logger.log(Level.INFO, pE, () -> "Exception while trying to get the ahead/behind count of branch " + pBranch.getName());
       }
       return trackingStatus == null ? TrackedBranchStatus.NONE : new TrackedBranchStatus(trackingStatus.getRemoteTrackingBranch(),
                                                                                          trackingStatus.getBehindCount(), trackingStatus.getAheadCount());
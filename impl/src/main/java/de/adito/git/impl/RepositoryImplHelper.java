@@ -2,6 +2,7 @@ package de.adito.git.impl;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterators;
+import de.adito.git.api.IRepository;
 import de.adito.git.api.TrackedBranchStatusCache;
 import de.adito.git.api.data.*;
 import de.adito.git.api.data.diff.*;
@@ -10,7 +11,9 @@ import de.adito.git.impl.dag.DAGFilterIterator;
 import de.adito.git.impl.data.*;
 import de.adito.git.impl.data.diff.FileContentInfoImpl;
 import de.adito.git.impl.data.diff.FileDiffImpl;
+import de.adito.git.impl.data.diff.MappedFileDiff;
 import de.adito.git.impl.data.diff.MergeDataImpl;
+import de.adito.git.impl.data.diff.ThreeWayMerge;
 import de.adito.git.impl.revfilters.StashCommitFilter;
 import de.adito.git.impl.util.GitRawTextComparator;
 import lombok.NonNull;
@@ -24,12 +27,17 @@ import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.treewalk.AbstractTreeIterator;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.util.io.NullOutputStream;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -45,6 +53,13 @@ import static de.adito.git.impl.Util.getRelativePath;
 public class RepositoryImplHelper
 {
 
+  /**
+   * Files of the working tree that are bigger than this are diffed with the MappedFileDiff. The DiffFormatter loads both versions of a file completely, and
+   * treats files above its binary threshold of 50 MB as binary
+   */
+  @VisibleForTesting
+  static final long MAPPED_DIFF_THRESHOLD_BYTES = 10L * 1024 * 1024;
+
   private RepositoryImplHelper()
   {
   }
@@ -84,6 +99,20 @@ public class RepositoryImplHelper
    * @throws AditoGitException if JGit encountered an error condition
    */
   static List<DiffEntry> doDiff(@NonNull Git pGit, @NonNull ObjectId pCurrentId, @Nullable ObjectId pCompareToId) throws AditoGitException
+  {
+    return doDiff(pGit, pCurrentId, pCompareToId, null);
+  }
+
+  /**
+   * @param pGit         Git object to call for retrieving commits/objects/info about the repository status
+   * @param pCurrentId   Id of the current branch/commit/file
+   * @param pCompareToId Id of the branch/commit/file to be compared with the current one
+   * @param pPathFilter  TreeFilter that limits the diff to the matching paths, null to diff all paths. Renames are only detected if both paths match
+   * @return List<DiffEntry> with the DiffEntrys that make the difference between the two commits/branches/files
+   * @throws AditoGitException if JGit encountered an error condition
+   */
+  static List<DiffEntry> doDiff(@NonNull Git pGit, @NonNull ObjectId pCurrentId, @Nullable ObjectId pCompareToId, @Nullable TreeFilter pPathFilter)
+      throws AditoGitException
   {
     try
     {
@@ -97,6 +126,8 @@ public class RepositoryImplHelper
       df.setRepository(pGit.getRepository());
       df.setDetectRenames(true);
       df.setDiffComparator(GitRawTextComparator.getCurrent().getValue());
+      if (pPathFilter != null)
+        df.setPathFilter(pPathFilter);
       return df.scan(oldTreeIter, newTreeIter);
     }
     catch (IOException pE)
@@ -105,6 +136,58 @@ public class RepositoryImplHelper
     }
   }
 
+  /**
+   * @param pDiffEntry       DiffEntry of a file of the working tree
+   * @param pWorkingTreeFile the file in the working tree
+   * @return true if the file is a text file that is big enough to be diffed by getChangedLinesMapped instead of the DiffFormatter
+   * @throws IOException if the start of the file cannot be read
+   */
+  static boolean isMappedDiff(@NonNull DiffEntry pDiffEntry, @NonNull File pWorkingTreeFile) throws IOException
+  {
+    if (pDiffEntry.getChangeType() == DiffEntry.ChangeType.DELETE || pWorkingTreeFile.length() <= MAPPED_DIFF_THRESHOLD_BYTES)
+      return false;
+    try (InputStream inputStream = Files.newInputStream(pWorkingTreeFile.toPath()))
+    {
+      // only reads the first few kilobytes, the same check the DiffFormatter uses to detect binary files
+      return !RawText.isBinary(inputStream);
+    }
+  }
+
+  /**
+   * Calculates the changed lines of a file of the working tree with the MappedFileDiff. The version of the file in the repository is streamed to a temporary
+   * file, so both versions are memory-mapped and neither is loaded into the heap. Unlike the DiffFormatter, this always ignores trailing whitespace
+   *
+   * @param pRepository      repository that contains the compared version of the file
+   * @param pDiffEntry       DiffEntry of the file, its old id denotes the compared version
+   * @param pWorkingTreeFile the file in the working tree
+   * @return EditList with the changed lines between the version in the repository and the one in the working tree
+   * @throws IOException if one of the versions cannot be read or mapped
+   */
+  @NonNull
+  static EditList getChangedLinesMapped(@NonNull Repository pRepository, @NonNull DiffEntry pDiffEntry, @NonNull File pWorkingTreeFile) throws IOException
+  {
+    Path originalVersion = Files.createTempFile("git-diff", ".tmp");
+    try
+    {
+      if (pDiffEntry.getChangeType() != DiffEntry.ChangeType.ADD)
+      {
+        try (OutputStream outputStream = Files.newOutputStream(originalVersion))
+        {
+          pRepository.open(pDiffEntry.getOldId().toObjectId(), Constants.OBJ_BLOB).copyTo(outputStream);
+        }
+      }
+      // the temporary file can only be deleted on Windows once it is unmapped
+      try (MappedFileDiff mappedFileDiff = MappedFileDiff.diff(originalVersion, pWorkingTreeFile.toPath()))
+      {
+        return mappedFileDiff.getEditList();
+      }
+    }
+    finally
+    {
+      Files.deleteIfExists(originalVersion);
+    }
+  }
+
   static List<IBranch> branchList(@NonNull Git pGit, @NonNull TrackedBranchStatusCache pTrackedBranchStatusCache)
   {
     ListBranchCommand listBranchCommand = pGit.branchList().setListMode(ListBranchCommand.ListMode.ALL);
@@ -223,14 +306,14 @@ public class RepositoryImplHelper
    * @param pGit           Git object to call for retrieving commits/objects/info about the repository status
    * @param pConflicts     Strings of files that are in conflict
    * @param pStashCommitId id of the stashed commit that had a conflict
-   * @param pDiffFn        BiFunction for diffing two commits
+   * @param pDiffFn        function for diffing two commits, limited to the paths of the conflicting files
    * @return List of IMergeData with the diffs of merge-base to the two heads
    * @throws IOException       JGit exception
    * @throws AditoGitException if no commit fitting the ID can be found
    */
   @NonNull
   static List<IMergeData> getStashConflictMerge(@NonNull Git pGit, @NonNull Set<String> pConflicts, String pStashCommitId,
-                                                @NonNull BiFunction<ICommit, ICommit, List<IFileDiff>> pDiffFn)
+                                                @NonNull IPathFilteredDiffFunction pDiffFn)
       throws IOException, AditoGitException
   {
     RevCommit toUnstash = getStashedCommit(pGit, pStashCommitId);
@@ -242,20 +325,19 @@ public class RepositoryImplHelper
     List<IMergeData> mergeConflicts = new ArrayList<>();
     ICommit stashCommit = new CommitImpl(toUnstash);
     ICommit parentBranchCommit = new CommitImpl(headCommit);
-    List<IFileDiff> parentDiffList = pDiffFn.apply(parentBranchCommit, new CommitImpl(mergeBase));
-    List<IFileDiff> toMergeDiffList = pDiffFn.apply(stashCommit, new CommitImpl(mergeBase));
+    // may be empty, because JGit unstash doesn't apply changes if a conflict arises during unstashing. Diff all files then
+    TreeFilter conflictFilter = pConflicts.isEmpty() ? null : PathFilterGroup.createFromStrings(pConflicts);
+    List<IFileDiff> parentDiffList = pDiffFn.diff(parentBranchCommit, new CommitImpl(mergeBase), conflictFilter);
+    Map<String, IFileDiff> toMergeDiffs = new HashMap<>();
+    for (IFileDiff toMergeDiff : pDiffFn.diff(stashCommit, new CommitImpl(mergeBase), conflictFilter))
+      toMergeDiffs.putIfAbsent(toMergeDiff.getFileHeader().getFilePath(), toMergeDiff);
     for (IFileDiff parentDiff : parentDiffList)
     {
-      // may be empty, because JGit unstash doesn't apply changes if a conflict arises during unstashing. Ignore conflicting file status then
       if (pConflicts.isEmpty() || pConflicts.contains(parentDiff.getFileHeader().getFilePath()))
       {
-        for (IFileDiff toMergeDiff : toMergeDiffList)
-        {
-          if (toMergeDiff.getFileHeader().getFilePath().equals(parentDiff.getFileHeader().getFilePath()))
-          {
-            mergeConflicts.add(_createMergeData(parentDiff, toMergeDiff));
-          }
-        }
+        IFileDiff toMergeDiff = toMergeDiffs.get(parentDiff.getFileHeader().getFilePath());
+        if (toMergeDiff != null)
+          mergeConflicts.add(_createMergeData(parentDiff, toMergeDiff));
       }
     }
     return mergeConflicts;
@@ -341,14 +423,17 @@ public class RepositoryImplHelper
    * @param pBranchToMerge Identifier for the branch that should be merged into the current one
    * @param pForkCommit    the commit where the branches of the two commits diverged
    * @param pConflicts     Set of Strings (filePaths) that give the files with conflicts that occurred during the merge
+   * @param pDiffFunction  function for diffing two commits, limited to the paths of the conflicting files
    * @return List<IMergeData> describing the changes from the fork commit to each branch
    * @throws AditoGitException if JGit encountered an error condition
    */
   @NonNull
   static List<IMergeData> getMergeConflicts(@NonNull Git pGit, @NonNull String pCurrentBranch, @NonNull String pBranchToMerge,
                                             @NonNull ICommit pForkCommit, @NonNull Set<String> pConflicts,
-                                            @NonNull BiFunction<ICommit, ICommit, List<IFileDiff>> pDiffFunction) throws AditoGitException
+                                            @NonNull IPathFilteredDiffFunction pDiffFunction) throws AditoGitException
   {
+    if (pConflicts.isEmpty())
+      return new ArrayList<>();
     List<IMergeData> mergeConflicts = new ArrayList<>();
     ICommit parentBranchCommit;
     ICommit toMergeCommit;
@@ -361,26 +446,68 @@ public class RepositoryImplHelper
     {
       throw new AditoGitException(e);
     }
-    List<IFileDiff> parentDiffList = pDiffFunction.apply(parentBranchCommit, pForkCommit);
-    List<IFileDiff> toMergeDiffList = pDiffFunction.apply(toMergeCommit, pForkCommit);
+    // only the conflicting files are diffed, the rest of the trees does not matter for the merge data
+    TreeFilter conflictFilter = PathFilterGroup.createFromStrings(pConflicts);
+    List<IFileDiff> parentDiffList = pDiffFunction.diff(parentBranchCommit, pForkCommit, conflictFilter);
+    Map<String, IFileDiff> toMergeDiffs = _indexByPath(pDiffFunction.diff(toMergeCommit, pForkCommit, conflictFilter));
     for (IFileDiff parentDiff : parentDiffList)
     {
       if (parentDiff.getFileHeader().getChangeType() != EChangeType.COPY && pConflicts
           .stream()
           .anyMatch(pConflictFile -> IFileDiff.isSameFile(pConflictFile, parentDiff)))
       {
-        for (IFileDiff toMergeDiff : toMergeDiffList)
+        for (IFileDiff toMergeDiff : _getDiffsOfSameFile(parentDiff, toMergeDiffs))
         {
-          if (toMergeDiff.getFileHeader().getChangeType() != EChangeType.COPY && IFileDiff.isSameFile(toMergeDiff, parentDiff))
-          {
-            mergeConflicts.add(_createMergeData(parentDiff, toMergeDiff));
-          }
+          mergeConflicts.add(_createMergeData(parentDiff, toMergeDiff));
         }
       }
     }
     return mergeConflicts;
   }
 
+  /**
+   * Indexes the IFileDiffs by their old and new path, except for the VOID_PATH. Copies are left out
+   *
+   * @param pFileDiffs IFileDiffs to index
+   * @return Map with the old and new paths of the IFileDiffs as keys. If several IFileDiffs have the same path, the first one is kept
+   */
+  @NonNull
+  private static Map<String, IFileDiff> _indexByPath(@NonNull List<IFileDiff> pFileDiffs)
+  {
+    Map<String, IFileDiff> fileDiffsByPath = new HashMap<>();
+    for (IFileDiff fileDiff : pFileDiffs)
+    {
+      if (fileDiff.getFileHeader().getChangeType() == EChangeType.COPY)
+        continue;
+      for (EChangeSide changeSide : EChangeSide.values())
+      {
+        String path = fileDiff.getFileHeader().getFilePath(changeSide);
+        if (!IRepository.VOID_PATH.equals(path))
+          fileDiffsByPath.putIfAbsent(path, fileDiff);
+      }
+    }
+    return fileDiffsByPath;
+  }
+
+  /**
+   * @param pFileDiff        IFileDiff for which the IFileDiffs of the same file should be found
+   * @param pFileDiffsByPath IFileDiffs indexed by their paths, as created by _indexByPath
+   * @return IFileDiffs that reference the same file as pFileDiff, see IFileDiff.isSameFile
+   */
+  @NonNull
+  private static List<IFileDiff> _getDiffsOfSameFile(@NonNull IFileDiff pFileDiff, @NonNull Map<String, IFileDiff> pFileDiffsByPath)
+  {
+    List<IFileDiff> sameFileDiffs = new ArrayList<>(2);
+    for (EChangeSide changeSide : EChangeSide.values())
+    {
+      String path = pFileDiff.getFileHeader().getFilePath(changeSide);
+      IFileDiff sameFileDiff = IRepository.VOID_PATH.equals(path) ? null : pFileDiffsByPath.get(path);
+      if (sameFileDiff != null && !sameFileDiffs.contains(sameFileDiff))
+        sameFileDiffs.add(sameFileDiff);
+    }
+    return sameFileDiffs;
+  }
+
   /**
    * Takes the editLists of the two given IFileDiffs and combines them such that two conflicting deltas reference the same lines in the fork-point version
    *
@@ -442,10 +569,12 @@ public class RepositoryImplHelper
         artificalOldVersion.append(lines.get(index)).append("\n");
     }
     String artificialOldVersionStr = artificalOldVersion.delete(Math.max(0, artificalOldVersion.length() - 1), artificalOldVersion.length()).toString();
-    EditList parentEditList = StandAloneDiffProviderImpl.getChangedLines(artificialOldVersionStr,
-                                                                         pParentDiff.getFileContentInfo(EChangeSide.NEW).getFileContent().get());
-    EditList toMergeEditList = StandAloneDiffProviderImpl.getChangedLines(artificialOldVersionStr,
-                                                                          pToMergeDiff.getFileContentInfo(EChangeSide.NEW).getFileContent().get());
+    // the artificial OLD version is read and hashed only once for both diffs
+    ThreeWayMerge threeWayMerge = new ThreeWayMerge(RawTextComparator.WS_IGNORE_TRAILING, artificialOldVersionStr.getBytes(),
+                                                    pParentDiff.getFileContentInfo(EChangeSide.NEW).getFileContent().get().getBytes(),
+                                                    pToMergeDiff.getFileContentInfo(EChangeSide.NEW).getFileContent().get().getBytes());
+    EditList parentEditList = threeWayMerge.getChangedLines(EConflictSide.YOURS);
+    EditList toMergeEditList = threeWayMerge.getChangedLines(EConflictSide.THEIRS);
     IFileContentInfo oldParentFCI = new FileContentInfoImpl(() -> artificialOldVersionStr, pParentDiff.getFileContentInfo(EChangeSide.OLD).getEncoding());
     IFileContentInfo oldToMergeFCI = new FileContentInfoImpl(() -> artificialOldVersionStr, pToMergeDiff.getFileContentInfo(EChangeSide.OLD).getEncoding());
     return new MergeDataImpl(new FileDiffImpl(pParentDiff.getFileHeader(), parentEditList,
@@ -641,4 +770,21 @@ public class RepositoryImplHelper
   {
     return new File(pGit.getRepository().getDirectory().getAbsolutePath(), "rebase-merge/head");
   }
+
+  /**
+   * Function that diffs two commits, only taking the paths matched by a TreeFilter into account
+   */
+  @FunctionalInterface
+  interface IPathFilteredDiffFunction
+  {
+
+    /**
+     * @param pOriginal   the commit whose files are the NEW side of the diff
+     * @param pCompareTo  the commit whose files are the OLD side of the diff
+     * @param pPathFilter TreeFilter that limits the diff to the matching paths, null to diff all paths
+     * @return List of IFileDiffs for the changed files that match the filter
+     */
+    @NonNull
+    List<IFileDiff> diff(@NonNull ICommit pOriginal, @Nullable ICommit pCompareTo, @Nullable TreeFilter pPathFilter);
+  }
 }
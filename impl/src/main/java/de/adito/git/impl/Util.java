@@ -97,6 +97,20 @@ public class Util
     return pFileSystemUtil.getEncoding(pContents);
   }
 
+  /**
+   * Attempts to determine the encoding for a byte array that represents the content of a file
+   *
+   * @param pContents       the byte array
+   * @param pFile           file whose content the byte array is, null if unknown
+   * @param pFileSystemUtil IFileSystemUtil used to determine the encoding
+   * @return the most likely encoding used to represent the byte array as String
+   */
+  @NonNull
+  public static Charset getEncoding(byte @NonNull [] pContents, @Nullable File pFile, @NonNull IFileSystemUtil pFileSystemUtil)
+  {
+    return pFileSystemUtil.getEncoding(pFile, pContents);
+  }
+
   /**
    * this method performs a safe charAt call (check for length of string and oob stuff) and then checks if the char is equal to any of the passed characters in
    * pCompareTo.
@@ -4,7 +4,6 @@ import de.adito.git.api.data.diff.*;
 import de.adito.git.impl.EnumMappings;
 import lombok.NonNull;
 import lombok.ToString;
-import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.diff.*;
 import org.jetbrains.annotations.*;
 
@@ -21,6 +20,8 @@ import java.util.stream.Collectors;
 public final class ChangeDeltaImpl implements IChangeDelta
 {
 
+  private static final int MAX_LINES_FOR_WORD_DIFF = 100;
+
   private final IChangeStatus changeStatus;
   private final int startLineIndexNew;
   private final int endLineIndexNew;
@@ -288,9 +289,11 @@ public final class ChangeDeltaImpl implements IChangeDelta
     // check if the two deltas have any overlap at all
     if (pOtherChangeDelta.getStartTextIndex(EChangeSide.OLD) < endTextIndexOld && pOtherChangeDelta.getEndTextIndex(EChangeSide.OLD) > startTextIndexOld)
     {
+      // the context shares the texts of the deltas between the ResolveOptions
+      ResolveContext resolveContext = new ResolveContext(this, pOtherChangeDelta, pConflictSide, pFileDiffHeader);
       for (ResolveOption resolveOption : pResolveOptionsProvider.getResolveOptions())
       {
-        if (resolveOption.canResolveConflict(this, pOtherChangeDelta, pConflictSide, pFileDiffHeader))
+        if (resolveOption.canApply(resolveContext) && resolveOption.canResolveConflict(resolveContext))
         {
           return new ConflictType(resolveOption, EConflictType.RESOLVABLE);
         }
@@ -333,24 +336,23 @@ public final class ChangeDeltaImpl implements IChangeDelta
     if (changeStatus.getChangeType() == EChangeType.ADD)
       originalVersion = "";
     else
-      // the diff only works on a line-basis, so we split our line such that each word is on a separate line
       originalVersion = textVersionProvider.getVersion(EChangeSide.OLD).substring(startTextIndexOld, endTextIndexOld);
     if (changeStatus.getChangeType() == EChangeType.DELETE)
       newVersion = "";
     else
       newVersion = textVersionProvider.getVersion(EChangeSide.NEW).substring(startTextIndexNew, endTextIndexNew);
     int numLinesChanged = (endLineIndexNew - startLineIndexNew) + (endLineIndexOld - startLineIndexOld);
-    // The word-based algorithm takes a lot of time if there are more than a few lines affected. To avoid overly long load times, use the normal line-based diff
+    // The word-based algorithm takes more time if there are more than a few lines affected. To avoid overly long load times, use the normal line-based diff
     // instead of the word-based one if the change is bigger than a certain amount of lines
-    if (numLinesChanged < 20)
+    if (numLinesChanged < MAX_LINES_FOR_WORD_DIFF)
     {
-      String originalProcessedVersion = originalVersion.replace(" ", "\n");
-      String newProcessedVersion = newVersion.replace(" ", "\n");
-      EditList editList = LineIndexDiffUtil.getChangedLines(originalProcessedVersion, newProcessedVersion, RawTextComparator.DEFAULT);
+      // the words are treated as lines, such that the line-based utilities can be used for the word-based diff as well
+      LineOffsetIndex originalWords = LineOffsetIndex.ofWords(originalVersion);
+      LineOffsetIndex newWords = LineOffsetIndex.ofWords(newVersion);
+      EditList editList = TokenDiffUtil.getChangedWords(originalVersion, originalWords, newVersion, newWords);
       if (changeStatus.getChangeType() == EChangeType.MODIFY)
-        editList = _validateLines(editList, originalVersion, newVersion, originalProcessedVersion, newProcessedVersion);
-      return LineIndexDiffUtil.getTextOffsets(originalProcessedVersion, newProcessedVersion, editList,
-                                              new LinePartChangeDeltaFactory(startTextIndexOld, startTextIndexNew));
+        editList = _validateLines(editList, originalVersion, newVersion, originalWords, newWords);
+      return LineIndexDiffUtil.getTextOffsets(originalWords, newWords, editList, new LinePartChangeDeltaFactory(startTextIndexOld, startTextIndexNew));
     }
     else
     {
@@ -372,17 +374,34 @@ public final class ChangeDeltaImpl implements IChangeDelta
    * @return corrected version of the EditList
    */
   static EditList _validateLines(EditList pEditList, String pOriginalVersion, String pNewVersion, String pOriginalReplacedVersion, String pNewReplacedVersion)
+  {
+    return _validateLines(pEditList, pOriginalVersion, pNewVersion, LineOffsetIndex.of(pOriginalReplacedVersion), LineOffsetIndex.of(pNewReplacedVersion));
+  }
+
+  /**
+   * Goes through the words and checks if there are words the diff algorithm considered equal. The words may not be equal however, when the separator is a "\n"
+   * in one word and a " " in the other. This methods detects all these cases and modifies the editList in such a way that those words are also considered changed
+   *
+   * @param pEditList              EditList, with the words as lines
+   * @param pOriginalVersion       original version of the string
+   * @param pNewVersion            new version of the string
+   * @param pOriginalReplacedIndex index of the original version, with each word as line
+   * @param pNewReplacedIndex      index of the new version, with each word as line
+   * @return corrected version of the EditList
+   */
+  private static EditList _validateLines(EditList pEditList, String pOriginalVersion, String pNewVersion, LineOffsetIndex pOriginalReplacedIndex,
+                                         LineOffsetIndex pNewReplacedIndex)
   {
     EditList editList = pEditList;
-    List<Integer> unmodifiedOriginalLines = _getUnmodifiedLines(editList, pOriginalReplacedVersion, new OriginalEditSideInfo());
-    List<Integer> unmodifiedNewLines = _getUnmodifiedLines(editList, pNewReplacedVersion, new NewEditSideInfo());
+    List<Integer> unmodifiedOriginalLines = _getUnmodifiedLines(editList, pOriginalReplacedIndex.getLineBreakCount(), new OriginalEditSideInfo());
+    List<Integer> unmodifiedNewLines = _getUnmodifiedLines(editList, pNewReplacedIndex.getLineBreakCount(), new NewEditSideInfo());
     List<Integer> checkedNewLines = new ArrayList<>();
     for (int unmodifedLine : unmodifiedOriginalLines)
     {
       int correspondingLine = unmodifedLine + _getOffset(pEditList, unmodifedLine, new OriginalEditSideInfo(), new NewEditSideInfo());
       checkedNewLines.add(correspondingLine);
-      if (_isDifferentCharacter(pOriginalVersion, StringUtils.ordinalIndexOf(pOriginalReplacedVersion, "\n", unmodifedLine + 1), pNewVersion,
-                                StringUtils.ordinalIndexOf(pNewReplacedVersion, "\n", correspondingLine + 1)))
+      if (_isDifferentCharacter(pOriginalVersion, pOriginalReplacedIndex.getLineBreakOffset(unmodifedLine), pNewVersion,
+                                pNewReplacedIndex.getLineBreakOffset(correspondingLine)))
       {
         _fixEditList(editList, unmodifedLine, correspondingLine);
       }
@@ -391,8 +410,8 @@ public final class ChangeDeltaImpl implements IChangeDelta
     for (int unmodifedLine : unmodifiedNewLines)
     {
       int correspondingLine = unmodifedLine + _getOffset(pEditList, unmodifedLine, new NewEditSideInfo(), new OriginalEditSideInfo());
-      if (_isDifferentCharacter(pOriginalVersion, StringUtils.ordinalIndexOf(pOriginalReplacedVersion, "\n", correspondingLine + 1), pNewVersion,
-                                StringUtils.ordinalIndexOf(pNewReplacedVersion, "\n", unmodifedLine + 1)))
+      if (_isDifferentCharacter(pOriginalVersion, pOriginalReplacedIndex.getLineBreakOffset(correspondingLine), pNewVersion,
+                                pNewReplacedIndex.getLineBreakOffset(unmodifedLine)))
       {
         _fixEditList(editList, correspondingLine, unmodifedLine);
       }
@@ -410,14 +429,26 @@ public final class ChangeDeltaImpl implements IChangeDelta
    * @return list of lines that are not changed, according to the editList
    */
   static List<Integer> _getUnmodifiedLines(EditList pEditList, String pReplacedVersion, IEditSideInfo pEditSideInfo)
+  {
+    return _getUnmodifiedLines(pEditList, LineOffsetIndex.of(pReplacedVersion).getLineBreakCount(), pEditSideInfo);
+  }
+
+  /**
+   * Goes through the editList and gathers all lines of the side implicitly specified by the IEditSideInfo that are not changed, according to the editList
+   *
+   * @param pEditList     EditList with info about modified lines
+   * @param pNumNewlines  number of newlines in the version of the String of the side to check
+   * @param pEditSideInfo IEditSideInfo the get the start and endIndices for the wanted side
+   * @return list of lines that are not changed, according to the editList
+   */
+  private static List<Integer> _getUnmodifiedLines(EditList pEditList, int pNumNewlines, IEditSideInfo pEditSideInfo)
   {
     List<Integer> unmodifiedLines = new ArrayList<>();
-    int numNewlines = StringUtils.countMatches(pReplacedVersion, "\n");
     int index = 0;
     int currentEditIndex = 0;
     if (!pEditList.isEmpty())
     {
-      while (index < numNewlines)
+      while (index < pNumNewlines)
       {
         Edit currentEdit = pEditList.get(currentEditIndex);
         // index is still smaller than start of the next changed part
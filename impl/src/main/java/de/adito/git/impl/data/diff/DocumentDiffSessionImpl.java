@@ -0,0 +1,385 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+import org.eclipse.jgit.lib.ObjectId;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the hashed lines of the HEAD version of a file and the EditList of the last diff. The edits registered since the last diff determine a window of
+ * lines that may have changed, only that window is diffed again and the edits outside of it are taken over from the last diff. If the window makes up a
+ * large part of the text, if the HEAD version or the RawTextComparator changed or if the registered edits do not lead to the text, the whole text is diffed
+ *
+ * @author agent, 19.10.2026
+ */
+public class DocumentDiffSessionImpl implements IDocumentDiffSession
+{
+
+  // if the window of lines to diff again contains more than this share of all lines, the whole text is diffed instead
+  private static final double MAX_WINDOW_SHARE = 0.5;
+  private final HeadVersionProvider headVersionProvider;
+  private final Supplier<RawTextComparator> comparatorSupplier;
+  // edits of the document that are not yet part of a diff, guarded by itself. Kept apart from the diff state so that registering an edit never waits for
+  // a running diff
+  private final Deque<_DocumentEdit> pendingEdits = new ArrayDeque<>();
+  private long editCount = 0;
+  private long resetEditCount = 0;
+  private boolean resetPending = false;
+  // state of the HEAD version and the last diff, guarded by this
+  private ObjectId headId;
+  private RawTextComparator comparator;
+  private IFileContentInfo headContentInfo;
+  private HashedRawText headLines;
+  private String lastText;
+  private long lastEditCount;
+  private HashedRawText lastLines;
+  private EditList lastEditList;
+  private List<IChangeDelta> lastChangeDeltas;
+
+  /**
+   * @param pHeadVersionProvider provides the HEAD version of the file
+   * @param pComparatorSupplier  supplies the RawTextComparator that decides which lines are equal, checked on each diff
+   */
+  public DocumentDiffSessionImpl(@NonNull HeadVersionProvider pHeadVersionProvider, @NonNull Supplier<RawTextComparator> pComparatorSupplier)
+  {
+    headVersionProvider = pHeadVersionProvider;
+    comparatorSupplier = pComparatorSupplier;
+  }
+
+  @Override
+  public long documentChanged(int pOffset, int pRemovedLength, int pInsertedLength)
+  {
+    synchronized (pendingEdits)
+    {
+      editCount++;
+      pendingEdits.add(new _DocumentEdit(editCount, pOffset, pRemovedLength, pInsertedLength));
+      return editCount;
+    }
+  }
+
+  @Override
+  public long getEditCount()
+  {
+    synchronized (pendingEdits)
+    {
+      return editCount;
+    }
+  }
+
+  @Override
+  public void reset()
+  {
+    synchronized (pendingEdits)
+    {
+      pendingEdits.clear();
+      resetEditCount = editCount;
+      resetPending = true;
+    }
+  }
+
+  @NonNull
+  @Override
+  public synchronized List<IChangeDelta> diff(@NonNull String pText, long pEditCount) throws IOException
+  {
+    List<_DocumentEdit> edits = new ArrayList<>();
+    boolean isBaseline;
+    boolean isReset = false;
+    synchronized (pendingEdits)
+    {
+      // a text that is older than the last diff or the last reset cannot become the new baseline, the edits after it are registered already
+      isBaseline = pEditCount >= resetEditCount && pEditCount >= lastEditCount;
+      if (isBaseline)
+      {
+        while (!pendingEdits.isEmpty() && pendingEdits.peek().number <= pEditCount)
+          edits.add(pendingEdits.poll());
+        isReset = resetPending;
+        resetPending = false;
+      }
+    }
+    if (_updateHeadVersion() || isReset)
+      lastText = null;
+    RawText rawText = new RawText(pText.getBytes());
+    HashedRawText lines = null;
+    EditList editList = null;
+    if (isBaseline && lastText != null)
+    {
+      if (edits.isEmpty() && pText.equals(lastText))
+      {
+        lastEditCount = pEditCount;
+        return lastChangeDeltas;
+      }
+      _Window window = _getWindow(edits, pText, rawText);
+      if (window != null)
+      {
+        lines = _rehash(rawText, window);
+        editList = _diffWindow(window, lines);
+      }
+    }
+    if (lines == null)
+      lines = new HashedRawText(rawText, comparator);
+    if (editList == null)
+      editList = new HistogramDiff().diff(new HashedRawTextComparator(comparator), headLines, lines);
+    EditList editListCopy = new EditList();
+    editListCopy.addAll(editList);
+    List<IChangeDelta> changeDeltas = new FileDiffImpl(IFileDiffHeader.EMPTY_HEADER, editListCopy, headContentInfo,
+                                                       new FileContentInfoImpl(() -> pText, () -> StandardCharsets.UTF_8)).getChangeDeltas();
+    if (isBaseline)
+    {
+      lastText = pText;
+      lastEditCount = pEditCount;
+      lastLines = lines;
+      lastEditList = editList;
+      lastChangeDeltas = changeDeltas;
+    }
+    return changeDeltas;
+  }
+
+  @Override
+  public synchronized void discard()
+  {
+    reset();
+    headId = null;
+    headContentInfo = null;
+    headLines = null;
+    lastText = null;
+    lastLines = null;
+    lastEditList = null;
+    lastChangeDeltas = null;
+  }
+
+  /**
+   * Reads and hashes the HEAD version of the file again if HEAD or the RawTextComparator changed since the last diff
+   *
+   * @return true if the HEAD version was read again
+   * @throws IOException if the HEAD version cannot be read
+   */
+  private boolean _updateHeadVersion() throws IOException
+  {
+    ObjectId currentHeadId = headVersionProvider.getHeadId();
+    RawTextComparator currentComparator = comparatorSupplier.get();
+    if (headLines != null && Objects.equals(currentHeadId, headId) && currentComparator == comparator)
+      return false;
+    headLines = null;
+    headContentInfo = headVersionProvider.getFileContents(currentHeadId);
+    headLines = new HashedRawText(new RawText(headContentInfo.getFileContent().get().getBytes()), currentComparator);
+    headId = currentHeadId;
+    comparator = currentComparator;
+    return true;
+  }
+
+  /**
+   * Determines the lines that the edits may have changed and widens them by the edits of the last diff that overlap or touch them
+   *
+   * @param pEdits   edits that lead from the text of the last diff to pText
+   * @param pText    new text
+   * @param pRawText RawText of pText
+   * @return Window of lines to diff again, null if the whole text should be diffed
+   */
+  @Nullable
+  private _Window _getWindow(@NonNull List<_DocumentEdit> pEdits, @NonNull String pText, @NonNull RawText pRawText)
+  {
+    if (pEdits.isEmpty())
+      return null;
+    // number of characters at the start and end that none of the edits touched
+    int length = lastText.length();
+    int unchangedStart = Integer.MAX_VALUE;
+    int unchangedEnd = Integer.MAX_VALUE;
+    for (_DocumentEdit edit : pEdits)
+    {
+      unchangedStart = Math.min(unchangedStart, edit.offset);
+      unchangedEnd = Math.min(unchangedEnd, length - edit.offset - edit.removedLength);
+      length += edit.insertedLength - edit.removedLength;
+    }
+    if (length != pText.length())
+      return null;
+    int minLength = Math.min(lastText.length(), pText.length());
+    unchangedStart = Math.max(0, Math.min(unchangedStart, minLength));
+    unchangedEnd = Math.max(0, Math.min(unchangedEnd, minLength - unchangedStart));
+
+    int firstChangedLine = _countNewlines(pText, 0, unchangedStart);
+    int changedEnd = Math.min(pRawText.size(), firstChangedLine + _countNewlines(pText, unchangedStart, pText.length() - unchangedEnd) + 1);
+    int lastChangedEnd = Math.min(lastLines.size(), firstChangedLine + _countNewlines(lastText, unchangedStart, lastText.length() - unchangedEnd) + 1);
+    int unchangedEndLines = pRawText.size() - changedEnd;
+    if (unchangedEndLines != lastLines.size() - lastChangedEnd)
+      return null;
+
+    // widen the window by the edits of the last diff that overlap or touch it, so that the borders of the window are lines that are equal on both sides
+    int beginB = firstChangedLine;
+    int lastEndB = lastChangedEnd;
+    int start = 0;
+    while (start < lastEditList.size() && lastEditList.get(start).getEndB() < beginB)
+      start++;
+    int end = start;
+    while (end < lastEditList.size() && lastEditList.get(end).getBeginB() <= lastEndB)
+    {
+      lastEndB = Math.max(lastEndB, lastEditList.get(end).getEndB());
+      end++;
+    }
+    if (end > start)
+      beginB = Math.min(beginB, lastEditList.get(start).getBeginB());
+    while (start > 0 && lastEditList.get(start - 1).getEndB() >= beginB)
+    {
+      start--;
+      beginB = Math.min(beginB, lastEditList.get(start).getBeginB());
+    }
+    int offsetA = 0;
+    for (int index = 0; index < start; index++)
+      offsetA += lastEditList.get(index).getLengthA() - lastEditList.get(index).getLengthB();
+    int windowOffsetA = offsetA;
+    for (int index = start; index < end; index++)
+      windowOffsetA += lastEditList.get(index).getLengthA() - lastEditList.get(index).getLengthB();
+    _Window window = new _Window(firstChangedLine, changedEnd, unchangedEndLines, start, end, beginB + offsetA, lastEndB + windowOffsetA, beginB,
+                                 lastEndB + pRawText.size() - lastLines.size());
+    if ((window.endA - window.beginA) + (window.endB - window.beginB) > MAX_WINDOW_SHARE * (headLines.size() + pRawText.size()))
+      return null;
+    return window;
+  }
+
+  /**
+   * Hashes the changed lines of the new text, the hashes of the unchanged lines are taken over from the text of the last diff
+   *
+   * @param pRawText RawText of the new text
+   * @param pWindow  Window with the changed lines
+   * @return HashedRawText of the new text
+   */
+  @NonNull
+  private HashedRawText _rehash(@NonNull RawText pRawText, @NonNull _Window pWindow)
+  {
+    int[] hashes = new int[pRawText.size()];
+    for (int index = 0; index < pWindow.firstChangedLine; index++)
+      hashes[index] = lastLines.getHash(index);
+    for (int index = pWindow.firstChangedLine; index < pWindow.changedEnd; index++)
+      hashes[index] = comparator.hash(pRawText, index);
+    for (int index = 0; index < pWindow.unchangedEndLines; index++)
+      hashes[pWindow.changedEnd + index] = lastLines.getHash(lastLines.size() - pWindow.unchangedEndLines + index);
+    return new HashedRawText(pRawText, hashes);
+  }
+
+  /**
+   * Diffs the lines of the window and combines the result with the edits of the last diff outside of the window
+   *
+   * @param pWindow Window to diff
+   * @param pLines  lines of the new text
+   * @return EditList from the HEAD version to the new text
+   */
+  @NonNull
+  private EditList _diffWindow(@NonNull _Window pWindow, @NonNull HashedRawText pLines)
+  {
+    Subsequence<HashedRawText> windowA = new Subsequence<>(headLines, pWindow.beginA, pWindow.endA);
+    Subsequence<HashedRawText> windowB = new Subsequence<>(pLines, pWindow.beginB, pWindow.endB);
+    EditList windowEdits = Subsequence.toBase(new HistogramDiff().diff(new SubsequenceComparator<>(new HashedRawTextComparator(comparator)), windowA, windowB),
+                                              windowA, windowB);
+    EditList editList = new EditList();
+    editList.addAll(lastEditList.subList(0, pWindow.firstEdit));
+    editList.addAll(windowEdits);
+    int offsetB = pLines.size() - lastLines.size();
+    for (Edit edit : lastEditList.subList(pWindow.endEdit, lastEditList.size()))
+      editList.add(new Edit(edit.getBeginA(), edit.getEndA(), edit.getBeginB() + offsetB, edit.getEndB() + offsetB));
+    return editList;
+  }
+
+  /**
+   * @param pText  text to search
+   * @param pStart first index to check
+   * @param pEnd   index after the last index to check
+   * @return number of newlines in the given range of pText
+   */
+  private static int _countNewlines(@NonNull String pText, int pStart, int pEnd)
+  {
+    int count = 0;
+    for (int index = pStart; index < pEnd; index++)
+    {
+      if (pText.charAt(index) == '\n')
+        count++;
+    }
+    return count;
+  }
+
+  /**
+   * Provides the HEAD version of the file that the document is diffed against
+   */
+  public interface HeadVersionProvider
+  {
+
+    /**
+     * @return id of the current HEAD commit
+     * @throws IOException if HEAD cannot be resolved
+     */
+    @Nullable
+    ObjectId getHeadId() throws IOException;
+
+    /**
+     * @param pHeadId id of the HEAD commit, as returned by getHeadId
+     * @return contents of the file in the given HEAD commit
+     * @throws IOException if the file cannot be read
+     */
+    @NonNull
+    IFileContentInfo getFileContents(@Nullable ObjectId pHeadId) throws IOException;
+  }
+
+  /**
+   * Edit registered via documentChanged
+   */
+  private static final class _DocumentEdit
+  {
+    private final long number;
+    private final int offset;
+    private final int removedLength;
+    private final int insertedLength;
+
+    _DocumentEdit(long pNumber, int pOffset, int pRemovedLength, int pInsertedLength)
+    {
+      number = pNumber;
+      offset = pOffset;
+      removedLength = pRemovedLength;
+      insertedLength = pInsertedLength;
+    }
+  }
+
+  /**
+   * Lines that have to be diffed again. The changed lines are the lines of the new text that the edits touched, the window widens these by the edits of the
+   * last diff that overlap or touch them
+   */
+  private static final class _Window
+  {
+    private final int firstChangedLine;
+    private final int changedEnd;
+    private final int unchangedEndLines;
+    private final int firstEdit;
+    private final int endEdit;
+    private final int beginA;
+    private final int endA;
+    private final int beginB;
+    private final int endB;
+
+    /**
+     * @param pFirstChangedLine  first line of the new text that the edits touched
+     * @param pChangedEnd        line of the new text after the last line that the edits touched
+     * @param pUnchangedEndLines number of lines at the end that the edits did not touch
+     * @param pFirstEdit         index of the first edit of the last diff that is inside the window
+     * @param pEndEdit           index after the last edit of the last diff that is inside the window
+     * @param pBeginA            first line of the window in the HEAD version
+     * @param pEndA              line after the window in the HEAD version
+     * @param pBeginB            first line of the window in the new text
+     * @param pEndB              line after the window in the new text
+     */
+    _Window(int pFirstChangedLine, int pChangedEnd, int pUnchangedEndLines, int pFirstEdit, int pEndEdit, int pBeginA, int pEndA, int pBeginB, int pEndB)
+    {
+      firstChangedLine = pFirstChangedLine;
+      changedEnd = pChangedEnd;
+      unchangedEndLines = pUnchangedEndLines;
+      firstEdit = pFirstEdit;
+      endEdit = pEndEdit;
+      beginA = pBeginA;
+      endA = pEndA;
+      beginB = pBeginB;
+      endB = pEndB;
+    }
+  }
+}
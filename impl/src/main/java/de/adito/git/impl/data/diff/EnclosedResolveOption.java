@@ -13,9 +13,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class EnclosedResolveOption implements ResolveOption
 {
 
-  @Nullable
-  private EConflictType conflictType;
-
   @Override
   public List<IDeltaTextChangeEvent> resolveConflict(@NonNull IChangeDelta acceptedDelta, @NonNull IFileDiff pAcceptedDiff, @NonNull IFileDiff pOtherDiff, @NonNull EConflictSide pConflictSide, @NonNull ConflictPair pConflictPair)
   {
@@ -60,10 +57,15 @@ public class EnclosedResolveOption implements ResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canApply(@NonNull ResolveContext pResolveContext)
+  {
+    return pResolveContext.getChangeDelta().getChangeType() != EChangeType.DELETE && pResolveContext.getOtherDelta().getChangeType() != EChangeType.DELETE;
+  }
+
+  @Override
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
   {
-    return determineConflictType(pChangeDelta, pOtherDelta, pConflictSide) != null;
+    return determineConflictType(pResolveContext.getText(), pResolveContext.getOtherText(), pResolveContext.getConflictSide()) != null;
   }
 
   @Override
@@ -72,31 +74,58 @@ public class EnclosedResolveOption implements ResolveOption
     return 100;
   }
 
+  @Override
+  public int getCostEstimate()
+  {
+    return COST_LOW;
+  }
+
+  /**
+   * The option is shared by all files and may be used by several threads at once (parallel auto-resolve), so the conflict type is determined for each
+   * context instead of being stored
+   *
+   * @param pResolveContext context of a conflict that this option can resolve
+   * @return ENCLOSED_BY_YOURS or ENCLOSED_BY_THEIRS if one of the changes contains the other, null otherwise
+   */
   @Nullable
-  public EConflictType getConflictType()
+  public EConflictType getConflictType(@NonNull ResolveContext pResolveContext)
   {
-    return conflictType;
+    return determineConflictType(pResolveContext.getText(), pResolveContext.getOtherText(), pResolveContext.getConflictSide());
   }
 
   @Nullable
   private EConflictType determineConflictType(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide)
   {
-    conflictType = null;
-    if (checkEnclosed(pChangeDelta, pOtherDelta, EConflictSide.YOURS))
+    if (pOtherDelta.getChangeType() == EChangeType.DELETE || pChangeDelta.getChangeType() == EChangeType.DELETE)
+      return null;
+    return determineConflictType(pChangeDelta.getText(EChangeSide.NEW), pOtherDelta.getText(EChangeSide.NEW), pConflictSide);
+  }
+
+  /**
+   * @param pText         text of the NEW side of a ChangeDelta that is not of type DELETE
+   * @param pOtherText    text of the NEW side of the other ChangeDelta, also not of type DELETE
+   * @param pConflictSide which side pText is from
+   * @return ENCLOSED_BY_YOURS or ENCLOSED_BY_THEIRS if one of the texts contains the other, null otherwise
+   */
+  @Nullable
+  private EConflictType determineConflictType(@NonNull String pText, @NonNull String pOtherText, @NonNull EConflictSide pConflictSide)
+  {
+    EConflictType determinedConflictType = null;
+    if (checkEnclosed(pText, pOtherText, EConflictSide.YOURS))
     {
       if (pConflictSide == EConflictSide.THEIRS)
-        conflictType = EConflictType.ENCLOSED_BY_THEIRS;
+        determinedConflictType = EConflictType.ENCLOSED_BY_THEIRS;
       else
-        conflictType = EConflictType.ENCLOSED_BY_YOURS;
+        determinedConflictType = EConflictType.ENCLOSED_BY_YOURS;
     }
-    else if (checkEnclosed(pChangeDelta, pOtherDelta, EConflictSide.THEIRS))
+    else if (checkEnclosed(pText, pOtherText, EConflictSide.THEIRS))
     {
       if (pConflictSide == EConflictSide.THEIRS)
-        conflictType = EConflictType.ENCLOSED_BY_YOURS;
+        determinedConflictType = EConflictType.ENCLOSED_BY_YOURS;
       else
-        conflictType = EConflictType.ENCLOSED_BY_THEIRS;
+        determinedConflictType = EConflictType.ENCLOSED_BY_THEIRS;
     }
-    return conflictType;
+    return determinedConflictType;
   }
 
   /**
@@ -168,22 +197,20 @@ public class EnclosedResolveOption implements ResolveOption
   }
 
   /**
-   * @param pChangeDelta      a ChangeDelta
-   * @param pOtherChangeDelta the other ChangeDelta
-   * @param pConflictSide     YOURS here means "check if this text contains the text of pOtherChangeDelta", the opposite for THEIRS
+   * @param pText         text of a ChangeDelta
+   * @param pOtherText    text of the other ChangeDelta
+   * @param pConflictSide YOURS here means "check if pText contains pOtherText", the opposite for THEIRS
    * @return true if the text of the requested ChangeDelta contains the text of the other ChangeDelta
    */
-  private boolean checkEnclosed(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherChangeDelta, @NonNull EConflictSide pConflictSide)
+  private boolean checkEnclosed(@NonNull String pText, @NonNull String pOtherText, @NonNull EConflictSide pConflictSide)
   {
-    if (pOtherChangeDelta.getChangeType() == EChangeType.DELETE || pChangeDelta.getChangeType() == EChangeType.DELETE)
-      return false;
     if (pConflictSide == EConflictSide.YOURS)
     {
-      return pChangeDelta.getText(EChangeSide.NEW).contains(pOtherChangeDelta.getText(EChangeSide.NEW));
+      return pText.contains(pOtherText);
     }
     else
     {
-      return pOtherChangeDelta.getText(EChangeSide.NEW).contains(pChangeDelta.getText(EChangeSide.NEW));
+      return pOtherText.contains(pText);
     }
   }
 }
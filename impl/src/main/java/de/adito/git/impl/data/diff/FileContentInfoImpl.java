@@ -6,40 +6,55 @@ import de.adito.git.api.data.diff.ELineEnding;
 import de.adito.git.api.data.diff.IFileContentInfo;
 import de.adito.git.impl.Util;
 import lombok.NonNull;
-import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.nio.charset.Charset;
 import java.util.function.Supplier;
 
 /**
- * Class used to store information about a String and the encoding used to transform it into a byte array
+ * Class used to store information about a String and the encoding used to transform it into a byte array.
+ * Nothing is loaded or decoded until one of the suppliers is queried, and content, line ending and line index are all determined together when the content
+ * is first needed
  *
  * @author m.kaspera, 06.05.2019
  */
 public class FileContentInfoImpl implements IFileContentInfo
 {
 
+  private final Supplier<AnalysedContent> analysedContent;
   private final Supplier<String> fileContent;
-  private final Supplier<String> originalFileContent;
   private final Supplier<Charset> encoding;
   private final Supplier<ELineEnding> lineEnding;
+  private final Supplier<LineOffsetIndex> lineOffsetIndex;
 
   public FileContentInfoImpl(Supplier<byte[]> pBytes, IFileSystemUtil pFileSystemUtil)
   {
-    byte[] bytes = pBytes.get();
-    encoding = Suppliers.memoize(() -> Util.getEncoding(bytes, pFileSystemUtil));
-    originalFileContent = () -> new String(bytes, encoding.get());
-    fileContent = Suppliers.memoize(() -> _cleanString(new String(bytes, encoding.get())));
-    lineEnding = Suppliers.memoize(this::_findLineEnding);
+    this(pBytes, null, pFileSystemUtil);
+  }
+
+  /**
+   * @param pBytes          Supplier for the bytes of the content
+   * @param pFile           File whose content the bytes are, used to determine the encoding. Null if unknown
+   * @param pFileSystemUtil IFileSystemUtil used to determine the encoding
+   */
+  public FileContentInfoImpl(Supplier<byte[]> pBytes, @Nullable File pFile, IFileSystemUtil pFileSystemUtil)
+  {
+    Supplier<byte[]> bytes = Suppliers.memoize(pBytes::get);
+    encoding = Suppliers.memoize(() -> Util.getEncoding(bytes.get(), pFile, pFileSystemUtil));
+    analysedContent = Suppliers.memoize(() -> _analyse(new String(bytes.get(), encoding.get())));
+    fileContent = () -> analysedContent.get().content;
+    lineEnding = () -> analysedContent.get().lineEnding;
+    lineOffsetIndex = () -> analysedContent.get().lineOffsetIndex;
   }
 
   public FileContentInfoImpl(Supplier<String> pFileContent, Supplier<Charset> pEncoding)
   {
-    fileContent = Suppliers.memoize(() -> _cleanString(pFileContent.get()));
-    originalFileContent = pFileContent;
+    analysedContent = Suppliers.memoize(() -> _analyse(pFileContent.get()));
+    fileContent = () -> analysedContent.get().content;
     encoding = pEncoding;
-    lineEnding = Suppliers.memoize(this::_findLineEnding);
+    lineEnding = () -> analysedContent.get().lineEnding;
+    lineOffsetIndex = () -> analysedContent.get().lineOffsetIndex;
   }
 
   public Supplier<String> getFileContent()
@@ -58,48 +73,66 @@ public class FileContentInfoImpl implements IFileContentInfo
     return encoding;
   }
 
+  /**
+   * @return Supplier of the LineOffsetIndex of the content as returned by getFileContent (with uniform \n newlines)
+   */
+  public Supplier<LineOffsetIndex> getLineOffsetIndex()
+  {
+    return lineOffsetIndex;
+  }
+
+  /**
+   * Determines the line ending used most in the original content, makes the newlines of the content uniform \n and indexes the lines. The original
+   * content is only scanned once, it is only copied if it contains any \r that have to be removed or replaced
+   *
+   * @param pOriginalContent content as read from the file
+   * @return AnalysedContent with the cleaned content, its line index and the line ending used in the original content
+   */
+  @NonNull
+  private static AnalysedContent _analyse(@Nullable String pOriginalContent)
+  {
+    if (pOriginalContent == null)
+      pOriginalContent = "";
+    LineOffsetIndex originalIndex = LineOffsetIndex.of(pOriginalContent);
+    String cleanedContent = _cleanString(pOriginalContent, originalIndex);
+    // without any \r the cleaned content is the original content, so the index can be reused
+    LineOffsetIndex cleanedIndex = cleanedContent == pOriginalContent ? originalIndex : LineOffsetIndex.of(cleanedContent);
+    return new AnalysedContent(cleanedContent, originalIndex.getMostUsedLineEnding(), cleanedIndex);
+  }
+
   /**
    * Make the newlines in the string uniform \n
    *
    * @param pUnCleanString String that should be cleaned such that the newlines are always only \n
+   * @param pLineIndex     LineOffsetIndex of the unclean String, used to check which kinds of line endings it contains
    * @return String with only \n as newlines
    */
   @NonNull
-  private static String _cleanString(@Nullable String pUnCleanString)
+  private static String _cleanString(@NonNull String pUnCleanString, @NonNull LineOffsetIndex pLineIndex)
   {
-    if (pUnCleanString != null)
-    {
-      if (pUnCleanString.contains("\n"))
-        pUnCleanString = pUnCleanString.replace("\r", "");
-      else
-        pUnCleanString = pUnCleanString.replace("\r", "\n");
+    if (!pLineIndex.containsCarriageReturn())
       return pUnCleanString;
-    }
-    return "";
+    if (pLineIndex.containsLineFeed())
+      return pUnCleanString.replace("\r", "");
+    else
+      return pUnCleanString.replace("\r", "\n");
   }
 
   /**
-   * Returns the LineEnding, which is most often found in the fileContent.
-   *
-   * @return the LineEnding, which is most often found
+   * Result of the analysis of the content of a file
    */
-  private ELineEnding _findLineEnding()
+  private static final class AnalysedContent
   {
-    String content = originalFileContent.get();
-
-    int windows = StringUtils.countMatches(content, ELineEnding.WINDOWS.getLineEnding());
-
-    // The windows line-endings are also found here, so they have to be subtracted.
-    int unix = StringUtils.countMatches(content, ELineEnding.UNIX.getLineEnding()) - windows;
-    int mac = StringUtils.countMatches(content, ELineEnding.MAC.getLineEnding()) - windows;
 
-    int max = Math.max(windows, Math.max(unix, mac));
+    private final String content;
+    private final ELineEnding lineEnding;
+    private final LineOffsetIndex lineOffsetIndex;
 
-    if (max == windows)
-      return ELineEnding.WINDOWS;
-    else if (max == unix)
-      return ELineEnding.UNIX;
-    else
-      return ELineEnding.MAC;
+    private AnalysedContent(@NonNull String pContent, @NonNull ELineEnding pLineEnding, @NonNull LineOffsetIndex pLineOffsetIndex)
+    {
+      content = pContent;
+      lineEnding = pLineEnding;
+      lineOffsetIndex = pLineOffsetIndex;
+    }
   }
 }
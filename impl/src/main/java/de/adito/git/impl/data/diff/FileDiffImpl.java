@@ -593,10 +593,21 @@ public class FileDiffImpl implements IFileDiff
    */
   private void _initChangeDeltas()
   {
-    changeDeltas = LineIndexDiffUtil.getTextOffsets(originalFileContentInfo.getFileContent().get(), newFileContentInfo.getFileContent().get(), editList,
+    changeDeltas = LineIndexDiffUtil.getTextOffsets(_getLineOffsetIndex(originalFileContentInfo), _getLineOffsetIndex(newFileContentInfo), editList,
                                                     new ChangeDeltaImplFactory());
   }
 
+  /**
+   * @param pFileContentInfo IFileContentInfo to get the LineOffsetIndex for
+   * @return the LineOffsetIndex cached by the FileContentInfoImpl, or a newly created one for other implementations of IFileContentInfo
+   */
+  private static LineOffsetIndex _getLineOffsetIndex(@NonNull IFileContentInfo pFileContentInfo)
+  {
+    if (pFileContentInfo instanceof FileContentInfoImpl)
+      return ((FileContentInfoImpl) pFileContentInfo).getLineOffsetIndex().get();
+    return LineOffsetIndex.of(pFileContentInfo.getFileContent().get());
+  }
+
   /**
    * Factory, creates ChangeDeltaImpls from an Edit and a ChangeDeltaTextOffsets data object
    */
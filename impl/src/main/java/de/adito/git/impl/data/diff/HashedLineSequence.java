@@ -0,0 +1,215 @@
+package de.adito.git.impl.data.diff;
+
+import lombok.NonNull;
+import org.eclipse.jgit.diff.Sequence;
+import org.eclipse.jgit.util.RawCharUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sequence of lines that is backed by a ByteBuffer (usually a memory-mapped file). Instead of materialising the lines as Strings, only the start offsets
+ * and a hash of each line are stored in int arrays, so the memory needed is bounded by the number of lines and not by the size of the file.
+ * Lines are compared ignoring trailing whitespace, which mirrors the RawTextComparator.WS_IGNORE_TRAILING used by the standalone diff. A mapped file stays
+ * mapped until unmap is called, or until the buffer is garbage collected if unmapping is not possible
+ *
+ * @author agent, 19.10.2026
+ */
+final class HashedLineSequence extends Sequence
+{
+
+  private static final Logger LOGGER = Logger.getLogger(HashedLineSequence.class.getName());
+  private static final int INITIAL_CAPACITY = 1024;
+  // Unsafe.invokeCleaner is the only way to release a mapping before the buffer is garbage collected. Both are null if it cannot be accessed
+  @Nullable
+  private static final Object UNSAFE;
+  @Nullable
+  private static final Method INVOKE_CLEANER;
+  private final ByteBuffer content;
+  // lineStarts has one more entry than there are lines, the last entry is the end of the content
+  private final int[] lineStarts;
+  private final int[] hashes;
+  private final int numLines;
+  private boolean unmapped = false;
+
+  static
+  {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try
+    {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafeField.setAccessible(true);
+      unsafe = theUnsafeField.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    }
+    catch (ReflectiveOperationException | RuntimeException pE)
+    {
+      LOGGER.log(Level.FINE, pE, () -> "Git: Mapped files cannot be unmapped explicitly, they stay mapped until they are garbage collected");
+      unsafe = null;
+      invokeCleaner = null;
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  /**
+   * @param pContent ByteBuffer with the content, the lines are read from position 0 up to the limit of the buffer
+   */
+  HashedLineSequence(@NonNull ByteBuffer pContent)
+  {
+    content = pContent;
+    int limit = content.limit();
+    int[] starts = new int[INITIAL_CAPACITY];
+    int[] lineHashes = new int[INITIAL_CAPACITY];
+    int lineCount = 0;
+    int lineStart = 0;
+    int hash = 5381;
+    // hash of the line up to (and including) the last non-whitespace character, so that trailing whitespace does not influence the hash
+    int trimmedHash = hash;
+    for (int index = 0; index < limit; index++)
+    {
+      byte currentByte = content.get(index);
+      if (currentByte != '\n')
+      {
+        hash = (hash << 5) + hash + (currentByte & 0xff);
+        if (!RawCharUtil.isWhitespace(currentByte))
+          trimmedHash = hash;
+      }
+      if (currentByte == '\n' || index == limit - 1)
+      {
+        if (lineCount + 1 >= starts.length)
+        {
+          starts = Arrays.copyOf(starts, starts.length * 2);
+          lineHashes = Arrays.copyOf(lineHashes, lineHashes.length * 2);
+        }
+        starts[lineCount] = lineStart;
+        lineHashes[lineCount] = trimmedHash;
+        lineCount++;
+        lineStart = index + 1;
+        hash = 5381;
+        trimmedHash = hash;
+      }
+    }
+    starts[lineCount] = limit;
+    lineStarts = starts;
+    hashes = lineHashes;
+    numLines = lineCount;
+  }
+
+  /**
+   * Memory-maps the given file and creates a HashedLineSequence for its content. The file is not read into the heap
+   *
+   * @param pPath path of the file to map
+   * @return HashedLineSequence for the content of the file
+   * @throws IOException if the file cannot be read or is bigger than 2 GB
+   */
+  @NonNull
+  static HashedLineSequence map(@NonNull Path pPath) throws IOException
+  {
+    try (FileChannel channel = FileChannel.open(pPath, StandardOpenOption.READ))
+    {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE)
+        throw new IOException("File " + pPath + " is too big to be diffed (" + size + " bytes)");
+      return new HashedLineSequence(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    }
+  }
+
+  @Override
+  public int size()
+  {
+    return numLines;
+  }
+
+  /**
+   * @param pLine index of the line
+   * @return hash of the line, trailing whitespace excluded
+   */
+  int getHash(int pLine)
+  {
+    return hashes[pLine];
+  }
+
+  /**
+   * @param pLine index of the line, may be equal to size() to get the end of the content
+   * @return offset of the first byte of the line
+   */
+  int getStartOffset(int pLine)
+  {
+    return lineStarts[Math.min(pLine, numLines)];
+  }
+
+  /**
+   * Compares a line of this sequence with a line of another sequence byte by byte, ignoring trailing whitespace
+   *
+   * @param pLine      index of the line in this sequence
+   * @param pOther     other sequence
+   * @param pOtherLine index of the line in the other sequence
+   * @return true if the lines are equal
+   */
+  boolean isLineEqual(int pLine, @NonNull HashedLineSequence pOther, int pOtherLine)
+  {
+    // accessing the memory of an unmapped buffer crashes the VM instead of throwing an exception
+    if (unmapped || pOther.unmapped)
+      throw new IllegalStateException("The content of the sequence is unmapped already");
+    if (hashes[pLine] != pOther.hashes[pOtherLine])
+      return false;
+    int start = lineStarts[pLine];
+    int end = _trimTrailingWhitespace(start, lineStarts[pLine + 1]);
+    int otherStart = pOther.lineStarts[pOtherLine];
+    int otherEnd = pOther._trimTrailingWhitespace(otherStart, pOther.lineStarts[pOtherLine + 1]);
+    if (end - start != otherEnd - otherStart)
+      return false;
+    for (int offset = 0; offset < end - start; offset++)
+    {
+      if (content.get(start + offset) != pOther.content.get(otherStart + offset))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Releases the mapping of the content right away, if the content is a mapped file. Otherwise, the file stays mapped (and can neither be deleted nor
+   * changed on Windows) until the buffer is garbage collected. Lines can no longer be compared afterwards, their hashes and offsets stay available
+   */
+  void unmap()
+  {
+    if (unmapped)
+      return;
+    unmapped = true;
+    if (!(content instanceof MappedByteBuffer) || UNSAFE == null || INVOKE_CLEANER == null)
+      return;
+    try
+    {
+      INVOKE_CLEANER.invoke(UNSAFE, content);
+    }
+    catch (ReflectiveOperationException | RuntimeException pE)
+    {
+      LOGGER.log(Level.FINE, pE, () -> "Git: Could not unmap file, it stays mapped until it is garbage collected");
+    }
+  }
+
+  /**
+   * @param pStart start offset of the region
+   * @param pEnd   end offset of the region, exclusive
+   * @return end offset of the region without any trailing whitespace
+   */
+  private int _trimTrailingWhitespace(int pStart, int pEnd)
+  {
+    int end = pEnd;
+    while (end > pStart && RawCharUtil.isWhitespace(content.get(end - 1)))
+      end--;
+    return end;
+  }
+}
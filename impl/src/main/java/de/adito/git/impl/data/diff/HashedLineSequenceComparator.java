@@ -0,0 +1,30 @@
+package de.adito.git.impl.data.diff;
+
+import org.eclipse.jgit.diff.SequenceComparator;
+
+/**
+ * Compares the lines of two HashedLineSequences by their precomputed hashes, only if the hashes match are the lines compared byte by byte
+ *
+ * @author agent, 19.10.2026
+ */
+final class HashedLineSequenceComparator extends SequenceComparator<HashedLineSequence>
+{
+
+  static final HashedLineSequenceComparator INSTANCE = new HashedLineSequenceComparator();
+
+  private HashedLineSequenceComparator()
+  {
+  }
+
+  @Override
+  public boolean equals(HashedLineSequence pSequenceA, int pIndexA, HashedLineSequence pSequenceB, int pIndexB)
+  {
+    return pSequenceA.isLineEqual(pIndexA, pSequenceB, pIndexB);
+  }
+
+  @Override
+  public int hash(HashedLineSequence pSequence, int pIndex)
+  {
+    return pSequence.getHash(pIndex);
+  }
+}
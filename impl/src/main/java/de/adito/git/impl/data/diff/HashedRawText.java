@@ -0,0 +1,61 @@
+package de.adito.git.impl.data.diff;
+
+import lombok.NonNull;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.diff.Sequence;
+
+/**
+ * RawText with the hashes of all lines computed once up front by a RawTextComparator, so that diffing the same text several times does not hash its lines
+ * again
+ *
+ * @author agent, 19.10.2026
+ */
+final class HashedRawText extends Sequence
+{
+
+  private final RawText rawText;
+  private final int[] hashes;
+
+  /**
+   * @param pRawText    RawText whose lines are hashed
+   * @param pComparator RawTextComparator used to hash the lines
+   */
+  HashedRawText(@NonNull RawText pRawText, @NonNull RawTextComparator pComparator)
+  {
+    this(pRawText, new int[pRawText.size()]);
+    for (int index = 0; index < hashes.length; index++)
+      hashes[index] = pComparator.hash(pRawText, index);
+  }
+
+  /**
+   * @param pRawText RawText whose lines are hashed
+   * @param pHashes  hashes of the lines of pRawText, the array is not copied
+   */
+  HashedRawText(@NonNull RawText pRawText, int @NonNull [] pHashes)
+  {
+    rawText = pRawText;
+    hashes = pHashes;
+  }
+
+  @NonNull
+  RawText getRawText()
+  {
+    return rawText;
+  }
+
+  /**
+   * @param pLine index of the line
+   * @return hash of the line
+   */
+  int getHash(int pLine)
+  {
+    return hashes[pLine];
+  }
+
+  @Override
+  public int size()
+  {
+    return hashes.length;
+  }
+}
@@ -0,0 +1,45 @@
+package de.adito.git.impl.data.diff;
+
+import lombok.NonNull;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.diff.SequenceComparator;
+
+/**
+ * Compares the lines of two HashedRawTexts by their precomputed hashes, only if the hashes match are the lines compared by the RawTextComparator.
+ * The RawTextComparator has to be the one that computed the hashes
+ *
+ * @author agent, 19.10.2026
+ */
+final class HashedRawTextComparator extends SequenceComparator<HashedRawText>
+{
+
+  private final RawTextComparator comparator;
+
+  /**
+   * @param pComparator RawTextComparator that hashed the lines of the compared HashedRawTexts
+   */
+  HashedRawTextComparator(@NonNull RawTextComparator pComparator)
+  {
+    comparator = pComparator;
+  }
+
+  @Override
+  public boolean equals(HashedRawText pSequenceA, int pIndexA, HashedRawText pSequenceB, int pIndexB)
+  {
+    return pSequenceA.getHash(pIndexA) == pSequenceB.getHash(pIndexB) && comparator.equals(pSequenceA.getRawText(), pIndexA, pSequenceB.getRawText(), pIndexB);
+  }
+
+  @Override
+  public int hash(HashedRawText pSequence, int pIndex)
+  {
+    return pSequence.getHash(pIndex);
+  }
+
+  @Override
+  public Edit reduceCommonStartEnd(HashedRawText pSequenceA, HashedRawText pSequenceB, Edit pEdit)
+  {
+    // the RawTextComparator compares the common start and end byte by byte, which is faster than comparing line by line
+    return comparator.reduceCommonStartEnd(pSequenceA.getRawText(), pSequenceB.getRawText(), pEdit);
+  }
+}
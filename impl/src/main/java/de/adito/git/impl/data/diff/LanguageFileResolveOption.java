@@ -3,14 +3,10 @@ package de.adito.git.impl.data.diff;
 import de.adito.git.api.data.diff.*;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,7 +15,7 @@ import java.util.stream.Collectors;
  *
  * @author m.kaspera, 24.10.2022
  */
-public class LanguageFileResolveOption extends XMLBasedResolveOption
+public class LanguageFileResolveOption extends XMLBasedResolveOption<Map<String, String>>
 {
   @Override
   public List<IDeltaTextChangeEvent> resolveConflict(@NonNull IChangeDelta acceptedDelta, @NonNull IFileDiff pAcceptedDiff, @NonNull IFileDiff pOtherDiff, @NonNull EConflictSide pConflictSide, @NonNull ConflictPair pConflictPair)
@@ -31,25 +27,20 @@ public class LanguageFileResolveOption extends XMLBasedResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canApply(@NonNull ResolveContext pResolveContext)
   {
-    if (!"aod".equals(pFileDiffHeader.getFileExtension(EChangeSide.NEW)))
-      return false;
-    try
-    {
-      NodeList nodeList = getStringEntryList(pChangeDelta.getText(EChangeSide.NEW));
-      NodeList otherNodeList = getStringEntryList(pOtherDelta.getText(EChangeSide.NEW));
-      if (nodeList == null || otherNodeList == null)
-        return false;
-      Map<String, String> languageKeyValues = readLanguageKeyValues(nodeList);
-      return !languageKeyValues.isEmpty() && readLanguageKeyValues(otherNodeList).entrySet().stream()
-          .noneMatch(pEntry -> languageKeyValues.containsKey(pEntry.getKey()) && !pEntry.getValue().equals(languageKeyValues.get(pEntry.getKey())));
-    }
-    catch (IOException | SAXException | ParserConfigurationException pE)
-    {
+    return "aod".equals(pResolveContext.getFileExtension());
+  }
+
+  @Override
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
+  {
+    Map<String, String> languageKeyValues = getParsedText(pResolveContext.getConflictSide(), pResolveContext.getText());
+    Map<String, String> otherLanguageKeyValues = getParsedText(EConflictSide.getOpposite(pResolveContext.getConflictSide()), pResolveContext.getOtherText());
+    if (languageKeyValues == null || otherLanguageKeyValues == null)
       return false;
-    }
+    return !languageKeyValues.isEmpty() && otherLanguageKeyValues.entrySet().stream()
+        .noneMatch(pEntry -> languageKeyValues.containsKey(pEntry.getKey()) && !pEntry.getValue().equals(languageKeyValues.get(pEntry.getKey())));
   }
 
   @Override
@@ -59,74 +50,133 @@ public class LanguageFileResolveOption extends XMLBasedResolveOption
   }
 
   /**
-   * Read a nodeList, based on the assumption that the nodes contained in the list are "stringEntry" nodes that each contain a "value" and "name" node as children.
-   * This mirrors a key-value pair in a language file
+   * Wraps the provided text in a "values" tag to ensure that the text can be parsed, even if the text contains several root nodes with the same name
+   * This can occur because the conflict text is not a full XML, but a snipped of it. The parser cannot parse a xml with identical root nodes
    *
-   * @param pNodeList NodeList containing the values to be read
-   * @return Map with the "name" values as keys and the "value" values as values of the map. If in any node either the value or the name cannot be found returns an empty map
+   * @param pText text of a conflict, will be parsed by the XML parser
+   * @return Map with the key-value pairs of the language file, see {@link #_readLanguageKeyValues(XMLStreamReader)}. Null if the text cannot be parsed
+   */
+  @Nullable
+  @Override
+  Map<String, String> parseText(@NonNull String pText)
+  {
+    String cleanedConflictText = Arrays.stream(pText.split("\n")).map(String::trim).collect(Collectors.joining());
+    if (cleanedConflictText.endsWith("<stringEntry>"))
+      cleanedConflictText = "<stringEntry>" + cleanedConflictText.substring(0, cleanedConflictText.length() - "<stringEntry>".length());
+    return streamXML("<values>" + cleanedConflictText + "</values>", LanguageFileResolveOption::_readLanguageKeyValues);
+  }
+
+  /**
+   * Reads the children of the "values" root, based on the assumption that the children are "stringEntry" elements that each contain a "value" and "name"
+   * element. This mirrors a key-value pair in a language file. Children with other names are skipped
+   *
+   * @param pReader reader positioned at the start of the wrapped conflict text
+   * @return Map with the "name" texts as keys and the "value" texts as values of the map. If in any "stringEntry" either the value or the name cannot be
+   * found returns an empty map
+   * @throws XMLStreamException if the conflict text is not well-formed
    */
   @NonNull
-  private Map<String, String> readLanguageKeyValues(@NonNull NodeList pNodeList)
+  private static Map<String, String> _readLanguageKeyValues(@NonNull XMLStreamReader pReader) throws XMLStreamException
   {
     Map<String, String> valueMap = new HashMap<>();
-    for (int index = 0; index < pNodeList.getLength(); index++)
+    boolean missingNameOrValue = false;
+    int depth = 0;
+    while (pReader.hasNext())
     {
-      Node node = pNodeList.item(index);
-      if ("stringEntry".equals(node.getNodeName()))
+      int event = pReader.next();
+      if (event == XMLStreamConstants.START_ELEMENT)
       {
-        NodeList childNodes = node.getChildNodes();
-        String nameContent = Optional.ofNullable(findNode(childNodes, "name")).map(Node::getFirstChild).map(Node::getTextContent).orElse(null);
-        String valueContent = Optional.ofNullable(findNode(childNodes, "value")).map(Node::getFirstChild).map(Node::getTextContent).orElse(null);
-        if (nameContent != null && valueContent != null)
-        {
-          valueMap.put(nameContent, valueContent);
-        }
-        else
+        depth++;
+        // depth 1 is the "values" root, depth 2 the stringEntries and depth 3 the name and value of an entry
+        if (depth == 2 && "stringEntry".equals(pReader.getLocalName()))
         {
-          return Map.of();
+          // only the children of the stringEntry are read here, the loop continues after the end of the stringEntry. Only the first name and value count
+          String nameContent = null;
+          String valueContent = null;
+          boolean nameFound = false;
+          boolean valueFound = false;
+          int entryDepth = depth;
+          while (depth >= entryDepth)
+          {
+            event = pReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+              depth++;
+              if (depth == entryDepth + 1 && "name".equals(pReader.getLocalName()) && !nameFound)
+              {
+                nameFound = true;
+                nameContent = _readText(pReader);
+                depth--;
+              }
+              else if (depth == entryDepth + 1 && "value".equals(pReader.getLocalName()) && !valueFound)
+              {
+                valueFound = true;
+                valueContent = _readText(pReader);
+                depth--;
+              }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+              depth--;
+          }
+          if (nameContent != null && valueContent != null)
+            valueMap.put(nameContent, valueContent);
+          else
+            missingNameOrValue = true;
         }
       }
+      else if (event == XMLStreamConstants.END_ELEMENT)
+        depth--;
     }
-    return valueMap;
+    // the whole text has to be read before returning, the result is only valid if the text is well-formed
+    return missingNameOrValue ? Map.of() : valueMap;
   }
 
   /**
-   * Wraps the provided text in a "values" tag to ensure that the text can be parsed, even if the text contains several root nodes with the same name
-   * This can occur because the conflict text is not a full XML, but a snipped of it. The parser cannot parse a xml with identical root nodes
+   * Reads the text of the first child node of the element the reader is positioned at and moves the reader to the end of the element
    *
-   * @param pConflictText text of a conflict, will be parsed by the XML parser
-   * @return NodeList with the values of the parsed pConflictText XML
-   * @throws IOException                  If any IO errors occur.
-   * @throws SAXException                 If any parse errors occur.
-   * @throws ParserConfigurationException by the documentBuilder for parsing XML files: if a DocumentBuilder cannot be created which satisfies the configuration requested.
+   * @param pReader reader positioned at a start element
+   * @return text of the first child node, or null if the element is empty
+   * @throws XMLStreamException if the conflict text is not well-formed
    */
   @Nullable
-  private NodeList getStringEntryList(@NonNull String pConflictText) throws IOException, ParserConfigurationException, SAXException
+  private static String _readText(@NonNull XMLStreamReader pReader) throws XMLStreamException
   {
-    String cleanedConflictText = Arrays.stream(pConflictText.split("\n")).map(String::trim).collect(Collectors.joining());
-    if (cleanedConflictText.endsWith("<stringEntry>"))
-      cleanedConflictText = "<stringEntry>" + cleanedConflictText.substring(0, cleanedConflictText.length() - "<stringEntry>".length());
-    NodeList rootNodeList = parseConflictText(new ByteArrayInputStream(("<values>" + cleanedConflictText + "</values>").getBytes(StandardCharsets.UTF_8)));
-    return Optional.ofNullable(findNode(rootNodeList, "values")).map(Node::getChildNodes).orElse(null);
+    int event = pReader.next();
+    if (event == XMLStreamConstants.END_ELEMENT)
+      return null;
+    String text;
+    if (event == XMLStreamConstants.START_ELEMENT)
+      text = _readTextContent(pReader);
+    else if (event == XMLStreamConstants.PROCESSING_INSTRUCTION)
+      text = pReader.getPIData();
+    else
+      text = pReader.getText();
+    _readTextContent(pReader);
+    return text;
   }
 
   /**
-   * Go through a list of nodes and search for a node with name pName
+   * Moves the reader to the end of the current element and collects all text on the way, including the text of nested elements
    *
-   * @param pNodeList List of nodes
-   * @param pName     Name of the node to find
-   * @return node with the given name, or null if no such node can be found
+   * @param pReader reader positioned inside an element
+   * @return the text up to the end of the element
+   * @throws XMLStreamException if the conflict text is not well-formed
    */
-  @Nullable
-  private Node findNode(@NonNull NodeList pNodeList, @NonNull String pName)
+  @NonNull
+  private static String _readTextContent(@NonNull XMLStreamReader pReader) throws XMLStreamException
   {
-    for (int index = 0; index < pNodeList.getLength(); index++)
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0)
     {
-      if (pName.equals(pNodeList.item(index).getNodeName()))
-      {
-        return pNodeList.item(index);
-      }
+      int event = pReader.next();
+      if (event == XMLStreamConstants.START_ELEMENT)
+        depth++;
+      else if (event == XMLStreamConstants.END_ELEMENT)
+        depth--;
+      else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE)
+        text.append(pReader.getText());
     }
-    return null;
+    return text.toString();
   }
 }
@@ -27,63 +27,56 @@ final class LineIndexDiffUtil
    * @return List of IChangeTypes
    */
   static <T> @NonNull List<T> getTextOffsets(@NonNull String pOriginalContent, @NonNull String pChangedContent, @NonNull EditList pEditList, @NonNull IChangeDeltaFactory<T> pChangeDeltaFactory)
+  {
+    return getTextOffsets(LineOffsetIndex.of(pOriginalContent), LineOffsetIndex.of(pChangedContent), pEditList, pChangeDeltaFactory);
+  }
+
+  /**
+   * Creates a list of a kind of changeType from the given edits and the line indices of the two versions of the text
+   *
+   * @param pOldTextLineIndex   LineOffsetIndex of the original version of the text
+   * @param pNewTextLineIndex   LineOffsetIndex of the changed version of the text
+   * @param pEditList           EditList containing information about the changed lines between the two versions, line numbers have to match the indices
+   * @param pChangeDeltaFactory IChangeDeltaFactory that creates some kind of changeType from the edits and line and text offsets
+   * @param <T>                 Type of the ChangeType created by the IChangeDeltaFactory
+   * @return List of IChangeTypes
+   */
+  static <T> @NonNull List<T> getTextOffsets(@NonNull LineOffsetIndex pOldTextLineIndex, @NonNull LineOffsetIndex pNewTextLineIndex, @NonNull EditList pEditList,
+                                             @NonNull IChangeDeltaFactory<T> pChangeDeltaFactory)
   {
     List<T> list = new ArrayList<>();
-    List<LineInfo> oldTextLineInfos = LineIndexDiffUtil.getLineInfos(pOriginalContent);
-    List<LineInfo> newTextLineInfos = LineIndexDiffUtil.getLineInfos(pChangedContent);
 
     for (Edit edit : pEditList)
     {
-      int startIndexOld = LineIndexDiffUtil.getStartIndexSafely(oldTextLineInfos, edit.getBeginA());
-      int endIndexOld = oldTextLineInfos.get(Math.min(oldTextLineInfos.size() - 1, Math.max(edit.getBeginA(), edit.getEndA() - 1))).getEndIndex();
-      int startIndexNew = LineIndexDiffUtil.getStartIndexSafely(newTextLineInfos, edit.getBeginB());
+      int startIndexOld = LineIndexDiffUtil.getStartIndexSafely(pOldTextLineIndex, edit.getBeginA());
+      int endIndexOld = pOldTextLineIndex.getLineEnd(Math.min(pOldTextLineIndex.getLineCount() - 1, Math.max(edit.getBeginA(), edit.getEndA() - 1)));
+      int startIndexNew = LineIndexDiffUtil.getStartIndexSafely(pNewTextLineIndex, edit.getBeginB());
       int endIndexNew;
       if (edit.getType() == Edit.Type.DELETE)
         endIndexNew = startIndexNew;
       else
-        endIndexNew = newTextLineInfos.get(Math.min(newTextLineInfos.size() - 1, Math.max(edit.getBeginB(), edit.getEndB() - 1))).getEndIndex();
+        endIndexNew = pNewTextLineIndex.getLineEnd(Math.min(pNewTextLineIndex.getLineCount() - 1, Math.max(edit.getBeginB(), edit.getEndB() - 1)));
       list.add(pChangeDeltaFactory.createDelta(edit, new ChangeDeltaTextOffsets(startIndexOld, endIndexOld, startIndexNew, endIndexNew)));
     }
     return list;
   }
 
   /**
-   * @param pLineInfos List of LineInfos
-   * @param pIndex     index of the line
+   * @param pLineOffsetIndex LineOffsetIndex of the text
+   * @param pIndex           index of the line
    * @return start index of the line, or +1 to the endIndex of the last line if index is out of bounds
    */
-  static int getStartIndexSafely(@NonNull List<LineInfo> pLineInfos, int pIndex)
+  static int getStartIndexSafely(@NonNull LineOffsetIndex pLineOffsetIndex, int pIndex)
   {
-    if (pLineInfos.size() > pIndex)
+    if (pLineOffsetIndex.getLineCount() > pIndex)
     {
-      return pLineInfos.get(pIndex).getStartIndex();
+      return pLineOffsetIndex.getLineStart(pIndex);
     }
     else
     {
-      // E.g. if there was no \n in the last line, we end up here. Take the last lineInfo and then add one character
-      return pLineInfos.get(pLineInfos.size() - 1).getEndIndex() + 1;
-    }
-  }
-
-  /**
-   * Creates the LineInfo for a given String/text
-   *
-   * @param pText String or text for which to generate a list of LineInfos
-   * @return List of LineInfos with the start and endIndices of the lines in the String or text
-   */
-  static @NonNull List<LineInfo> getLineInfos(@NonNull String pText)
-  {
-    List<LineInfo> lineInfos = new ArrayList<>();
-    int startIndex = 0;
-    for (String line : pText.split("\n", -1))
-    {
-      // + 1 because of the missing \n in line (that is actually there)
-      lineInfos.add(new LineInfo(startIndex, startIndex + line.length() + 1));
-      startIndex += line.length() + 1;
+      // E.g. if there was no \n in the last line, we end up here. Take the end of the last line and then add one character
+      return pLineOffsetIndex.getTextLength() + 1;
     }
-    LineInfo lastLineInfo = lineInfos.get(lineInfos.size() - 1);
-    lineInfos.set(lineInfos.size() - 1, new LineInfo(lastLineInfo.getStartIndex(), lastLineInfo.getEndIndex() - 1));
-    return lineInfos;
   }
 
   /**
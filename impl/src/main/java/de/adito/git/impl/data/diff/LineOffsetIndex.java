@@ -0,0 +1,200 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.ELineEnding;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Index of the start offsets of all lines of a text, built in a single pass over the text. Like in the RawText of JGit, only "\n" ends a line: a "\r\n"
+ * ends the line after the "\n", a single "\r" is part of the line. Otherwise the line numbers would not match those of the EditLists created by JGit.
+ * Lookups of the line for an offset are done by binary search, so that no helper has to split the text or scan it from the start for each line it needs.
+ * While building the index, the used kinds of line endings are counted as well
+ *
+ * @author agent, 19.10.2026
+ */
+public final class LineOffsetIndex
+{
+
+  private static final int INITIAL_CAPACITY = 64;
+  private final int[] lineStarts;
+  private final int numLines;
+  private final int textLength;
+  private final int numWindowsLineEndings;
+  private final int numUnixLineEndings;
+  private final int numMacLineEndings;
+
+  private LineOffsetIndex(int[] pLineStarts, int pNumLines, int pTextLength, int pNumWindowsLineEndings, int pNumUnixLineEndings, int pNumMacLineEndings)
+  {
+    lineStarts = pLineStarts;
+    numLines = pNumLines;
+    textLength = pTextLength;
+    numWindowsLineEndings = pNumWindowsLineEndings;
+    numUnixLineEndings = pNumUnixLineEndings;
+    numMacLineEndings = pNumMacLineEndings;
+  }
+
+  /**
+   * Creates the index for the given text
+   *
+   * @param pText text to index
+   * @return LineOffsetIndex of the text
+   */
+  @NonNull
+  public static LineOffsetIndex of(@NonNull CharSequence pText)
+  {
+    int[] lineStarts = new int[INITIAL_CAPACITY];
+    int numLines = 1;
+    int windows = 0;
+    int unix = 0;
+    int mac = 0;
+    int length = pText.length();
+    for (int index = 0; index < length; index++)
+    {
+      char currentChar = pText.charAt(index);
+      if (currentChar == '\r')
+      {
+        // only counted for the line endings, the line ends at the following "\n" for windows line endings and not at all for mac line endings
+        if (index + 1 < length && pText.charAt(index + 1) == '\n')
+          windows++;
+        else
+          mac++;
+      }
+      else if (currentChar == '\n')
+      {
+        if (index == 0 || pText.charAt(index - 1) != '\r')
+          unix++;
+        if (numLines == lineStarts.length)
+          lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        lineStarts[numLines] = index + 1;
+        numLines++;
+      }
+    }
+    return new LineOffsetIndex(lineStarts, numLines, length, windows, unix, mac);
+  }
+
+  /**
+   * Creates an index in which each word of the text is treated as a line, i.e. spaces as well as newlines count as line breaks. Used for word-based diffs,
+   * the line ending counts of the returned index are always 0
+   *
+   * @param pText text to index
+   * @return LineOffsetIndex with one line per word
+   */
+  @NonNull
+  static LineOffsetIndex ofWords(@NonNull CharSequence pText)
+  {
+    int[] lineStarts = new int[INITIAL_CAPACITY];
+    int numLines = 1;
+    int length = pText.length();
+    for (int index = 0; index < length; index++)
+    {
+      char currentChar = pText.charAt(index);
+      if (currentChar == ' ' || currentChar == '\n')
+      {
+        if (numLines == lineStarts.length)
+          lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        lineStarts[numLines] = index + 1;
+        numLines++;
+      }
+    }
+    return new LineOffsetIndex(lineStarts, numLines, length, 0, 0, 0);
+  }
+
+  /**
+   * @return number of lines in the text. A text without any line break consists of one line, an empty text as well
+   */
+  public int getLineCount()
+  {
+    return numLines;
+  }
+
+  /**
+   * @return number of line breaks in the text
+   */
+  public int getLineBreakCount()
+  {
+    return numLines - 1;
+  }
+
+  /**
+   * @return length of the indexed text
+   */
+  public int getTextLength()
+  {
+    return textLength;
+  }
+
+  /**
+   * @param pLine index of the line, 0-based
+   * @return offset of the first character of the line
+   */
+  public int getLineStart(int pLine)
+  {
+    return lineStarts[pLine];
+  }
+
+  /**
+   * @param pLine index of the line, 0-based
+   * @return offset after the last character of the line, including the line break. For the last line this is the length of the text
+   */
+  public int getLineEnd(int pLine)
+  {
+    return pLine + 1 < numLines ? lineStarts[pLine + 1] : textLength;
+  }
+
+  /**
+   * @param pLine index of the line, 0-based
+   * @return offset of the last character of the line break that ends the given line (the "\n" for "\r\n"), -1 if the line is the last line and has no line break
+   */
+  public int getLineBreakOffset(int pLine)
+  {
+    return pLine + 1 < numLines ? lineStarts[pLine + 1] - 1 : -1;
+  }
+
+  /**
+   * Finds the line that contains the given offset
+   *
+   * @param pOffset offset in the text
+   * @return index of the line that contains the offset. Offsets bigger than the text length return the last line
+   */
+  public int getLineOfOffset(int pOffset)
+  {
+    int index = Arrays.binarySearch(lineStarts, 0, numLines, pOffset);
+    if (index >= 0)
+      return index;
+    return Math.max(0, -index - 2);
+  }
+
+  /**
+   * @return true if the text contains a \r, either as part of a windows line ending or on its own
+   */
+  public boolean containsCarriageReturn()
+  {
+    return numWindowsLineEndings + numMacLineEndings > 0;
+  }
+
+  /**
+   * @return true if the text contains a \n, either as part of a windows line ending or on its own
+   */
+  public boolean containsLineFeed()
+  {
+    return numWindowsLineEndings + numUnixLineEndings > 0;
+  }
+
+  /**
+   * Returns the LineEnding that is most often found in the text. If there are several candidates, windows is preferred over unix and unix over mac
+   *
+   * @return the LineEnding that is most often found
+   */
+  @NonNull
+  public ELineEnding getMostUsedLineEnding()
+  {
+    int max = Math.max(numWindowsLineEndings, Math.max(numUnixLineEndings, numMacLineEndings));
+    if (max == numWindowsLineEndings)
+      return ELineEnding.WINDOWS;
+    else if (max == numUnixLineEndings)
+      return ELineEnding.UNIX;
+    else
+      return ELineEnding.MAC;
+  }
+}
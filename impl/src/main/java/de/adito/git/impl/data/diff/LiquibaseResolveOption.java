@@ -3,14 +3,10 @@ package de.adito.git.impl.data.diff;
 import de.adito.git.api.data.diff.*;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.util.*;
 
 /**
@@ -19,7 +15,7 @@ import java.util.*;
  *
  * @author m.kaspera, 24.10.2022
  */
-public class LiquibaseResolveOption extends XMLBasedResolveOption
+public class LiquibaseResolveOption extends XMLBasedResolveOption<Set<String>>
 {
   @Override
   public List<IDeltaTextChangeEvent> resolveConflict(@NonNull IChangeDelta acceptedDelta, @NonNull IFileDiff pAcceptedDiff, @NonNull IFileDiff pOtherDiff,
@@ -29,48 +25,79 @@ public class LiquibaseResolveOption extends XMLBasedResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canApply(@NonNull ResolveContext pResolveContext)
   {
-    if (!"xml".equals(pFileDiffHeader.getFileExtension(EChangeSide.NEW)))
+    return "xml".equals(pResolveContext.getFileExtension());
+  }
+
+  @Override
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
+  {
+    Set<String> liquibaseFiles = getParsedText(pResolveContext.getConflictSide(), pResolveContext.getText());
+    // cannot parse the filename, or some other type of node -> cannot be resolved by this resolveOption
+    if (liquibaseFiles == null)
       return false;
-    try
+    Set<String> otherLiquibaseFiles = getParsedText(EConflictSide.getOpposite(pResolveContext.getConflictSide()), pResolveContext.getOtherText());
+    // if filename cannot be parsed or the other side declares the same filename this resolveOption cannot resolve the conflict
+    return otherLiquibaseFiles != null && Collections.disjoint(liquibaseFiles, otherLiquibaseFiles);
+  }
+
+  @Nullable
+  @Override
+  Set<String> parseText(@NonNull String pText)
+  {
+    return streamXML(pText, LiquibaseResolveOption::_readLiquibaseFileNames);
+  }
+
+  /**
+   * Reads the filenames of the top-level nodes of a conflict text
+   *
+   * @param pReader reader positioned at the start of the conflict text
+   * @return the attributes "file" of the top-level nodes, or null if any top-level node has no such attribute or is no element
+   * @throws XMLStreamException if the conflict text is not well-formed
+   */
+  @Nullable
+  private static Set<String> _readLiquibaseFileNames(@NonNull XMLStreamReader pReader) throws XMLStreamException
+  {
+    Set<String> liquibaseFiles = new HashSet<>();
+    int depth = 0;
+    while (pReader.hasNext())
     {
-      NodeList nodeList = parseConflictText(new ByteArrayInputStream(pChangeDelta.getText(EChangeSide.NEW).getBytes(StandardCharsets.UTF_8)));
-      Set<String> liquibaseFiles = new HashSet<>();
-      for (int index = 0; index < nodeList.getLength(); index++)
+      int event = pReader.next();
+      if (event == XMLStreamConstants.START_ELEMENT)
       {
-        String liquibaseFileName = getLiquibaseFileName(nodeList.item(index));
-        // cannot parse the filename, or some other type of node -> cannot be resolved by this resolveOption
-        if (liquibaseFileName == null)
-          return false;
-        liquibaseFiles.add(liquibaseFileName);
+        if (depth == 0)
+        {
+          String liquibaseFileName = _getLiquibaseFileName(pReader);
+          if (liquibaseFileName == null)
+            return null;
+          liquibaseFiles.add(liquibaseFileName);
+        }
+        depth++;
       }
-      NodeList otherNodeList = parseConflictText(new ByteArrayInputStream(pOtherDelta.getText(EChangeSide.NEW).getBytes(StandardCharsets.UTF_8)));
-      for (int index = 0; index < otherNodeList.getLength(); index++)
-      {
-        String liquibaseFileName = getLiquibaseFileName(otherNodeList.item(index));
-        // if filename cannot be parsed or the other side declares the same filename this resolveOption cannot resolve the conflict
-        if (liquibaseFileName == null || liquibaseFiles.contains(liquibaseFileName))
-          return false;
-      }
-
-      return true;
-    }
-    catch (IOException | SAXException | ParserConfigurationException pE)
-    {
-      return false;
+      else if (event == XMLStreamConstants.END_ELEMENT)
+        depth--;
+      else if (depth == 0 && event != XMLStreamConstants.END_DOCUMENT && !pReader.isWhiteSpace())
+        return null;
     }
+    return liquibaseFiles;
   }
 
   /**
-   * @param pNode XML node that contains the filename as attribute named "file"
-   * @return the attribute "file" of the node, or null if no such attribute exists
+   * @param pReader reader positioned at a start element that contains the filename as attribute named "file"
+   * @return the attribute "file" of the element, or null if no such attribute exists
    */
   @Nullable
-  private String getLiquibaseFileName(@NonNull Node pNode)
+  private static String _getLiquibaseFileName(@NonNull XMLStreamReader pReader)
   {
-    return Optional.ofNullable(pNode.getAttributes().getNamedItem("file")).map(Node::getTextContent).orElse(null);
+    for (int index = 0; index < pReader.getAttributeCount(); index++)
+    {
+      // the reader is not namespace aware, so an attribute "x:file" is reported with the local name "file" and the prefix "x"
+      String prefix = pReader.getAttributePrefix(index);
+      if ("file".equals(pReader.getAttributeLocalName(index)) && (prefix == null || prefix.isEmpty()))
+        return pReader.getAttributeValue(index);
+    }
+    return null;
   }
 
   @Override
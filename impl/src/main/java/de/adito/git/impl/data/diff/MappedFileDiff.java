@@ -0,0 +1,163 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.IDelta;
+import de.adito.git.impl.EnumMappings;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Diff mode for very large files (e.g. generated resources). Both files are memory-mapped and hashed line by line, so neither the content of the files
+ * nor the single lines are ever materialised as Strings. The histogram diff runs over the hashed sequences only once the edits are actually requested,
+ * and the deltas are created one at a time while iterating.
+ * <p>
+ * The text indices of the deltas created by this class are byte offsets into the files, not character offsets of a decoded String. The files stay mapped until
+ * the MappedFileDiff is closed, the EditList has to be calculated before that
+ *
+ * @author agent, 19.10.2026
+ */
+public final class MappedFileDiff implements AutoCloseable
+{
+
+  private final HashedLineSequence originalLines;
+  private final HashedLineSequence changedLines;
+  @Nullable
+  private EditList editList = null;
+  private boolean closed = false;
+
+  private MappedFileDiff(@NonNull HashedLineSequence pOriginalLines, @NonNull HashedLineSequence pChangedLines)
+  {
+    originalLines = pOriginalLines;
+    changedLines = pChangedLines;
+  }
+
+  /**
+   * Memory-maps the two files and prepares the diff between them. The diff itself is only calculated once the edits or deltas are requested
+   *
+   * @param pOriginal path of the file in its original version
+   * @param pChanged  path of the file in its changed version
+   * @return MappedFileDiff for the two files
+   * @throws IOException if one of the files cannot be read or mapped
+   */
+  @NonNull
+  public static MappedFileDiff diff(@NonNull Path pOriginal, @NonNull Path pChanged) throws IOException
+  {
+    HashedLineSequence originalLines = HashedLineSequence.map(pOriginal);
+    try
+    {
+      return new MappedFileDiff(originalLines, HashedLineSequence.map(pChanged));
+    }
+    catch (IOException | RuntimeException pE)
+    {
+      originalLines.unmap();
+      throw pE;
+    }
+  }
+
+  /**
+   * @return number of lines in the original version
+   */
+  public int getNumLinesOriginal()
+  {
+    return originalLines.size();
+  }
+
+  /**
+   * @return number of lines in the changed version
+   */
+  public int getNumLinesChanged()
+  {
+    return changedLines.size();
+  }
+
+  /**
+   * @return EditList with the changed lines between the original and changed version. Calculated on the first call
+   * @throws IllegalStateException if the EditList was not calculated before the MappedFileDiff was closed
+   */
+  @NonNull
+  public EditList getEditList()
+  {
+    if (editList == null)
+    {
+      if (closed)
+        throw new IllegalStateException("The files of the diff are unmapped already, the changed lines can no longer be calculated");
+      editList = new HistogramDiff().diff(HashedLineSequenceComparator.INSTANCE, originalLines, changedLines);
+    }
+    return editList;
+  }
+
+  /**
+   * Unmaps both files. The EditList and the deltas stay available if the EditList was calculated before, they only need the offsets of the lines
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    originalLines.unmap();
+    changedLines.unmap();
+  }
+
+  /**
+   * Creates an iterator that lazily transforms the edits into IDeltas, with the text indices given as byte offsets into the files
+   *
+   * @return Iterator over the deltas
+   */
+  @NonNull
+  public Iterator<IDelta> getDeltas()
+  {
+    return getDeltas((pEdit, pDeltaTextOffsets) -> new LinePartChangeDeltaImpl(EnumMappings.toChangeType(pEdit.getType()), pDeltaTextOffsets));
+  }
+
+  /**
+   * Creates an iterator that lazily transforms the edits into some kind of delta, with the text indices given as byte offsets into the files
+   *
+   * @param pChangeDeltaFactory IChangeDeltaFactory that creates the delta from the edit and the byte offsets
+   * @param <T>                 Type of the delta created by the IChangeDeltaFactory
+   * @return Iterator over the deltas
+   */
+  @NonNull
+  <T> Iterator<T> getDeltas(@NonNull IChangeDeltaFactory<T> pChangeDeltaFactory)
+  {
+    EditList edits = getEditList();
+    return new Iterator<>()
+    {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext()
+      {
+        return index < edits.size();
+      }
+
+      @Override
+      public T next()
+      {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        Edit edit = edits.get(index++);
+        return pChangeDeltaFactory.createDelta(edit, getTextOffsets(edit));
+      }
+    };
+  }
+
+  /**
+   * Determines the byte offsets of the changed region of an edit. For inserts and deletes the offsets of the side without lines are an empty region
+   *
+   * @param pEdit Edit to get the offsets for
+   * @return ChangeDeltaTextOffsets with the byte offsets of both versions
+   */
+  @NonNull
+  ChangeDeltaTextOffsets getTextOffsets(@NonNull Edit pEdit)
+  {
+    int startIndexOld = originalLines.getStartOffset(pEdit.getBeginA());
+    int endIndexOld = pEdit.getType() == Edit.Type.INSERT ? startIndexOld : originalLines.getStartOffset(pEdit.getEndA());
+    int startIndexNew = changedLines.getStartOffset(pEdit.getBeginB());
+    int endIndexNew = pEdit.getType() == Edit.Type.DELETE ? startIndexNew : changedLines.getStartOffset(pEdit.getEndB());
+    return new ChangeDeltaTextOffsets(startIndexOld, endIndexOld, startIndexNew, endIndexNew);
+  }
+}
@@ -2,7 +2,6 @@ package de.adito.git.impl.data.diff;
 
 import de.adito.git.api.data.diff.*;
 import lombok.NonNull;
-import org.eclipse.jgit.diff.Edit;
 import org.eclipse.jgit.diff.EditList;
 import org.jetbrains.annotations.Nullable;
 
@@ -180,91 +179,16 @@ public class MergeDataImpl implements IMergeData
   }
 
   /**
-   * Takes the given editLists and adjusts the contained edits such that two conflicting edits reference the same lines in the A-side version
+   * Takes the given editLists and adjusts the contained edits such that two conflicting edits reference the same lines in the A-side version.
+   * The edits of one list must not touch each other on the A-side, which is the case for all EditLists produced by a diff
    *
    * @param pEditList      First list of edits
    * @param pOtherEditList second list of edits
+   * @see ThreeWayMerge#alignEditLists(EditList, EditList)
    */
   public static void adjustEditListForMerge(@NonNull EditList pEditList, @NonNull EditList pOtherEditList)
   {
-    for (int mainIndex = 0; mainIndex < pEditList.size(); mainIndex++)
-    {
-      for (int otherIndex = 0; otherIndex < pOtherEditList.size(); otherIndex++)
-      {
-        if (_doesOverlap(pEditList.get(mainIndex), pOtherEditList.get(otherIndex)))
-        {
-          pEditList.set(mainIndex, _mergeEdit(pEditList.get(mainIndex), pOtherEditList.get(otherIndex)));
-          pOtherEditList.set(otherIndex, _mergeEdit(pOtherEditList.get(otherIndex), pEditList.get(mainIndex)));
-        }
-      }
-    }
-    _compressList(pEditList);
-    _compressList(pOtherEditList);
-  }
-
-  /**
-   * Goes throught the editList and combines adjacent or overlapping edits
-   *
-   * @param pEditList EditList to compress
-   */
-  private static void _compressList(EditList pEditList)
-  {
-    if (!pEditList.isEmpty())
-    {
-      Edit currentEdit;
-      Edit nextEdit;
-      // the loop counter is not updated on each loop, but only if the edit was not changed -> this way, several adjacent edits may be combined/folded into one with
-      // only a single loop
-      for (int index = 0; index < pEditList.size() - 1; )
-      {
-        currentEdit = pEditList.get(index);
-        nextEdit = pEditList.get(index + 1);
-        if (currentEdit.getEndA() >= nextEdit.getBeginA() || currentEdit.getEndB() >= nextEdit.getBeginB())
-        {
-          pEditList.set(index, new Edit(currentEdit.getBeginA(),
-                                        nextEdit.getEndA(),
-                                        currentEdit.getBeginB(),
-                                        nextEdit.getEndB()));
-          pEditList.remove(index + 1);
-        }
-        else
-          index++;
-      }
-    }
-  }
-
-  /**
-   * "Merges" pEdit with pOtherEdit based on their A-side lines. The A-Side lines for the returned edit and pOtherEdit will be the same,
-   * with the B-side lines of pEdit adjusted such that any additional lines taken in on the A-Side are reflected on the B-side
-   *
-   * @param pEdit      Edit that should form the basis of the B-side lines, this is the "main" edit
-   * @param pOtherEdit This edit should be combined with the first
-   * @return Edit
-   */
-  private static Edit _mergeEdit(Edit pEdit, Edit pOtherEdit)
-  {
-    int startOffsetB = Math.min(pEdit.getBeginA(), pOtherEdit.getBeginA()) - pEdit.getBeginA();
-    int endOffsetB = Math.max(pEdit.getEndA(), pOtherEdit.getEndA()) - pEdit.getEndA();
-    return new Edit(Math.min(pEdit.getBeginA(), pOtherEdit.getBeginA()), Math.max(pEdit.getEndA(), pOtherEdit.getEndA()),
-                    pEdit.getBeginB() + startOffsetB, pEdit.getEndB() + endOffsetB);
-  }
-
-  /**
-   * Checks if the given edits overlap on their A-side
-   *
-   * @param pEdit      first edit
-   * @param pOtherEdit second edit
-   * @return false if the edits do not overlap or are the same (on the A-side), true otherwise
-   */
-  private static boolean _doesOverlap(Edit pEdit, Edit pOtherEdit)
-  {
-    if (pOtherEdit.getEndA() == pEdit.getEndA() && pOtherEdit.getBeginA() == pEdit.getBeginA())
-      return false;
-    if (pOtherEdit.getEndA() < pEdit.getBeginA())
-      return false;
-    if (pOtherEdit.getEndA() <= pEdit.getEndA())
-      return true;
-    return pOtherEdit.getBeginA() <= pEdit.getEndA();
+    ThreeWayMerge.alignEditLists(pEditList, pOtherEditList);
   }
 
   @Override
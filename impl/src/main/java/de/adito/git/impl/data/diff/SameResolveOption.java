@@ -20,12 +20,16 @@ public class SameResolveOption implements ResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canApply(@NonNull ResolveContext pResolveContext)
   {
-    return pChangeDelta.getStartTextIndex(EChangeSide.OLD) == pOtherDelta.getStartTextIndex(EChangeSide.OLD)
-        && pChangeDelta.getEndTextIndex(EChangeSide.OLD) == pOtherDelta.getEndTextIndex(EChangeSide.OLD)
-        && pChangeDelta.getText(EChangeSide.NEW).equals(pOtherDelta.getText(EChangeSide.NEW));
+    return pResolveContext.getChangeDelta().getStartTextIndex(EChangeSide.OLD) == pResolveContext.getOtherDelta().getStartTextIndex(EChangeSide.OLD)
+        && pResolveContext.getChangeDelta().getEndTextIndex(EChangeSide.OLD) == pResolveContext.getOtherDelta().getEndTextIndex(EChangeSide.OLD);
+  }
+
+  @Override
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
+  {
+    return pResolveContext.getText().equals(pResolveContext.getOtherText());
   }
 
   @Override
@@ -33,4 +37,10 @@ public class SameResolveOption implements ResolveOption
   {
     return 0;
   }
+
+  @Override
+  public int getCostEstimate()
+  {
+    return COST_LOW;
+  }
 }
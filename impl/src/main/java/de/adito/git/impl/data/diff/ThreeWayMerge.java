@@ -0,0 +1,141 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.EConflictSide;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+
+/**
+ * Three-way merge of the lines of a fork-point version with the two versions that are based on it. Each of the three versions is read into a RawText and
+ * hashed only once, the hashes of the fork-point version are shared by the diffs against both sides.
+ * The edits of both sides can then be aligned such that conflicting edits reference the same lines of the fork-point version, see
+ * {@link #alignEditLists(EditList, EditList)}
+ *
+ * @author agent, 19.10.2026
+ */
+public final class ThreeWayMerge
+{
+
+  private final EditList yoursChangedLines;
+  private final EditList theirsChangedLines;
+
+  /**
+   * Diffs the fork-point version against both other versions
+   *
+   * @param pComparator RawTextComparator that decides which lines are equal
+   * @param pForkPoint  content of the fork-point version
+   * @param pYours      content of the YOURS version
+   * @param pTheirs     content of the THEIRS version
+   */
+  public ThreeWayMerge(@NonNull RawTextComparator pComparator, byte @NonNull [] pForkPoint, byte @NonNull [] pYours, byte @NonNull [] pTheirs)
+  {
+    HashedRawTextComparator comparator = new HashedRawTextComparator(pComparator);
+    HashedRawText forkPointLines = new HashedRawText(new RawText(pForkPoint), pComparator);
+    yoursChangedLines = new HistogramDiff().diff(comparator, forkPointLines, new HashedRawText(new RawText(pYours), pComparator));
+    theirsChangedLines = new HistogramDiff().diff(comparator, forkPointLines, new HashedRawText(new RawText(pTheirs), pComparator));
+  }
+
+  /**
+   * @param pConflictSide side of the merge
+   * @return the changed lines from the fork-point version to the version of the given side. The returned EditList is not aligned with the other side
+   */
+  @NonNull
+  public EditList getChangedLines(@NonNull EConflictSide pConflictSide)
+  {
+    return pConflictSide == EConflictSide.YOURS ? yoursChangedLines : theirsChangedLines;
+  }
+
+  /**
+   * Takes the given editLists and adjusts the contained edits such that two conflicting edits reference the same lines in the A-side version.
+   * The edits of both lists are swept once in the order of their A-side lines: edits that overlap or touch an edit of the other list form a region, and the
+   * edits of each list inside a region are combined into one edit that spans the whole region on the A-side, with the B-side widened by the same number of
+   * lines. Afterwards, edits of the same list that touch on the B-side are combined
+   *
+   * @param pEditList      First list of edits, sorted by their A-side lines
+   * @param pOtherEditList second list of edits, sorted by their A-side lines
+   */
+  public static void alignEditLists(@NonNull EditList pEditList, @NonNull EditList pOtherEditList)
+  {
+    EditList alignedEdits = new EditList();
+    EditList otherAlignedEdits = new EditList();
+    int index = 0;
+    int otherIndex = 0;
+    while (index < pEditList.size() || otherIndex < pOtherEditList.size())
+    {
+      int regionStart = index;
+      int otherRegionStart = otherIndex;
+      int regionBeginA;
+      int regionEndA;
+      if (otherIndex >= pOtherEditList.size() || index < pEditList.size() && pEditList.get(index).getBeginA() <= pOtherEditList.get(otherIndex).getBeginA())
+      {
+        regionBeginA = pEditList.get(index).getBeginA();
+        regionEndA = pEditList.get(index++).getEndA();
+      }
+      else
+      {
+        regionBeginA = pOtherEditList.get(otherIndex).getBeginA();
+        regionEndA = pOtherEditList.get(otherIndex++).getEndA();
+      }
+      // extend the region as long as the next edit of either list starts before (or right at) the end of the region
+      boolean extended = true;
+      while (extended)
+      {
+        extended = false;
+        if (index < pEditList.size() && pEditList.get(index).getBeginA() <= regionEndA)
+        {
+          regionEndA = Math.max(regionEndA, pEditList.get(index++).getEndA());
+          extended = true;
+        }
+        if (otherIndex < pOtherEditList.size() && pOtherEditList.get(otherIndex).getBeginA() <= regionEndA)
+        {
+          regionEndA = Math.max(regionEndA, pOtherEditList.get(otherIndex++).getEndA());
+          extended = true;
+        }
+      }
+      _addRegion(pEditList, regionStart, index, regionBeginA, regionEndA, alignedEdits);
+      _addRegion(pOtherEditList, otherRegionStart, otherIndex, regionBeginA, regionEndA, otherAlignedEdits);
+    }
+    _replaceContent(pEditList, alignedEdits);
+    _replaceContent(pOtherEditList, otherAlignedEdits);
+  }
+
+  /**
+   * Combines the edits of a region into one edit that spans the whole region on the A-side
+   *
+   * @param pEditList     list containing the edits
+   * @param pStart        index of the first edit of the region in pEditList
+   * @param pEnd          index after the last edit of the region in pEditList
+   * @param pRegionBeginA first A-side line of the region
+   * @param pRegionEndA   A-side line after the region
+   * @param pAlignedEdits list that the combined edit is added to. Nothing is added if the list has no edits in the region
+   */
+  private static void _addRegion(@NonNull EditList pEditList, int pStart, int pEnd, int pRegionBeginA, int pRegionEndA, @NonNull EditList pAlignedEdits)
+  {
+    if (pStart == pEnd)
+      return;
+    Edit first = pEditList.get(pStart);
+    Edit last = pEditList.get(pEnd - 1);
+    Edit combined = new Edit(pRegionBeginA, pRegionEndA, first.getBeginB() - (first.getBeginA() - pRegionBeginA),
+                             last.getEndB() + (pRegionEndA - last.getEndA()));
+    if (!pAlignedEdits.isEmpty())
+    {
+      // regions never touch on the A-side, but the edits of two regions can still touch on the B-side
+      Edit previous = pAlignedEdits.get(pAlignedEdits.size() - 1);
+      if (previous.getEndB() >= combined.getBeginB())
+      {
+        pAlignedEdits.set(pAlignedEdits.size() - 1, new Edit(previous.getBeginA(), combined.getEndA(), previous.getBeginB(), combined.getEndB()));
+        return;
+      }
+    }
+    pAlignedEdits.add(combined);
+  }
+
+  /**
+   * @param pEditList EditList whose content should be replaced
+   * @param pContent  new content of the EditList
+   */
+  private static void _replaceContent(@NonNull EditList pEditList, @NonNull EditList pContent)
+  {
+    pEditList.clear();
+    pEditList.addAll(pContent);
+  }
+}
@@ -0,0 +1,102 @@
+package de.adito.git.impl.data.diff;
+
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Word-based diff that works on int-coded tokens. Both texts are split into words once (with the help of a word-based LineOffsetIndex), each distinct word is
+ * assigned an int id and the histogram diff then only compares ids. The resulting EditList uses the indices of the words, which are the lines of the
+ * word-based LineOffsetIndex, so the character offsets can be determined with the usual LineIndexDiffUtil methods
+ *
+ * @author agent, 19.10.2026
+ */
+final class TokenDiffUtil
+{
+
+  private TokenDiffUtil()
+  {
+  }
+
+  /**
+   * Performs a diff on a word-basis. A word is the text up to and including the next space or newline. Words are considered equal if their text without the
+   * separator is equal and both or neither have a separator, it does not matter if that separator is a space or a newline
+   *
+   * @param pOriginalVersion original version of the text
+   * @param pOriginalWords   index of the words in the original version, as created by LineOffsetIndex.ofWords
+   * @param pNewVersion      changed version of the text
+   * @param pNewWords        index of the words in the changed version, as created by LineOffsetIndex.ofWords
+   * @return EditList denoting the changed words
+   */
+  @NonNull
+  static EditList getChangedWords(@NonNull String pOriginalVersion, @NonNull LineOffsetIndex pOriginalWords, @NonNull String pNewVersion,
+                                  @NonNull LineOffsetIndex pNewWords)
+  {
+    Map<CharBuffer, Integer> tokenIds = new HashMap<>();
+    TokenSequence originalTokens = new TokenSequence(pOriginalVersion, pOriginalWords, tokenIds);
+    TokenSequence newTokens = new TokenSequence(pNewVersion, pNewWords, tokenIds);
+    return new HistogramDiff().diff(TokenSequenceComparator.INSTANCE, originalTokens, newTokens);
+  }
+
+  /**
+   * Sequence of the ids of the words of a text
+   */
+  private static final class TokenSequence extends Sequence
+  {
+
+    private final int[] tokenIds;
+
+    /**
+     * @param pText      text that is split into words
+     * @param pWordIndex index of the words of the text
+     * @param pTokenIds  Map that assigns the ids to the words, shared by all sequences that are compared to each other
+     */
+    TokenSequence(@NonNull String pText, @NonNull LineOffsetIndex pWordIndex, @NonNull Map<CharBuffer, Integer> pTokenIds)
+    {
+      int numTokens = pWordIndex.getLineCount();
+      // same as with a RawText, an empty last line (text ends with a separator or is empty) is not counted as token
+      if (pWordIndex.getLineStart(numTokens - 1) == pText.length())
+        numTokens--;
+      tokenIds = new int[numTokens];
+      for (int index = 0; index < numTokens; index++)
+      {
+        int start = pWordIndex.getLineStart(index);
+        int separatorOffset = pWordIndex.getLineBreakOffset(index);
+        int end = separatorOffset == -1 ? pText.length() : separatorOffset;
+        // the buffer is only a view on the text, the word itself is never copied
+        int id = pTokenIds.computeIfAbsent(CharBuffer.wrap(pText, start, end), pKey -> pTokenIds.size());
+        tokenIds[index] = id * 2 + (separatorOffset == -1 ? 0 : 1);
+      }
+    }
+
+    @Override
+    public int size()
+    {
+      return tokenIds.length;
+    }
+  }
+
+  /**
+   * Compares the tokens of two TokenSequences by their ids
+   */
+  private static final class TokenSequenceComparator extends SequenceComparator<TokenSequence>
+  {
+
+    private static final TokenSequenceComparator INSTANCE = new TokenSequenceComparator();
+
+    @Override
+    public boolean equals(TokenSequence pSequenceA, int pIndexA, TokenSequence pSequenceB, int pIndexB)
+    {
+      return pSequenceA.tokenIds[pIndexA] == pSequenceB.tokenIds[pIndexB];
+    }
+
+    @Override
+    public int hash(TokenSequence pSequence, int pIndex)
+    {
+      return pSequence.tokenIds[pIndex];
+    }
+  }
+}
@@ -21,11 +21,10 @@ public class WordBasedResolveOption implements ResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
   {
-    return pOtherDelta.getLinePartChanges()
-        .stream().allMatch(pLinePartChangeDelta -> pChangeDelta.getLinePartChanges()
+    return pResolveContext.getOtherDelta().getLinePartChanges()
+        .stream().allMatch(pLinePartChangeDelta -> pResolveContext.getChangeDelta().getLinePartChanges()
             .stream().noneMatch(pOwnLinePartChangeDelta -> pOwnLinePartChangeDelta.isConflictingWith(pLinePartChangeDelta)));
   }
 
@@ -34,4 +33,10 @@ public class WordBasedResolveOption implements ResolveOption
   {
     return 300;
   }
+
+  @Override
+  public int getCostEstimate()
+  {
+    return COST_HIGH;
+  }
 }
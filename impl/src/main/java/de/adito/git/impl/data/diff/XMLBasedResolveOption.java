@@ -1,28 +1,156 @@
 package de.adito.git.impl.data.diff;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.adito.git.api.data.diff.EConflictSide;
 import lombok.NonNull;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
+import org.jetbrains.annotations.Nullable;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Base class for ResolveOptions that have to extract information from the xml text of a conflict. The text is read by a StAX reader, so no DOM is built,
+ * and the extracted information is cached per side and text, because the same delta is usually checked against several other deltas
+ *
+ * @param <T> type of the information that is extracted from the xml text
  * @author m.kaspera, 26.10.2022
  */
-abstract class XMLBasedResolveOption implements ResolveOption
+abstract class XMLBasedResolveOption<T> implements ResolveOption
 {
-  private final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+  /**
+   * XMLInputFactory is not guaranteed to be thread-safe, and the options may be used by several threads at once (parallel auto-resolve)
+   */
+  private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = ThreadLocal.withInitial(XMLBasedResolveOption::_createInputFactory);
+  private static final long MAX_CACHED_CHARACTERS = 4_000_000;
+  private final Cache<_ParsedTextKey, Optional<T>> parsedTexts = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_CACHED_CHARACTERS)
+      .weigher((_ParsedTextKey pKey, Optional<T> pValue) -> pKey.text.length())
+      .expireAfterAccess(60, TimeUnit.SECONDS)
+      .build();
 
-  NodeList parseConflictText(@NonNull ByteArrayInputStream pInputStream) throws IOException, SAXException, ParserConfigurationException
+  /**
+   * @param pConflictSide side that the text is from
+   * @param pText         xml text of a conflicting delta
+   * @return the information extracted from the text, or null if the text is no valid xml or does not contain the expected elements
+   */
+  @Nullable
+  T getParsedText(@NonNull EConflictSide pConflictSide, @NonNull String pText)
   {
-    DocumentBuilder db = dbf.newDocumentBuilder();
-    Document document = db.parse(pInputStream);
-    return document.getChildNodes();
+    try
+    {
+      return parsedTexts.get(new _ParsedTextKey(pConflictSide, pText), () -> Optional.ofNullable(parseText(pText))).orElse(null);
+    }
+    catch (ExecutionException | UncheckedExecutionException pE)
+    {
+      return null;
+    }
+  }
+
+  /**
+   * Extracts the information from the text of a delta, usually by calling {@link #streamXML(String, XMLStreamMatcher)}. Not cached
+   *
+   * @param pText xml text of a conflicting delta
+   * @return the information extracted from the text, or null if the text is no valid xml or does not contain the expected elements
+   */
+  @Nullable
+  abstract T parseText(@NonNull String pText);
+
+  /**
+   * @param pXML     xml document that should be read
+   * @param pMatcher matcher that extracts the information from the events of the document
+   * @param <R>      type of the extracted information
+   * @return the result of the matcher, or null if the document is not well-formed
+   */
+  @Nullable
+  static <R> R streamXML(@NonNull String pXML, @NonNull XMLStreamMatcher<R> pMatcher)
+  {
+    try
+    {
+      XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(new StringReader(pXML));
+      try
+      {
+        return pMatcher.match(reader);
+      }
+      finally
+      {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException pE)
+    {
+      return null;
+    }
+  }
+
+  /**
+   * @return XMLInputFactory that reports element and attribute names as they are written in the text, and that does not read any DTDs
+   */
+  @NonNull
+  private static XMLInputFactory _createInputFactory()
+  {
+    XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return inputFactory;
+  }
+
+  /**
+   * Extracts information from the events of a StAX reader
+   *
+   * @param <R> type of the extracted information
+   */
+  @FunctionalInterface
+  interface XMLStreamMatcher<R>
+  {
+
+    /**
+     * @param pReader reader positioned at the start of the document. The matcher has to read until the end of the document if the result depends on the
+     *                document being well-formed
+     * @return the extracted information, or null if the document does not contain the expected elements
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    @Nullable
+    R match(@NonNull XMLStreamReader pReader) throws XMLStreamException;
+  }
+
+  /**
+   * Key for the cache of parsed texts
+   */
+  private static class _ParsedTextKey
+  {
+    final EConflictSide conflictSide;
+    final String text;
+
+    _ParsedTextKey(@NonNull EConflictSide pConflictSide, @NonNull String pText)
+    {
+      conflictSide = pConflictSide;
+      text = pText;
+    }
+
+    @Override
+    public boolean equals(Object pO)
+    {
+      if (this == pO) return true;
+      if (pO == null || getClass() != pO.getClass()) return false;
+      _ParsedTextKey parsedTextKey = (_ParsedTextKey) pO;
+      return conflictSide == parsedTextKey.conflictSide &&
+          text.equals(parsedTextKey.text);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 31 * conflictSide.hashCode() + text.hashCode();
+    }
   }
 
 }
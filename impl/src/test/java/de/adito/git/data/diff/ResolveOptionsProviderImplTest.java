@@ -0,0 +1,122 @@
+package de.adito.git.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import de.adito.git.impl.data.diff.*;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ResolveOptionsProviderImpl}.
+ *
+ * @author agent, 19.10.2026
+ */
+class ResolveOptionsProviderImplTest
+{
+
+  /**
+   * Checks that the ResolveOptions are ordered by their cost estimate first and by their position second
+   */
+  @Test
+  void orderedByCostAndPosition()
+  {
+    ResolveOption expensive = new TestResolveOption(100, ResolveOption.COST_HIGH);
+    ResolveOption cheap = new TestResolveOption(100, ResolveOption.COST_LOW);
+    ResolveOption expensiveFirst = new TestResolveOption(50, ResolveOption.COST_HIGH);
+    ResolveOption last = new TestResolveOption(200, ResolveOption.COST_LOW);
+
+    ResolveOptionsProviderImpl resolveOptionsProvider = new ResolveOptionsProviderImpl(Set.of(expensive, cheap, expensiveFirst, last), List.of());
+
+    assertEquals(List.of(cheap, last, expensiveFirst, expensive), resolveOptionsProvider.getResolveOptions());
+  }
+
+  /**
+   * Checks that ResolveOptions registered as service are added, unless a ResolveOption of the same class is bound already
+   */
+  @Test
+  void serviceResolveOptionsAdded()
+  {
+    ResolveOption sameResolveOption = new SameResolveOption();
+    ResolveOption serviceResolveOption = new TestResolveOption(50, ResolveOption.COST_LOW);
+
+    ResolveOptionsProviderImpl resolveOptionsProvider = new ResolveOptionsProviderImpl(Set.of(sameResolveOption),
+                                                                                       List.of(new SameResolveOption(), serviceResolveOption));
+
+    assertEquals(List.of(sameResolveOption, serviceResolveOption), resolveOptionsProvider.getResolveOptions());
+  }
+
+  /**
+   * Checks that a ResolveOption that cannot be loaded does not prevent the other ResolveOptions from being loaded
+   */
+  @Test
+  void brokenServiceResolveOptionSkipped()
+  {
+    ResolveOption serviceResolveOption = new TestResolveOption(50, ResolveOption.COST_LOW);
+    Iterable<ResolveOption> serviceResolveOptions = () -> new Iterator<>()
+    {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext()
+      {
+        return index < 2;
+      }
+
+      @Override
+      public ResolveOption next()
+      {
+        index++;
+        if (index == 1)
+          throw new ServiceConfigurationError("cannot instantiate");
+        return serviceResolveOption;
+      }
+    };
+
+    ResolveOptionsProviderImpl resolveOptionsProvider = new ResolveOptionsProviderImpl(Set.of(), serviceResolveOptions);
+
+    assertEquals(List.of(serviceResolveOption), resolveOptionsProvider.getResolveOptions());
+  }
+
+  /**
+   * ResolveOption that cannot resolve anything, only has a position and cost
+   */
+  private static class TestResolveOption implements ResolveOption
+  {
+    private final int position;
+    private final int costEstimate;
+
+    TestResolveOption(int pPosition, int pCostEstimate)
+    {
+      position = pPosition;
+      costEstimate = pCostEstimate;
+    }
+
+    @Override
+    public List<IDeltaTextChangeEvent> resolveConflict(@NonNull IChangeDelta acceptedDelta, @NonNull IFileDiff pAcceptedDiff, @NonNull IFileDiff pOtherDiff,
+                                                       @NonNull EConflictSide pConflictSide, @NonNull ConflictPair pConflictPair)
+    {
+      return List.of();
+    }
+
+    @Override
+    public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
+    {
+      return false;
+    }
+
+    @Override
+    public int getPosition()
+    {
+      return position;
+    }
+
+    @Override
+    public int getCostEstimate()
+    {
+      return costEstimate;
+    }
+  }
+}
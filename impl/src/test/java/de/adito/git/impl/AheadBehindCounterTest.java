@@ -0,0 +1,166 @@
+package de.adito.git.impl;
+
+import de.adito.git.api.data.TrackedBranchStatus;
+import lombok.NonNull;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link AheadBehindCounter}.
+ *
+ * @author agent, 19.10.2026
+ */
+class AheadBehindCounterTest
+{
+
+  private static final int NUM_BRANCHES = 10;
+  private Git git;
+  private Repository repository;
+  private List<ObjectId> commits;
+
+  /**
+   * Creates a repository with a history of merges and branches, and local branches that track remote branches at random commits. Some commits are older
+   * than their parents, as happens with clock skew
+   */
+  @BeforeEach
+  void setUp(@TempDir Path pTempDir) throws Exception
+  {
+    git = Git.init().setDirectory(pTempDir.toFile()).call();
+    repository = git.getRepository();
+    Random random = new Random(42);
+    commits = new ArrayList<>();
+    try (ObjectInserter objectInserter = repository.newObjectInserter())
+    {
+      ObjectId treeId = objectInserter.insert(new TreeFormatter());
+      for (int index = 0; index < 300; index++)
+      {
+        Set<ObjectId> parents = new LinkedHashSet<>();
+        if (index > 0)
+          parents.add(commits.get(index - 1 - random.nextInt(Math.min(index, 10))));
+        if (index > 0 && random.nextInt(8) == 0)
+          parents.add(commits.get(index - 1 - random.nextInt(Math.min(index, 20))));
+        commits.add(_insertCommit(objectInserter, treeId, parents, index));
+      }
+      objectInserter.flush();
+    }
+    StoredConfig config = repository.getConfig();
+    config.setString("remote", "origin", "url", pTempDir.toUri().toString());
+    config.setString("remote", "origin", "fetch", "+refs/heads/*:refs/remotes/origin/*");
+    for (int branchIndex = 0; branchIndex < NUM_BRANCHES; branchIndex++)
+    {
+      _setRef(Constants.R_HEADS + "branch" + branchIndex, commits.get(random.nextInt(commits.size())));
+      _setRef(Constants.R_REMOTES + "origin/branch" + branchIndex, commits.get(random.nextInt(commits.size())));
+      config.setString("branch", "branch" + branchIndex, "remote", "origin");
+      config.setString("branch", "branch" + branchIndex, "merge", Constants.R_HEADS + "branch" + branchIndex);
+    }
+    config.save();
+  }
+
+  @AfterEach
+  void tearDown()
+  {
+    git.close();
+  }
+
+  /**
+   * Checks that the counts of all branches are the number of commits only reachable from one of the branches, also after branches moved.
+   * JGit's BranchTrackingStatus is not used as reference, since it only takes the first merge base into account and counts too many commits if there are
+   * several merge bases
+   */
+  @Test
+  void countsMatchReachableCommits() throws IOException
+  {
+    AheadBehindCounter aheadBehindCounter = new AheadBehindCounter();
+    _assertCountsMatchReachableCommits(aheadBehindCounter);
+
+    _setRef(Constants.R_HEADS + "branch3", commits.get(commits.size() - 1));
+    _setRef(Constants.R_REMOTES + "origin/branch5", commits.get(0));
+    _assertCountsMatchReachableCommits(aheadBehindCounter);
+  }
+
+  /**
+   * Checks that branches that do not track a branch have no status
+   */
+  @Test
+  void untrackedBranchHasNoStatus() throws IOException
+  {
+    _setRef(Constants.R_HEADS + "untracked", commits.get(5));
+    assertNull(new AheadBehindCounter().getTrackedBranchStatus(repository, Constants.R_HEADS + "untracked"));
+  }
+
+  private void _assertCountsMatchReachableCommits(@NonNull AheadBehindCounter pAheadBehindCounter) throws IOException
+  {
+    for (int branchIndex = 0; branchIndex < NUM_BRANCHES; branchIndex++)
+    {
+      String remoteBranchName = Constants.R_REMOTES + "origin/branch" + branchIndex;
+      Set<ObjectId> localCommits = _getReachableCommits(repository.exactRef(Constants.R_HEADS + "branch" + branchIndex).getObjectId());
+      Set<ObjectId> remoteCommits = _getReachableCommits(repository.exactRef(remoteBranchName).getObjectId());
+      Set<ObjectId> onlyLocal = new HashSet<>(localCommits);
+      onlyLocal.removeAll(remoteCommits);
+      Set<ObjectId> onlyRemote = new HashSet<>(remoteCommits);
+      onlyRemote.removeAll(localCommits);
+
+      TrackedBranchStatus trackedBranchStatus = pAheadBehindCounter.getTrackedBranchStatus(repository, Constants.R_HEADS + "branch" + branchIndex);
+      assertNotNull(trackedBranchStatus);
+      assertEquals(remoteBranchName, trackedBranchStatus.getRemoteTrackedBranchName());
+      assertEquals(onlyLocal.size(), trackedBranchStatus.getLocalAheadCount());
+      assertEquals(onlyRemote.size(), trackedBranchStatus.getRemoteAheadCount());
+    }
+  }
+
+  @NonNull
+  private Set<ObjectId> _getReachableCommits(@NonNull ObjectId pCommitId) throws IOException
+  {
+    Set<ObjectId> reachableCommits = new HashSet<>();
+    try (RevWalk revWalk = new RevWalk(repository))
+    {
+      Deque<RevCommit> toVisit = new ArrayDeque<>(List.of(revWalk.parseCommit(pCommitId)));
+      while (!toVisit.isEmpty())
+      {
+        RevCommit commit = toVisit.pop();
+        if (reachableCommits.add(commit.copy()))
+        {
+          revWalk.parseHeaders(commit);
+          toVisit.addAll(Arrays.asList(commit.getParents()));
+        }
+      }
+    }
+    return reachableCommits;
+  }
+
+  private void _setRef(@NonNull String pRefName, @NonNull ObjectId pId) throws IOException
+  {
+    RefUpdate refUpdate = repository.updateRef(pRefName);
+    refUpdate.setNewObjectId(pId);
+    refUpdate.forceUpdate();
+  }
+
+  @NonNull
+  private static ObjectId _insertCommit(@NonNull ObjectInserter pObjectInserter, @NonNull ObjectId pTreeId, @NonNull Collection<ObjectId> pParents,
+                                        int pIndex) throws IOException
+  {
+    long commitTime = 1_600_000_000_000L + pIndex * 60_000L;
+    if (pIndex % 5 == 0)
+      commitTime -= 2 * 60 * 60_000L;
+    PersonIdent personIdent = new PersonIdent("test", "test@test.de", new Date(commitTime), TimeZone.getTimeZone("UTC"));
+    CommitBuilder commitBuilder = new CommitBuilder();
+    commitBuilder.setTreeId(pTreeId);
+    commitBuilder.setParentIds(new ArrayList<>(pParents));
+    commitBuilder.setAuthor(personIdent);
+    commitBuilder.setCommitter(personIdent);
+    commitBuilder.setMessage("commit " + pIndex);
+    return pObjectInserter.insert(commitBuilder);
+  }
+}
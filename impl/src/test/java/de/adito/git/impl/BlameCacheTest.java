@@ -0,0 +1,65 @@
+package de.adito.git.impl;
+
+import de.adito.git.api.data.IBlame;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test class for {@link BlameCache}.
+ *
+ * @author agent, 19.10.2026
+ */
+class BlameCacheTest
+{
+
+  private static final ObjectId HEAD_ID = ObjectId.fromString("0123456789012345678901234567890123456789");
+  private static final ObjectId OTHER_HEAD_ID = ObjectId.fromString("9876543210987654321098765432109876543210");
+
+  /**
+   * Checks that a blame is only computed once for the same file and HEAD, and computed again if HEAD changes
+   */
+  @Test
+  void blameComputedOncePerHead()
+  {
+    BlameCache blameCache = new BlameCache();
+    AtomicInteger loadCount = new AtomicInteger();
+    IBlame blame = mock(IBlame.class);
+
+    assertEquals(Optional.of(blame), blameCache.get("a.txt", HEAD_ID, () -> {
+      loadCount.incrementAndGet();
+      return Optional.of(blame);
+    }));
+    assertEquals(Optional.of(blame), blameCache.get("a.txt", HEAD_ID, () -> {
+      loadCount.incrementAndGet();
+      return Optional.of(mock(IBlame.class));
+    }));
+    assertEquals(1, loadCount.get());
+
+    assertNotEquals(Optional.of(blame), blameCache.get("a.txt", OTHER_HEAD_ID, () -> {
+      loadCount.incrementAndGet();
+      return Optional.of(mock(IBlame.class));
+    }));
+    assertEquals(2, loadCount.get());
+  }
+
+  /**
+   * Checks that a blame that failed to compute is not cached, and computed again on the next request
+   */
+  @Test
+  void failedBlameNotCached()
+  {
+    BlameCache blameCache = new BlameCache();
+    IBlame blame = mock(IBlame.class);
+
+    assertEquals(Optional.empty(), blameCache.get("a.txt", HEAD_ID, () -> {
+      throw new IllegalStateException("blame failed");
+    }));
+    assertEquals(Optional.of(blame), blameCache.get("a.txt", HEAD_ID, () -> Optional.of(blame)));
+  }
+}
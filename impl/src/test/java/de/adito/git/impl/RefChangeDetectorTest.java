@@ -0,0 +1,107 @@
+package de.adito.git.impl;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import lombok.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Test class for {@link RefChangeDetector}.
+ *
+ * @author agent, 19.10.2026
+ */
+class RefChangeDetectorTest
+{
+
+  private Path gitDirectory;
+  private RefChangeDetector refChangeDetector;
+
+  @BeforeEach
+  void setUp(@TempDir Path pTempDir) throws IOException
+  {
+    gitDirectory = pTempDir.resolve(".git");
+    _write("HEAD", "ref: refs/heads/master\n");
+    _write("refs/heads/master", "0123456789012345678901234567890123456789\n");
+    _write("packed-refs", "# pack-refs with: peeled fully-peeled sorted\n");
+    refChangeDetector = new RefChangeDetector(gitDirectory.toFile());
+  }
+
+  /**
+   * Checks that the version only changes if the content of a ref changes, or a ref is added or removed
+   */
+  @Test
+  void versionChangesWithRefs() throws IOException
+  {
+    long version = refChangeDetector.getVersion();
+    // files outside of the refs, lock files and rewriting a ref with the same content are no change
+    Files.write(gitDirectory.getParent().resolve("file.txt"), "changed".getBytes(StandardCharsets.UTF_8));
+    _write("refs/heads/master.lock", "9876543210987654321098765432109876543210\n");
+    _write("refs/heads/master", "0123456789012345678901234567890123456789\n");
+    assertEquals(version, refChangeDetector.getVersion());
+
+    _write("refs/heads/master", "9876543210987654321098765432109876543210\n");
+    long changedVersion = refChangeDetector.getVersion();
+    assertNotEquals(version, changedVersion);
+
+    _write("refs/tags/tag", "9876543210987654321098765432109876543210\n");
+    long tagVersion = refChangeDetector.getVersion();
+    assertNotEquals(changedVersion, tagVersion);
+
+    Files.delete(gitDirectory.resolve("refs/tags/tag"));
+    assertNotEquals(tagVersion, refChangeDetector.getVersion());
+  }
+
+  /**
+   * Checks that an ongoing merge is a change, and that the index is only taken into account during the merge
+   */
+  @Test
+  void versionChangesWithState() throws IOException
+  {
+    long version = refChangeDetector.getVersion();
+    _write("index", "index");
+    assertEquals(version, refChangeDetector.getVersion());
+
+    _write("MERGE_HEAD", "9876543210987654321098765432109876543210\n");
+    long mergeVersion = refChangeDetector.getVersion();
+    assertNotEquals(version, mergeVersion);
+
+    // conflicts are resolved in the index
+    _write("index", "resolved index");
+    assertNotEquals(mergeVersion, refChangeDetector.getVersion());
+  }
+
+  /**
+   * Checks that the current version is fired on subscription, and that after that only those emissions of the trigger are passed on at which something
+   * changed
+   */
+  @Test
+  void observeVersionsFiltersUnchanged() throws IOException
+  {
+    PublishSubject<Object> trigger = PublishSubject.create();
+    TestObserver<Long> testObserver = refChangeDetector.observeVersions(trigger).test();
+    trigger.onNext(new Object());
+    testObserver.assertValueCount(1);
+
+    _write("refs/heads/feature", "9876543210987654321098765432109876543210\n");
+    trigger.onNext(new Object());
+    trigger.onNext(new Object());
+    testObserver.assertValueCount(2);
+  }
+
+  private void _write(@NonNull String pPath, @NonNull String pContent) throws IOException
+  {
+    Path file = gitDirectory.resolve(pPath);
+    Files.createDirectories(file.getParent());
+    Files.write(file, pContent.getBytes(StandardCharsets.UTF_8));
+  }
+}
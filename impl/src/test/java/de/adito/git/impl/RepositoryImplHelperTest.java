@@ -1,14 +1,33 @@
 package de.adito.git.impl;
 
+import de.adito.git.api.IRepository;
+import de.adito.git.api.data.ICommit;
+import de.adito.git.api.data.diff.*;
+import de.adito.git.api.exception.AditoGitException;
+import lombok.NonNull;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.NullOutputStream;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -93,6 +112,153 @@ class RepositoryImplHelperTest
 
   }
 
+  /**
+   * Test functionality of the getMergeConflicts method
+   */
+  @Nested
+  class getMergeConflicts
+  {
+
+    /**
+     * Tests that only the conflicting files are diffed and that the diffs of both sides are paired by their paths. A file that was renamed on one side
+     * is only part of the filtered walk with its conflicting path, so the walk reports it as a delete of that path, which is paired by that path as well
+     */
+    @Test
+    void conflictingFilesArePaired() throws AditoGitException
+    {
+      IFileDiff parentA = getMockDiff(EChangeType.MODIFY, "a.txt", "a.txt");
+      IFileDiff parentB = getMockDiff(EChangeType.MODIFY, "b.txt", "b.txt");
+      IFileDiff toMergeB = getMockDiff(EChangeType.MODIFY, "b.txt", "b.txt");
+      // a.txt was renamed to c.txt, c.txt is not in the conflict set and therefore not seen by the walk
+      IFileDiff toMergeA = getMockDiff(EChangeType.DELETE, "a.txt", IRepository.VOID_PATH);
+      List<TreeFilter> usedFilters = new ArrayList<>();
+      Git git = mock(Git.class, Mockito.RETURNS_DEEP_STUBS);
+      List<IMergeData> mergeData = RepositoryImplHelper.getMergeConflicts(git, "current", "toMerge", mock(ICommit.class), Set.of("a.txt", "b.txt"),
+                                                                          (pOriginal, pCompareTo, pPathFilter) -> {
+                                                                            usedFilters.add(pPathFilter);
+                                                                            return usedFilters.size() == 1 ? List.of(parentA, parentB)
+                                                                                : List.of(toMergeB, toMergeA);
+                                                                          });
+
+      assertEquals(2, usedFilters.size());
+      assertTrue(usedFilters.stream().allMatch(Objects::nonNull));
+      assertEquals(2, mergeData.size());
+      assertSame(parentA, mergeData.get(0).getDiff(EConflictSide.YOURS));
+      assertSame(toMergeA, mergeData.get(0).getDiff(EConflictSide.THEIRS));
+      assertSame(parentB, mergeData.get(1).getDiff(EConflictSide.YOURS));
+      assertSame(toMergeB, mergeData.get(1).getDiff(EConflictSide.THEIRS));
+    }
+
+    /**
+     * Tests that nothing is diffed if there are no conflicting files
+     */
+    @Test
+    void noConflicts() throws AditoGitException
+    {
+      List<IMergeData> mergeData = RepositoryImplHelper.getMergeConflicts(mock(Git.class), "current", "toMerge", mock(ICommit.class), Set.of(),
+                                                                          (pOriginal, pCompareTo, pPathFilter) -> fail());
+
+      assertTrue(mergeData.isEmpty());
+    }
+  }
+
+  /**
+   * Test functionality of the getChangedLinesMapped method
+   */
+  @Nested
+  class getChangedLinesMapped
+  {
+
+    /**
+     * Tests that the changed lines of a modified file match the ones calculated by the DiffFormatter
+     */
+    @Test
+    void modifiedFileMatchesDiffFormatter(@TempDir Path pTempDir) throws Exception
+    {
+      try (Git git = Git.init().setDirectory(pTempDir.toFile()).call())
+      {
+        File file = pTempDir.resolve("file.txt").toFile();
+        Files.write(file.toPath(), "first line\nsecond line\nthird line\n".getBytes(StandardCharsets.UTF_8));
+        git.add().addFilepattern("file.txt").call();
+        git.commit().setMessage("initial").setSign(false).call();
+        Files.write(file.toPath(), "first line\nthird line\nfourth line\n".getBytes(StandardCharsets.UTF_8));
+
+        try (DiffFormatter diffFormatter = _createDiffFormatter(git))
+        {
+          DiffEntry diffEntry = _scanWorkingTree(git, diffFormatter);
+
+          assertEquals(DiffEntry.ChangeType.MODIFY, diffEntry.getChangeType());
+          assertEquals(diffFormatter.toFileHeader(diffEntry).getHunks().get(0).toEditList(),
+                       RepositoryImplHelper.getChangedLinesMapped(git.getRepository(), diffEntry, file));
+        }
+      }
+    }
+
+    /**
+     * Tests that all lines of a file that is not yet in the repository are reported as added
+     */
+    @Test
+    void addedFile(@TempDir Path pTempDir) throws Exception
+    {
+      try (Git git = Git.init().setDirectory(pTempDir.toFile()).call())
+      {
+        git.commit().setMessage("initial").setSign(false).call();
+        File file = pTempDir.resolve("file.txt").toFile();
+        Files.write(file.toPath(), "first line\nsecond line\n".getBytes(StandardCharsets.UTF_8));
+
+        try (DiffFormatter diffFormatter = _createDiffFormatter(git))
+        {
+          DiffEntry diffEntry = _scanWorkingTree(git, diffFormatter);
+
+          assertEquals(DiffEntry.ChangeType.ADD, diffEntry.getChangeType());
+          assertEquals(List.of(new Edit(0, 0, 0, 2)), RepositoryImplHelper.getChangedLinesMapped(git.getRepository(), diffEntry, file));
+          assertFalse(RepositoryImplHelper.isMappedDiff(diffEntry, file));
+        }
+      }
+    }
+
+    @NonNull
+    private DiffFormatter _createDiffFormatter(@NonNull Git pGit)
+    {
+      DiffFormatter diffFormatter = new DiffFormatter(NullOutputStream.INSTANCE);
+      diffFormatter.setRepository(pGit.getRepository());
+      return diffFormatter;
+    }
+
+    @NonNull
+    private DiffEntry _scanWorkingTree(@NonNull Git pGit, @NonNull DiffFormatter pDiffFormatter) throws IOException
+    {
+      CanonicalTreeParser treeParser = new CanonicalTreeParser();
+      try (ObjectReader objectReader = pGit.getRepository().newObjectReader())
+      {
+        treeParser.reset(objectReader, pGit.getRepository().resolve("HEAD^{tree}"));
+      }
+      List<DiffEntry> diffEntries = pDiffFormatter.scan(treeParser, new FileTreeIterator(pGit.getRepository()));
+      assertEquals(1, diffEntries.size());
+      return diffEntries.get(0);
+    }
+  }
+
+  /**
+   * create a new mocked IFileDiff whose header has the given change type and paths
+   *
+   * @param pChangeType type of change
+   * @param pOldPath    path of the file on the OLD side
+   * @param pNewPath    path of the file on the NEW side
+   * @return mocked IFileDiff
+   */
+  static IFileDiff getMockDiff(@NonNull EChangeType pChangeType, @NonNull String pOldPath, @NonNull String pNewPath)
+  {
+    IFileDiffHeader fileDiffHeader = mock(IFileDiffHeader.class);
+    Mockito.when(fileDiffHeader.getChangeType()).thenReturn(pChangeType);
+    Mockito.when(fileDiffHeader.getFilePath(EChangeSide.OLD)).thenReturn(pOldPath);
+    Mockito.when(fileDiffHeader.getFilePath(EChangeSide.NEW)).thenReturn(pNewPath);
+    Mockito.when(fileDiffHeader.getFilePath()).thenReturn(pChangeType == EChangeType.DELETE ? pOldPath : pNewPath);
+    IFileDiff fileDiff = mock(IFileDiff.class);
+    Mockito.when(fileDiff.getFileHeader()).thenReturn(fileDiffHeader);
+    return fileDiff;
+  }
+
   /**
    * create a new mocked commit, with the given parameters mocked
    *
@@ -223,7 +223,8 @@ public class ChangeDeltaImplTest
     assertEquals(EConflictType.RESOLVABLE, conflictType.getConflictType());
     assertNotNull(conflictType.getResolveOption());
     assertEquals(EnclosedResolveOption.class, conflictType.getResolveOption().getClass());
-    assertEquals(EConflictType.ENCLOSED_BY_THEIRS, ((EnclosedResolveOption) conflictType.getResolveOption()).getConflictType());
+    assertEquals(EConflictType.ENCLOSED_BY_THEIRS, ((EnclosedResolveOption) conflictType.getResolveOption())
+        .getConflictType(new ResolveContext(fileDiff1.getChangeDeltas().get(0), fileDiff2.getChangeDeltas().get(0), EConflictSide.THEIRS, fileDiffHeader)));
   }
 
   /**
@@ -245,7 +246,8 @@ public class ChangeDeltaImplTest
     assertEquals(EConflictType.RESOLVABLE, conflictType.getConflictType());
     assertNotNull(conflictType.getResolveOption());
     assertEquals(EnclosedResolveOption.class, conflictType.getResolveOption().getClass());
-    assertEquals(EConflictType.ENCLOSED_BY_YOURS, ((EnclosedResolveOption) conflictType.getResolveOption()).getConflictType());
+    assertEquals(EConflictType.ENCLOSED_BY_YOURS, ((EnclosedResolveOption) conflictType.getResolveOption())
+        .getConflictType(new ResolveContext(fileDiff1.getChangeDeltas().get(0), fileDiff2.getChangeDeltas().get(0), EConflictSide.THEIRS, fileDiffHeader)));
   }
 
   /**
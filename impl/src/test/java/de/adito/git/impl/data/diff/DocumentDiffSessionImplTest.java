@@ -0,0 +1,130 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link DocumentDiffSessionImpl}.
+ *
+ * @author agent, 19.10.2026
+ */
+class DocumentDiffSessionImplTest
+{
+
+  private static final String HEAD_VERSION = "line 0\nline 1\nline 2\nline 3\nline 4\nline 5\nline 6\nline 7\nline 8\nline 9\n";
+  private DocumentDiffSessionImpl.HeadVersionProvider headVersionProvider;
+  private DocumentDiffSessionImpl diffSession;
+  private StringBuilder document;
+
+  @BeforeEach
+  void setUp() throws IOException
+  {
+    headVersionProvider = mock(DocumentDiffSessionImpl.HeadVersionProvider.class);
+    when(headVersionProvider.getHeadId()).thenReturn(ObjectId.zeroId());
+    when(headVersionProvider.getFileContents(any())).thenAnswer(pInvocation -> new FileContentInfoImpl(() -> HEAD_VERSION, () -> StandardCharsets.UTF_8));
+    diffSession = new DocumentDiffSessionImpl(headVersionProvider, () -> RawTextComparator.DEFAULT);
+    document = new StringBuilder(HEAD_VERSION);
+  }
+
+  /**
+   * Checks that the lines changed by several edits, diffed one after the other, are the same as those of a diff of the whole text
+   */
+  @Test
+  void editsDiffedIncrementally() throws IOException
+  {
+    assertEquals(List.of(), diffSession.diff(document.toString(), diffSession.getEditCount()));
+    long editCount = _edit(document.indexOf("line 2"), 6, "changed 2");
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), editCount));
+    _edit(document.indexOf("line 5"), 0, "inserted\n");
+    editCount = _edit(document.indexOf("line 8"), 7, "");
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), editCount));
+    // reverting the first edit removes its change again
+    editCount = _edit(document.indexOf("changed 2"), 9, "line 2");
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), editCount));
+    editCount = _edit(document.length(), 0, "appended");
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), editCount));
+  }
+
+  /**
+   * Checks that edits registered after the text passed to diff was read are still taken into account by the next diff
+   */
+  @Test
+  void editsAfterTextKeptForNextDiff() throws IOException
+  {
+    long editCount = _edit(document.indexOf("line 1"), 6, "changed 1");
+    String text = document.toString();
+    long laterEditCount = _edit(document.indexOf("line 7"), 6, "changed 7");
+    _assertSameAsFullDiff(text, diffSession.diff(text, editCount));
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), laterEditCount));
+  }
+
+  /**
+   * Checks that the HEAD version is only read again if HEAD changes
+   */
+  @Test
+  void headVersionReadOncePerHead() throws IOException
+  {
+    diffSession.diff(document.toString(), diffSession.getEditCount());
+    long editCount = _edit(0, 0, "new first line\n");
+    diffSession.diff(document.toString(), editCount);
+    verify(headVersionProvider, times(1)).getFileContents(any());
+
+    when(headVersionProvider.getHeadId()).thenReturn(ObjectId.fromString("0123456789012345678901234567890123456789"));
+    diffSession.diff(document.toString(), editCount);
+    verify(headVersionProvider, times(2)).getFileContents(any());
+  }
+
+  /**
+   * Checks that the text passed to the first diff after a reset is diffed as a whole, even if no edits were registered
+   */
+  @Test
+  void resetDiffsWholeText() throws IOException
+  {
+    diffSession.diff(document.toString(), diffSession.getEditCount());
+    diffSession.reset();
+    document = new StringBuilder(HEAD_VERSION.replace("line 4", "other 4"));
+    _assertSameAsFullDiff(diffSession.diff(document.toString(), diffSession.getEditCount()));
+  }
+
+  /**
+   * Applies an edit to the document and registers it with the session
+   *
+   * @return number of edits registered so far
+   */
+  private long _edit(int pOffset, int pRemovedLength, @NonNull String pInserted)
+  {
+    document.replace(pOffset, pOffset + pRemovedLength, pInserted);
+    if (pRemovedLength > 0)
+      diffSession.documentChanged(pOffset, pRemovedLength, 0);
+    return diffSession.documentChanged(pOffset, 0, pInserted.length());
+  }
+
+  private void _assertSameAsFullDiff(@NonNull List<IChangeDelta> pChangeDeltas)
+  {
+    _assertSameAsFullDiff(document.toString(), pChangeDeltas);
+  }
+
+  private static void _assertSameAsFullDiff(@NonNull String pText, @NonNull List<IChangeDelta> pChangeDeltas)
+  {
+    EditList editList = new HistogramDiff().diff(RawTextComparator.DEFAULT, new RawText(HEAD_VERSION.getBytes()), new RawText(pText.getBytes()));
+    assertEquals(editList.stream()
+                     .map(pEdit -> List.of(pEdit.getBeginA(), pEdit.getEndA(), pEdit.getBeginB(), pEdit.getEndB()))
+                     .collect(Collectors.toList()),
+                 pChangeDeltas.stream()
+                     .map(pDelta -> List.of(pDelta.getStartLine(EChangeSide.OLD), pDelta.getEndLine(EChangeSide.OLD), pDelta.getStartLine(EChangeSide.NEW),
+                                            pDelta.getEndLine(EChangeSide.NEW)))
+                     .collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,75 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.IFileSystemUtil;
+import de.adito.git.api.data.diff.ELineEnding;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link FileContentInfoImpl}.
+ *
+ * @author agent, 19.10.2026
+ */
+class FileContentInfoImplTest
+{
+
+  /**
+   * Tests that the bytes are neither loaded nor decoded before the content is actually requested, and only loaded once afterwards
+   */
+  @Test
+  void bytesAreLoadedLazily()
+  {
+    AtomicInteger numLoads = new AtomicInteger();
+    IFileSystemUtil fileSystemUtil = Mockito.mock(IFileSystemUtil.class);
+    Mockito.when(fileSystemUtil.getEncoding(Mockito.any(), Mockito.any(byte[].class))).thenReturn(StandardCharsets.UTF_8);
+    FileContentInfoImpl fileContentInfo = new FileContentInfoImpl(() -> {
+      numLoads.incrementAndGet();
+      return "first line\r\nsecond line\r\n".getBytes(StandardCharsets.UTF_8);
+    }, fileSystemUtil);
+
+    assertEquals(0, numLoads.get());
+    Mockito.verifyNoInteractions(fileSystemUtil);
+
+    assertEquals("first line\nsecond line\n", fileContentInfo.getFileContent().get());
+    assertEquals(ELineEnding.WINDOWS, fileContentInfo.getLineEnding().get());
+    assertEquals(3, fileContentInfo.getLineOffsetIndex().get().getLineCount());
+    assertEquals(1, numLoads.get());
+  }
+
+  private static @NonNull Stream<Arguments> cleanedContent()
+  {
+    return Stream.of(
+        Arguments.of("first\nsecond\n", ELineEnding.UNIX, "first\nsecond\n"),
+        Arguments.of("first\r\nsecond\r\n", ELineEnding.WINDOWS, "first\nsecond\n"),
+        Arguments.of("first\rsecond\r", ELineEnding.MAC, "first\nsecond\n"),
+        Arguments.of("first\rsecond\n", ELineEnding.UNIX, "firstsecond\n")
+    );
+  }
+
+  /**
+   * Tests that the newlines of the content are made uniform and the line ending of the original content is found
+   *
+   * @param pContent            original content
+   * @param pExpectedLineEnding expected line ending
+   * @param pExpectedContent    expected cleaned content
+   */
+  @ParameterizedTest
+  @MethodSource
+  void cleanedContent(@NonNull String pContent, @NonNull ELineEnding pExpectedLineEnding, @NonNull String pExpectedContent)
+  {
+    FileContentInfoImpl fileContentInfo = new FileContentInfoImpl(() -> pContent, () -> StandardCharsets.UTF_8);
+
+    assertEquals(pExpectedContent, fileContentInfo.getFileContent().get());
+    assertEquals(pExpectedLineEnding, fileContentInfo.getLineEnding().get());
+  }
+
+}
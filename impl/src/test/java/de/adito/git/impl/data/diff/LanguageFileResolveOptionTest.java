@@ -0,0 +1,87 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link LanguageFileResolveOption}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LanguageFileResolveOptionTest
+{
+
+  private static @NonNull Stream<Arguments> parseText()
+  {
+    return Stream.of(
+        Arguments.of("    <stringEntry>\n      <name>A</name>\n      <value>B</value>\n    </stringEntry>\n", Map.of("A", "B")),
+        // conflict text that starts inside a stringEntry and ends with the start of the next stringEntry
+        Arguments.of("      <name>A</name>\n      <value>B</value>\n    </stringEntry>\n    <stringEntry>\n", Map.of("A", "B")),
+        Arguments.of("<stringEntry><name>A</name><value>B</value></stringEntry><stringEntry><name>C</name><value><![CDATA[D]]></value></stringEntry>",
+                     Map.of("A", "B", "C", "D")),
+        Arguments.of("<stringEntry><name>A&amp;B</name><value><b>C</b></value></stringEntry><other/>", Map.of("A&B", "C")),
+        // missing value
+        Arguments.of("<stringEntry><name>A</name></stringEntry><stringEntry><name>C</name><value>D</value></stringEntry>", Map.of()),
+        Arguments.of("<stringEntry><name>A</name><value></value></stringEntry>", Map.of()),
+        // not well-formed
+        Arguments.of("<stringEntry><name>A</name><value>B</value>", null)
+    );
+  }
+
+  /**
+   * Checks which key-value pairs are read from the text of a conflict
+   *
+   * @param pText     text of the delta
+   * @param pExpected expected key-value pairs, null if the text cannot be parsed
+   */
+  @ParameterizedTest
+  @MethodSource
+  void parseText(@NonNull String pText, Map<String, String> pExpected)
+  {
+    assertEquals(pExpected, new LanguageFileResolveOption().parseText(pText));
+  }
+
+  private static @NonNull Stream<Arguments> canResolveConflict()
+  {
+    return Stream.of(
+        Arguments.of("<stringEntry><name>A</name><value>B</value></stringEntry>", "<stringEntry><name>C</name><value>D</value></stringEntry>", true),
+        Arguments.of("<stringEntry><name>A</name><value>B</value></stringEntry>", "<stringEntry><name>A</name><value>B</value></stringEntry>", true),
+        Arguments.of("<stringEntry><name>A</name><value>B</value></stringEntry>", "<stringEntry><name>A</name><value>C</value></stringEntry>", false),
+        Arguments.of("<stringEntry><name>A</name></stringEntry>", "<stringEntry><name>C</name><value>D</value></stringEntry>", false),
+        Arguments.of("<stringEntry><name>A</name><value>B</value></stringEntry>", "<stringEntry>", false)
+    );
+  }
+
+  /**
+   * Checks that conflicts are only resolved if no key has different values on the two sides
+   *
+   * @param pText      text of the delta
+   * @param pOtherText text of the other delta
+   * @param pExpected  expected result of canResolveConflict
+   */
+  @ParameterizedTest
+  @MethodSource
+  void canResolveConflict(@NonNull String pText, @NonNull String pOtherText, boolean pExpected)
+  {
+    IFileDiffHeader fileDiffHeader = mock(IFileDiffHeader.class);
+    when(fileDiffHeader.getFileExtension(EChangeSide.NEW)).thenReturn("aod");
+    assertEquals(pExpected, new LanguageFileResolveOption().canResolveConflict(_mockDelta(pText), _mockDelta(pOtherText), EConflictSide.YOURS,
+                                                                               fileDiffHeader));
+  }
+
+  @NonNull
+  private static IChangeDelta _mockDelta(@NonNull String pText)
+  {
+    IChangeDelta changeDelta = mock(IChangeDelta.class);
+    when(changeDelta.getText(EChangeSide.NEW)).thenReturn(pText);
+    return changeDelta;
+  }
+}
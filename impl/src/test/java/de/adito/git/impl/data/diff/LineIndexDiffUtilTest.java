@@ -87,57 +87,31 @@ class LineIndexDiffUtilTest
   {
     return Stream.of(
         // getting the first start index
-        Arguments.of(1, 0),
+        Arguments.of(0, 0),
         // getting the second start index
-        Arguments.of(3, 1),
+        Arguments.of(2, 1),
         // getting the third start index
-        Arguments.of(5, 2),
-        // out of the size of the list. Get the last end index + 1
-        Arguments.of(7, 3)
+        Arguments.of(4, 2),
+        // out of the size of the index. Get the last end index + 1
+        Arguments.of(6, 3)
     );
   }
 
 
   /**
-   * Tests with a simple line info. There are three elements in this line info and the indexes are incrementing by 1 each.
+   * Tests with a simple text. There are three lines in this text and each consists of one character and a newline, except the last line that has no newline.
    *
    * @param pExpected the expected result the method should return
    * @param pIndex    the given index to the method
-   * @see LineIndexDiffUtil#getStartIndexSafely(List, int)
+   * @see LineIndexDiffUtil#getStartIndexSafely(LineOffsetIndex, int)
    */
   @ParameterizedTest
   @MethodSource
   void testGetStartIndexSafely(int pExpected, int pIndex)
   {
-    List<LineInfo> pLineInfos = List.of(new LineInfo(1, 2), new LineInfo(3, 4), new LineInfo(5, 6));
+    LineOffsetIndex lineOffsetIndex = LineOffsetIndex.of("a\nb\nc");
 
-    assertEquals(pExpected, LineIndexDiffUtil.getStartIndexSafely(pLineInfos, pIndex));
+    assertEquals(pExpected, LineIndexDiffUtil.getStartIndexSafely(lineOffsetIndex, pIndex));
   }
 
-  /**
-   * Tests the method call with a single line string.
-   *
-   * @see LineIndexDiffUtil#getLineInfos(String)
-   */
-  @Test
-  void getLineInfosSimpleText()
-  {
-    assertEquals(List.of(new LineInfo(0, 5)), LineIndexDiffUtil.getLineInfos("lorem"));
-  }
-
-  /**
-   * Tests the method call with a multi line string.
-   *
-   * @see LineIndexDiffUtil#getLineInfos(String)
-   */
-  @Test
-  void getLineInfosMultiLineText()
-  {
-    String pText = "lorem\nipsum\ndolor\namar\nsit";
-
-    List<LineInfo> expected = List.of(new LineInfo(0, 6), new LineInfo(6, 12), new LineInfo(12, 18), new LineInfo(18, 23), new LineInfo(23, 26));
-
-    assertEquals(expected, LineIndexDiffUtil.getLineInfos(pText));
-  }
-
-}
\ No newline at end of file
+}
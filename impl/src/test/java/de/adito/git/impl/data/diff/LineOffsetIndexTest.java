@@ -0,0 +1,118 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.ELineEnding;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link LineOffsetIndex}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LineOffsetIndexTest
+{
+
+  /**
+   * Tests the index of a single line string.
+   */
+  @Test
+  void singleLineText()
+  {
+    LineOffsetIndex lineOffsetIndex = LineOffsetIndex.of("lorem");
+
+    assertEquals(1, lineOffsetIndex.getLineCount());
+    assertEquals(0, lineOffsetIndex.getLineStart(0));
+    assertEquals(5, lineOffsetIndex.getLineEnd(0));
+    assertEquals(-1, lineOffsetIndex.getLineBreakOffset(0));
+  }
+
+  /**
+   * Tests the index of a multi line string.
+   */
+  @Test
+  void multiLineText()
+  {
+    LineOffsetIndex lineOffsetIndex = LineOffsetIndex.of("lorem\nipsum\ndolor\namar\nsit");
+
+    int[][] expected = {{0, 6}, {6, 12}, {12, 18}, {18, 23}, {23, 26}};
+    assertEquals(expected.length, lineOffsetIndex.getLineCount());
+    for (int line = 0; line < expected.length; line++)
+    {
+      assertEquals(expected[line][0], lineOffsetIndex.getLineStart(line));
+      assertEquals(expected[line][1], lineOffsetIndex.getLineEnd(line));
+    }
+    assertEquals(5, lineOffsetIndex.getLineBreakOffset(0));
+    assertEquals(22, lineOffsetIndex.getLineBreakOffset(3));
+  }
+
+  /**
+   * Tests that only "\n" ends a line, as in the RawText of JGit: a "\r\n" ends the line after the "\n" and a single "\r" is part of the line
+   */
+  @Test
+  void onlyLineFeedEndsLine()
+  {
+    LineOffsetIndex lineOffsetIndex = LineOffsetIndex.of("lorem\ripsum\r\ndolor");
+
+    assertEquals(2, lineOffsetIndex.getLineCount());
+    assertEquals(13, lineOffsetIndex.getLineStart(1));
+    assertEquals(12, lineOffsetIndex.getLineBreakOffset(0));
+    assertEquals(0, lineOffsetIndex.getLineOfOffset(5));
+    assertTrue(lineOffsetIndex.containsCarriageReturn());
+    assertTrue(lineOffsetIndex.containsLineFeed());
+  }
+
+  private static @NonNull Stream<Arguments> getLineOfOffset()
+  {
+    return Stream.of(
+        Arguments.of(0, 0),
+        Arguments.of(0, 5),
+        Arguments.of(1, 6),
+        Arguments.of(1, 11),
+        Arguments.of(4, 25),
+        Arguments.of(4, 100)
+    );
+  }
+
+  /**
+   * Tests that the line containing an offset is found
+   *
+   * @param pExpectedLine expected index of the line
+   * @param pOffset       offset to find the line for
+   */
+  @ParameterizedTest
+  @MethodSource
+  void getLineOfOffset(int pExpectedLine, int pOffset)
+  {
+    assertEquals(pExpectedLine, LineOffsetIndex.of("lorem\nipsum\ndolor\namar\nsit").getLineOfOffset(pOffset));
+  }
+
+  private static @NonNull Stream<Arguments> getMostUsedLineEnding()
+  {
+    return Stream.of(
+        Arguments.of(ELineEnding.WINDOWS, "no line ending at all"),
+        Arguments.of(ELineEnding.WINDOWS, "a\r\nb\r\nc\n"),
+        Arguments.of(ELineEnding.UNIX, "a\nb\r\nc\n"),
+        Arguments.of(ELineEnding.MAC, "a\rb\rc\n")
+    );
+  }
+
+  /**
+   * Tests that the line ending that is used the most is found, with windows line endings not also counted as unix or mac line endings
+   *
+   * @param pExpected expected line ending
+   * @param pText     text to check
+   */
+  @ParameterizedTest
+  @MethodSource
+  void getMostUsedLineEnding(@NonNull ELineEnding pExpected, @NonNull String pText)
+  {
+    assertEquals(pExpected, LineOffsetIndex.of(pText).getMostUsedLineEnding());
+  }
+
+}
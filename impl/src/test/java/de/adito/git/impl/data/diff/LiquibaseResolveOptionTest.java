@@ -0,0 +1,100 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.*;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link LiquibaseResolveOption}.
+ *
+ * @author agent, 19.10.2026
+ */
+class LiquibaseResolveOptionTest
+{
+
+  private static @NonNull Stream<Arguments> canResolveConflict()
+  {
+    return Stream.of(
+        Arguments.of("  <include relativeToChangelogFile=\"true\" file=\"a.xml\"/>\n", "  <include relativeToChangelogFile=\"true\" file=\"b.xml\"/>\n", true),
+        Arguments.of("  <include file=\"a.xml\"/>\n", "  <include file=\"a.xml\"/>\n", false),
+        // no file attribute
+        Arguments.of("  <include path=\"a.xml\"/>\n", "  <include file=\"b.xml\"/>\n", false),
+        // prefixed attribute is not the file attribute
+        Arguments.of("  <include x:file=\"a.xml\"/>\n", "  <include file=\"b.xml\"/>\n", false),
+        // comments are no liquibase includes
+        Arguments.of("  <!-- comment -->\n  <include file=\"a.xml\"/>\n", "  <include file=\"b.xml\"/>\n", false),
+        // not well-formed
+        Arguments.of("  <include file=\"a.xml\">\n", "  <include file=\"b.xml\"/>\n", false),
+        Arguments.of("  <include file=\"a.xml\"/>\n", "", false)
+    );
+  }
+
+  /**
+   * Checks that conflicts are only resolved if both sides include different files
+   *
+   * @param pText      text of the delta
+   * @param pOtherText text of the other delta
+   * @param pExpected  expected result of canResolveConflict
+   */
+  @ParameterizedTest
+  @MethodSource
+  void canResolveConflict(@NonNull String pText, @NonNull String pOtherText, boolean pExpected)
+  {
+    assertEquals(pExpected, new LiquibaseResolveOption().canResolveConflict(_mockDelta(pText), _mockDelta(pOtherText), EConflictSide.YOURS,
+                                                                            _mockHeader("xml")));
+  }
+
+  /**
+   * Checks that other files are not parsed at all
+   */
+  @Test
+  void otherExtension()
+  {
+    LiquibaseResolveOption resolveOption = spy(new LiquibaseResolveOption());
+
+    assertFalse(resolveOption.canResolveConflict(_mockDelta("<include file=\"a.xml\"/>"), _mockDelta("<include file=\"b.xml\"/>"), EConflictSide.YOURS,
+                                                 _mockHeader("java")));
+    verify(resolveOption, never()).parseText(any());
+  }
+
+  /**
+   * Checks that the text of a delta is only parsed once if the delta is checked several times
+   */
+  @Test
+  void parsedTextIsCached()
+  {
+    LiquibaseResolveOption resolveOption = spy(new LiquibaseResolveOption());
+    IChangeDelta delta = _mockDelta("<include file=\"a.xml\"/>");
+    IChangeDelta otherDelta = _mockDelta("<include file=\"b.xml\"/>");
+
+    assertTrue(resolveOption.canResolveConflict(delta, otherDelta, EConflictSide.YOURS, _mockHeader("xml")));
+    assertTrue(resolveOption.canResolveConflict(delta, otherDelta, EConflictSide.YOURS, _mockHeader("xml")));
+    assertEquals(Set.of("a.xml"), resolveOption.getParsedText(EConflictSide.YOURS, "<include file=\"a.xml\"/>"));
+    verify(resolveOption, times(1)).parseText("<include file=\"a.xml\"/>");
+    verify(resolveOption, times(1)).parseText("<include file=\"b.xml\"/>");
+  }
+
+  @NonNull
+  private static IChangeDelta _mockDelta(@NonNull String pText)
+  {
+    IChangeDelta changeDelta = mock(IChangeDelta.class);
+    when(changeDelta.getText(EChangeSide.NEW)).thenReturn(pText);
+    return changeDelta;
+  }
+
+  @NonNull
+  private static IFileDiffHeader _mockHeader(@NonNull String pExtension)
+  {
+    IFileDiffHeader fileDiffHeader = mock(IFileDiffHeader.class);
+    when(fileDiffHeader.getFileExtension(EChangeSide.NEW)).thenReturn(pExtension);
+    return fileDiffHeader;
+  }
+}
@@ -0,0 +1,119 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.EChangeSide;
+import de.adito.git.api.data.diff.EChangeType;
+import de.adito.git.api.data.diff.IDelta;
+import de.adito.git.impl.StandAloneDiffProviderImpl;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.Edit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link MappedFileDiff}
+ *
+ * @author agent, 19.10.2026
+ */
+class MappedFileDiffTest
+{
+
+  private static @NonNull Stream<Arguments> editListMatchesRawTextDiff()
+  {
+    return Stream.of(
+        Arguments.of("", ""),
+        Arguments.of("", "first line\n"),
+        Arguments.of("first line\nsecond line\n", "first line\nsecond line\n"),
+        Arguments.of("first line\nsecond line\nthird line\n", "first line\nthird line\n"),
+        Arguments.of("first line\nsecond line\nthird line", "first line\nchanged line\nthird line\nfourth line"),
+        Arguments.of("first line  \nsecond line\r\n", "first line\nsecond line\n"),
+        Arguments.of("a\nb\nc\na\nb\nc\n", "c\nb\na\nb\nc\na\n")
+    );
+  }
+
+  /**
+   * Checks that the diff over the hashed line sequences results in the same EditList as the diff over RawTexts used by the standalone diff
+   *
+   * @param pOriginal original content of the file
+   * @param pChanged  changed content of the file
+   */
+  @ParameterizedTest
+  @MethodSource
+  void editListMatchesRawTextDiff(@NonNull String pOriginal, @NonNull String pChanged) throws IOException
+  {
+    try (MappedFileDiff mappedFileDiff = MappedFileDiff.diff(_createFile(pOriginal), _createFile(pChanged)))
+    {
+      assertEquals(StandAloneDiffProviderImpl.getChangedLines(pOriginal, pChanged), mappedFileDiff.getEditList());
+    }
+  }
+
+  /**
+   * Checks that the deltas contain the byte offsets of the changed lines
+   */
+  @Test
+  void deltasContainByteOffsets() throws IOException
+  {
+    List<IDelta> deltas = new ArrayList<>();
+    try (MappedFileDiff mappedFileDiff = MappedFileDiff.diff(_createFile("first line\nsecond line\nthird line\n"),
+                                                             _createFile("first line\nthird line\nfourth line\n")))
+    {
+      mappedFileDiff.getDeltas().forEachRemaining(deltas::add);
+    }
+
+    assertEquals(2, deltas.size());
+    assertEquals(EChangeType.DELETE, deltas.get(0).getChangeType());
+    assertEquals(11, deltas.get(0).getStartTextIndex(EChangeSide.OLD));
+    assertEquals(23, deltas.get(0).getEndTextIndex(EChangeSide.OLD));
+    assertEquals(11, deltas.get(0).getStartTextIndex(EChangeSide.NEW));
+    assertEquals(11, deltas.get(0).getEndTextIndex(EChangeSide.NEW));
+    assertEquals(EChangeType.ADD, deltas.get(1).getChangeType());
+    assertEquals(34, deltas.get(1).getStartTextIndex(EChangeSide.OLD));
+    assertEquals(34, deltas.get(1).getEndTextIndex(EChangeSide.OLD));
+    assertEquals(22, deltas.get(1).getStartTextIndex(EChangeSide.NEW));
+    assertEquals(34, deltas.get(1).getEndTextIndex(EChangeSide.NEW));
+  }
+
+  /**
+   * Checks that the EditList stays available once the files are unmapped, if it was calculated before
+   */
+  @Test
+  void editListAvailableAfterClose() throws IOException
+  {
+    MappedFileDiff mappedFileDiff = MappedFileDiff.diff(_createFile("first line\n"), _createFile("changed line\n"));
+    List<Edit> editList = mappedFileDiff.getEditList();
+    mappedFileDiff.close();
+
+    assertEquals(editList, mappedFileDiff.getEditList());
+  }
+
+  /**
+   * Checks that the EditList cannot be calculated once the files are unmapped
+   */
+  @Test
+  void editListNotCalculatedAfterClose() throws IOException
+  {
+    MappedFileDiff mappedFileDiff = MappedFileDiff.diff(_createFile("first line\n"), _createFile("changed line\n"));
+    mappedFileDiff.close();
+
+    assertThrows(IllegalStateException.class, mappedFileDiff::getEditList);
+  }
+
+  /**
+   * @param pContent content of the file
+   * @return path of a temporary file with the given content
+   */
+  private static Path _createFile(@NonNull String pContent) throws IOException
+  {
+    Path file = Files.createTempFile("mappedFileDiffTest", ".txt");
+    file.toFile().deleteOnExit();
+    return Files.write(file, pContent.getBytes(StandardCharsets.UTF_8));
+  }
+}
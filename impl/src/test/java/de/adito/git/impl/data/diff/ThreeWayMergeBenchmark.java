@@ -0,0 +1,184 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.EConflictSide;
+import lombok.NonNull;
+import org.eclipse.jgit.diff.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Microbenchmark that compares the {@link ThreeWayMerge} with diffing the fork-point version against both sides on RawTexts and aligning the resulting
+ * EditLists with pairwise overlap checks, which is how the merge data was built before. The workloads are modelled after the texts in MergeDataImplTest,
+ * scaled up to files with a few thousand lines. Not run as part of the tests, start the main method manually
+ *
+ * @author agent, 19.10.2026
+ */
+public class ThreeWayMergeBenchmark
+{
+
+  private static final int WARMUP_ITERATIONS = 200;
+  private static final int MEASURED_ITERATIONS = 1_000;
+  private static final String[] WORDS = {"Hello", "there,", "this", "is", "a", "test", "so", "here", "are", "some", "words", "no", "use", "taking", "rest",
+                                         "int", "main:", "if(a)", "doStuff", "else", "doNottin'", "return"};
+
+  public static void main(String[] args)
+  {
+    for (int lineCount : new int[]{500, 5_000, 20_000})
+    {
+      for (double changeRatio : new double[]{0.01, 0.1})
+      {
+        Random random = new Random(lineCount);
+        List<String> forkPointLines = _createLines(random, lineCount);
+        byte[] forkPoint = _join(forkPointLines);
+        byte[] yours = _join(_mutate(random, forkPointLines, changeRatio));
+        byte[] theirs = _join(_mutate(random, forkPointLines, changeRatio));
+        String name = lineCount + " lines, " + (int) (changeRatio * 100) + "% changed";
+        _measure("RawText + pairwise, " + name, () -> _pairwiseMerge(forkPoint, yours, theirs));
+        _measure("ThreeWayMerge, " + name, () -> _threeWayMerge(forkPoint, yours, theirs));
+      }
+    }
+  }
+
+  /**
+   * Runs the merge for the warmup and measured iterations and prints the average time per merge
+   *
+   * @param pName  name of the measurement
+   * @param pMerge merge to measure, returns the number of aligned edits
+   */
+  private static void _measure(@NonNull String pName, @NonNull Supplier<Integer> pMerge)
+  {
+    int result = 0;
+    for (int index = 0; index < WARMUP_ITERATIONS; index++)
+      result = pMerge.get();
+    long start = System.nanoTime();
+    for (int index = 0; index < MEASURED_ITERATIONS; index++)
+      result = pMerge.get();
+    long duration = System.nanoTime() - start;
+    System.out.printf("%-50s %10.2f µs/merge (%d edits)%n", pName, duration / 1000d / MEASURED_ITERATIONS, result);
+  }
+
+  private static int _threeWayMerge(byte @NonNull [] pForkPoint, byte @NonNull [] pYours, byte @NonNull [] pTheirs)
+  {
+    ThreeWayMerge threeWayMerge = new ThreeWayMerge(RawTextComparator.DEFAULT, pForkPoint, pYours, pTheirs);
+    EditList yoursChangedLines = threeWayMerge.getChangedLines(EConflictSide.YOURS);
+    EditList theirsChangedLines = threeWayMerge.getChangedLines(EConflictSide.THEIRS);
+    ThreeWayMerge.alignEditLists(yoursChangedLines, theirsChangedLines);
+    return yoursChangedLines.size() + theirsChangedLines.size();
+  }
+
+  private static int _pairwiseMerge(byte @NonNull [] pForkPoint, byte @NonNull [] pYours, byte @NonNull [] pTheirs)
+  {
+    EditList yoursChangedLines = new HistogramDiff().diff(RawTextComparator.DEFAULT, new RawText(pForkPoint), new RawText(pYours));
+    EditList theirsChangedLines = new HistogramDiff().diff(RawTextComparator.DEFAULT, new RawText(pForkPoint), new RawText(pTheirs));
+    for (int mainIndex = 0; mainIndex < yoursChangedLines.size(); mainIndex++)
+    {
+      for (int otherIndex = 0; otherIndex < theirsChangedLines.size(); otherIndex++)
+      {
+        if (_doesOverlap(yoursChangedLines.get(mainIndex), theirsChangedLines.get(otherIndex)))
+        {
+          yoursChangedLines.set(mainIndex, _mergeEdit(yoursChangedLines.get(mainIndex), theirsChangedLines.get(otherIndex)));
+          theirsChangedLines.set(otherIndex, _mergeEdit(theirsChangedLines.get(otherIndex), yoursChangedLines.get(mainIndex)));
+        }
+      }
+    }
+    _compressList(yoursChangedLines);
+    _compressList(theirsChangedLines);
+    return yoursChangedLines.size() + theirsChangedLines.size();
+  }
+
+  private static void _compressList(@NonNull EditList pEditList)
+  {
+    for (int index = 0; index < pEditList.size() - 1; )
+    {
+      Edit currentEdit = pEditList.get(index);
+      Edit nextEdit = pEditList.get(index + 1);
+      if (currentEdit.getEndA() >= nextEdit.getBeginA() || currentEdit.getEndB() >= nextEdit.getBeginB())
+      {
+        pEditList.set(index, new Edit(currentEdit.getBeginA(), nextEdit.getEndA(), currentEdit.getBeginB(), nextEdit.getEndB()));
+        pEditList.remove(index + 1);
+      }
+      else
+        index++;
+    }
+  }
+
+  @NonNull
+  private static Edit _mergeEdit(@NonNull Edit pEdit, @NonNull Edit pOtherEdit)
+  {
+    int startOffsetB = Math.min(pEdit.getBeginA(), pOtherEdit.getBeginA()) - pEdit.getBeginA();
+    int endOffsetB = Math.max(pEdit.getEndA(), pOtherEdit.getEndA()) - pEdit.getEndA();
+    return new Edit(Math.min(pEdit.getBeginA(), pOtherEdit.getBeginA()), Math.max(pEdit.getEndA(), pOtherEdit.getEndA()),
+                    pEdit.getBeginB() + startOffsetB, pEdit.getEndB() + endOffsetB);
+  }
+
+  private static boolean _doesOverlap(@NonNull Edit pEdit, @NonNull Edit pOtherEdit)
+  {
+    if (pOtherEdit.getEndA() == pEdit.getEndA() && pOtherEdit.getBeginA() == pEdit.getBeginA())
+      return false;
+    if (pOtherEdit.getEndA() < pEdit.getBeginA())
+      return false;
+    if (pOtherEdit.getEndA() <= pEdit.getEndA())
+      return true;
+    return pOtherEdit.getBeginA() <= pEdit.getEndA();
+  }
+
+  /**
+   * @param pRandom    source of the words
+   * @param pLineCount number of lines
+   * @return lines made up of a few random words each
+   */
+  @NonNull
+  private static List<String> _createLines(@NonNull Random pRandom, int pLineCount)
+  {
+    List<String> lines = new ArrayList<>(pLineCount);
+    for (int index = 0; index < pLineCount; index++)
+      lines.add(_createLine(pRandom));
+    return lines;
+  }
+
+  @NonNull
+  private static String _createLine(@NonNull Random pRandom)
+  {
+    StringBuilder line = new StringBuilder();
+    int wordCount = 2 + pRandom.nextInt(6);
+    for (int index = 0; index < wordCount; index++)
+      line.append(WORDS[pRandom.nextInt(WORDS.length)]).append(' ');
+    return line.toString();
+  }
+
+  /**
+   * @param pRandom      decides which lines are changed
+   * @param pLines       lines of the fork-point version
+   * @param pChangeRatio share of the lines that are modified, inserted after or deleted
+   * @return copy of the lines with changes
+   */
+  @NonNull
+  private static List<String> _mutate(@NonNull Random pRandom, @NonNull List<String> pLines, double pChangeRatio)
+  {
+    List<String> mutated = new ArrayList<>(pLines.size());
+    for (String line : pLines)
+    {
+      if (pRandom.nextDouble() >= pChangeRatio)
+        mutated.add(line);
+      else
+      {
+        int change = pRandom.nextInt(3);
+        if (change == 0)
+          mutated.add(_createLine(pRandom));
+        else if (change == 1)
+        {
+          mutated.add(line);
+          mutated.add(_createLine(pRandom));
+        }
+      }
+    }
+    return mutated;
+  }
+
+  private static byte @NonNull [] _join(@NonNull List<String> pLines)
+  {
+    return String.join("\n", pLines).getBytes(StandardCharsets.UTF_8);
+  }
+}
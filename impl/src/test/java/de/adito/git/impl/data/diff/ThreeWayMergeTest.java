@@ -0,0 +1,87 @@
+package de.adito.git.impl.data.diff;
+
+import de.adito.git.api.data.diff.EConflictSide;
+import org.eclipse.jgit.diff.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link ThreeWayMerge}.
+ *
+ * @author agent, 19.10.2026
+ */
+class ThreeWayMergeTest
+{
+
+  /**
+   * Checks that the changed lines of both sides are the same as those of a diff on RawTexts, for all comparators
+   */
+  @Test
+  void changedLinesSameAsRawTextDiff()
+  {
+    String forkPoint = "Hello there, this is a test\nSo here are some words\nNo use taking a rest\nWe're not creating any turds";
+    String yours = "Hello there, this is a test  \nSo here are a few words\nNo use taking a rest\nWe are not creating any turds";
+    String theirs = "Hello there, this is a test\nSo here are some random words\n  No use taking a rest\nWe're not creating any turds\nthe end";
+    for (RawTextComparator comparator : new RawTextComparator[]{RawTextComparator.DEFAULT, RawTextComparator.WS_IGNORE_ALL,
+                                                                 RawTextComparator.WS_IGNORE_LEADING, RawTextComparator.WS_IGNORE_TRAILING,
+                                                                 RawTextComparator.WS_IGNORE_CHANGE})
+    {
+      ThreeWayMerge threeWayMerge = new ThreeWayMerge(comparator, _bytes(forkPoint), _bytes(yours), _bytes(theirs));
+      assertEquals(_rawTextDiff(comparator, forkPoint, yours), threeWayMerge.getChangedLines(EConflictSide.YOURS));
+      assertEquals(_rawTextDiff(comparator, forkPoint, theirs), threeWayMerge.getChangedLines(EConflictSide.THEIRS));
+    }
+  }
+
+  /**
+   * Checks that edits overlapping several edits of the other list, one after the other, are combined into a single region
+   */
+  @Test
+  void alignChainedEdits()
+  {
+    EditList yoursChangedLines = new EditList();
+    EditList theirsChangedLines = new EditList();
+    yoursChangedLines.add(new Edit(2, 4, 2, 3));
+    yoursChangedLines.add(new Edit(6, 8, 5, 9));
+    theirsChangedLines.add(new Edit(3, 7, 3, 4));
+    theirsChangedLines.add(new Edit(8, 10, 5, 5));
+    theirsChangedLines.add(new Edit(15, 16, 10, 12));
+    ThreeWayMerge.alignEditLists(yoursChangedLines, theirsChangedLines);
+    assertEquals(1, yoursChangedLines.size());
+    assertEquals(2, theirsChangedLines.size());
+    assertEquals(new Edit(2, 10, 2, 11), yoursChangedLines.get(0));
+    assertEquals(new Edit(2, 10, 2, 5), theirsChangedLines.get(0));
+    assertEquals(new Edit(15, 16, 10, 12), theirsChangedLines.get(1));
+  }
+
+  /**
+   * Checks that edits that do not overlap any edit of the other list are kept as they are
+   */
+  @Test
+  void alignSeparateEdits()
+  {
+    EditList yoursChangedLines = new EditList();
+    EditList theirsChangedLines = new EditList();
+    yoursChangedLines.add(new Edit(0, 0, 0, 1));
+    yoursChangedLines.add(new Edit(10, 12, 11, 11));
+    theirsChangedLines.add(new Edit(4, 5, 4, 8));
+    ThreeWayMerge.alignEditLists(yoursChangedLines, theirsChangedLines);
+    assertEquals(2, yoursChangedLines.size());
+    assertEquals(new Edit(0, 0, 0, 1), yoursChangedLines.get(0));
+    assertEquals(new Edit(10, 12, 11, 11), yoursChangedLines.get(1));
+    assertEquals(1, theirsChangedLines.size());
+    assertEquals(new Edit(4, 5, 4, 8), theirsChangedLines.get(0));
+  }
+
+  private static EditList _rawTextDiff(RawTextComparator pComparator, String pVersion1, String pVersion2)
+  {
+    return new HistogramDiff().diff(pComparator, new RawText(_bytes(pVersion1)), new RawText(_bytes(pVersion2)));
+  }
+
+  private static byte[] _bytes(String pText)
+  {
+    return pText.getBytes(StandardCharsets.UTF_8);
+  }
+}
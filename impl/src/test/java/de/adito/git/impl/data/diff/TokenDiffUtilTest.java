@@ -0,0 +1,60 @@
+package de.adito.git.impl.data.diff;
+
+import org.eclipse.jgit.diff.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link TokenDiffUtil}.
+ *
+ * @author agent, 19.10.2026
+ */
+class TokenDiffUtilTest
+{
+
+  /**
+   * Tests that a changed word in a line is found and that the edit contains the index of the word
+   */
+  @Test
+  void changedWord()
+  {
+    String originalVersion = "This is some text\n";
+    String newVersion = "This is the text\n";
+
+    EditList editList = TokenDiffUtil.getChangedWords(originalVersion, LineOffsetIndex.ofWords(originalVersion), newVersion, LineOffsetIndex.ofWords(newVersion));
+
+    assertEquals(EditList.singleton(new Edit(2, 3, 2, 3)), editList);
+  }
+
+  /**
+   * Tests that words are considered equal if they only differ by their separator, to be consistent with a line-based diff on the text with spaces replaced
+   * by newlines
+   */
+  @Test
+  void separatorIsIgnored()
+  {
+    String originalVersion = "This is\nsome text";
+    String newVersion = "This is some\ntext";
+
+    EditList editList = TokenDiffUtil.getChangedWords(originalVersion, LineOffsetIndex.ofWords(originalVersion), newVersion, LineOffsetIndex.ofWords(newVersion));
+
+    assertEquals(new EditList(), editList);
+  }
+
+  /**
+   * Tests that the last word is not equal to the same word followed by a separator, same as the last line of a text without newline is different from the
+   * line with a newline
+   */
+  @Test
+  void lastWordWithoutSeparator()
+  {
+    String originalVersion = "some text";
+    String newVersion = "some text\n";
+
+    EditList editList = TokenDiffUtil.getChangedWords(originalVersion, LineOffsetIndex.ofWords(originalVersion), newVersion, LineOffsetIndex.ofWords(newVersion));
+
+    assertEquals(EditList.singleton(new Edit(1, 2, 1, 2)), editList);
+  }
+
+}
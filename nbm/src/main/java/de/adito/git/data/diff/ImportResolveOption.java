@@ -5,6 +5,7 @@ import de.adito.aditoweb.nbm.nbide.nbaditointerface.javascript.IJsParserUtility;
 import de.adito.git.api.INotifyUtil;
 import de.adito.git.api.data.diff.*;
 import de.adito.git.impl.data.diff.ConflictPair;
+import de.adito.git.impl.data.diff.ResolveContext;
 import de.adito.git.impl.data.diff.ResolveOption;
 import de.adito.git.nbm.IGitConstants;
 import lombok.NonNull;
@@ -43,19 +44,22 @@ public class ImportResolveOption implements ResolveOption
   }
 
   @Override
-  public boolean canResolveConflict(@NonNull IChangeDelta pChangeDelta, @NonNull IChangeDelta pOtherDelta, @NonNull EConflictSide pConflictSide,
-                                    @NonNull IFileDiffHeader pFileDiffHeader)
+  public boolean canApply(@NonNull ResolveContext pResolveContext)
+  {
+    return "js".equals(pResolveContext.getFileExtension());
+  }
+
+  @Override
+  public boolean canResolveConflict(@NonNull ResolveContext pResolveContext)
   {
-    if (!"js".equals(pFileDiffHeader.getFileExtension(EChangeSide.NEW)))
-      return false;
     IJsParserUtility jsParserUtility = IJsParserUtility.getInstance();
     //noinspection ConstantConditions The nullable annotation is wrong here - at least in the only available implementation now. Lookups can return null if no service is found
     if (jsParserUtility == null)
       return false;
-    return Arrays.stream(pChangeDelta.getText(EChangeSide.NEW).split("\n"))
+    return Arrays.stream(pResolveContext.getText().split("\n"))
         .filter(pString -> !pString.isEmpty())
         .allMatch(jsParserUtility::isImportLine) &&
-        Arrays.stream(pOtherDelta.getText(EChangeSide.NEW).split("\n"))
+        Arrays.stream(pResolveContext.getOtherText().split("\n"))
             .filter(pString -> !pString.isEmpty())
             .allMatch(jsParserUtility::isImportLine);
   }
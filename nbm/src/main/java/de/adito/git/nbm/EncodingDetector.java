@@ -0,0 +1,135 @@
+package de.adito.git.nbm;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Determines the encoding of a byte array from its content alone, without asking netbeans. This only works if the content either starts with a byte order
+ * mark or contains characters that are not ascii and form valid UTF-8. For all other cases (pure ascii, content in a single-byte encoding) the encoding has
+ * to be determined by other means. Only used if no project encoding is configured for the content, the encoding of the project takes precedence
+ *
+ * @author agent, 19.10.2026
+ */
+final class EncodingDetector
+{
+
+  private EncodingDetector()
+  {
+  }
+
+  /**
+   * @param pContent byte array representing a String with an unknown encoding
+   * @return the encoding of the content, or null if it cannot be determined from the content alone
+   */
+  @Nullable
+  static Charset detect(byte @NonNull [] pContent)
+  {
+    Charset bomCharset = _getBomCharset(pContent);
+    if (bomCharset != null)
+      return bomCharset;
+    int firstNonAscii = _getFirstNonAsciiIndex(pContent);
+    if (firstNonAscii == -1)
+      return null;
+    return _isValidUtf8(pContent, firstNonAscii) ? StandardCharsets.UTF_8 : null;
+  }
+
+  /**
+   * @param pContent byte array to check
+   * @return true if the byte array only contains ascii characters, in which case all ascii-compatible encodings result in the same String
+   */
+  static boolean isAscii(byte @NonNull [] pContent)
+  {
+    return _getFirstNonAsciiIndex(pContent) == -1;
+  }
+
+  /**
+   * @param pContent byte array to check
+   * @return Charset denoted by the byte order mark at the start of the byte array, null if the array does not start with a known byte order mark
+   */
+  @Nullable
+  private static Charset _getBomCharset(byte @NonNull [] pContent)
+  {
+    if (pContent.length >= 3 && (pContent[0] & 0xff) == 0xEF && (pContent[1] & 0xff) == 0xBB && (pContent[2] & 0xff) == 0xBF)
+      return StandardCharsets.UTF_8;
+    if (pContent.length >= 2 && (pContent[0] & 0xff) == 0xFE && (pContent[1] & 0xff) == 0xFF)
+      return StandardCharsets.UTF_16BE;
+    // FF FE 00 00 would be the byte order mark of UTF-32LE, which is not supported here
+    if (pContent.length >= 2 && (pContent[0] & 0xff) == 0xFF && (pContent[1] & 0xff) == 0xFE && (pContent.length < 4 || pContent[2] != 0 || pContent[3] != 0))
+      return StandardCharsets.UTF_16LE;
+    return null;
+  }
+
+  /**
+   * @param pContent byte array to check
+   * @return index of the first byte that is not an ascii character, -1 if all bytes are ascii characters
+   */
+  private static int _getFirstNonAsciiIndex(byte @NonNull [] pContent)
+  {
+    for (int index = 0; index < pContent.length; index++)
+    {
+      if (pContent[index] < 0)
+        return index;
+    }
+    return -1;
+  }
+
+  /**
+   * Checks if the byte array is valid UTF-8, overlong encodings, surrogates and code points above U+10FFFF count as invalid
+   *
+   * @param pContent   byte array to check
+   * @param pStartIndex index to start the check at, has to be the start of a character
+   * @return true if the bytes starting at pStartIndex are valid UTF-8
+   */
+  private static boolean _isValidUtf8(byte @NonNull [] pContent, int pStartIndex)
+  {
+    int index = pStartIndex;
+    while (index < pContent.length)
+    {
+      int leadByte = pContent[index] & 0xff;
+      if (leadByte < 0x80)
+      {
+        index++;
+        continue;
+      }
+      int numContinuationBytes;
+      // lower bound for the second byte, used to sort out overlong encodings, surrogates and too big code points
+      int minSecondByte = 0x80;
+      int maxSecondByte = 0xBF;
+      if (leadByte >= 0xC2 && leadByte <= 0xDF)
+        numContinuationBytes = 1;
+      else if (leadByte >= 0xE0 && leadByte <= 0xEF)
+      {
+        numContinuationBytes = 2;
+        if (leadByte == 0xE0)
+          minSecondByte = 0xA0;
+        else if (leadByte == 0xED)
+          maxSecondByte = 0x9F;
+      }
+      else if (leadByte >= 0xF0 && leadByte <= 0xF4)
+      {
+        numContinuationBytes = 3;
+        if (leadByte == 0xF0)
+          minSecondByte = 0x90;
+        else if (leadByte == 0xF4)
+          maxSecondByte = 0x8F;
+      }
+      else
+        return false;
+      if (index + numContinuationBytes >= pContent.length)
+        return false;
+      int secondByte = pContent[index + 1] & 0xff;
+      if (secondByte < minSecondByte || secondByte > maxSecondByte)
+        return false;
+      for (int offset = 2; offset <= numContinuationBytes; offset++)
+      {
+        if ((pContent[index + offset] & 0xC0) != 0x80)
+          return false;
+      }
+      index += numContinuationBytes + 1;
+    }
+    return true;
+  }
+}
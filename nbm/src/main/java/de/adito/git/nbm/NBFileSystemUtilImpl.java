@@ -3,23 +3,31 @@ package de.adito.git.nbm;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import de.adito.git.api.IFileSystemUtil;
-import de.adito.git.api.data.diff.IFileChangeType;
 import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.gui.icon.MissingIcon;
 import lombok.NonNull;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.Nullable;
 import org.netbeans.api.actions.Openable;
+import org.netbeans.api.project.FileOwnerQuery;
+import org.netbeans.api.project.Project;
 import org.netbeans.api.queries.FileEncodingQuery;
 import org.openide.cookies.OpenCookie;
+import org.openide.filesystems.FileChangeAdapter;
+import org.openide.filesystems.FileEvent;
 import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
 import org.openide.filesystems.FileSystem;
 import org.openide.filesystems.FileUtil;
 import org.openide.loaders.DataObject;
 import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.util.ImageUtilities;
 import org.openide.util.NbBundle;
+import org.openide.util.Utilities;
 
 import javax.inject.Singleton;
 import java.awt.Image;
@@ -29,7 +37,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.logging.Level;
@@ -41,13 +48,12 @@ import java.util.logging.Logger;
 public class NBFileSystemUtilImpl implements IFileSystemUtil
 {
 
-  private static final int NUM_CORES = Runtime.getRuntime().availableProcessors();
   private static final Object FILE_OBJECT_LOCK = new Object();
-  private static final ThreadPoolExecutor EXECUTOR_SERVICE = new ThreadPoolExecutor(0, NUM_CORES, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100));
   private final Logger logger = Logger.getLogger(this.getClass().getName());
   private final FileSystem memoryFS = FileUtil.createMemoryFileSystem();
   private final HashMap<String, Image> artificialIconMap = new HashMap<>();
   private final LoadingCache<_IconKey, Image> iconCache;
+  private final LoadingCache<Project, _ProjectEncoding> projectEncodingCache;
   private final Image defaultMissingIconImage = ImageUtilities.icon2Image(MissingIcon.get16x16());
 
   @Singleton
@@ -61,6 +67,18 @@ public class NBFileSystemUtilImpl implements IFileSystemUtil
         return _loadImage(pIconKey.file, pIconKey.pIsOpened);
       }
     });
+    // an entry stays valid until the configuration of its project changes, so the listener of a removed entry is no longer needed
+    projectEncodingCache = CacheBuilder.newBuilder()
+        .maximumSize(100)
+        .removalListener((RemovalListener<Project, _ProjectEncoding>) pNotification -> pNotification.getValue().configurationListener.stopListening())
+        .build(new CacheLoader<>()
+        {
+          @Override
+          public _ProjectEncoding load(@NonNull Project pProject)
+          {
+            return _loadProjectEncoding(pProject);
+          }
+        });
   }
 
   @Override
@@ -90,18 +108,6 @@ public class NBFileSystemUtilImpl implements IFileSystemUtil
     }
   }
 
-  public void preLoadIcons(@NonNull List<IFileChangeType> pFiles)
-  {
-    if (pFiles.size() > 50)
-    {
-      _preLoadInParallel(pFiles);
-    }
-    else
-    {
-      _preLoadIcons(pFiles);
-    }
-  }
-
   @NonNull
   @Override
   public Image getIcon(@NonNull File pFile, boolean pIsOpened)
@@ -117,6 +123,14 @@ public class NBFileSystemUtilImpl implements IFileSystemUtil
     return defaultMissingIconImage;
   }
 
+  @Nullable
+  @Override
+  public String getMimeType(@NonNull File pFile)
+  {
+    FileObject fileObject = FileUtil.toFileObject(pFile);
+    return fileObject == null ? null : fileObject.getMIMEType();
+  }
+
   @NonNull
   @Override
   public Charset getEncoding(@NonNull File pFile)
@@ -135,72 +149,95 @@ public class NBFileSystemUtilImpl implements IFileSystemUtil
   @Override
   public Charset getEncoding(byte @NonNull [] pContent)
   {
-    FileObject tempFo = null;
+    return getEncoding(null, pContent);
+  }
 
-    try
-    {
-      tempFo = memoryFS.getRoot().createData(UUID.randomUUID().toString());
-      try (OutputStream out = tempFo.getOutputStream())
-      {
-        IOUtils.write(pContent, out);
-      }
-      return FileEncodingQuery.getEncoding(tempFo);
-    }
-    catch (Exception e)
-    {
-      logger.log(Level.SEVERE, e, () -> "Git: Error while determining encoding for byte array");
-      return StandardCharsets.UTF_8;
-    }
-    finally
+  @NonNull
+  @Override
+  public Charset getEncoding(@Nullable File pFile, byte @NonNull [] pContent)
+  {
+    Project project = pFile == null ? null : FileOwnerQuery.getOwner(Utilities.toURI(FileUtil.normalizeFile(pFile)));
+    if (project != null)
     {
       try
       {
-        if (tempFo != null)
-          tempFo.delete();
+        return projectEncodingCache.get(project).encoding;
       }
-      catch (Exception e)
+      catch (ExecutionException | UncheckedExecutionException pE)
       {
-        //nothing
+        logger.log(Level.SEVERE, pE, () -> "Git: Error while determining the encoding of the project for file " + pFile);
       }
     }
+    // no encoding is configured for the content, so the content itself is the best hint
+    Charset detectedCharset = EncodingDetector.detect(pContent);
+    if (detectedCharset != null)
+      return detectedCharset;
+    // content that is neither ascii nor valid UTF-8 and does not belong to a known file can only be checked by netbeans directly
+    if (pFile == null && !EncodingDetector.isAscii(pContent))
+      return _getEncodingFromTemporaryFile("", pContent);
+    return FileEncodingQuery.getDefaultEncoding();
   }
 
   /**
-   * Split the preload process into "number of cores" parts and let them run in a Threadpool of size "number of cores"
+   * Asks netbeans for the encoding that is configured for the project. Starts listening for changes of the configuration of the project before, so a change
+   * that happens while the encoding is read is not missed
    *
-   * @param pFileChangeTypes List of IFileChangeTypes for which the icons should be pre-loaded
+   * @param pProject project whose encoding should be determined
+   * @return encoding configured for the project, together with the listener that removes it from the cache once the configuration changes
    */
-  private void _preLoadInParallel(@NonNull List<IFileChangeType> pFileChangeTypes)
+  @NonNull
+  private _ProjectEncoding _loadProjectEncoding(@NonNull Project pProject)
   {
-    int numberPerThread = pFileChangeTypes.size() / NUM_CORES;
-    for (int index = 0; index < NUM_CORES; index++)
+    _ProjectConfigurationListener configurationListener = new _ProjectConfigurationListener(pProject);
+    configurationListener.startListening();
+    try
+    {
+      return new _ProjectEncoding(FileEncodingQuery.getEncoding(pProject.getProjectDirectory()), configurationListener);
+    }
+    catch (RuntimeException pE)
     {
-      // if the index is the first index start at 0, otherwise add one to numberPerThread * index to not do the last item of the previous thread twice
-      int startIndex = index == 0 ? 0 : numberPerThread * index + 1;
-      int endIndex = index == NUM_CORES - 1 ? pFileChangeTypes.size() : numberPerThread * (index + 1);
-      EXECUTOR_SERVICE.submit(() -> _preLoadIcons(pFileChangeTypes.subList(startIndex, endIndex)));
+      // no entry is stored, so the removal listener of the cache would never stop the listener
+      configurationListener.stopListening();
+      throw pE;
     }
   }
 
   /**
-   * Pre-load icons for a list of IFileChangeTypes
+   * Writes the content to a temporary file in the in-memory filesystem and asks netbeans for the encoding of that file
    *
-   * @param pFileChangeTypes List of IFileChangeTypes for which the icons should be pre-loaded
+   * @param pExtension extension of the temporary file, empty String for no extension
+   * @param pContent   content of the temporary file
+   * @return Encoding netbeans determined for the temporary file, UTF-8 if an error occurs
    */
-  private void _preLoadIcons(@NonNull List<IFileChangeType> pFileChangeTypes)
+  @NonNull
+  private Charset _getEncodingFromTemporaryFile(@NonNull String pExtension, byte @NonNull [] pContent)
   {
-    for (IFileChangeType fileChangeType : pFileChangeTypes)
+    FileObject tempFo = null;
+
+    try
+    {
+      tempFo = memoryFS.getRoot().createData(UUID.randomUUID().toString(), pExtension);
+      try (OutputStream out = tempFo.getOutputStream())
+      {
+        IOUtils.write(pContent, out);
+      }
+      return FileEncodingQuery.getEncoding(tempFo);
+    }
+    catch (Exception e)
+    {
+      logger.log(Level.SEVERE, e, () -> "Git: Error while determining encoding for byte array");
+      return StandardCharsets.UTF_8;
+    }
+    finally
     {
       try
       {
-        // on using false as parameter for isOpened: It is unclear whether the parameter will be true or false in the actual case, however it is more likely that
-        // the parameter will be false (more leaves than open nodes). Additionally, the nodes are more likely to be the same, and thus more calls will already be cached
-        // anyways
-        iconCache.get(new _IconKey(fileChangeType.getFile(), Files.getLastModifiedTime(fileChangeType.getFile().toPath()).toMillis(), false));
+        if (tempFo != null)
+          tempFo.delete();
       }
-      catch (ExecutionException | IOException pE)
+      catch (Exception e)
       {
-        // do nothing, icon is not pre-loaded
+        //nothing
       }
     }
   }
@@ -265,6 +302,84 @@ public class NBFileSystemUtilImpl implements IFileSystemUtil
     return defaultMissingIconImage;
   }
 
+  /**
+   * Encoding configured for a project, stored in the cache together with the listener that removes it again
+   */
+  private static class _ProjectEncoding
+  {
+    final Charset encoding;
+    final _ProjectConfigurationListener configurationListener;
+
+    _ProjectEncoding(@NonNull Charset pEncoding, @NonNull _ProjectConfigurationListener pConfigurationListener)
+    {
+      encoding = pEncoding;
+      configurationListener = pConfigurationListener;
+    }
+  }
+
+  /**
+   * Removes the encoding of a project from the cache once the configuration of the project changes. Projects read their encoding from their configuration
+   * files: ant based projects from the files in the nbproject folder, maven projects from their pom.xml
+   */
+  private class _ProjectConfigurationListener extends FileChangeAdapter
+  {
+    private final Project project;
+    // null if the project does not lie on the local disk, no changes can be observed in that case
+    @Nullable
+    private final File configurationFolder;
+    @Nullable
+    private final File pomFile;
+
+    _ProjectConfigurationListener(@NonNull Project pProject)
+    {
+      project = pProject;
+      File projectDirectory = FileUtil.toFile(pProject.getProjectDirectory());
+      configurationFolder = projectDirectory == null ? null : new File(projectDirectory, "nbproject");
+      pomFile = projectDirectory == null ? null : new File(projectDirectory, "pom.xml");
+    }
+
+    void startListening()
+    {
+      // both also work if the file does not exist yet
+      if (configurationFolder != null)
+        FileUtil.addRecursiveListener(this, configurationFolder);
+      if (pomFile != null)
+        FileUtil.addFileChangeListener(this, pomFile);
+    }
+
+    void stopListening()
+    {
+      if (configurationFolder != null)
+        FileUtil.removeRecursiveListener(this, configurationFolder);
+      if (pomFile != null)
+        FileUtil.removeFileChangeListener(this, pomFile);
+    }
+
+    @Override
+    public void fileDataCreated(FileEvent pEvent)
+    {
+      projectEncodingCache.invalidate(project);
+    }
+
+    @Override
+    public void fileChanged(FileEvent pEvent)
+    {
+      projectEncodingCache.invalidate(project);
+    }
+
+    @Override
+    public void fileDeleted(FileEvent pEvent)
+    {
+      projectEncodingCache.invalidate(project);
+    }
+
+    @Override
+    public void fileRenamed(FileRenameEvent pEvent)
+    {
+      projectEncodingCache.invalidate(project);
+    }
+  }
+
   /**
    * Key for the Hashmap
    */
@@ -1,5 +1,6 @@
 package de.adito.git.nbm.actions;
 
+import de.adito.git.api.IDiscardable;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.IRepositoryState;
 import de.adito.git.api.data.diff.IFileChangeType;
@@ -53,9 +54,13 @@ public class CommitNBAction extends NBAction
     }
     else
     {
-      listNodes = BehaviorSubject.createDefault(getUncommittedFilesOfNodes(pActivatedNodes, repository));
+      listNodes = BehaviorSubject.createDefault(getUncommittedFilesOfNodes(pActivatedNodes, getCurrentStatus()));
     }
-    actionProvider.getCommitAction(repository, listNodes, "").actionPerformed(null);
+    Action commitAction = actionProvider.getCommitAction(repository, listNodes, "");
+    commitAction.actionPerformed(null);
+    // the action is only used once, so it has to release its subscriptions here
+    if (commitAction instanceof IDiscardable)
+      ((IDiscardable) commitAction).discard();
   }
 
   @Override
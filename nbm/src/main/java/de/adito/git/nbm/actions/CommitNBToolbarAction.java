@@ -1,5 +1,6 @@
 package de.adito.git.nbm.actions;
 
+import de.adito.git.api.IDiscardable;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.IFileStatus;
 import de.adito.git.api.data.diff.IFileChangeType;
@@ -11,6 +12,7 @@ import org.openide.awt.*;
 import org.openide.nodes.Node;
 import org.openide.util.NbBundle;
 
+import javax.swing.*;
 import java.util.*;
 
 /**
@@ -34,13 +36,15 @@ public class CommitNBToolbarAction extends CommitNBAction
   {
     Observable<Optional<IRepository>> repository = getCurrentRepository(pActivatedNodes);
     IActionProvider actionProvider = IGitConstants.INJECTOR.getInstance(IActionProvider.class);
-    Subject<Optional<List<IFileChangeType>>> listNodes = BehaviorSubject.createDefault(Optional.of(repository.blockingFirst()
-                                                              .orElseThrow(() -> new RuntimeException(
-                                                                  NbBundle.getMessage(CommitNBToolbarAction.class, "Invalid.RepositoryNotValid")))
-                                                              .getStatus()
-                                                              .blockingFirst().map(IFileStatus::getUncommitted)
-                                                              .orElse(Collections.emptyList())));
-    actionProvider.getCommitAction(repository, listNodes, "").actionPerformed(null);
+    if (!repository.blockingFirst().isPresent())
+      throw new RuntimeException(NbBundle.getMessage(CommitNBToolbarAction.class, "Invalid.RepositoryNotValid"));
+    Subject<Optional<List<IFileChangeType>>> listNodes = BehaviorSubject.createDefault(Optional.of(getCurrentStatus().map(IFileStatus::getUncommitted)
+                                                                                                       .orElse(Collections.emptyList())));
+    Action commitAction = actionProvider.getCommitAction(repository, listNodes, "");
+    commitAction.actionPerformed(null);
+    // the action is only used once, so it has to release its subscriptions here
+    if (commitAction instanceof IDiscardable)
+      ((IDiscardable) commitAction).discard();
   }
 
   @Override
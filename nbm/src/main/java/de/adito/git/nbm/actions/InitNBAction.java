@@ -7,7 +7,6 @@ import de.adito.git.api.exception.AditoGitException;
 import de.adito.git.nbm.IGitConstants;
 import de.adito.git.nbm.repo.RepositoryCache;
 import de.adito.git.nbm.util.ProjectUtility;
-import de.adito.git.nbm.util.RepositoryUtility;
 import io.reactivex.rxjava3.core.Observable;
 import lombok.NonNull;
 import org.openide.awt.ActionID;
@@ -57,7 +56,7 @@ public class InitNBAction extends NBAction
   @Override
   protected boolean enable(Node[] pNodes)
   {
-    return RepositoryUtility.getRepositoryObservable().blockingFirst(Optional.empty()).orElse(null) == null;
+    return !getCurrentRepository(pNodes).blockingFirst().isPresent();
   }
 
   @Override
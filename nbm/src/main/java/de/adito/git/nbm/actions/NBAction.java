@@ -1,12 +1,16 @@
 package de.adito.git.nbm.actions;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.adito.git.api.IRepository;
 import de.adito.git.api.data.IFileStatus;
 import de.adito.git.api.data.diff.IFileChangeType;
+import de.adito.git.gui.rxjava.LatestValue;
 import de.adito.git.nbm.util.RepositoryUtility;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
 import lombok.NonNull;
 import org.openide.filesystems.FileObject;
@@ -19,46 +23,53 @@ import org.openide.util.actions.NodeAction;
 import javax.swing.*;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
  * Parent class for all NBActions, has several utility methods and implements those
- * methods from NodeAction that would be the same on all NBActions
+ * methods from NodeAction that would be the same on all NBActions.
+ * NetBeans calls enable and performAction in the EDT, so the enabled state is computed on a background thread and enable only returns the latest computed
+ * state. For the same reason the current repository and its status are kept as latest values that performAction can read without waiting
  *
  * @author a.arnold, 25.10.2018
  */
 abstract class NBAction extends NodeAction implements Disposable
 {
 
+  private static final Scheduler ACTION_STATE_SCHEDULER = Schedulers.from(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                                                                                          .setNameFormat("Git-action-state-%d")
+                                                                                                          .setDaemon(true)
+                                                                                                          .build()));
   private static final Observable<Optional<IRepository>> repositoryObservable = RepositoryUtility.getRepositoryObservable();
+  // kept for as long as the module is loaded, same as the actions themselves
+  private static final LatestValue<Optional<IRepository>> currentRepository = new LatestValue<>(repositoryObservable.subscribeOn(ACTION_STATE_SCHEDULER));
+  private static final LatestValue<Optional<IFileStatus>> currentStatus = new LatestValue<>(
+      repositoryObservable.switchMap(pRepoOpt -> pRepoOpt.map(IRepository::getStatus).orElse(Observable.just(Optional.empty())))
+          .subscribeOn(ACTION_STATE_SCHEDULER));
   private Observable<Optional<Boolean>> isEnabledObservable = null;
   private final BehaviorSubject<Object> doEnableUpdate = BehaviorSubject.createDefault(new Object());
   private CompositeDisposable disposable;
-  private boolean isCurrentlyEnabled = false;
+  private volatile boolean isCurrentlyEnabled = false;
   // for caching the nodes that are passed when enabled is called by netbeans, these are usually more up-to-date than the ones retrieved by
   // TopComponent.getRegistry.getXXX()
-  Node[] lastActivated = new Node[0];
+  volatile Node[] lastActivated = new Node[0];
 
+  /**
+   * @param pActivatedNodes the active nodes from NetBeans
+   * @param pStatus         status of the repository that contains the nodes
+   * @return the uncommitted files that are contained in the nodes, or an empty optional if the status is not available
+   */
   @NonNull
-  static Optional<List<IFileChangeType>> getUncommittedFilesOfNodes(Node @NonNull [] pActivatedNodes,
-                                                                    @NonNull Observable<Optional<IRepository>> pRepository)
+  static Optional<List<IFileChangeType>> getUncommittedFilesOfNodes(Node @NonNull [] pActivatedNodes, @NonNull Optional<IFileStatus> pStatus)
   {
     List<File> files = getAllFilesOfNodes(pActivatedNodes);
-    List<IFileChangeType> uncommittedFiles;
-
-    IRepository repository = pRepository.blockingFirst().orElse(null);
-    if (repository == null)
-      return Optional.empty();
-    uncommittedFiles = repository
-        .getStatus()
-        .blockingFirst()
-        .map(IFileStatus::getUncommitted).orElse(Collections.emptyList());
-    return Optional.of(uncommittedFiles
-                           .stream()
-                           .filter(pUncommittedFile -> files
-                               .stream()
-                               .anyMatch(pFile -> pUncommittedFile.getFile().toPath().startsWith(pFile.toPath())))
-                           .collect(Collectors.toList()));
+    return pStatus.map(pFileStatus -> pFileStatus.getUncommitted()
+        .stream()
+        .filter(pUncommittedFile -> files
+            .stream()
+            .anyMatch(pFile -> pUncommittedFile.getFile().toPath().startsWith(pFile.toPath())))
+        .collect(Collectors.toList()));
   }
 
   /**
@@ -97,7 +108,19 @@ abstract class NBAction extends NodeAction implements Disposable
   @NonNull
   static Observable<Optional<IRepository>> getCurrentRepository(Node @NonNull [] pActivatedNodes)
   {
-    return Observable.just(repositoryObservable.blockingFirst(Optional.empty()));
+    return Observable.just(currentRepository.getOrDefault(Optional.empty()));
+  }
+
+  /**
+   * get the status of the repository that contains the currently active file/node/topComponent. Does not wait for the status, so it can be called in
+   * the EDT
+   *
+   * @return the latest status of the current repository, or an empty optional if the status is not computed yet
+   */
+  @NonNull
+  static Optional<IFileStatus> getCurrentStatus()
+  {
+    return currentStatus.getOrDefault(Optional.empty());
   }
 
   @Override
@@ -111,7 +134,10 @@ abstract class NBAction extends NodeAction implements Disposable
     if (disposable == null && isEnabledObservable == null)
     {
       disposable = new CompositeDisposable();
-      Observable<Optional<IRepository>> combinedObs = Observable.combineLatest(repositoryObservable, doEnableUpdate, (pRepo, pObj) -> pRepo);
+      // the enabled state is computed on the background thread, enable is called in the EDT and only triggers the computation
+      Observable<Optional<IRepository>> combinedObs = Observable.combineLatest(repositoryObservable, doEnableUpdate, (pRepo, pObj) -> pRepo)
+          .subscribeOn(ACTION_STATE_SCHEDULER)
+          .observeOn(ACTION_STATE_SCHEDULER);
       isEnabledObservable = getIsEnabledObservable(combinedObs);
       disposable.add(isEnabledObservable.subscribe(pOptBoolean -> {
         isCurrentlyEnabled = pOptBoolean.orElse(false);
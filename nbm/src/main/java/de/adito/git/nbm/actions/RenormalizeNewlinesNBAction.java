@@ -1,5 +1,6 @@
 package de.adito.git.nbm.actions;
 
+import de.adito.git.api.IDiscardable;
 import de.adito.git.api.IRepository;
 import de.adito.git.gui.actions.IActionProvider;
 import de.adito.git.nbm.IGitConstants;
@@ -9,6 +10,7 @@ import org.openide.awt.*;
 import org.openide.nodes.Node;
 import org.openide.util.NbBundle;
 
+import javax.swing.*;
 import java.util.Optional;
 
 /**
@@ -31,7 +33,11 @@ public class RenormalizeNewlinesNBAction extends NBAction
   {
     Observable<Optional<IRepository>> repository = getCurrentRepository(pActivatedNodes);
     IActionProvider actionProvider = IGitConstants.INJECTOR.getInstance(IActionProvider.class);
-    actionProvider.getRenormalizeNewlinesAction(repository).actionPerformed(null);
+    Action renormalizeNewlinesAction = actionProvider.getRenormalizeNewlinesAction(repository);
+    renormalizeNewlinesAction.actionPerformed(null);
+    // the action is only used once, so it has to release its subscriptions here
+    if (renormalizeNewlinesAction instanceof IDiscardable)
+      ((IDiscardable) renormalizeNewlinesAction).discard();
   }
 
   @Override
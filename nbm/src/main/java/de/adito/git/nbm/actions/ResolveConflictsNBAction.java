@@ -32,8 +32,7 @@ public class ResolveConflictsNBAction extends NBAction
   {
     Observable<Optional<IRepository>> repository = getCurrentRepository(pActivatedNodes);
     IActionProvider actionProvider = IGitConstants.INJECTOR.getInstance(IActionProvider.class);
-    Optional<List<IFileChangeType>> fileChangeTypeList = Optional.of(repository.blockingFirst().orElseThrow()
-                                         .getStatus().blockingFirst()
+    Optional<List<IFileChangeType>> fileChangeTypeList = Optional.of(getCurrentStatus()
                                          .map(IFileStatus::getConflicting).orElse(Collections.emptySet())
                                          .stream().map(pFilePath -> new FileChangeTypeImpl(new File(pFilePath), new File(pFilePath), EChangeType.CONFLICTING))
                                          .collect(Collectors.toList()));
@@ -38,7 +38,7 @@ public class RevertNBAction extends NBAction
     Observable<Optional<IRepository>> repository = getCurrentRepository(pActivatedNodes);
     IActionProvider actionProvider = IGitConstants.INJECTOR.getInstance(IActionProvider.class);
 
-    selectedFiles.onNext(getUncommittedFilesOfNodes(pActivatedNodes, repository));
+    selectedFiles.onNext(getUncommittedFilesOfNodes(pActivatedNodes, getCurrentStatus()));
 
     actionProvider.getRevertWorkDirAction(repository, selectedFiles).actionPerformed(null);
 
@@ -58,8 +58,9 @@ public class RevertNBAction extends NBAction
 
   private boolean isEnabled(@Nullable IRepository pRepository)
   {
-    Node[] activatedNodes = lastActivated;
-    return !getUncommittedFilesOfNodes(activatedNodes, getCurrentRepository(activatedNodes)).orElse(Collections.emptyList()).isEmpty();
+    if (pRepository == null)
+      return false;
+    return !getUncommittedFilesOfNodes(lastActivated, pRepository.getStatus().blockingFirst()).orElse(Collections.emptyList()).isEmpty();
   }
 
   @Override
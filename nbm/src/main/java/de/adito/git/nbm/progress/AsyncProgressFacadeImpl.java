@@ -8,6 +8,8 @@ import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.netbeans.api.progress.BaseProgressUtils;
 import org.netbeans.api.progress.ProgressHandle;
+import org.netbeans.api.progress.ProgressRunnable;
+import org.openide.util.Cancellable;
 import org.openide.util.Lookup;
 import org.openide.util.NbBundle;
 import org.openide.util.RequestProcessor;
@@ -71,9 +73,24 @@ public class AsyncProgressFacadeImpl implements IAsyncProgressFacade
     return executeAndBlockWithProgress(pDisplayName, pExecutor, true);
   }
 
+  @NonNull
+  @Override
+  public <T, Ex extends Throwable> T executeAndBlockWithCancellableProgress(@NonNull String pDisplayName, @NonNull IExec<T, Ex> pExecutor,
+                                                                           @NonNull Runnable pOnCancel)
+  {
+    // the progress dialog shows a cancel button if the operation is Cancellable
+    return BaseProgressUtils.showProgressDialogAndRun(new _CancellableOperation<>(_createOperation(pExecutor, false), pOnCancel), pDisplayName, true);
+  }
+
   private <T, Ex extends Throwable> @NonNull T executeAndBlockWithProgress(@NonNull String pDisplayName, @NonNull IExec<T, Ex> pExecutor, boolean pWithoutIndexing)
   {
-    return BaseProgressUtils.showProgressDialogAndRun(pProgressHandle -> {
+    return BaseProgressUtils.showProgressDialogAndRun(_createOperation(pExecutor, pWithoutIndexing), pDisplayName, true);
+  }
+
+  @NonNull
+  private static <T, Ex extends Throwable> ProgressRunnable<T> _createOperation(@NonNull IExec<T, Ex> pExecutor, boolean pWithoutIndexing)
+  {
+    return pProgressHandle -> {
       try
       {
         IBulkFileChangeExecutor bulkFileChangeExecutor = Lookup.getDefault().lookup(IBulkFileChangeExecutor.class);
@@ -94,7 +111,35 @@ public class AsyncProgressFacadeImpl implements IAsyncProgressFacade
         Thread.getDefaultUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), ex);
         throw new RuntimeException(NbBundle.getMessage(AsyncProgressFacadeImpl.class, "Error.Async", new _NetBeansHandle(null, pProgressHandle).getDisplayName()), ex);
       }
-    }, pDisplayName, true);
+    };
+  }
+
+  /**
+   * Operation for the progress dialog that calls the given Runnable if the user cancels it
+   */
+  private static class _CancellableOperation<T> implements ProgressRunnable<T>, Cancellable
+  {
+    private final ProgressRunnable<T> operation;
+    private final Runnable onCancel;
+
+    _CancellableOperation(@NonNull ProgressRunnable<T> pOperation, @NonNull Runnable pOnCancel)
+    {
+      operation = pOperation;
+      onCancel = pOnCancel;
+    }
+
+    @Override
+    public T run(ProgressHandle pProgressHandle)
+    {
+      return operation.run(pProgressHandle);
+    }
+
+    @Override
+    public boolean cancel()
+    {
+      onCancel.run();
+      return true;
+    }
   }
 
   /**
@@ -6,16 +6,19 @@ import de.adito.git.api.data.IBlame;
 import de.adito.git.api.data.diff.EChangeSide;
 import de.adito.git.api.data.diff.EChangeType;
 import de.adito.git.api.data.diff.IChangeDelta;
+import de.adito.git.api.data.diff.IDocumentDiffSession;
 import de.adito.git.gui.PopupMouseListener;
 import de.adito.git.gui.rxjava.ScrollBarExtentObservable;
 import de.adito.git.gui.swing.LineNumber;
-import de.adito.git.gui.swing.TextPaneUtil;
+import de.adito.git.gui.swing.LineTileImageCache;
 import de.adito.git.impl.observables.PropertyChangeObservable;
 import de.adito.git.nbm.IGitConstants;
 import de.adito.git.nbm.actions.ShowAnnotationNBAction;
-import de.adito.git.nbm.util.DocumentObservable;
+import de.adito.git.nbm.util.DocumentEditObservable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
 import org.jetbrains.annotations.Nullable;
 import org.netbeans.api.editor.settings.FontColorNames;
@@ -25,12 +28,9 @@ import org.netbeans.editor.EditorUI;
 import org.openide.loaders.DataObject;
 
 import javax.swing.*;
-import javax.swing.text.BadLocationException;
 import javax.swing.text.JTextComponent;
-import javax.swing.text.View;
 import java.awt.*;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
@@ -40,8 +40,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 
 /**
@@ -55,17 +53,16 @@ public class Annotator extends JPanel implements IDiscardable
   private static final String NOT_COMMITTED_YET = "Not Committed Yet";
   private static final int FREE_SPACE = 6; // have to be modulo 2
   private static final int DEBOUNCE_DURATION = 100;
-  private final Logger logger = Logger.getLogger(Annotator.class.getName());
   private final DateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy");
   private final JTextComponent target;
   private final CompositeDisposable disposables = new CompositeDisposable();
-  private BufferedImage blameImage;
+  private List<String> annotatedLines;
+  private LineTileImageCache tileCache;
   private Color foregroundColor;
   private Color backgroundColor;
   private Font nbFont;
   private boolean isActiveFlag = false;
   private MouseListener popupMouseListener;
-  private IBlame blame = null;
 
   /**
    * @param pRepository Observable of the current Repository that also contains the File currently open in the editor
@@ -100,6 +97,7 @@ public class Annotator extends JPanel implements IDiscardable
     }
     else if (evt.getOldValue() == null)
     {
+      tileCache = new LineTileImageCache(pTarget, this::_paintTile);
       _buildObservableChain(pRepository, pTarget, pFile);
       if (popupMouseListener == null)
       {
@@ -126,7 +124,12 @@ public class Annotator extends JPanel implements IDiscardable
   @Override
   public void discard()
   {
-    blameImage = null;
+    annotatedLines = null;
+    if (tileCache != null)
+    {
+      tileCache.discard();
+      tileCache = null;
+    }
     if (!disposables.isDisposed())
       disposables.clear();
   }
@@ -135,7 +138,8 @@ public class Annotator extends JPanel implements IDiscardable
   protected void paintComponent(Graphics pG)
   {
     super.paintComponent(pG);
-    pG.drawImage(blameImage, 0, 0, null);
+    if (tileCache != null && annotatedLines != null)
+      tileCache.paint(pG, getWidth(), Optional.ofNullable(pG.getClipBounds()).orElseGet(target::getVisibleRect));
   }
 
 
@@ -146,70 +150,98 @@ public class Annotator extends JPanel implements IDiscardable
    */
   private void _buildObservableChain(Observable<Optional<IRepository>> pRepository, JTextComponent pTarget, File pFile)
   {
-    // Observable that fires each time the user changes the text in the textComponent
-    Observable<String> textObservable = DocumentObservable.create(target.getDocument())
-        .debounce(DEBOUNCE_DURATION, TimeUnit.MILLISECONDS);
     // Observable that fires if the size of the horizontal scrollbar changes
     Observable<Integer> scrollBarExtentObs = Observable.create(new ScrollBarExtentObservable(_getJScrollPane(target)))
         .debounce(DEBOUNCE_DURATION, TimeUnit.MILLISECONDS);
     // Observable that observes the Active flag for the Annotator that is stored in the client settings of the target textComponent
-    Observable<Optional<Boolean>> isActive = BehaviorSubject.create(new PropertyChangeObservable<Boolean>(pTarget, IGitConstants.ANNOTATOR_ACTIVF_FLAG))
-        .startWithItem(Optional.of(Boolean.FALSE));
+    Observable<Boolean> isActive = BehaviorSubject.create(new PropertyChangeObservable<Boolean>(pTarget, IGitConstants.ANNOTATOR_ACTIVF_FLAG))
+        .startWithItem(Optional.of(Boolean.FALSE))
+        .map(pIsActiveOpt -> pIsActiveOpt.orElse(false))
+        .distinctUntilChanged()
+        .replay(1)
+        // the connection is disposed together with the other subscriptions, so the listener is removed from the target in discard
+        .autoConnect(1, disposables::add);
+    // only observe the repository while the annotator is active, so that neither blame nor diff are calculated for inactive annotators
+    Observable<Optional<IRepository>> activeRepository = isActive
+        .switchMap(pIsActive -> pIsActive ? pRepository : Observable.just(Optional.<IRepository>empty()))
+        .replay(1)
+        .autoConnect(1, disposables::add);
 
-    // Observable to check the File changes between the latest version of the file on disk and the actual content of the file
-    Observable<List<IChangeDelta>> deltaObservable = Observable
-        .combineLatest(pRepository, textObservable, isActive, (pRepoOpt, pText, pIsActive) -> {
-          // only run the diff if the repo is present and the active flag is given
-          if (pRepoOpt.isPresent() && pIsActive.orElse(false))
-          {
-            IRepository repo = pRepoOpt.get();
-            // No check for new or deleted file (not in index in that case) since we just catch all Exceptions and if anything doesnt work we just do not show anything
-            try
-            {
-              return repo.diffOffline(pText, pFile).getChangeDeltas();
-            }
-            catch (Exception pE)
-            {
-              return List.of();
-            }
-          }
-          return List.of();
-        });
+    // Observable of the blame of the HEAD version of the file. The blame is cached by the repository and only calculated again if HEAD changes. The
+    // calculation happens in the background, since it can take quite some time for large files
+    Observable<Optional<IBlame>> blameObservable = activeRepository
+        .switchMap(pRepoOpt -> pRepoOpt
+            .map(pRepo -> pRepo.getRepositoryState()
+                .switchMapSingle(pState -> Single.fromCallable(() -> pRepo.getBlame(pFile)).subscribeOn(Schedulers.io())))
+            .orElseGet(() -> Observable.just(Optional.empty())));
 
-    // Observable that singals that the bufferedImage has to be updated. This is the case if the active flag is set and the maximum size of the scrollBar changes
+    // Observable of the changed lines between the HEAD version of the file and the actual content of the editor. Only the lines around the edits made since
+    // the last diff are compared again
+    Observable<List<IChangeDelta>> deltaObservable = activeRepository
+        .switchMap(pRepoOpt -> pRepoOpt
+            .map(pRepo -> Observable.using(() -> pRepo.createDiffSession(pFile), pDiffSession -> _observeDeltas(pRepo, pDiffSession),
+                                           IDocumentDiffSession::discard))
+            .orElseGet(() -> Observable.just(List.of())));
+
+    // Observable that singals that the annotations have to be updated. This is the case if the active flag is set and the maximum size of the scrollBar changes
     Observable<Boolean> triggerUpdate = Observable
         .combineLatest(scrollBarExtentObs, isActive, (pRect, pIsActive) -> {
-          isActiveFlag = pIsActive.orElse(false);
-          return pIsActive.orElse(false);
+          isActiveFlag = pIsActive;
+          return pIsActive;
         })
         // no distinctUntilChanged here since we want the Observable to fire each time the scrollBar extent changes (provided isActive is true, hence the filter)
         .filter(pVal -> pVal);
 
-    // combine Observables to create an Observable of the BufferedImage, then subscribe and draw it each time it changes
-    disposables.add(Observable.combineLatest(pRepository, deltaObservable, isActive, triggerUpdate, (pRepoOpt, pDeltas, pIsActive, pTriggerUpdate)
-        -> pRepoOpt.flatMap(pRepo -> _getBlameImage(pFile, pRepo, pDeltas, pIsActive.orElse(false)))).doOnError(pThrowable -> _showImage(pTarget, null))
-                        .subscribe(pBufferedImageOpt -> _showImage(pTarget, pBufferedImageOpt.orElse(null))));
+    // combine Observables to create an Observable of the annotations of the lines, then subscribe and draw them each time they change
+    disposables.add(Observable.combineLatest(blameObservable, deltaObservable, isActive, triggerUpdate, (pBlameOpt, pDeltas, pIsActive, pTriggerUpdate)
+        -> _getAnnotatedLines(pBlameOpt, pDeltas, pIsActive)).doOnError(pThrowable -> _showAnnotations(pTarget, null))
+                        .subscribe(pAnnotatedLinesOpt -> _showAnnotations(pTarget, pAnnotatedLinesOpt.orElse(null))));
   }
 
   /**
-   * Draws the image if the image if not null
+   * @param pRepo        repository that contains the file of the editor
+   * @param pDiffSession IDocumentDiffSession that diffs the text of the editor against the HEAD version of the file
+   * @return Observable of the changed lines between the HEAD version of the file and the actual content of the editor
+   */
+  private Observable<List<IChangeDelta>> _observeDeltas(IRepository pRepo, IDocumentDiffSession pDiffSession)
+  {
+    // Observable that fires each time the user changes the text in the textComponent
+    Observable<DocumentEditObservable.TextSnapshot> textObservable = DocumentEditObservable.create(target.getDocument(), pDiffSession)
+        .debounce(DEBOUNCE_DURATION, TimeUnit.MILLISECONDS);
+    // the repository state is part of the combination so that the diff is run again if HEAD changes
+    return Observable.combineLatest(textObservable, pRepo.getRepositoryState(), (pText, pState) -> {
+      // No check for new or deleted file (not in HEAD in that case) since we just catch all Exceptions and if anything doesnt work we just do not show anything
+      try
+      {
+        return pDiffSession.diff(pText.getText(), pText.getEditCount());
+      }
+      catch (Exception pE)
+      {
+        return List.of();
+      }
+    });
+  }
+
+  /**
+   * Shows the annotations if they are not null, hides the annotator otherwise
    *
-   * @param pTarget        textComponent for whose opened file the Annotator should do the git blame
-   * @param pBufferedImage bufferedImage with the git blame lines
+   * @param pTarget         textComponent for whose opened file the Annotator should do the git blame
+   * @param pAnnotatedLines annotation for each line of the editor
    */
-  private void _showImage(JTextComponent pTarget, @Nullable BufferedImage pBufferedImage)
+  private void _showAnnotations(JTextComponent pTarget, @Nullable List<String> pAnnotatedLines)
   {
-    if (pBufferedImage != null)
+    annotatedLines = pAnnotatedLines;
+    if (pAnnotatedLines != null)
     {
-      blameImage = pBufferedImage;
       setSize(new Dimension(100, 100));
     }
     else
     {
-      blameImage = null;
       setSize(new Dimension(0, 0));
       setPreferredSize(new Dimension(0, 0));
     }
+    if (tileCache != null)
+      tileCache.invalidate();
     SwingUtilities.invokeLater(() -> {
       pTarget.revalidate();
       repaint();
@@ -217,83 +249,53 @@ public class Annotator extends JPanel implements IDiscardable
   }
 
   /**
-   * @param pFile     file of the editor, get the git blame for this
-   * @param pRepo     repository used to retrieve the git blame
+   * @param pBlameOpt git blame of the HEAD version of the file of the editor, empty if the file is not part of HEAD
    * @param pDeltas   List with changed and unchanged chunks of the contents of the file
    * @param pIsActive whether or not the Annotator is active
-   * @return Optional with a BufferedImage of the git blame, or an empty Optional if the target height is 0 or the Annotator is inactive
+   * @return Optional with the annotation for each line of the editor, or an empty Optional if the target height is 0, the Annotator is inactive or there is
+   * no blame
    */
-  private Optional<BufferedImage> _getBlameImage(File pFile, IRepository pRepo, List<IChangeDelta> pDeltas, Boolean pIsActive)
+  private Optional<List<String>> _getAnnotatedLines(Optional<IBlame> pBlameOpt, List<IChangeDelta> pDeltas, boolean pIsActive)
   {
-    // no need to calculate the Image if the Annotator is inactive or the height is 0 (aka Annotator is not shown)
+    // no need to calculate the annotations if the Annotator is inactive or the height is 0 (aka Annotator is not shown)
     if (target.getHeight() <= 0 || !pIsActive)
       return Optional.empty();
     else
-    {
-      if (blame == null)
-        pRepo.getBlame(pFile).ifPresent(pIBlame -> blame = pIBlame);
-      return blame == null ? Optional.empty() : Optional.of(_calculateImage(blame, pDeltas));
-    }
+      return pBlameOpt.map(pBlame -> _calculateStringList(pBlame, pDeltas));
   }
 
   /**
-   * @param pBlame  IBlame object containing the information about the authors of lines
-   * @param pDeltas List of IFileChangeChunks describing the changes of the last saved version of the file to the version in the editor
-   * @return Optional of a BufferedImage, empty if not active, BufferedImage with the names of the authors and commit dates otherwise
+   * Draws the annotations of the lines of a tile
+   *
+   * @param pGraphics    Graphics of the tile
+   * @param pFirstLine   index of the first line of the tile
+   * @param pLineNumbers positions of the lines of the tile, used to get the y Coordinates of the lines
    */
-  private BufferedImage _calculateImage(IBlame pBlame, List<IChangeDelta> pDeltas)
+  private void _paintTile(Graphics2D pGraphics, int pFirstLine, LineNumber[] pLineNumbers)
   {
-    List<String> annotatedLines = _calculateStringList(pBlame, pDeltas);
-    View view = target.getUI().getRootView(target);
-    BufferedImage rawBlameImage = new BufferedImage(getPreferredSize().width, target.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    List<String> lines = annotatedLines;
+    if (lines == null)
+      return;
     _updateColorsAndFont(target);
     setBackground(backgroundColor);
-    try
-    {
-      LineNumber[] lineNumberPositions = TextPaneUtil.calculateLineYPositions(target, view);
-      _drawImage(rawBlameImage.getGraphics(), annotatedLines, lineNumberPositions);
-    }
-    catch (BadLocationException pE)
-    {
-      logger.log(Level.SEVERE, pE, () -> "Git: Accessed bad index while trying to determine the positions of a line in the text editor");
-    }
-    catch (Error pE)
-    {
-      if (pE.getMessage().contains("Interrupted mutex acquiring"))
-        logger.log(Level.WARNING, pE, () -> "Git: error while trying to access the document to determine the location of a line, skipping evaluation of that line");
-      else throw new Error(pE);
-    }
-    return rawBlameImage;
-  }
-
-  /**
-   * @param pImageGraphics       Graphics object of i.e. a bufferedImage
-   * @param pLines               List of Strings with the information about what to write for each line. Sorted by order in which they appear
-   * @param pLineNumberPositions View of the JTextComponent, used to get the y Coordinates of the lines
-   */
-  private void _drawImage(Graphics pImageGraphics, List<String> pLines, LineNumber[] pLineNumberPositions)
-  {
-    pImageGraphics.setFont(nbFont);
-    pImageGraphics.setColor(foregroundColor);
-    int fontHeight = pImageGraphics.getFontMetrics().getAscent();
-    ((Graphics2D) pImageGraphics).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-    pImageGraphics.setColor(foregroundColor);
-    for (int lineIndex = 0; lineIndex < pLines.size(); lineIndex++)
+    pGraphics.setFont(nbFont);
+    pGraphics.setColor(foregroundColor);
+    int fontHeight = pGraphics.getFontMetrics().getAscent();
+    pGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    for (int index = 0; index < pLineNumbers.length && pFirstLine + index < lines.size(); index++)
     {
-      _drawString(pImageGraphics, pLines, pLineNumberPositions, fontHeight, lineIndex);
+      _drawString(pGraphics, lines.get(pFirstLine + index), pLineNumbers[index], fontHeight);
     }
   }
 
-  private void _drawString(Graphics pImageGraphics, List<String> pLines, LineNumber[] pLineNumberPositions, int pFontHeight, int pFinalLineIndex)
+  private void _drawString(Graphics pImageGraphics, String pLine, @Nullable LineNumber pLineNumber, int pFontHeight)
   {
-    if (pFinalLineIndex < pLineNumberPositions.length)
+    if (pLineNumber != null)
     {
-      Rectangle changeRectangle = new Rectangle();
-      changeRectangle.setSize(FREE_SPACE / 2, target.getFontMetrics(target.getFont()).getHeight());
-      int x = pLineNumberPositions[pFinalLineIndex].getXCoordinate();
-      int y = pLineNumberPositions[pFinalLineIndex].getYCoordinate() + pFontHeight +
+      int x = pLineNumber.getXCoordinate();
+      int y = pLineNumber.getYCoordinate() + pFontHeight +
           Math.round((target.getFontMetrics(target.getFont()).getHeight() - getFontMetrics(nbFont).getHeight()) / 2f);
-      pImageGraphics.drawString(pLines.get(pFinalLineIndex), x, y);
+      pImageGraphics.drawString(pLine, x, y);
     }
   }
 
@@ -357,8 +359,10 @@ public class Annotator extends JPanel implements IDiscardable
   private void _addLines(IChangeDelta pDelta, List<String> pStringList)
   {
     int linesToAdd = pDelta.getEndLine(EChangeSide.NEW) - pDelta.getStartLine(EChangeSide.NEW);
+    // blame and deltas may be based on different HEADs for a short time if HEAD changes, so the lines may not match
+    int insertIndex = Math.min(pDelta.getStartLine(EChangeSide.NEW), pStringList.size());
     for (int i = 0; i < linesToAdd; i++)
-      pStringList.add(pDelta.getStartLine(EChangeSide.NEW), "");
+      pStringList.add(insertIndex, "");
   }
 
   /**
@@ -370,8 +374,9 @@ public class Annotator extends JPanel implements IDiscardable
   private void _deleteLines(IChangeDelta pDelta, List<String> pStringList)
   {
     int linesToDelete = pDelta.getEndLine(EChangeSide.OLD) - pDelta.getStartLine(EChangeSide.OLD);
-    for (int i = 0; i < linesToDelete; i++)
-      pStringList.remove(pDelta.getStartLine(EChangeSide.NEW));
+    int deleteIndex = pDelta.getStartLine(EChangeSide.NEW);
+    for (int i = 0; i < linesToDelete && deleteIndex < pStringList.size(); i++)
+      pStringList.remove(deleteIndex);
   }
 
   /**
@@ -8,7 +8,7 @@ import de.adito.git.impl.observables.DocumentChangeObservable;
 import de.adito.git.nbm.IGitConstants;
 import de.adito.git.nbm.actions.ShowAnnotationNBAction;
 import de.adito.git.nbm.icon.NBIconLoader;
-import de.adito.git.nbm.util.DocumentObservable;
+import de.adito.git.nbm.util.DocumentEditObservable;
 import de.adito.util.reactive.cache.*;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
@@ -21,7 +21,6 @@ import javax.swing.*;
 import javax.swing.text.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.io.File;
 import java.util.List;
@@ -47,7 +46,7 @@ class EditorColorizer extends JPanel implements IDiscardable
   private final File file;
   private final ImageIcon rightArrow = new NBIconLoader().getIcon(ARROW_RIGHT);
   private List<_ChangeHolder> changeList = new ArrayList<>();
-  private BufferedImage cachedImage;
+  private LineTileImageCache tileCache;
   private _ChunkPopupMouseListener chunkPopupMouseListener;
 
   /**
@@ -80,6 +79,7 @@ class EditorColorizer extends JPanel implements IDiscardable
     }
     else if (evt.getOldValue() == null)
     {
+      tileCache = new LineTileImageCache(targetEditor, this::_paintTile);
       _buildObservables();
       targetEditor.putClientProperty(IGitConstants.CHANGES_LOCATIONS_OBSERVABLE, _observeRectangles());
       if (chunkPopupMouseListener == null)
@@ -95,7 +95,8 @@ class EditorColorizer extends JPanel implements IDiscardable
     disposable.add(_observeRectangles()
                        .subscribe(pChangeList -> {
                          changeList = pChangeList;
-                         cachedImage = _createBufferedImage(changeList, targetEditor.getHeight());
+                         if (tileCache != null)
+                           tileCache.invalidate();
                          repaint();
                        }));
   }
@@ -116,29 +117,39 @@ class EditorColorizer extends JPanel implements IDiscardable
   @NonNull
   private Observable<List<IChangeDelta>> _observeChunks()
   {
-    return observableCache.calculateParallel("chunks", () -> {
-      Observable<String> actualText = Observable.create(new DocumentChangeObservable(targetEditor))
-          .startWithItem(targetEditor.getDocument())
-          .switchMap(DocumentObservable::create);
+    return observableCache.calculateParallel("chunks", () -> repository
+        .switchMap(pRepoOpt -> pRepoOpt
+            .map(pRepo -> Observable.using(() -> pRepo.createDiffSession(file), this::_observeChunks, IDocumentDiffSession::discard))
+            .orElseGet(() -> Observable.just(new ArrayList<>())))
+        .distinctUntilChanged());
+  }
 
-      return Observable
-          .combineLatest(repository, _observeChangeType(), actualText.debounce(THROTTLE_LATEST_TIMER, TimeUnit.MILLISECONDS), (pRepoOpt, pChangeType, pText) -> {
-            if (pRepoOpt.isPresent() && pChangeType != EChangeType.ADD && pChangeType != EChangeType.NEW)
+  /**
+   * @param pDiffSession IDocumentDiffSession that the edits of the document are registered with
+   * @return Observable of the changed lines between the HEAD version of the file and the text of the document
+   */
+  @NonNull
+  private Observable<List<IChangeDelta>> _observeChunks(@NonNull IDocumentDiffSession pDiffSession)
+  {
+    Observable<DocumentEditObservable.TextSnapshot> actualText = Observable.create(new DocumentChangeObservable(targetEditor))
+        .startWithItem(targetEditor.getDocument())
+        .switchMap(pDocument -> DocumentEditObservable.create(pDocument, pDiffSession));
+
+    return Observable
+        .combineLatest(_observeChangeType(), actualText.debounce(THROTTLE_LATEST_TIMER, TimeUnit.MILLISECONDS), (pChangeType, pText) -> {
+          if (pChangeType != EChangeType.ADD && pChangeType != EChangeType.NEW)
+          {
+            try
             {
-              try
-              {
-                IRepository repo = pRepoOpt.get();
-                return repo.diff(pText, file);
-              }
-              catch (Exception pE)
-              {
-                // do nothing on error, the EditorColorizer should just show nothing in that case
-              }
+              return pDiffSession.diff(pText.getText(), pText.getEditCount());
             }
-            return new ArrayList<IChangeDelta>();
-          })
-          .distinctUntilChanged();
-    });
+            catch (Exception pE)
+            {
+              // do nothing on error, the EditorColorizer should just show nothing in that case
+            }
+          }
+          return new ArrayList<IChangeDelta>();
+        });
   }
 
   @NonNull
@@ -152,28 +163,30 @@ class EditorColorizer extends JPanel implements IDiscardable
   }
 
   /**
-   * @param pChangeList List of _ChangeHolders that should be drawn in the bufferedImage
-   * @param pHeight     height of the targetPanel and thus the height of the bufferedImage
-   * @return BufferedImage containing all the _ChangeHolders, background trasnparent
+   * Draws those _ChangeHolders that intersect the tile, background transparent
+   *
+   * @param pGraphics    Graphics of the tile, its clip bounds are the bounds of the tile
+   * @param pFirstLine   index of the first line of the tile
+   * @param pLineNumbers positions of the lines of the tile
    */
-  @NonNull
-  private BufferedImage _createBufferedImage(@NonNull List<_ChangeHolder> pChangeList, int pHeight)
+  private void _paintTile(@NonNull Graphics2D pGraphics, int pFirstLine, @NonNull LineNumber[] pLineNumbers)
   {
-    BufferedImage image = new BufferedImage(COLORIZER_WIDTH, Math.max(1, pHeight), BufferedImage.TYPE_INT_ARGB);
-    Graphics2D g = (Graphics2D) image.getGraphics();
-    pChangeList.forEach(change -> {
+    Rectangle tileBounds = pGraphics.getClipBounds();
+    changeList.forEach(change -> {
+      if (!change.rectangle.intersects(tileBounds))
+        return;
       if (change.changeChunk.getChangeType() == EChangeType.DELETE)
       {
         int y = change.rectangle.y;
-        g.drawImage(rightArrow.getImage(), 0, y, COLORIZER_WIDTH, y + COLORIZER_WIDTH, 0, 0, rightArrow.getIconWidth(), rightArrow.getIconHeight(), null);
+        pGraphics.drawImage(rightArrow.getImage(), 0, y, COLORIZER_WIDTH, y + COLORIZER_WIDTH, 0, 0, rightArrow.getIconWidth(), rightArrow.getIconHeight(),
+                            null);
       }
       else
       {
-        g.setColor(change.color);
-        g.fill(change.rectangle);
+        pGraphics.setColor(change.color);
+        pGraphics.fill(change.rectangle);
       }
     });
-    return image;
   }
 
   /**
@@ -205,10 +218,12 @@ class EditorColorizer extends JPanel implements IDiscardable
     List<EditorColorizer._ChangeHolder> newChangeList = new ArrayList<>();
     try
     {
-      LineNumber[] lineNumberPositions = TextPaneUtil.calculateLineYPositions(pTarget, pTarget.getUI().getRootView(pTarget));
+      // only the positions of the first and last line of each change are needed, so there is no need to calculate the positions of all lines
+      View view = pTarget.getUI().getRootView(pTarget);
+      int numLines = pTarget.getDocument().getDefaultRootElement().getElementCount();
       for (IChangeDelta chunk : pDeltaList)
       {
-        _ChangeHolder changeHolder = _calculateRec(pTarget, chunk, lineNumberPositions);
+        _ChangeHolder changeHolder = _calculateRec(pTarget, view, chunk, numLines);
         newChangeList.add(changeHolder);
       }
     }
@@ -227,12 +242,13 @@ class EditorColorizer extends JPanel implements IDiscardable
   }
 
   /**
-   * @param pTarget              The text component of the editor
-   * @param pChange              A chunk of a file that was changed
-   * @param pLineNumberPositions Array with LineNumbers, giving the y Location of each line
+   * @param pTarget   The text component of the editor
+   * @param pView     root view of the text component
+   * @param pChange   A chunk of a file that was changed
+   * @param pNumLines number of lines in the document of the text component
    */
   @NonNull
-  private _ChangeHolder _calculateRec(JTextComponent pTarget, IChangeDelta pChange, LineNumber[] pLineNumberPositions)
+  private _ChangeHolder _calculateRec(JTextComponent pTarget, View pView, IChangeDelta pChange, int pNumLines) throws BadLocationException
   {
     int startLine = 0;
     int endLine = 0;
@@ -250,15 +266,27 @@ class EditorColorizer extends JPanel implements IDiscardable
       default:
         break;
     }
-    int startIndex = Math.min(pLineNumberPositions.length - 1, startLine);
-    int endIndex = Math.min(pLineNumberPositions.length - 1, endLine);
-    int endYCoordinate = Optional.ofNullable(pLineNumberPositions[endIndex]).map(LineNumber::getYCoordinate).orElse(0);
-    int startYCoordinate = Optional.ofNullable(pLineNumberPositions[startIndex]).map(LineNumber::getYCoordinate).orElse(0);
+    int endYCoordinate = _calculateYCoordinate(pTarget, pView, endLine, pNumLines);
+    int startYCoordinate = _calculateYCoordinate(pTarget, pView, startLine, pNumLines);
     int height = endYCoordinate - startYCoordinate;
     Rectangle changeRectangle = new Rectangle(0, startYCoordinate, COLORIZER_WIDTH, Math.max(height, pTarget.getFont().getSize()));
     return new _ChangeHolder(changeRectangle, pChange);
   }
 
+  /**
+   * @param pTarget   The text component of the editor
+   * @param pView     root view of the text component
+   * @param pLine     index of the line, lines after the last line are treated as the last line
+   * @param pNumLines number of lines in the document of the text component
+   * @return y coordinate of the line, 0 if it could not be determined
+   */
+  private static int _calculateYCoordinate(JTextComponent pTarget, View pView, int pLine, int pNumLines) throws BadLocationException
+  {
+    int line = Math.max(0, Math.min(pNumLines - 1, pLine));
+    LineNumber lineNumber = TextPaneUtil.calculateLineYPositions(pTarget, pView, line, line)[0];
+    return lineNumber == null ? 0 : lineNumber.getYCoordinate();
+  }
+
   /**
    * @param pTarget The JTextComponent of the editor
    * @return The JScrollPane of the editor
@@ -291,27 +319,19 @@ class EditorColorizer extends JPanel implements IDiscardable
   protected void paintComponent(Graphics pG)
   {
     super.paintComponent(pG);
-    if (cachedImage != null)
-      _drawImage(pG, cachedImage);
-  }
-
-  /**
-   * @param pG             Graphics object used to draw the image
-   * @param pBufferedImage the bufferedImage to draw
-   */
-  private void _drawImage(Graphics pG, BufferedImage pBufferedImage)
-  {
-    int yCoordinate = editorViewPort.getViewRect().y;
-    int yCoordinate2 = yCoordinate + targetEditor.getHeight();
-    pG.drawImage(pBufferedImage, 0, yCoordinate, COLORIZER_WIDTH, yCoordinate2,
-                 0, yCoordinate, COLORIZER_WIDTH, yCoordinate2, null);
+    if (tileCache != null)
+      tileCache.paint(pG, COLORIZER_WIDTH, Optional.ofNullable(pG.getClipBounds()).orElseGet(editorViewPort::getViewRect));
   }
 
   @Override
   public void discard()
   {
     disposable.clear();
-    cachedImage = null;
+    if (tileCache != null)
+    {
+      tileCache.discard();
+      tileCache = null;
+    }
     targetEditor.putClientProperty(IGitConstants.CHANGES_LOCATIONS_OBSERVABLE, null);
     if (chunkPopupMouseListener != null)
       removeMouseListener(chunkPopupMouseListener);
@@ -0,0 +1,124 @@
+package de.adito.git.nbm.util;
+
+import de.adito.git.api.data.diff.IDocumentDiffSession;
+import io.reactivex.rxjava3.core.Observable;
+import lombok.NonNull;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import java.util.function.Consumer;
+
+/**
+ * An Observable that registers each edit of a document with an IDocumentDiffSession and fires the text of the document together with the number of edits
+ * contained in that text
+ *
+ * @author agent, 19.10.2026
+ */
+public final class DocumentEditObservable
+{
+
+  private DocumentEditObservable()
+  {
+  }
+
+  /**
+   * The session is reset on subscription, because the edits registered so far belong to another document. The first TextSnapshot is the text of the document
+   * at the time of subscription
+   *
+   * @param pDocument document whose edits should be registered
+   * @param pSession  IDocumentDiffSession that the edits are registered with
+   * @return Observable of the TextSnapshots of the document
+   */
+  @NonNull
+  public static Observable<TextSnapshot> create(@NonNull Document pDocument, @NonNull IDocumentDiffSession pSession)
+  {
+    return Observable.create(pEmitter -> {
+      DocumentListener listener = new _Listener(pDocument, pSession, pEmitter::onNext);
+      // no edit can happen while the document is rendered, so no edit is missed between reading the text and adding the listener
+      pDocument.render(() -> {
+        pSession.reset();
+        pDocument.addDocumentListener(listener);
+        pEmitter.onNext(new TextSnapshot(_getText(pDocument), pSession.getEditCount()));
+      });
+      pEmitter.setCancellable(() -> pDocument.removeDocumentListener(listener));
+    });
+  }
+
+  /**
+   * return the text of the document
+   */
+  @NonNull
+  private static String _getText(@NonNull Document pDocument)
+  {
+    try
+    {
+      return pDocument.getText(0, pDocument.getLength());
+    }
+    catch (BadLocationException e)
+    {
+      return "";
+    }
+  }
+
+  /**
+   * Text of a document and the number of edits that lead to it, see {@link IDocumentDiffSession#diff(String, long)}
+   */
+  public static final class TextSnapshot
+  {
+    private final String text;
+    private final long editCount;
+
+    TextSnapshot(@NonNull String pText, long pEditCount)
+    {
+      text = pText;
+      editCount = pEditCount;
+    }
+
+    @NonNull
+    public String getText()
+    {
+      return text;
+    }
+
+    public long getEditCount()
+    {
+      return editCount;
+    }
+  }
+
+  private static class _Listener implements DocumentListener
+  {
+    private final Document document;
+    private final IDocumentDiffSession session;
+    private final Consumer<TextSnapshot> consumer;
+
+    _Listener(@NonNull Document pDocument, @NonNull IDocumentDiffSession pSession, @NonNull Consumer<TextSnapshot> pConsumer)
+    {
+      document = pDocument;
+      session = pSession;
+      consumer = pConsumer;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent pE)
+    {
+      long editCount = session.documentChanged(pE.getOffset(), 0, pE.getLength());
+      consumer.accept(new TextSnapshot(_getText(document), editCount));
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent pE)
+    {
+      long editCount = session.documentChanged(pE.getOffset(), pE.getLength(), 0);
+      consumer.accept(new TextSnapshot(_getText(document), editCount));
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent pE)
+    {
+      // only the attributes changed, the text is still the same
+    }
+  }
+}
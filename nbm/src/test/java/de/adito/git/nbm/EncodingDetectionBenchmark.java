@@ -0,0 +1,106 @@
+package de.adito.git.nbm;
+
+import lombok.NonNull;
+import org.apache.commons.io.IOUtils;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileSystem;
+import org.openide.filesystems.FileUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Microbenchmark that compares the encoding detection of the {@link NBFileSystemUtilImpl} with asking the FileEncodingQuery for a temporary file in an
+ * in-memory filesystem for each byte array, which is how the encoding of byte arrays was determined before. Not run as part of the tests, start the main
+ * method manually
+ *
+ * @author agent, 19.10.2026
+ */
+public class EncodingDetectionBenchmark
+{
+
+  private static final int WARMUP_ITERATIONS = 2_000;
+  private static final int MEASURED_ITERATIONS = 20_000;
+  private static final FileSystem MEMORY_FS = FileUtil.createMemoryFileSystem();
+  private static final Logger LOGGER = Logger.getLogger(EncodingDetectionBenchmark.class.getName());
+
+  public static void main(String[] args)
+  {
+    NBFileSystemUtilImpl fileSystemUtil = new NBFileSystemUtilImpl();
+    byte[][] contents = {
+        _createContent("plain ascii line of source code;\n", StandardCharsets.US_ASCII),
+        _createContent("line with umlauts äöü and ß;\n", StandardCharsets.UTF_8),
+        _createContent("line with umlauts äöü and ß;\n", StandardCharsets.ISO_8859_1)
+    };
+    String[] names = {"ascii", "utf-8", "iso-8859-1"};
+    for (int index = 0; index < contents.length; index++)
+    {
+      byte[] content = contents[index];
+      _measure("temporary file, " + names[index], content, EncodingDetectionBenchmark::_getEncodingFromTemporaryFile);
+      _measure("detection, " + names[index], content, pContent -> fileSystemUtil.getEncoding(null, pContent));
+    }
+  }
+
+  /**
+   * Runs the detection for the warmup and measured iterations and logs the average time per call
+   *
+   * @param pName     name of the measurement
+   * @param pContent  content whose encoding is determined
+   * @param pDetector method that determines the encoding
+   */
+  private static void _measure(@NonNull String pName, byte @NonNull [] pContent, @NonNull Function<byte[], Charset> pDetector)
+  {
+    Charset result = null;
+    for (int index = 0; index < WARMUP_ITERATIONS; index++)
+      result = pDetector.apply(pContent);
+    long start = System.nanoTime();
+    for (int index = 0; index < MEASURED_ITERATIONS; index++)
+      result = pDetector.apply(pContent);
+    long duration = System.nanoTime() - start;
+    Charset lastResult = result;
+    LOGGER.info(() -> String.format("%-30s %10.2f µs/call (%s)", pName, duration / 1000d / MEASURED_ITERATIONS, lastResult));
+  }
+
+  /**
+   * @param pLine    line that is repeated to create the content
+   * @param pCharset charset used to encode the content
+   * @return content of roughly 30 KB
+   */
+  private static byte @NonNull [] _createContent(@NonNull String pLine, @NonNull Charset pCharset)
+  {
+    return String.join("", Collections.nCopies(1000, pLine)).getBytes(pCharset);
+  }
+
+  /**
+   * Determines the encoding by writing the content to a temporary file in an in-memory filesystem and querying the encoding of that file
+   *
+   * @param pContent content whose encoding is determined
+   * @return encoding of the temporary file
+   */
+  @NonNull
+  private static Charset _getEncodingFromTemporaryFile(byte @NonNull [] pContent)
+  {
+    try
+    {
+      FileObject tempFo = MEMORY_FS.getRoot().createData(UUID.randomUUID().toString());
+      try (OutputStream out = tempFo.getOutputStream())
+      {
+        IOUtils.write(pContent, out);
+      }
+      Charset encoding = FileEncodingQuery.getEncoding(tempFo);
+      tempFo.delete();
+      return encoding;
+    }
+    catch (IOException pE)
+    {
+      throw new RuntimeException(pE);
+    }
+  }
+}
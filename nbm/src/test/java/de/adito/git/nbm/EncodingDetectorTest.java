@@ -0,0 +1,55 @@
+package de.adito.git.nbm;
+
+import lombok.NonNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link EncodingDetector}
+ *
+ * @author agent, 19.10.2026
+ */
+class EncodingDetectorTest
+{
+
+  private static @NonNull Stream<Arguments> detect()
+  {
+    return Stream.of(
+        Arguments.of(new byte[0], null),
+        Arguments.of("plain ascii\ntext".getBytes(StandardCharsets.US_ASCII), null),
+        Arguments.of("Größe".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+        Arguments.of("Größe".getBytes(StandardCharsets.ISO_8859_1), null),
+        Arguments.of(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, 'a'}, StandardCharsets.UTF_8),
+        Arguments.of(new byte[]{(byte) 0xFE, (byte) 0xFF, 0, 'a'}, StandardCharsets.UTF_16BE),
+        Arguments.of(new byte[]{(byte) 0xFF, (byte) 0xFE, 'a', 0}, StandardCharsets.UTF_16LE),
+        // byte order mark of UTF-32LE
+        Arguments.of(new byte[]{(byte) 0xFF, (byte) 0xFE, 0, 0}, null),
+        // overlong encoding of '/'
+        Arguments.of(new byte[]{(byte) 0xC0, (byte) 0xAF}, null),
+        // encoded surrogate
+        Arguments.of(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80}, null),
+        // truncated multi-byte character at the end
+        Arguments.of(new byte[]{'a', (byte) 0xE2, (byte) 0x82}, null),
+        Arguments.of("emoji 😀".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+    );
+  }
+
+  /**
+   * Checks that the encoding is only determined from the content if it has a byte order mark or is valid UTF-8 that is not pure ascii
+   *
+   * @param pContent  content to check
+   * @param pExpected expected encoding, null if the encoding cannot be determined from the content alone
+   */
+  @ParameterizedTest
+  @MethodSource
+  void detect(byte @NonNull [] pContent, Charset pExpected)
+  {
+    assertEquals(pExpected, EncodingDetector.detect(pContent));
+  }
+}